@@ -0,0 +1,397 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.catalog;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.utils.Utils;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Persistent catalog of CRS definitions stored in a single file.
+ *
+ * The file starts with a fixed-size header followed by two open-addressing
+ * hash tables, one keyed by (authority, code) and one keyed by name, which
+ * map to the byte offset of a record. Records are appended after the tables
+ * and hold the definition as WKT or PROJJSON text.
+ *
+ * <pre>
+ * header      : magic, version, capacity, count, end of file
+ * code table  : capacity x (hash of "AUTHORITY:code", record offset)
+ * name table  : capacity x (hash of name, record offset)
+ * records     : length, format, authority, code, name, definition
+ * </pre>
+ *
+ * Opening a catalog only maps the header and the tables, so it costs the
+ * same whatever the number of records. A definition is read and parsed by
+ * {@link CoordinateReferenceSystemFactory} the first time it is requested and
+ * then kept in memory. New records are appended at the end of the file and
+ * registered in the tables without rewriting existing records ; the capacity
+ * of the tables is fixed when the catalog is created.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class CrsCatalog implements Closeable {
+
+    /**
+     * Format of a definition stored in the catalog.
+     */
+    public enum Format {
+        WKT,
+        PROJJSON
+    }
+
+    private static final int MAGIC = 0x4A574B54;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 16;
+    private static final int CAPACITY_POS = 8;
+    private static final int COUNT_POS = 12;
+    private static final int END_POS = 16;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer index;
+    private final int capacity;
+    private final long nameTablePos;
+    private final Map<Long, CoordinateReferenceSystem> materialized = new HashMap<>();
+
+    private CrsCatalog(final FileChannel channel) throws IOException {
+        this.channel = channel;
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.read(header, 0) != HEADER_SIZE || header.getInt(0) != MAGIC) {
+            throw new IOException("Not a CRS catalog");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported CRS catalog version " + header.getInt(4));
+        }
+        this.capacity = header.getInt(CAPACITY_POS);
+        this.nameTablePos = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+        this.index = channel.map(FileChannel.MapMode.READ_WRITE, 0, nameTablePos + (long) capacity * SLOT_SIZE);
+    }
+
+    /**
+     * Creates an empty catalog.
+     * @param file catalog file, which must not exist
+     * @param capacity maximum number of definitions
+     * @return the catalog
+     * @throws IOException when the file cannot be created
+     */
+    public static CrsCatalog create(final Path file, final int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        // tables are kept at most half full so that probe sequences stay short
+        final int slots = Integer.highestOneBit(capacity) << 2;
+        final long dataStart = HEADER_SIZE + 2L * slots * SLOT_SIZE;
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(slots).putInt(0).putLong(dataStart);
+            header.rewind();
+            channel.write(header, 0);
+            // the tables are zero filled : offset 0 means an empty slot
+            channel.write(ByteBuffer.allocate(1), dataStart - 1);
+            return new CrsCatalog(channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens an existing catalog.
+     * @param file catalog file
+     * @return the catalog
+     * @throws IOException when the file is not a catalog
+     */
+    public static CrsCatalog open(final Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new CrsCatalog(channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the number of definitions.
+     * @return the number of definitions
+     */
+    public synchronized int size() {
+        return index.getInt(COUNT_POS);
+    }
+
+    /**
+     * Appends a CRS, stored as WKT.
+     * @param authority authority name (e.g. EPSG)
+     * @param code code in the authority
+     * @param crs coordinate reference system
+     * @throws IOException when the record cannot be written
+     */
+    public void add(final String authority, final String code, final CoordinateReferenceSystem crs) throws IOException {
+        add(authority, code, Utils.removeQuotes(crs.getCrsName()), Format.WKT, crs.toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Appends a definition without parsing it.
+     * @param authority authority name (e.g. EPSG)
+     * @param code code in the authority
+     * @param name CRS name
+     * @param format format of the definition
+     * @param definition WKT or PROJJSON definition
+     * @throws IOException when the record cannot be written
+     */
+    public synchronized void add(final String authority, final String code, final String name, final Format format, final String definition) throws IOException {
+        final String codeKey = codeKey(authority, code);
+        if (findByCode(authority, code) != 0) {
+            throw new RuntimeException(codeKey + " is already in the catalog");
+        }
+        final int count = index.getInt(COUNT_POS);
+        if (count >= capacity / 2) {
+            throw new RuntimeException("The catalog is full (" + count + " definitions)");
+        }
+        final byte[] authorityBytes = authority.getBytes(StandardCharsets.UTF_8);
+        final byte[] codeBytes = code.getBytes(StandardCharsets.UTF_8);
+        final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        final byte[] definitionBytes = definition.getBytes(StandardCharsets.UTF_8);
+        final int length = 1 + 3 * 2 + authorityBytes.length + codeBytes.length + nameBytes.length + 4 + definitionBytes.length;
+        final ByteBuffer record = ByteBuffer.allocate(4 + length);
+        record.putInt(length).put((byte) format.ordinal());
+        putShortString(record, authorityBytes);
+        putShortString(record, codeBytes);
+        putShortString(record, nameBytes);
+        record.putInt(definitionBytes.length).put(definitionBytes);
+        record.flip();
+
+        // the record is written before being registered so that a partial
+        // write is never reachable from the tables
+        final long offset = index.getLong(END_POS);
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        putSlot(HEADER_SIZE, hash(codeKey), offset);
+        putSlot(nameTablePos, hash(name), offset);
+        index.putLong(END_POS, offset + 4 + length);
+        index.putInt(COUNT_POS, count + 1);
+    }
+
+    /**
+     * Tests whether a definition is in the catalog.
+     * @param authority authority name
+     * @param code code in the authority
+     * @return True when the definition is in the catalog
+     */
+    public synchronized boolean contains(final String authority, final String code) {
+        return findByCode(authority, code) != 0;
+    }
+
+    /**
+     * Returns the CRS for an authority code.
+     * @param authority authority name
+     * @param code code in the authority
+     * @return the CRS or null when the code is not in the catalog
+     */
+    public synchronized CoordinateReferenceSystem get(final String authority, final String code) {
+        return materialize(findByCode(authority, code));
+    }
+
+    /**
+     * Returns the first CRS having a name.
+     * @param name CRS name
+     * @return the CRS or null when the name is not in the catalog
+     */
+    public synchronized CoordinateReferenceSystem getByName(final String name) {
+        return materialize(findByName(name));
+    }
+
+    /**
+     * Returns the stored definition for an authority code.
+     * @param authority authority name
+     * @param code code in the authority
+     * @return the WKT or PROJJSON definition or null when the code is not in the catalog
+     */
+    public synchronized String getDefinition(final String authority, final String code) {
+        final long offset = findByCode(authority, code);
+        return offset == 0 ? null : readRecord(offset).definition;
+    }
+
+    /**
+     * Forces the catalog content to the storage device.
+     * @throws IOException when an I/O error occurs
+     */
+    public synchronized void flush() throws IOException {
+        index.force();
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            materialized.clear();
+            channel.close();
+        }
+    }
+
+    private CoordinateReferenceSystem materialize(final long offset) {
+        if (offset == 0) {
+            return null;
+        }
+        CoordinateReferenceSystem crs = materialized.get(offset);
+        if (crs == null) {
+            final Record record = readRecord(offset);
+            crs = record.format == Format.WKT
+                    ? CoordinateReferenceSystemFactory.createFromWkt(record.definition)
+                    : CoordinateReferenceSystemFactory.createFromProjJson(record.definition);
+            materialized.put(offset, crs);
+        }
+        return crs;
+    }
+
+    private long findByCode(final String authority, final String code) {
+        final String codeKey = codeKey(authority, code);
+        final long hash = hash(codeKey);
+        int slot = (int) (hash & (capacity - 1));
+        long offset;
+        while ((offset = slotOffset(HEADER_SIZE, slot)) != 0) {
+            if (slotHash(HEADER_SIZE, slot) == hash) {
+                final Record record = readRecord(offset);
+                if (codeKey.equals(codeKey(record.authority, record.code))) {
+                    return offset;
+                }
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+        return 0;
+    }
+
+    private long findByName(final String name) {
+        final long hash = hash(name);
+        int slot = (int) (hash & (capacity - 1));
+        long offset;
+        while ((offset = slotOffset(nameTablePos, slot)) != 0) {
+            if (slotHash(nameTablePos, slot) == hash && name.equals(readRecord(offset).name)) {
+                return offset;
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+        return 0;
+    }
+
+    private void putSlot(final long table, final long hash, final long offset) {
+        int slot = (int) (hash & (capacity - 1));
+        while (slotOffset(table, slot) != 0) {
+            slot = (slot + 1) & (capacity - 1);
+        }
+        index.putLong((int) (table + (long) slot * SLOT_SIZE), hash);
+        index.putLong((int) (table + (long) slot * SLOT_SIZE + 8), offset);
+    }
+
+    private long slotHash(final long table, final int slot) {
+        return index.getLong((int) (table + (long) slot * SLOT_SIZE));
+    }
+
+    private long slotOffset(final long table, final int slot) {
+        return index.getLong((int) (table + (long) slot * SLOT_SIZE + 8));
+    }
+
+    private Record readRecord(final long offset) {
+        try {
+            final ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+            readFully(lengthBuffer, offset);
+            final ByteBuffer buffer = ByteBuffer.allocate(lengthBuffer.getInt(0));
+            readFully(buffer, offset + 4);
+            buffer.flip();
+            final Record record = new Record();
+            record.format = Format.values()[buffer.get()];
+            record.authority = getShortString(buffer);
+            record.code = getShortString(buffer);
+            record.name = getShortString(buffer);
+            final byte[] definition = new byte[buffer.getInt()];
+            buffer.get(definition);
+            record.definition = new String(definition, StandardCharsets.UTF_8);
+            return record;
+        } catch (IOException ex) {
+            throw new RuntimeException("Cannot read the catalog record at " + offset, ex);
+        }
+    }
+
+    private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated catalog");
+            }
+        }
+    }
+
+    private static void putShortString(final ByteBuffer buffer, final byte[] bytes) {
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String too long for the catalog");
+        }
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getShortString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String codeKey(final String authority, final String code) {
+        return authority.toUpperCase(Locale.ROOT) + ":" + code;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-16 units of a key.
+     */
+    private static long hash(final String key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Content of a record.
+     */
+    private static final class Record {
+
+        private Format format;
+        private String authority;
+        private String code;
+        private String name;
+        private String definition;
+    }
+}
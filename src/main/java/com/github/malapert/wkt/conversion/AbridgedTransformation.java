@@ -0,0 +1,156 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.conversion;
+
+import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.method.Method;
+import com.github.malapert.wkt.method.MethodFactory;
+import com.github.malapert.wkt.operation.HelmertTransform;
+import com.github.malapert.wkt.parameter.Operation;
+import com.github.malapert.wkt.parameter.OperationFactory;
+import com.github.malapert.wkt.utils.Singleton;
+import com.github.malapert.wkt.utils.Utils;
+import com.github.malapert.wkt.utils.WktElt;
+import com.github.malapert.wkt.utils.WktEltCollection;
+import java.util.List;
+
+/**
+ * Defines the transformation of a bound CRS.
+ *
+ * {@code
+ * <abridged coordinate transformation>::=<abridged transformation keyword>
+ * <left delimiter> <operation name> <wkt separator> <operation method> {
+ * <wkt separator> <abridged transformation parameter> | <operation parameter file> }…
+ * [ <wkt separator> <operation accuracy> ] [ { <wkt separator> <identifier> } ]…
+ * <right delimiter>
+ *}
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class AbridgedTransformation extends AbstractConversion {
+
+    public static final String ABRIDGED_TRANSFORMATION_KEYWORD = "ABRIDGEDTRANSFORMATION";
+    public static final String OPERATION_ACCURACY_KEYWORD = "OPERATIONACCURACY";
+
+    /**
+     * accuracy of the transformation in metres or null.
+     */
+    private String operationAccuracy;
+    /**
+     * compiled Helmert transformation, built at the first call.
+     */
+    private volatile HelmertTransform helmertTransform;
+
+    public AbridgedTransformation(final String name, final Method method) {
+        setName(name);
+        setMethod(method);
+    }
+
+    public AbridgedTransformation(final WktElt abridgedTransformationWkt) {
+        parse(abridgedTransformationWkt);
+    }
+
+    private void parse(final WktElt abridgedTransformationWkt) {
+        final WktEltCollection wktEltCollection = Singleton.getInstance().getCollection();
+        final List<WktElt> attributes = wktEltCollection.getAttributesFor(abridgedTransformationWkt, ABRIDGED_TRANSFORMATION_KEYWORD);
+        setName(Utils.removeQuotes(attributes.get(0).getKeyword()));
+
+        final List<WktElt> nodes = wktEltCollection.getNodesFor(abridgedTransformationWkt, ABRIDGED_TRANSFORMATION_KEYWORD);
+        for (final WktElt node : nodes) {
+            switch (node.getSymbol()) {
+                case METHOD:
+                    setMethod(MethodFactory.createFromWkt(node));
+                    break;
+                case PARAMETERFILE:
+                case PARAMETER:
+                    this.getParameters().add(OperationFactory.createFromWkt(node, OperationFactory.OperationType.DERIVED_CONVERSION));
+                    break;
+                case OPERATIONACCURACY:
+                    setOperationAccuracy(wktEltCollection.getAttributesFor(node, OPERATION_ACCURACY_KEYWORD).get(0).getKeyword());
+                    break;
+                case ID:
+                    this.getIdentifiers().add(new Identifier(node));
+                    break;
+                default:
+                    throw new RuntimeException(node.getKeyword());
+            }
+        }
+    }
+
+    /**
+     * Returns the accuracy of the transformation.
+     * @return the accuracy in metres or null
+     */
+    public String getOperationAccuracy() {
+        return operationAccuracy;
+    }
+
+    /**
+     * Sets the accuracy of the transformation.
+     * @param operationAccuracy the accuracy in metres
+     */
+    public void setOperationAccuracy(final String operationAccuracy) {
+        this.operationAccuracy = operationAccuracy;
+    }
+
+    @Override
+    public void setParameters(final List<Operation> parameters) {
+        super.setParameters(parameters);
+        this.helmertTransform = null;
+    }
+
+    /**
+     * Returns the Helmert transformation compiled from the method and the
+     * parameters. It is compiled at the first call.
+     * @return the Helmert transformation
+     */
+    public HelmertTransform getHelmertTransform() {
+        HelmertTransform result = helmertTransform;
+        if (result == null) {
+            result = HelmertTransform.create(this);
+            helmertTransform = result;
+        }
+        return result;
+    }
+
+    @Override
+    public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
+        StringBuffer wkt = new StringBuffer();
+        wkt = wkt.append(ABRIDGED_TRANSFORMATION_KEYWORD).append(LEFT_DELIMITER);
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(Utils.addQuotes(this.name));
+        wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(this.getMethod().toWkt(endLine, tab, deepLevel + 1));
+        for (final Operation parameter : getParameters()) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(parameter.toWkt(endLine, tab, deepLevel + 1));
+        }
+        if (this.operationAccuracy != null) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(OPERATION_ACCURACY_KEYWORD).append(LEFT_DELIMITER).append(this.operationAccuracy).append(RIGHT_DELIMITER);
+        }
+        for (final Identifier id : this.getIdentifiers()) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(id.toWkt(endLine, tab, deepLevel + 1));
+        }
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel)).append(RIGHT_DELIMITER);
+        return wkt;
+    }
+
+    @Override
+    public StringBuffer toWkt() {
+        return toWkt("\n", "   ", 0);
+    }
+
+}
@@ -21,6 +21,7 @@ package com.github.malapert.wkt.conversion;
 import com.github.malapert.wkt.metadata.Identifier;
 import com.github.malapert.wkt.method.Method;
 import com.github.malapert.wkt.parameter.Operation;
+import com.github.malapert.wkt.parameter.ParameterValues;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -46,6 +47,10 @@ public abstract class AbstractConversion implements Conversion {
      * conversion identifiers
      */
     public List<Identifier> identifiers = new ArrayList<>();
+    /**
+     * values of the parameters, built from the parameters at the first call.
+     */
+    private volatile ParameterValues parameterValues;
 
     /**
      * Returns the name of the conversion.
@@ -96,6 +101,23 @@ public abstract class AbstractConversion implements Conversion {
      */
     public void setParameters(final List<Operation> parameters) {
         this.parameters = parameters;
+        this.parameterValues = null;
+    }
+
+    /**
+     * Returns the values of the parameters in SI units. The values are built
+     * at the first call and built again when a parameter is added or when
+     * the parameters are replaced.
+     * @return the values of the parameters
+     */
+    @Override
+    public ParameterValues getParameterValues() {
+        ParameterValues result = parameterValues;
+        if (result == null || result.size() != parameters.size()) {
+            result = new ParameterValues(parameters);
+            parameterValues = result;
+        }
+        return result;
     }
 
     /**
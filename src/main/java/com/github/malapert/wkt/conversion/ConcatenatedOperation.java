@@ -0,0 +1,215 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.conversion;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.metadata.Remark;
+import com.github.malapert.wkt.metadata.ScopeExtent;
+import com.github.malapert.wkt.metadata.Usage;
+import com.github.malapert.wkt.metadata.WktDescription;
+import com.github.malapert.wkt.utils.Singleton;
+import com.github.malapert.wkt.utils.Utils;
+import com.github.malapert.wkt.utils.WktElt;
+import com.github.malapert.wkt.utils.WktEltCollection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defines a sequence of coordinate operations.
+ *
+ * {@code
+ * <concatenated operation>::=<concatenated operation keyword> <left delimiter>
+ * <operation name> [ <wkt separator> <operation version> ] <wkt separator>
+ * <source crs> <wkt separator> <target crs> <wkt separator> <step keyword>
+ * <left delimiter> <operation> <right delimiter> { <wkt separator> <step keyword>
+ * <left delimiter> <operation> <right delimiter> }… [ <wkt separator>
+ * <operation accuracy> ] <scope extent identifier remark> <right delimiter>
+ *}
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class ConcatenatedOperation implements WktDescription {
+
+    public static final String CONCATENATED_OPERATION_KEYWORD = "CONCATENATEDOPERATION";
+    public static final String STEP_KEYWORD = "STEP";
+
+    private String name;
+    private String operationVersion;
+    private CoordinateReferenceSystem sourceCrs;
+    private CoordinateReferenceSystem targetCrs;
+    private final List<Conversion> steps = new ArrayList<>();
+    private String operationAccuracy;
+    private ScopeExtent scopeExtent = new ScopeExtent();
+
+    public ConcatenatedOperation(final String name, final CoordinateReferenceSystem sourceCrs, final CoordinateReferenceSystem targetCrs, final List<Conversion> steps) {
+        this.name = name;
+        this.sourceCrs = sourceCrs;
+        this.targetCrs = targetCrs;
+        this.steps.addAll(steps);
+    }
+
+    public ConcatenatedOperation(final WktElt concatenatedOperationWkt) {
+        parse(concatenatedOperationWkt);
+    }
+
+    private void parse(final WktElt concatenatedOperationWkt) {
+        final WktEltCollection wktEltCollection = Singleton.getInstance().getCollection();
+        final List<WktElt> attributes = wktEltCollection.getAttributesFor(concatenatedOperationWkt, CONCATENATED_OPERATION_KEYWORD);
+        this.name = Utils.removeQuotes(attributes.get(0).getKeyword());
+
+        final List<WktElt> nodes = wktEltCollection.getNodesFor(concatenatedOperationWkt, CONCATENATED_OPERATION_KEYWORD);
+        for (final WktElt node : nodes) {
+            switch (node.getSymbol()) {
+                case VERSION:
+                    this.operationVersion = Utils.removeQuotes(wktEltCollection.getAttributesFor(node, CoordinateOperation.OPERATION_VERSION_KEYWORD).get(0).getKeyword());
+                    break;
+                case SOURCECRS:
+                    this.sourceCrs = CoordinateOperation.parseCrs(node, CoordinateOperation.SOURCE_CRS_KEYWORD);
+                    break;
+                case TARGETCRS:
+                    this.targetCrs = CoordinateOperation.parseCrs(node, CoordinateOperation.TARGET_CRS_KEYWORD);
+                    break;
+                case STEP:
+                    this.steps.add(parseStep(wktEltCollection.getNodesFor(node, STEP_KEYWORD).get(0)));
+                    break;
+                case OPERATIONACCURACY:
+                    this.operationAccuracy = CoordinateOperation.parseOperationAccuracy(node);
+                    break;
+                case USAGE:
+                    this.scopeExtent.getUsageList().add(new Usage(node));
+                    break;
+                case ID:
+                    this.scopeExtent.getIdentifierList().add(new Identifier(node));
+                    break;
+                case REMARK:
+                    this.scopeExtent.setRemark(new Remark(node));
+                    break;
+                default:
+                    throw new RuntimeException(node.getKeyword());
+            }
+        }
+        if (this.sourceCrs == null || this.targetCrs == null || this.steps.isEmpty()) {
+            throw new RuntimeException("CONCATENATEDOPERATION needs SOURCECRS, TARGETCRS and STEP at offset " + concatenatedOperationWkt.getStart());
+        }
+    }
+
+    private static Conversion parseStep(final WktElt node) {
+        switch (node.getSymbol()) {
+            case COORDINATEOPERATION:
+                return new CoordinateOperation(node);
+            case CONVERSION:
+                return new MapProjection(node);
+            case DERIVINGCONVERSION:
+                return new DerivedConversion(node);
+            default:
+                throw new RuntimeException("Unsupported step " + node.getKeyword() + " at offset " + node.getStart());
+        }
+    }
+
+    /**
+     * Returns the name of the operation.
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the version of the operation.
+     * @return the version or null
+     */
+    public String getOperationVersion() {
+        return operationVersion;
+    }
+
+    /**
+     * Returns the source CRS.
+     * @return the source CRS
+     */
+    public CoordinateReferenceSystem getSourceCrs() {
+        return sourceCrs;
+    }
+
+    /**
+     * Returns the target CRS.
+     * @return the target CRS
+     */
+    public CoordinateReferenceSystem getTargetCrs() {
+        return targetCrs;
+    }
+
+    /**
+     * Returns the operations in the order of their execution.
+     * @return the steps
+     */
+    public List<Conversion> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the accuracy of the operation.
+     * @return the accuracy in metres or null
+     */
+    public String getOperationAccuracy() {
+        return operationAccuracy;
+    }
+
+    /**
+     * Returns the usages, the identifiers and the remark.
+     * @return scope extent
+     */
+    public ScopeExtent getScopeExtent() {
+        return scopeExtent;
+    }
+
+    @Override
+    public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
+        StringBuffer wkt = new StringBuffer();
+        wkt = wkt.append(CONCATENATED_OPERATION_KEYWORD).append(LEFT_DELIMITER);
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(Utils.addQuotes(this.name));
+        if (this.operationVersion != null) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(CoordinateOperation.OPERATION_VERSION_KEYWORD).append(LEFT_DELIMITER).append(Utils.addQuotes(this.operationVersion)).append(RIGHT_DELIMITER);
+        }
+        wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(CoordinateOperation.crsToWkt(CoordinateOperation.SOURCE_CRS_KEYWORD, this.sourceCrs, endLine, tab, deepLevel + 1));
+        wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(CoordinateOperation.crsToWkt(CoordinateOperation.TARGET_CRS_KEYWORD, this.targetCrs, endLine, tab, deepLevel + 1));
+        for (final Conversion step : this.steps) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(STEP_KEYWORD).append(LEFT_DELIMITER);
+            wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 2)).append(step.toWkt(endLine, tab, deepLevel + 2));
+            wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(RIGHT_DELIMITER);
+        }
+        if (this.operationAccuracy != null) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(AbridgedTransformation.OPERATION_ACCURACY_KEYWORD).append(LEFT_DELIMITER).append(this.operationAccuracy).append(RIGHT_DELIMITER);
+        }
+        wkt = wkt.append(this.scopeExtent.toWkt(endLine, tab, deepLevel + 1));
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel)).append(RIGHT_DELIMITER);
+        return wkt;
+    }
+
+    @Override
+    public StringBuffer toWkt() {
+        return toWkt("\n", "   ", 0);
+    }
+
+    @Override
+    public String toString() {
+        return toWkt("", "", 0).toString();
+    }
+
+}
@@ -22,6 +22,7 @@ import com.github.malapert.wkt.metadata.Identifier;
 import com.github.malapert.wkt.metadata.WktDescription;
 import com.github.malapert.wkt.method.Method;
 import com.github.malapert.wkt.parameter.Operation;
+import com.github.malapert.wkt.parameter.ParameterValues;
 import java.util.List;
 
 /**
@@ -33,5 +34,6 @@ public interface Conversion extends WktDescription {
     public String getName();
     public Method getMethod();
     public List<Operation> getParameters();
+    public ParameterValues getParameterValues();
     public List<Identifier> getIdentifiers();
 }
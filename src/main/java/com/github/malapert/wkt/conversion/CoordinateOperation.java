@@ -0,0 +1,287 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.conversion;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.metadata.Remark;
+import com.github.malapert.wkt.metadata.ScopeExtent;
+import com.github.malapert.wkt.metadata.Usage;
+import com.github.malapert.wkt.method.Method;
+import com.github.malapert.wkt.method.MethodFactory;
+import com.github.malapert.wkt.parameter.Operation;
+import com.github.malapert.wkt.parameter.OperationFactory;
+import com.github.malapert.wkt.utils.Singleton;
+import com.github.malapert.wkt.utils.Utils;
+import com.github.malapert.wkt.utils.WktElt;
+import com.github.malapert.wkt.utils.WktEltCollection;
+import java.util.List;
+
+/**
+ * Defines a coordinate operation between a source CRS and a target CRS.
+ *
+ * {@code
+ * <coordinate operation>::=<operation keyword> <left delimiter> <operation name>
+ * [ <wkt separator> <operation version> ] <wkt separator> <source crs>
+ * <wkt separator> <target crs> <wkt separator> <operation method> [ {
+ * <wkt separator> <operation parameter> | <operation parameter file> } ]…
+ * [ <wkt separator> <interpolation crs> ] [ <wkt separator> <operation accuracy> ]
+ * <scope extent identifier remark> <right delimiter>
+ *}
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class CoordinateOperation extends AbstractConversion {
+
+    public static final String COORDINATE_OPERATION_KEYWORD = "COORDINATEOPERATION";
+    public static final String OPERATION_VERSION_KEYWORD = "VERSION";
+    public static final String SOURCE_CRS_KEYWORD = "SOURCECRS";
+    public static final String TARGET_CRS_KEYWORD = "TARGETCRS";
+    public static final String INTERPOLATION_CRS_KEYWORD = "INTERPOLATIONCRS";
+
+    private String operationVersion;
+    private CoordinateReferenceSystem sourceCrs;
+    private CoordinateReferenceSystem targetCrs;
+    private CoordinateReferenceSystem interpolationCrs;
+    private String operationAccuracy;
+    private final ScopeExtent scopeExtent = new ScopeExtent();
+
+    public CoordinateOperation(final String name, final CoordinateReferenceSystem sourceCrs, final CoordinateReferenceSystem targetCrs, final Method method) {
+        setName(name);
+        setMethod(method);
+        this.sourceCrs = sourceCrs;
+        this.targetCrs = targetCrs;
+        this.scopeExtent.setIdentifierList(getIdentifiers());
+    }
+
+    public CoordinateOperation(final WktElt coordinateOperationWkt) {
+        this.scopeExtent.setIdentifierList(getIdentifiers());
+        parse(coordinateOperationWkt);
+    }
+
+    private void parse(final WktElt coordinateOperationWkt) {
+        final WktEltCollection wktEltCollection = Singleton.getInstance().getCollection();
+        final List<WktElt> attributes = wktEltCollection.getAttributesFor(coordinateOperationWkt, COORDINATE_OPERATION_KEYWORD);
+        setName(Utils.removeQuotes(attributes.get(0).getKeyword()));
+
+        final List<WktElt> nodes = wktEltCollection.getNodesFor(coordinateOperationWkt, COORDINATE_OPERATION_KEYWORD);
+        for (final WktElt node : nodes) {
+            switch (node.getSymbol()) {
+                case VERSION:
+                    setOperationVersion(Utils.removeQuotes(wktEltCollection.getAttributesFor(node, OPERATION_VERSION_KEYWORD).get(0).getKeyword()));
+                    break;
+                case SOURCECRS:
+                    setSourceCrs(parseCrs(node, SOURCE_CRS_KEYWORD));
+                    break;
+                case TARGETCRS:
+                    setTargetCrs(parseCrs(node, TARGET_CRS_KEYWORD));
+                    break;
+                case INTERPOLATIONCRS:
+                    setInterpolationCrs(parseCrs(node, INTERPOLATION_CRS_KEYWORD));
+                    break;
+                case METHOD:
+                    setMethod(MethodFactory.createFromWkt(node));
+                    break;
+                case PARAMETERFILE:
+                case PARAMETER:
+                    this.getParameters().add(OperationFactory.createFromWkt(node, OperationFactory.OperationType.DERIVED_CONVERSION));
+                    break;
+                case OPERATIONACCURACY:
+                    setOperationAccuracy(parseOperationAccuracy(node));
+                    break;
+                case USAGE:
+                    this.scopeExtent.getUsageList().add(new Usage(node));
+                    break;
+                case ID:
+                    this.getIdentifiers().add(new Identifier(node));
+                    break;
+                case REMARK:
+                    this.scopeExtent.setRemark(new Remark(node));
+                    break;
+                default:
+                    throw new RuntimeException(node.getKeyword());
+            }
+        }
+        if (this.sourceCrs == null || this.targetCrs == null || getMethod() == null) {
+            throw new RuntimeException("COORDINATEOPERATION needs SOURCECRS, TARGETCRS and METHOD at offset " + coordinateOperationWkt.getStart());
+        }
+    }
+
+    /**
+     * Parses the CRS wrapped in a SOURCECRS, TARGETCRS or INTERPOLATIONCRS node.
+     * @param node wrapping node
+     * @param keyword keyword of the wrapping node
+     * @return the CRS
+     */
+    static CoordinateReferenceSystem parseCrs(final WktElt node, final String keyword) {
+        return CoordinateReferenceSystemFactory.createFromWkt(Singleton.getInstance().getCollection().getNodesFor(node, keyword).get(0));
+    }
+
+    /**
+     * Parses the value of an OPERATIONACCURACY node.
+     * @param node OPERATIONACCURACY node
+     * @return the accuracy in metres
+     */
+    static String parseOperationAccuracy(final WktElt node) {
+        return Singleton.getInstance().getCollection().getAttributesFor(node, AbridgedTransformation.OPERATION_ACCURACY_KEYWORD).get(0).getKeyword();
+    }
+
+    /**
+     * Writes a CRS wrapped in a SOURCECRS, TARGETCRS or INTERPOLATIONCRS node.
+     * @param keyword keyword of the wrapping node
+     * @param crs CRS
+     * @param endLine end of line
+     * @param tab tabulation
+     * @param deepLevel level of the wrapping node
+     * @return the WKT of the wrapping node
+     */
+    static StringBuffer crsToWkt(final String keyword, final CoordinateReferenceSystem crs, final String endLine, final String tab, final int deepLevel) {
+        StringBuffer wkt = new StringBuffer();
+        wkt = wkt.append(keyword).append(LEFT_DELIMITER);
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(crs.toWkt(endLine, tab, deepLevel + 1));
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel)).append(RIGHT_DELIMITER);
+        return wkt;
+    }
+
+    /**
+     * Returns the version of the operation.
+     * @return the version or null
+     */
+    public String getOperationVersion() {
+        return operationVersion;
+    }
+
+    /**
+     * Sets the version of the operation.
+     * @param operationVersion the version
+     */
+    public void setOperationVersion(final String operationVersion) {
+        this.operationVersion = operationVersion;
+    }
+
+    /**
+     * Returns the source CRS.
+     * @return the source CRS
+     */
+    public CoordinateReferenceSystem getSourceCrs() {
+        return sourceCrs;
+    }
+
+    /**
+     * Sets the source CRS.
+     * @param sourceCrs the source CRS
+     */
+    public void setSourceCrs(final CoordinateReferenceSystem sourceCrs) {
+        this.sourceCrs = sourceCrs;
+    }
+
+    /**
+     * Returns the target CRS.
+     * @return the target CRS
+     */
+    public CoordinateReferenceSystem getTargetCrs() {
+        return targetCrs;
+    }
+
+    /**
+     * Sets the target CRS.
+     * @param targetCrs the target CRS
+     */
+    public void setTargetCrs(final CoordinateReferenceSystem targetCrs) {
+        this.targetCrs = targetCrs;
+    }
+
+    /**
+     * Returns the CRS of the interpolation points of a grid.
+     * @return the interpolation CRS or null
+     */
+    public CoordinateReferenceSystem getInterpolationCrs() {
+        return interpolationCrs;
+    }
+
+    /**
+     * Sets the CRS of the interpolation points of a grid.
+     * @param interpolationCrs the interpolation CRS
+     */
+    public void setInterpolationCrs(final CoordinateReferenceSystem interpolationCrs) {
+        this.interpolationCrs = interpolationCrs;
+    }
+
+    /**
+     * Returns the accuracy of the operation.
+     * @return the accuracy in metres or null
+     */
+    public String getOperationAccuracy() {
+        return operationAccuracy;
+    }
+
+    /**
+     * Sets the accuracy of the operation.
+     * @param operationAccuracy the accuracy in metres
+     */
+    public void setOperationAccuracy(final String operationAccuracy) {
+        this.operationAccuracy = operationAccuracy;
+    }
+
+    @Override
+    public void setIdentifiers(final List<Identifier> identifiers) {
+        super.setIdentifiers(identifiers);
+        this.scopeExtent.setIdentifierList(identifiers);
+    }
+
+    /**
+     * Returns the usages, the identifiers and the remark.
+     * @return scope extent
+     */
+    public ScopeExtent getScopeExtent() {
+        return scopeExtent;
+    }
+
+    @Override
+    public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
+        StringBuffer wkt = new StringBuffer();
+        wkt = wkt.append(COORDINATE_OPERATION_KEYWORD).append(LEFT_DELIMITER);
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(Utils.addQuotes(this.name));
+        if (this.operationVersion != null) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(OPERATION_VERSION_KEYWORD).append(LEFT_DELIMITER).append(Utils.addQuotes(this.operationVersion)).append(RIGHT_DELIMITER);
+        }
+        wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(crsToWkt(SOURCE_CRS_KEYWORD, this.sourceCrs, endLine, tab, deepLevel + 1));
+        wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(crsToWkt(TARGET_CRS_KEYWORD, this.targetCrs, endLine, tab, deepLevel + 1));
+        wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(this.getMethod().toWkt(endLine, tab, deepLevel + 1));
+        for (final Operation parameter : getParameters()) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(parameter.toWkt(endLine, tab, deepLevel + 1));
+        }
+        if (this.interpolationCrs != null) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(crsToWkt(INTERPOLATION_CRS_KEYWORD, this.interpolationCrs, endLine, tab, deepLevel + 1));
+        }
+        if (this.operationAccuracy != null) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(AbridgedTransformation.OPERATION_ACCURACY_KEYWORD).append(LEFT_DELIMITER).append(this.operationAccuracy).append(RIGHT_DELIMITER);
+        }
+        wkt = wkt.append(this.scopeExtent.toWkt(endLine, tab, deepLevel + 1));
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel)).append(RIGHT_DELIMITER);
+        return wkt;
+    }
+
+    @Override
+    public StringBuffer toWkt() {
+        return toWkt("\n", "   ", 0);
+    }
+
+}
@@ -0,0 +1,71 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.conversion;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.metadata.WktDescription;
+import com.github.malapert.wkt.utils.WktElt;
+
+/**
+ * Creates the coordinate operations of a WKT description.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public abstract class CoordinateOperationFactory {
+
+    /**
+     * Creates a coordinate operation from its WKT node.
+     * @param operationWkt COORDINATEOPERATION, CONCATENATEDOPERATION or
+     * CONVERSION node
+     * @return a {@link CoordinateOperation}, a {@link ConcatenatedOperation}
+     * or a {@link MapProjection}
+     */
+    public static WktDescription createFromWkt(final WktElt operationWkt) {
+        switch (operationWkt.getSymbol()) {
+            case COORDINATEOPERATION:
+                return new CoordinateOperation(operationWkt);
+            case CONCATENATEDOPERATION:
+                return new ConcatenatedOperation(operationWkt);
+            case CONVERSION:
+                return new MapProjection(operationWkt);
+            default:
+                throw new RuntimeException(operationWkt.getKeyword() + " is not a coordinate operation");
+        }
+    }
+
+    /**
+     * Creates a coordinate operation from its WKT description.
+     * @param operationWkt WKT description
+     * @return the coordinate operation
+     */
+    public static WktDescription createFromWkt(final String operationWkt) {
+        return CoordinateReferenceSystemFactory.parse(operationWkt, CoordinateOperationFactory::createFromWkt);
+    }
+
+    /**
+     * Creates a coordinate operation of a given type from its WKT description.
+     * @param <T> type of the operation
+     * @param operationWkt WKT description
+     * @param operationClass class of the operation
+     * @return the coordinate operation
+     */
+    public static <T extends WktDescription> T createFromWkt(final String operationWkt, final Class<T> operationClass) {
+        return operationClass.cast(createFromWkt(operationWkt));
+    }
+}
@@ -23,10 +23,8 @@ import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.utils.WktEltCollection;
 import com.github.malapert.wkt.metadata.Identifier;
-import com.github.malapert.wkt.method.DerivedConversionMethod;
+import com.github.malapert.wkt.method.Method;
 import com.github.malapert.wkt.method.MethodFactory;
-import com.github.malapert.wkt.parameter.CoordinateOperationParameter;
-import com.github.malapert.wkt.parameter.CoordinateOperationParameterFile;
 import com.github.malapert.wkt.parameter.Operation;
 import com.github.malapert.wkt.parameter.OperationFactory;
 import java.util.List;
@@ -47,6 +45,11 @@ public class DerivedConversion extends AbstractConversion {
 
     public static final String DERIVED_CONVERSION_KEYWORD = "DERIVINGCONVERSION";
 
+    public DerivedConversion(final String name, final Method method) {
+        setName(name);
+        setMethod(method);
+    }
+
     public DerivedConversion(final WktElt derivedConversionWkt) {
         parse(derivedConversionWkt);
     }
@@ -58,15 +61,15 @@ public class DerivedConversion extends AbstractConversion {
 
         final List<WktElt> nodes = wktEltCollection.getNodesFor(derivedConversionWkt, DERIVED_CONVERSION_KEYWORD);
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case DerivedConversionMethod.DERIVED_CONVERSION_METHOD:
+            switch (node.getSymbol()) {
+                case METHOD:
                     setMethod(MethodFactory.createFromWkt(node));
                     break;
-                case CoordinateOperationParameterFile.OPERATION_PARAMETER_FILE:
-                case CoordinateOperationParameter.OPERATION_PARAMETER_KEYWORD:
+                case PARAMETERFILE:
+                case PARAMETER:
                     this.getParameters().add(OperationFactory.createFromWkt(node,OperationFactory.OperationType.DERIVED_CONVERSION));
                     break;
-                case Identifier.IDENTIFIER_KEYWORD:
+                case ID:
                     this.getIdentifiers().add(new Identifier(node));
                     break;
                 default:
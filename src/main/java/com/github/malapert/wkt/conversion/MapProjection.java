@@ -26,6 +26,7 @@ import static com.github.malapert.wkt.metadata.WktDescription.WKT_SEPARATOR;
 import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.utils.WktEltCollection;
 import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.method.Method;
 import com.github.malapert.wkt.method.MethodFactory;
 import static com.github.malapert.wkt.parameter.MapProjectionParameter.MAP_PROJECTION_PARAMETER;
 import com.github.malapert.wkt.parameter.Operation;
@@ -48,6 +49,11 @@ public class MapProjection extends AbstractConversion {
 
     public static final String MAP_PROJECTION_KEYWORD = "CONVERSION";
 
+    public MapProjection(final String name, final Method method) {
+        setName(name);
+        setMethod(method);
+    }
+
     public MapProjection(final WktElt mapProjectionwktElts) {
         parse(mapProjectionwktElts);
     }
@@ -59,15 +65,14 @@ public class MapProjection extends AbstractConversion {
 
         final List<WktElt> nodes = wktEltCollection.getNodesFor(mapProjectionwktElts, MAP_PROJECTION_KEYWORD);
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case "METHOD":
-                case "PROJECTION":
+            switch (node.getSymbol()) {
+                case METHOD:
                     setMethod(MethodFactory.createFromWkt(node));
                     break;
-                case MAP_PROJECTION_PARAMETER:
+                case PARAMETER:
                     this.getParameters().add(OperationFactory.createFromWkt(node, OperationFactory.OperationType.MAP_PROJECTION));
                     break;
-                case Identifier.IDENTIFIER_KEYWORD:
+                case ID:
                     this.getIdentifiers().add(new Identifier(node));
                     break;
                 default:
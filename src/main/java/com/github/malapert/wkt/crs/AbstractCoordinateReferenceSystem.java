@@ -18,6 +18,8 @@
 */
 package com.github.malapert.wkt.crs;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
+import com.github.malapert.wkt.utils.ParallelParsing;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.utils.WktElt;
@@ -28,9 +30,11 @@ import com.github.malapert.wkt.metadata.ScopeExtent;
 import com.github.malapert.wkt.metadata.Unit;
 import com.github.malapert.wkt.metadata.UnitFactory;
 import com.github.malapert.wkt.cs.Axis;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem.CrsType;
 import com.github.malapert.wkt.cs.CoordinateSystem;
 import com.github.malapert.wkt.datum.Datum;
 import com.github.malapert.wkt.metadata.Usage;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -136,34 +140,32 @@ public class AbstractCoordinateReferenceSystem  implements CoordinateReferenceSy
         this.setCrsName(attributes.get(0).getKeyword());
 
         final List<WktElt> nodes = wktEltCollection.getNodesFor(crsWkt, getKeyword());
+        final ParallelParsing children = ParallelParsing.forNode(crsWkt);
+        final List<ParallelParsing.Result<Usage>> usages = new ArrayList<>();
+        final List<ParallelParsing.Result<Identifier>> identifiers = new ArrayList<>();
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {                   
-                case CoordinateSystem.COORDINATE_SYSTEM_KEYWORD:
+            switch (node.getSymbol()) {                   
+                case CS:
                     this.setCs(new CoordinateSystem(node));
                     break;
-                case Axis.AXIS_KEYWORD:
+                case AXIS:
                     this.getCs().getAxisList().add(new Axis(node));
                     break;
-                case UnitFactory.AngleUnit.ANGLEUNIT_KEYWORD:
-                case UnitFactory.AngleUnit.ANGLEUNIT_UNIT_KEYWORD:
-                case UnitFactory.LengthUnit.LENGTH_KEYWORD:
-                case UnitFactory.LengthUnit.LENGTH_UNIT_KEYWORD:
-                case UnitFactory.ScaleUnit.SCALEUNIT_KEYWORD:
-                case UnitFactory.ScaleUnit.SCALEUNIT_UNIT_KEYWORD:
-                case UnitFactory.ParametricUnit.PARAMETRICUNIT_KEYWORD:
-                case UnitFactory.ParametricUnit.PARAMETRICUNIT_UNIT_KEYWORD:
-                case UnitFactory.TimeUnit.TIMEUNIT_KEYWORD:
-                case UnitFactory.TimeUnit.TIMEUNIT_UNIT_KEYWORD:
+                case ANGLEUNIT:
+                case LENGTHUNIT:
+                case SCALEUNIT:
+                case PARAMETRICUNIT:
+                case TIMEUNIT:
                     final Unit unit = UnitFactory.createFromWkt(node);
                     this.getCs().setUnit(unit);
                     break;
-                case Usage.USAGE_KEYWORD:
-                    this.getScopeExtent().getUsageList().add(new Usage(node));
+                case USAGE:
+                    usages.add(children.submit(node, SubtreeBuilders.USAGE));
                     break;                    
-                case Identifier.IDENTIFIER_KEYWORD:                    
-                    this.getScopeExtent().getIdentifierList().add(new Identifier(node));
+                case ID:                    
+                    identifiers.add(children.submit(node, SubtreeBuilders.IDENTIFIER));
                     break;
-                case Remark.REMARK_KEYWORD:
+                case REMARK:
                     this.getScopeExtent().setRemark(new Remark(node));
                     break;
                 default:
@@ -174,6 +176,17 @@ public class AbstractCoordinateReferenceSystem  implements CoordinateReferenceSy
                     }
             }
         }
+        for (final ParallelParsing.Result<Usage> usage : usages) {
+            this.getScopeExtent().getUsageList().add(usage.get());
+        }
+        for (final ParallelParsing.Result<Identifier> identifier : identifiers) {
+            this.getScopeExtent().getIdentifierList().add(identifier.get());
+        }
+        if (this.getCs() != null) {
+            this.getCs().validate(CrsType.valueOf(crsWkt.getSymbol(), crsWkt.isDerivated()));
+        }
+        // the datum is complete once the prime meridian has been parsed
+        this.setCrsDatum(CanonicalPool.intern(this.getCrsDatum()));
     }
     
     /**
@@ -18,6 +18,7 @@
 */
 package com.github.malapert.wkt.crs;
 
+import com.github.malapert.wkt.utils.ParallelParsing;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import static com.github.malapert.wkt.metadata.WktDescription.LEFT_DELIMITER;
@@ -32,10 +33,13 @@ import com.github.malapert.wkt.metadata.Unit;
 import com.github.malapert.wkt.metadata.UnitFactory;
 import com.github.malapert.wkt.conversion.Conversion;
 import com.github.malapert.wkt.cs.Axis;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem.CrsType;
 import com.github.malapert.wkt.cs.CoordinateSystem;
 import com.github.malapert.wkt.datum.Datum;
 import com.github.malapert.wkt.conversion.DerivedConversion;
 import com.github.malapert.wkt.metadata.Usage;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -51,6 +55,13 @@ public abstract class AbstractDerivatedCoordinateReferenceSystem implements Deri
     public CoordinateSystem cs;
     public ScopeExtent scopeExtent = new ScopeExtent(); 
 
+    /**
+     * Base CRS resolved from {@link #baseDerivatedCrs}, null until it is
+     * requested or after a change of the base CRS or of the CS.
+     */
+    private volatile CoordinateReferenceSystem baseCrs;
+    private volatile List<CoordinateReferenceSystem> derivationChain;
+
     /**
      * @return the keyword
      */
@@ -92,6 +103,7 @@ public abstract class AbstractDerivatedCoordinateReferenceSystem implements Deri
      */
     public final void setBaseDerivatedCrs(BaseCrs baseDerivatedCrs) {
         this.baseDerivatedCrs = baseDerivatedCrs;
+        clearBaseCrs();
     }
 
     /**
@@ -122,6 +134,7 @@ public abstract class AbstractDerivatedCoordinateReferenceSystem implements Deri
      */
     public final void setCs(CoordinateSystem cs) {
         this.cs = cs;
+        clearBaseCrs();
     }
 
     /**
@@ -138,12 +151,54 @@ public abstract class AbstractDerivatedCoordinateReferenceSystem implements Deri
         this.scopeExtent = scopeExtent;
     }
     
+    /**
+     * Returns the base CRS. The base CRS is created at the first call and
+     * then reused.
+     * @return the base CRS
+     */
     @Override
     public CoordinateReferenceSystem getBaseCrs() {
-        return CoordinateReferenceSystemFactory.create(getBaseDerivatedCrs().getBaseCrsName(), 
-                                                       getBaseDerivatedCrs().getDatum(), 
-                                                       getCs());
-    }    
+        CoordinateReferenceSystem result = baseCrs;
+        if (result == null) {
+            synchronized (this) {
+                result = baseCrs;
+                if (result == null) {
+                    result = CoordinateReferenceSystemFactory.create(getBaseDerivatedCrs(), getCs());
+                    baseCrs = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns this CRS followed by its base CRS, the base CRS of its base
+     * CRS and so on. The list is created at the first call and then reused.
+     * @return the derivation chain, starting with this CRS
+     */
+    @Override
+    public List<CoordinateReferenceSystem> getDerivationChain() {
+        List<CoordinateReferenceSystem> result = derivationChain;
+        if (result == null) {
+            final List<CoordinateReferenceSystem> chain = new ArrayList<>();
+            CoordinateReferenceSystem crs = this;
+            chain.add(crs);
+            while (crs instanceof DerivedCoordinateReferenceSystem) {
+                crs = ((DerivedCoordinateReferenceSystem) crs).getBaseCrs();
+                chain.add(crs);
+            }
+            result = Collections.unmodifiableList(chain);
+            derivationChain = result;
+        }
+        return result;
+    }
+
+    private void clearBaseCrs() {
+        synchronized (this) {
+            baseCrs = null;
+            derivationChain = null;
+        }
+    }
     
     @Override
     public Datum getCrsDatum() {
@@ -157,47 +212,70 @@ public abstract class AbstractDerivatedCoordinateReferenceSystem implements Deri
         this.setCrsName(attributes.get(0).getKeyword());
 
         final List<WktElt> nodes = wktEltCollection.getNodesFor(crsWkt, getKeyword());
+        final ParallelParsing children = ParallelParsing.forNode(crsWkt);
+        final List<ParallelParsing.Result<Usage>> usages = new ArrayList<>();
+        final List<ParallelParsing.Result<Identifier>> identifiers = new ArrayList<>();
+        final List<ParallelParsing.Result<Void>> specificNodes = new ArrayList<>();
+        ParallelParsing.Result<DerivedConversion> conversion = null;
+        // base CRS and conversion set different fields and can be built at the same time
+        final ParallelParsing.Builder<Void> specificBuilder = new ParallelParsing.Builder<Void>() {
+            @Override
+            public Void build(final WktElt node) {
+                parseSpecificWkt(node);
+                return null;
+            }
+        };
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {                   
-                case CoordinateSystem.COORDINATE_SYSTEM_KEYWORD:
+            switch (node.getSymbol()) {                   
+                case CS:
                     this.setCs(new CoordinateSystem(node));
                     break;
-                case Axis.AXIS_KEYWORD:
+                case AXIS:
                     this.getCs().getAxisList().add(new Axis(node));
                     break;
-                case UnitFactory.AngleUnit.ANGLEUNIT_KEYWORD:
-                case UnitFactory.AngleUnit.ANGLEUNIT_UNIT_KEYWORD:
-                case UnitFactory.LengthUnit.LENGTH_KEYWORD:
-                case UnitFactory.LengthUnit.LENGTH_UNIT_KEYWORD:
-                case UnitFactory.ScaleUnit.SCALEUNIT_KEYWORD:
-                case UnitFactory.ScaleUnit.SCALEUNIT_UNIT_KEYWORD:
-                case UnitFactory.ParametricUnit.PARAMETRICUNIT_KEYWORD:
-                case UnitFactory.ParametricUnit.PARAMETRICUNIT_UNIT_KEYWORD:
-                case UnitFactory.TimeUnit.TIMEUNIT_KEYWORD:
-                case UnitFactory.TimeUnit.TIMEUNIT_UNIT_KEYWORD:
+                case ANGLEUNIT:
+                case LENGTHUNIT:
+                case SCALEUNIT:
+                case PARAMETRICUNIT:
+                case TIMEUNIT:
                     final Unit unit = UnitFactory.createFromWkt(node);
                     this.getCs().setUnit(unit);
                     break;
-                case Usage.USAGE_KEYWORD:
-                    this.getScopeExtent().getUsageList().add(new Usage(crsWkt));
+                case USAGE:
+                    usages.add(children.submit(node, SubtreeBuilders.USAGE));
                     break;                    
-                case Identifier.IDENTIFIER_KEYWORD:                    
-                    this.getScopeExtent().getIdentifierList().add(new Identifier(node));
+                case ID:                    
+                    identifiers.add(children.submit(node, SubtreeBuilders.IDENTIFIER));
                     break;
-                case Remark.REMARK_KEYWORD:
+                case REMARK:
                     this.getScopeExtent().setRemark(new Remark(node));
                     break;
-                case DerivedConversion.DERIVED_CONVERSION_KEYWORD:
-                    this.setConversionFromBaseCrs(new DerivedConversion(node));
+                case DERIVINGCONVERSION:
+                    conversion = children.submit(node, SubtreeBuilders.DERIVED_CONVERSION);
                     break;                 
                 default:
                     if(hasSpecificParsing()) {
-                        parseSpecificWkt(node);
+                        specificNodes.add(children.submit(node, specificBuilder));
                     } else {
                         throw new RuntimeException(node.getKeyword());                   
                     }
             }
         }
+        for (final ParallelParsing.Result<Void> specificNode : specificNodes) {
+            specificNode.get();
+        }
+        if (conversion != null) {
+            this.setConversionFromBaseCrs(conversion.get());
+        }
+        for (final ParallelParsing.Result<Usage> usage : usages) {
+            this.getScopeExtent().getUsageList().add(usage.get());
+        }
+        for (final ParallelParsing.Result<Identifier> identifier : identifiers) {
+            this.getScopeExtent().getIdentifierList().add(identifier.get());
+        }
+        if (this.getCs() != null) {
+            this.getCs().validate(CrsType.valueOf(crsWkt.getSymbol(), crsWkt.isDerivated()));
+        }
     }
     
     protected void parseSpecificWkt(WktElt wkt) {
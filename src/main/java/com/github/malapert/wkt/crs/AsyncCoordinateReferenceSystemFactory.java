@@ -0,0 +1,297 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.crs;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses CRS definitions without blocking the calling thread.
+ *
+ * Definitions are parsed by {@link CoordinateReferenceSystemFactory} on an
+ * executor, which uses virtual threads when the JDK provides them. The number
+ * of definitions submitted to the executor is bounded : once the bound is
+ * reached, a new request is either rejected or queued and submitted when a
+ * slot is free, according to the {@link OverflowPolicy}. The calling thread
+ * is never parked, so that the factory can be called from an event loop.
+ *
+ * Concurrent requests for the same text are coalesced : the text is parsed
+ * once and every caller receives the same {@link CoordinateReferenceSystem}
+ * instance, which must therefore not be modified.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class AsyncCoordinateReferenceSystemFactory implements AutoCloseable {
+
+    /**
+     * Behaviour when the number of pending definitions reaches the bound.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The returned future fails with a {@link RejectedExecutionException}.
+         */
+        REJECT,
+        /**
+         * The definition is queued and submitted when a slot is released;
+         * the queue is not bounded.
+         */
+        QUEUE
+    }
+
+    private enum Format {
+        WKT,
+        PROJJSON
+    }
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Semaphore pending;
+    private final ConcurrentLinkedQueue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final OverflowPolicy policy;
+    private final ScheduledExecutorService timer;
+    private final ConcurrentMap<String, CompletableFuture<CoordinateReferenceSystem>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a factory on the default executor.
+     * @param maxPending maximum number of definitions submitted to the
+     * executor
+     * @param policy behaviour when maxPending is reached
+     */
+    public AsyncCoordinateReferenceSystemFactory(final int maxPending, final OverflowPolicy policy) {
+        this(createDefaultExecutor(), true, maxPending, policy);
+    }
+
+    /**
+     * Creates a factory on an executor. The executor is not shut down by
+     * {@link #close()}.
+     * @param executor executor running the parsers
+     * @param maxPending maximum number of definitions submitted to the
+     * executor
+     * @param policy behaviour when maxPending is reached
+     */
+    public AsyncCoordinateReferenceSystemFactory(final ExecutorService executor, final int maxPending, final OverflowPolicy policy) {
+        this(executor, false, maxPending, policy);
+    }
+
+    private AsyncCoordinateReferenceSystemFactory(final ExecutorService executor, final boolean ownsExecutor, final int maxPending, final OverflowPolicy policy) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("maxPending must be positive");
+        }
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.pending = new Semaphore(maxPending);
+        this.policy = policy;
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("jwkt-parse-timeout"));
+    }
+
+    /**
+     * Returns an executor running each task on a virtual thread when the JDK
+     * provides them, otherwise a pool of daemon threads sized on the number
+     * of processors.
+     * @return the executor
+     */
+    public static ExecutorService createDefaultExecutor() {
+        try {
+            final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), daemonThreadFactory("jwkt-parse"));
+        }
+    }
+
+    /**
+     * Parses a WKT definition.
+     * @param crsWkt WKT definition
+     * @return the future CRS
+     */
+    public CompletableFuture<CoordinateReferenceSystem> createFromWkt(final String crsWkt) {
+        return submit(Format.WKT, crsWkt, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Parses a WKT definition with a timeout.
+     * @param crsWkt WKT definition
+     * @param timeout maximum time to wait for the CRS
+     * @param unit unit of the timeout
+     * @return the future CRS, which fails with a {@link TimeoutException} when
+     * the timeout is exceeded
+     */
+    public CompletableFuture<CoordinateReferenceSystem> createFromWkt(final String crsWkt, final long timeout, final TimeUnit unit) {
+        return submit(Format.WKT, crsWkt, timeout, unit);
+    }
+
+    /**
+     * Parses a PROJJSON definition.
+     * @param crsProjJson PROJJSON definition
+     * @return the future CRS
+     */
+    public CompletableFuture<CoordinateReferenceSystem> createFromProjJson(final String crsProjJson) {
+        return submit(Format.PROJJSON, crsProjJson, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Parses a PROJJSON definition with a timeout.
+     * @param crsProjJson PROJJSON definition
+     * @param timeout maximum time to wait for the CRS
+     * @param unit unit of the timeout
+     * @return the future CRS, which fails with a {@link TimeoutException} when
+     * the timeout is exceeded
+     */
+    public CompletableFuture<CoordinateReferenceSystem> createFromProjJson(final String crsProjJson, final long timeout, final TimeUnit unit) {
+        return submit(Format.PROJJSON, crsProjJson, timeout, unit);
+    }
+
+    /**
+     * Returns the number of definitions being parsed.
+     * @return the number of definitions being parsed
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private CompletableFuture<CoordinateReferenceSystem> submit(final Format format, final String text, final long timeout, final TimeUnit unit) {
+        final String key = format.name() + ':' + text;
+        CompletableFuture<CoordinateReferenceSystem> shared = inFlight.get(key);
+        if (shared == null) {
+            final CompletableFuture<CoordinateReferenceSystem> created = new CompletableFuture<>();
+            shared = inFlight.putIfAbsent(key, created);
+            if (shared == null) {
+                shared = created;
+                start(key, format, text, created);
+            }
+        }
+
+        // each caller gets its own future so that a timeout only affects it
+        final CompletableFuture<CoordinateReferenceSystem> result = new CompletableFuture<>();
+        shared.whenComplete((crs, error) -> {
+            if (error == null) {
+                result.complete(crs);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        if (timeout > 0 && !result.isDone()) {
+            final ScheduledFuture<?> expiry = timer.schedule(() -> result.completeExceptionally(
+                    new TimeoutException("CRS not parsed after " + timeout + " " + unit.name().toLowerCase())), timeout, unit);
+            result.whenComplete((crs, error) -> expiry.cancel(false));
+        }
+        return result;
+    }
+
+    private void start(final String key, final Format format, final String text, final CompletableFuture<CoordinateReferenceSystem> future) {
+        if (pending.tryAcquire()) {
+            execute(key, format, text, future);
+        } else if (policy == OverflowPolicy.QUEUE) {
+            waiting.add(() -> execute(key, format, text, future));
+            // a slot may have been released before the definition was queued
+            startWaiting();
+        } else {
+            fail(key, future, new RejectedExecutionException("Too many CRS definitions pending"));
+        }
+    }
+
+    /**
+     * Submits the queued definitions while slots are free.
+     */
+    private void startWaiting() {
+        while (!waiting.isEmpty() && pending.tryAcquire()) {
+            final Runnable next = waiting.poll();
+            if (next == null) {
+                pending.release();
+            } else {
+                next.run();
+            }
+        }
+    }
+
+    private void release() {
+        pending.release();
+        startWaiting();
+    }
+
+    /**
+     * Submits a definition to the executor, a slot being acquired.
+     */
+    private void execute(final String key, final Format format, final String text, final CompletableFuture<CoordinateReferenceSystem> future) {
+        try {
+            executor.execute(() -> {
+                CoordinateReferenceSystem crs = null;
+                Throwable error = null;
+                try {
+                    crs = format == Format.WKT
+                            ? CoordinateReferenceSystemFactory.createFromWkt(text)
+                            : CoordinateReferenceSystemFactory.createFromProjJson(text);
+                } catch (RuntimeException | Error ex) {
+                    error = ex;
+                } finally {
+                    // the slot is free before the callers are notified
+                    release();
+                }
+                if (error == null) {
+                    inFlight.remove(key, future);
+                    future.complete(crs);
+                } else {
+                    fail(key, future, error);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            release();
+            fail(key, future, ex);
+        }
+    }
+
+    private void fail(final String key, final CompletableFuture<CoordinateReferenceSystem> future, final Throwable error) {
+        inFlight.remove(key, future);
+        future.completeExceptionally(error);
+    }
+
+    /**
+     * Stops the timeout timer and, when it has been created by this factory,
+     * the executor. Definitions being parsed are completed.
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(final String prefix) {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
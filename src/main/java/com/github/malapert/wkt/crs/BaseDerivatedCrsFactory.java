@@ -19,6 +19,7 @@
 package com.github.malapert.wkt.crs;
 
 import com.github.malapert.wkt.datum.Datum;
+import com.github.malapert.wkt.utils.CanonicalPool;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import static com.github.malapert.wkt.metadata.WktDescription.LEFT_DELIMITER;
@@ -29,6 +30,7 @@ import com.github.malapert.wkt.utils.WktEltCollection;
 import com.github.malapert.wkt.metadata.Unit;
 import com.github.malapert.wkt.metadata.UnitFactory;
 import com.github.malapert.wkt.datum.EngineeringDatum;
+import com.github.malapert.wkt.datum.AbstractDatum.Dynamic;
 import com.github.malapert.wkt.datum.GeodeticDatum;
 import com.github.malapert.wkt.conversion.MapProjection;
 import java.util.List;
@@ -41,14 +43,14 @@ public abstract class BaseDerivatedCrsFactory {
 
     public static BaseCrs createFromWkt(final WktElt datumWkt) {
         final BaseCrs crs;
-        switch (datumWkt.getKeyword()) {
-            case BaseGeodeticCrs.BASE_GEODETIC_CRS_KEYWORD:
+        switch (datumWkt.getSymbol()) {
+            case BASEGEODCRS:
                 crs = new BaseGeodeticCrs(datumWkt);
                 break;
-            case BaseEngineeringCrs.BASE_ENGINEERING_CRS_KEYWORD:
+            case BASEENGCRS:
                 crs = new BaseEngineeringCrs(datumWkt);
                 break;
-            case BaseProjectedCrs.BASE_PROJECTED_CRS:
+            case BASEPROJCRS:
                 crs = new BaseProjectedCrs(datumWkt);
                 break;
             default:
@@ -81,11 +83,11 @@ public abstract class BaseDerivatedCrsFactory {
             this.setBaseCrsName(attributes.get(0).getKeyword());
             final List<WktElt> nodes = wktEltCollection.getNodesFor(datumWkt, BASE_PROJECTED_CRS);
             for (final WktElt node : nodes) {
-                switch (node.getKeyword()) {
-                    case BaseGeodeticCrs.BASE_GEODETIC_CRS_KEYWORD:
+                switch (node.getSymbol()) {
+                    case BASEGEODCRS:
                         this.setBaseGeodetic(new BaseGeodeticCrs(node));
                         break;
-                    case MapProjection.MAP_PROJECTION_KEYWORD:
+                    case CONVERSION:
                         this.setMapProjection(new MapProjection(node));
                         break;
                     default:
@@ -180,10 +182,12 @@ public abstract class BaseDerivatedCrsFactory {
             this.setBaseCrsName(attributes.get(0).getKeyword());
             final List<WktElt> nodes = wktEltCollection.getNodesFor(baseEngineeringCrsWkt, BASE_ENGINEERING_CRS_KEYWORD);
             for (final WktElt node : nodes) {
-                if (EngineeringDatum.EngineeringDatumKeyword.getKeywords().contains(node.getKeyword())) {
-                    this.setDatum(new EngineeringDatum(baseEngineeringCrsWkt));
-                } else {
-                    throw new RuntimeException();
+                switch (node.getSymbol()) {
+                    case EDATUM:
+                        this.setDatum(CanonicalPool.intern(new EngineeringDatum(node)));
+                        break;
+                    default:
+                        throw new RuntimeException();
                 }
             }
         }
@@ -265,14 +269,18 @@ public abstract class BaseDerivatedCrsFactory {
             final List<WktElt> attributes = wktEltCollection.getAttributesFor(baseGeodeticCrsElts, BASE_GEODETIC_CRS_KEYWORD);
             this.setBaseCrsName(attributes.get(0).getKeyword());
             final List<WktElt> nodes = wktEltCollection.getNodesFor(baseGeodeticCrsElts, BASE_GEODETIC_CRS_KEYWORD);
+            Dynamic dynamic = null;
             for (final WktElt node : nodes) {
-                switch (node.getKeyword()) {
-                    case "DATUM":
-                    case "GEODETICDATUM":
-                        this.setDatum(new GeodeticDatum(node));
+                switch (node.getSymbol()) {
+                    case DYNAMIC:
+                        dynamic = new Dynamic(node);
+                        break;
+                    case DATUM:
+                        final GeodeticDatum geodeticDatum = new GeodeticDatum(node);
+                        geodeticDatum.setDynamic(dynamic);
+                        this.setDatum(CanonicalPool.intern(geodeticDatum));
                         break;
-                    case UnitFactory.AngleUnit.ANGLEUNIT_KEYWORD:
-                    case UnitFactory.AngleUnit.ANGLEUNIT_UNIT_KEYWORD:
+                    case ANGLEUNIT:
                         final Unit unit = UnitFactory.createFromWkt(node);
                         this.setAngleUnit(unit);
                         break;
@@ -0,0 +1,198 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.crs;
+
+import com.github.malapert.wkt.conversion.AbridgedTransformation;
+import com.github.malapert.wkt.cs.CoordinateSystem;
+import com.github.malapert.wkt.datum.Datum;
+import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.metadata.Remark;
+import com.github.malapert.wkt.metadata.ScopeExtent;
+import com.github.malapert.wkt.metadata.Usage;
+import com.github.malapert.wkt.utils.ParallelParsing;
+import com.github.malapert.wkt.utils.Singleton;
+import com.github.malapert.wkt.utils.Utils;
+import com.github.malapert.wkt.utils.WktElt;
+import com.github.malapert.wkt.utils.WktEltCollection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defines a CRS bound to a target CRS by a transformation.
+ *
+ * The bound CRS is the WKT form of the datum shift that the legacy
+ * descriptions give with TOWGS84. The coordinates are expressed in the
+ * source CRS.
+ *
+ * {@code
+ * <bound crs>::=<bound crs keyword> <left delimiter> <source crs>
+ * <wkt separator> <target crs> <wkt separator> <abridged coordinate transformation>
+ * <scope extent identifier remark> <right delimiter>
+ *}
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class BoundCrs implements CoordinateReferenceSystem {
+
+    public static final String BOUND_CRS_KEYWORD = "BOUNDCRS";
+    public static final String SOURCE_CRS_KEYWORD = "SOURCECRS";
+    public static final String TARGET_CRS_KEYWORD = "TARGETCRS";
+
+    private CoordinateReferenceSystem sourceCrs;
+    private CoordinateReferenceSystem targetCrs;
+    private AbridgedTransformation transformation;
+    private ScopeExtent scopeExtent = new ScopeExtent();
+
+    public BoundCrs(final CoordinateReferenceSystem sourceCrs, final CoordinateReferenceSystem targetCrs, final AbridgedTransformation transformation) {
+        this.sourceCrs = sourceCrs;
+        this.targetCrs = targetCrs;
+        this.transformation = transformation;
+    }
+
+    public BoundCrs(final WktElt crsWkt) {
+        parseCrs(crsWkt);
+    }
+
+    protected BoundCrs() {
+
+    }
+
+    private void parseCrs(final WktElt crsWkt) {
+        final WktEltCollection wktEltCollection = Singleton.getInstance().getCollection();
+        final List<WktElt> nodes = wktEltCollection.getNodesFor(crsWkt, BOUND_CRS_KEYWORD);
+        final ParallelParsing children = ParallelParsing.forNode(crsWkt);
+        ParallelParsing.Result<CoordinateReferenceSystem> source = null;
+        ParallelParsing.Result<CoordinateReferenceSystem> target = null;
+        final List<ParallelParsing.Result<Usage>> usages = new ArrayList<>();
+        final List<ParallelParsing.Result<Identifier>> identifiers = new ArrayList<>();
+        for (final WktElt node : nodes) {
+            switch (node.getSymbol()) {
+                case SOURCECRS:
+                    source = children.submit(wktEltCollection.getNodesFor(node, SOURCE_CRS_KEYWORD).get(0), SubtreeBuilders.CRS);
+                    break;
+                case TARGETCRS:
+                    target = children.submit(wktEltCollection.getNodesFor(node, TARGET_CRS_KEYWORD).get(0), SubtreeBuilders.CRS);
+                    break;
+                case ABRIDGEDTRANSFORMATION:
+                    this.transformation = new AbridgedTransformation(node);
+                    break;
+                case USAGE:
+                    usages.add(children.submit(node, SubtreeBuilders.USAGE));
+                    break;
+                case ID:
+                    identifiers.add(children.submit(node, SubtreeBuilders.IDENTIFIER));
+                    break;
+                case REMARK:
+                    this.scopeExtent.setRemark(new Remark(node));
+                    break;
+                default:
+                    throw new RuntimeException(node.getKeyword());
+            }
+        }
+        if (source == null || target == null || this.transformation == null) {
+            throw new RuntimeException("BOUNDCRS needs SOURCECRS, TARGETCRS and ABRIDGEDTRANSFORMATION at offset " + crsWkt.getStart());
+        }
+        this.sourceCrs = source.get();
+        this.targetCrs = target.get();
+        for (final ParallelParsing.Result<Usage> usage : usages) {
+            this.scopeExtent.getUsageList().add(usage.get());
+        }
+        for (final ParallelParsing.Result<Identifier> identifier : identifiers) {
+            this.scopeExtent.getIdentifierList().add(identifier.get());
+        }
+    }
+
+    /**
+     * Returns the name of the source CRS.
+     * @return the name of the source CRS
+     */
+    @Override
+    public String getCrsName() {
+        return this.sourceCrs.getCrsName();
+    }
+
+    /**
+     * Returns the CRS of the coordinates.
+     * @return the source CRS
+     */
+    public CoordinateReferenceSystem getSourceCrs() {
+        return this.sourceCrs;
+    }
+
+    /**
+     * Returns the CRS to which the source CRS is bound.
+     * @return the target CRS
+     */
+    public CoordinateReferenceSystem getTargetCrs() {
+        return this.targetCrs;
+    }
+
+    /**
+     * Returns the transformation from the source CRS to the target CRS.
+     * @return the transformation
+     */
+    public AbridgedTransformation getTransformation() {
+        return this.transformation;
+    }
+
+    /**
+     * Returns scope extent
+     * @return scope extent
+     */
+    public ScopeExtent getScopeExtent() {
+        return this.scopeExtent;
+    }
+
+    @Override
+    public Datum getCrsDatum() {
+        return this.sourceCrs.getCrsDatum();
+    }
+
+    @Override
+    public CoordinateSystem getCs() {
+        return this.sourceCrs.getCs();
+    }
+
+    @Override
+    public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
+        StringBuffer wkt = new StringBuffer();
+        wkt = wkt.append(BOUND_CRS_KEYWORD).append(LEFT_DELIMITER);
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(SOURCE_CRS_KEYWORD).append(LEFT_DELIMITER);
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 2)).append(this.sourceCrs.toWkt(endLine, tab, deepLevel + 2));
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(RIGHT_DELIMITER);
+        wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(TARGET_CRS_KEYWORD).append(LEFT_DELIMITER);
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 2)).append(this.targetCrs.toWkt(endLine, tab, deepLevel + 2));
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(RIGHT_DELIMITER);
+        wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(this.transformation.toWkt(endLine, tab, deepLevel + 1));
+        wkt = wkt.append(this.scopeExtent.toWkt(endLine, tab, deepLevel + 1));
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel)).append(RIGHT_DELIMITER);
+        return wkt;
+    }
+
+    @Override
+    public StringBuffer toWkt() {
+        return toWkt("\n", "   ", 0);
+    }
+
+    @Override
+    public String toString() {
+        return toWkt("", "", 0).toString();
+    }
+
+}
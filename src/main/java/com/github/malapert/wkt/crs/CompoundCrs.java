@@ -18,13 +18,13 @@
 */
 package com.github.malapert.wkt.crs;
 
-import com.github.malapert.wkt.metadata.ExtentFactory;
 import com.github.malapert.wkt.metadata.Identifier;
 import com.github.malapert.wkt.metadata.Remark;
-import com.github.malapert.wkt.metadata.Scope;
 import com.github.malapert.wkt.metadata.ScopeExtent;
+import com.github.malapert.wkt.metadata.Usage;
 import com.github.malapert.wkt.cs.CoordinateSystem;
 import com.github.malapert.wkt.datum.Datum;
+import com.github.malapert.wkt.utils.ParallelParsing;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.utils.WktElt;
@@ -64,22 +64,35 @@ public class CompoundCrs implements CompoundCoordinateReferenceSystem {
         this.crsName = attributes.get(0).getKeyword();
 
         List<WktElt> nodes = wktEltCollection.getNodesFor(crsWkt, COMPOUND_CRS);
-        CoordinateReferenceSystem horizontalCrs = HorizontalCrsFactory.createFromWkt(nodes.get(0));
-        this.components.add(horizontalCrs);
+        ParallelParsing children = ParallelParsing.forNode(crsWkt);
+        List<ParallelParsing.Result<CoordinateReferenceSystem>> crsList = new ArrayList<>();
+        crsList.add(children.submit(nodes.get(0), SubtreeBuilders.HORIZONTAL_CRS));
         for(int i=1; i<nodes.size();i++) {
             WktElt node = nodes.get(i);
-            if(Scope.SCOPE_KEYWORD.equals(node.getKeyword())
-               || Remark.REMARK_KEYWORD.equals(node.getKeyword())
-               || ExtentFactory.AreaDescription.AREA_DESCRIPTION_KEYWORD.equals(node.getKeyword())
-               || ExtentFactory.GeographicBoundingBox.GEOGRAPHIC_BOUDING_BOX_KEYWORD.equals(node.getKeyword())  
-               || ExtentFactory.VerticalExtent.VERTICAL_EXTENT_KEYWORD.equals(node.getKeyword())
-               || ExtentFactory.TemporalExtent.TEMPORAL_EXTENT_KEYWORD.equals(node.getKeyword())
-               || Identifier.IDENTIFIER_KEYWORD.equals(node.getKeyword())) {
-                this.scopeExtent = new ScopeExtent(node);
-            } else {
-                this.components.add(CoordinateReferenceSystemFactory.createFromWkt(node));
+            switch (node.getSymbol()) {
+                case USAGE:
+                    this.scopeExtent.getUsageList().add(new Usage(node));
+                    break;
+                case ID:
+                    this.scopeExtent.getIdentifierList().add(new Identifier(node));
+                    break;
+                case REMARK:
+                    this.scopeExtent.setRemark(new Remark(node));
+                    break;
+                case SCOPE:
+                case AREA:
+                case BBOX:
+                case VERTICALEXTENT:
+                case TIMEEXTENT:
+                    this.scopeExtent = new ScopeExtent(node);
+                    break;
+                default:
+                    crsList.add(children.submit(node, SubtreeBuilders.CRS));
             }
         }
+        for(ParallelParsing.Result<CoordinateReferenceSystem> crs : crsList) {
+            this.components.add(crs.get());
+        }
     }
 
     @Override
@@ -91,11 +104,20 @@ public class CompoundCrs implements CompoundCoordinateReferenceSystem {
     public List<CoordinateReferenceSystem> getComponents() {
         return this.components;
     }
-    
+
+    /**
+     * Returns the layout of the ordinates of the components in a tuple.
+     * @return the layout
+     */
+    public CoordinateLayout getLayout() {
+        return new CoordinateLayout(this.components);
+    }
+
     /**
      * Returns scope extent
      * @return scope extent
      */
+    @Override
     public ScopeExtent getScopeExtent() {
         return this.scopeExtent;
     }   
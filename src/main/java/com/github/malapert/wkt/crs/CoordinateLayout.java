@@ -0,0 +1,157 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.crs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Layout of the ordinates of a coordinate tuple.
+ *
+ * A tuple of a compound CRS is the concatenation of the ordinates of its
+ * components. The layout gives the slice of the tuple that belongs to each
+ * component, for instance the ordinates 0 and 1 for the horizontal CRS, 2 for
+ * the vertical CRS and 3 for the temporal CRS.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class CoordinateLayout {
+
+    private final List<CoordinateReferenceSystem> components;
+    private final int[] offsets;
+    private final int[] dimensions;
+    private final int[] componentOfOrdinate;
+
+    /**
+     * Creates the layout of a list of components.
+     * @param components components in the order of their ordinates
+     */
+    public CoordinateLayout(final List<CoordinateReferenceSystem> components) {
+        final List<CoordinateReferenceSystem> flattened = new ArrayList<>(components.size());
+        flatten(components, flattened);
+        final int size = flattened.size();
+        this.components = Collections.unmodifiableList(flattened);
+        this.offsets = new int[size];
+        this.dimensions = new int[size];
+        int dimension = 0;
+        for (int i = 0; i < size; i++) {
+            final CoordinateReferenceSystem crs = flattened.get(i);
+            if (crs.getCs() == null) {
+                throw new RuntimeException("No coordinate system for " + crs.getCrsName());
+            }
+            offsets[i] = dimension;
+            dimensions[i] = crs.getCs().getDimension();
+            dimension += dimensions[i];
+        }
+        this.componentOfOrdinate = new int[dimension];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < dimensions[i]; j++) {
+                componentOfOrdinate[offsets[i] + j] = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the layout of a CRS. A CRS that is not compound has one
+     * component.
+     * @param crs CRS
+     * @return the layout
+     */
+    public static CoordinateLayout of(final CoordinateReferenceSystem crs) {
+        if (crs instanceof CompoundCoordinateReferenceSystem) {
+            return new CoordinateLayout(((CompoundCoordinateReferenceSystem) crs).getComponents());
+        }
+        return new CoordinateLayout(Collections.singletonList(crs));
+    }
+
+    private static void flatten(final List<CoordinateReferenceSystem> components, final List<CoordinateReferenceSystem> flattened) {
+        for (CoordinateReferenceSystem crs : components) {
+            if (crs instanceof CompoundCoordinateReferenceSystem) {
+                flatten(((CompoundCoordinateReferenceSystem) crs).getComponents(), flattened);
+            } else {
+                flattened.add(crs);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of ordinates of a tuple.
+     * @return the dimension of the tuple
+     */
+    public int getDimension() {
+        return componentOfOrdinate.length;
+    }
+
+    /**
+     * Returns the components, a nested compound CRS being replaced by its
+     * components.
+     * @return the components
+     */
+    public List<CoordinateReferenceSystem> getComponents() {
+        return components;
+    }
+
+    /**
+     * Returns the number of components.
+     * @return the number of components
+     */
+    public int getComponentCount() {
+        return offsets.length;
+    }
+
+    /**
+     * Returns the index of the first ordinate of a component in the tuple.
+     * @param component index of the component
+     * @return the offset of the component
+     */
+    public int getOffset(final int component) {
+        return offsets[component];
+    }
+
+    /**
+     * Returns the number of ordinates of a component.
+     * @param component index of the component
+     * @return the dimension of the component
+     */
+    public int getDimension(final int component) {
+        return dimensions[component];
+    }
+
+    /**
+     * Returns the component of an ordinate.
+     * @param ordinate index of the ordinate in the tuple
+     * @return the index of the component
+     */
+    public int componentAt(final int ordinate) {
+        if (ordinate < 0 || ordinate >= componentOfOrdinate.length) {
+            throw new RuntimeException("No ordinate " + ordinate + " in a tuple of dimension " + componentOfOrdinate.length);
+        }
+        return componentOfOrdinate[ordinate];
+    }
+
+    /**
+     * Returns the CRS of an ordinate.
+     * @param ordinate index of the ordinate in the tuple
+     * @return the component
+     */
+    public CoordinateReferenceSystem getComponentAt(final int ordinate) {
+        return components.get(componentAt(ordinate));
+    }
+}
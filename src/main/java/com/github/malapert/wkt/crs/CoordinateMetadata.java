@@ -0,0 +1,141 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.crs;
+
+import com.github.malapert.wkt.metadata.WktDescription;
+import com.github.malapert.wkt.utils.Singleton;
+import com.github.malapert.wkt.utils.Utils;
+import com.github.malapert.wkt.utils.WktElt;
+import com.github.malapert.wkt.utils.WktEltCollection;
+import com.github.malapert.wkt.utils.WktKeyword;
+import java.util.List;
+
+/**
+ * Defines the CRS of coordinates and, for a dynamic CRS, their epoch.
+ *
+ * <pre>
+ * {@code
+ * <coordinate metadata>::=<coordinate metadata keyword> <left delimiter>
+ * <crs> [ <wkt separator> <coordinate epoch> ] <right delimiter>
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class CoordinateMetadata implements WktDescription {
+
+    public static final String COORDINATE_METADATA_KEYWORD = "COORDINATEMETADATA";
+    public static final String COORDINATE_EPOCH_KEYWORD = "EPOCH";
+
+    private CoordinateReferenceSystem crs;
+    private String coordinateEpoch;
+    private double epoch = Double.NaN;
+
+    public CoordinateMetadata(final CoordinateReferenceSystem crs, final String coordinateEpoch) {
+        this.crs = crs;
+        setCoordinateEpoch(coordinateEpoch);
+    }
+
+    public CoordinateMetadata(final WktElt coordinateMetadataWkt) {
+        parse(coordinateMetadataWkt);
+    }
+
+    private void parse(final WktElt coordinateMetadataWkt) {
+        final WktEltCollection wktEltCollection = Singleton.getInstance().getCollection();
+        final List<WktElt> nodes = wktEltCollection.getNodesFor(coordinateMetadataWkt, COORDINATE_METADATA_KEYWORD);
+        for (final WktElt node : nodes) {
+            if (node.getSymbol() == WktKeyword.EPOCH) {
+                setCoordinateEpoch(wktEltCollection.getAttributesFor(node, node.getKeyword()).get(0).getKeyword());
+            } else {
+                this.crs = CoordinateReferenceSystemFactory.createFromWkt(node);
+            }
+        }
+        if (this.crs == null) {
+            throw new RuntimeException("COORDINATEMETADATA needs a CRS at offset " + coordinateMetadataWkt.getStart());
+        }
+        if (this.crs instanceof GeodeticCrs && ((GeodeticCrs) this.crs).isDynamic() && this.coordinateEpoch == null) {
+            throw new RuntimeException("The coordinate epoch of the dynamic CRS " + this.crs.getCrsName() + " is missing");
+        }
+    }
+
+    /**
+     * Creates the coordinate metadata from a WKT description.
+     * @param coordinateMetadataWkt WKT description
+     * @return the coordinate metadata
+     */
+    public static CoordinateMetadata createFromWkt(final String coordinateMetadataWkt) {
+        return CoordinateReferenceSystemFactory.parse(coordinateMetadataWkt, CoordinateMetadata::new);
+    }
+
+    /**
+     * Returns the CRS of the coordinates.
+     * @return the CRS
+     */
+    public CoordinateReferenceSystem getCrs() {
+        return crs;
+    }
+
+    /**
+     * Returns the coordinate epoch as written in the description.
+     * @return the coordinate epoch or null
+     */
+    public String getCoordinateEpoch() {
+        return coordinateEpoch;
+    }
+
+    /**
+     * Sets the coordinate epoch.
+     * @param coordinateEpoch the coordinate epoch in decimal years or null
+     */
+    public final void setCoordinateEpoch(final String coordinateEpoch) {
+        this.epoch = coordinateEpoch == null ? Double.NaN : Double.parseDouble(coordinateEpoch);
+        this.coordinateEpoch = coordinateEpoch;
+    }
+
+    /**
+     * Returns the coordinate epoch.
+     * @return the coordinate epoch in decimal years or NaN
+     */
+    public double getEpoch() {
+        return epoch;
+    }
+
+    @Override
+    public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
+        StringBuffer wkt = new StringBuffer();
+        wkt = wkt.append(COORDINATE_METADATA_KEYWORD).append(LEFT_DELIMITER);
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(this.crs.toWkt(endLine, tab, deepLevel + 1));
+        if (this.coordinateEpoch != null) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(COORDINATE_EPOCH_KEYWORD).append(LEFT_DELIMITER).append(this.coordinateEpoch).append(RIGHT_DELIMITER);
+        }
+        wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel)).append(RIGHT_DELIMITER);
+        return wkt;
+    }
+
+    @Override
+    public StringBuffer toWkt() {
+        return toWkt("\n", "   ", 0);
+    }
+
+    @Override
+    public String toString() {
+        return toWkt("", "", 0).toString();
+    }
+
+}
@@ -26,10 +26,14 @@ import com.github.malapert.wkt.datum.ImageDatum;
 import com.github.malapert.wkt.datum.ParametricDatum;
 import com.github.malapert.wkt.datum.TemporalDatum;
 import com.github.malapert.wkt.datum.VerticalDatum;
+import com.github.malapert.wkt.metadata.ScopeExtent;
 import com.github.malapert.wkt.metadata.Standard;
 import com.github.malapert.wkt.metadata.WktDescription;
+import com.github.malapert.wkt.utils.WktKeyword;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  *
@@ -50,7 +54,8 @@ public interface CoordinateReferenceSystem extends WktDescription, Standard {
         DERIVED_ENGINEERING_CRS (EngineeringCrs.EngineeringCrsKeyword.getKeywords(),"A Derived CRS is a CRS which cannot exist in its own right but is defined through a coordinate conversion from another coordinate reference system","	<engineering crs keyword> <left delimiter> <derived crs name> <wkt separator> { <base projected crs> | <base geodetic crs>  | <base engineering crs> } <wkt separator> <deriving conversion> <wkt separator> <coordinate system> <scope extent identifier remark> <right delimiter>", Arrays.asList("BASEPROJCRS","BASEGEODCRS","BASEENGCRS"), true, DerivedEngineeringCrs.class.getName(),null),
         DERIVED_PARAMETRIC_CRS (Arrays.asList(ParametricCrs.PARAMETRIC_KEYWORD),"A Derived CRS is a CRS which cannot exist in its own right but is defined through a coordinate conversion from another coordinate reference system","<parametric crs keyword> <left delimiter> <derived crs name> <wkt separator> <base parametric crs> <wkt separator> <deriving conversion> <wkt separator> <coordinate system> <scope extent identifier remark> <right delimiter>",Arrays.asList("BASEPARAMCRS"), true, DerivedParametricCrs.class.getName(),null),
         DERIVED_TEMPORAL_CRS (Arrays.asList(TemporalCrs.TEMPORAL_CRS_KEYWORD),"A Derived CRS is a CRS which cannot exist in its own right but is defined through a coordinate conversion from another coordinate reference system","<temporal crs keyword> <left delimiter> <derived crs name> <wkt separator> <base temporal crs> <wkt separator> <deriving conversion> <wkt separator> <coordinate system> <scope extent identifier remark> <right delimiter>",Arrays.asList("TIMECRS"), true, DerivedTemporalCrs.class.getName(), null),
-        COMPOUND_CRS (Arrays.asList(CompoundCrs.COMPOUND_CRS),"A compound CRS is a non-repeating sequence of two or more independent coordinate reference systems none of which can itself be compound","<compound crs keyword> <left delimiter> <compound crs name> <wkt separator> <horizontal crs> <wkt separator> <vertical crs> | <parametric crs> | <temporal crs> | { <vertical crs> <wkt separator> <temporal crs> } | { <parametric crs> <wkt separator> <temporal crs> } [ <scope extent identifier remark> ] <right delimiter>",null, false, CompoundCrs.class.getName(), null);
+        COMPOUND_CRS (Arrays.asList(CompoundCrs.COMPOUND_CRS),"A compound CRS is a non-repeating sequence of two or more independent coordinate reference systems none of which can itself be compound","<compound crs keyword> <left delimiter> <compound crs name> <wkt separator> <horizontal crs> <wkt separator> <vertical crs> | <parametric crs> | <temporal crs> | { <vertical crs> <wkt separator> <temporal crs> } | { <parametric crs> <wkt separator> <temporal crs> } [ <scope extent identifier remark> ] <right delimiter>",null, false, CompoundCrs.class.getName(), null),
+        BOUND_CRS (Arrays.asList(BoundCrs.BOUND_CRS_KEYWORD),"A bound CRS is a CRS whose coordinates can be transformed to a target CRS, like the TOWGS84 datum shift of the legacy descriptions","<bound crs keyword> <left delimiter> <source crs> <wkt separator> <target crs> <wkt separator> <abridged coordinate transformation> <scope extent identifier remark> <right delimiter>",null, false, BoundCrs.class.getName(), null);
         
         /**
          * Keywords that are used in the WKT description to define the 
@@ -77,6 +82,18 @@ public interface CoordinateReferenceSystem extends WktDescription, Standard {
         private final String crsClassName;
         
         private final String datumClassName;
+
+        private static final Map<WktKeyword, CrsType> CRS = new EnumMap<>(WktKeyword.class);
+        private static final Map<WktKeyword, CrsType> DERIVED_CRS = new EnumMap<>(WktKeyword.class);
+
+        static {
+            for (CrsType crsType : values()) {
+                final Map<WktKeyword, CrsType> crs = crsType.isDerivated ? DERIVED_CRS : CRS;
+                for (String keyword : crsType.keywords) {
+                    crs.putIfAbsent(WktKeyword.of(keyword), crsType);
+                }
+            }
+        }
         
         CrsType(final List<String> keywords, final String description, final String syntax, final List<String> datumKeywords, final boolean isDerivated, final String crsClassName, final String datumClassName) {
             this.keywords = keywords;
@@ -161,6 +178,16 @@ public interface CoordinateReferenceSystem extends WktDescription, Standard {
             return result;            
         }
         
+        /**
+         * Returns the coordinate reference system of a keyword constant.
+         * @param symbol keyword constant of the CRS node
+         * @param isDerivated true when the CRS node has a deriving conversion
+         * @return the coordinate reference system or null
+         */
+        public static CrsType valueOf(final WktKeyword symbol, final boolean isDerivated) {
+            return (isDerivated ? DERIVED_CRS : CRS).get(symbol);
+        }
+
         public static CrsType findCRSFor(final String keyword, boolean isDerivated) {
             CrsType result = null;
             CrsType[] crsTypes = CrsType.values();
@@ -177,4 +204,5 @@ public interface CoordinateReferenceSystem extends WktDescription, Standard {
     public String getCrsName();
     public Datum getCrsDatum();
     public CoordinateSystem getCs();
+    public ScopeExtent getScopeExtent();
 }
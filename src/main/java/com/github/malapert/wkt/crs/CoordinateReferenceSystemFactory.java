@@ -23,10 +23,15 @@ import com.github.malapert.wkt.conversion.DerivedConversion;
 import com.github.malapert.wkt.conversion.MapProjection;
 import com.github.malapert.wkt.crs.BaseDerivatedCrsFactory.BaseEngineeringCrs;
 import com.github.malapert.wkt.crs.BaseDerivatedCrsFactory.BaseGeodeticCrs;
-import com.github.malapert.wkt.crs.CoordinateReferenceSystem.CrsType;
+import com.github.malapert.wkt.crs.BaseDerivatedCrsFactory.BaseProjectedCrs;
+import com.github.malapert.wkt.projjson.ProjJsonReader;
+import com.github.malapert.wkt.utils.ParallelParsing;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.utils.WktEltCollection;
+import com.github.malapert.wkt.utils.WktHandler;
+import com.github.malapert.wkt.utils.WktKeyword;
+import com.github.malapert.wkt.utils.WktPushParser;
 import com.github.malapert.wkt.cs.CoordinateSystem;
 import com.github.malapert.wkt.datum.Datum;
 import com.github.malapert.wkt.datum.EngineeringDatum;
@@ -35,12 +40,8 @@ import com.github.malapert.wkt.datum.ImageDatum;
 import com.github.malapert.wkt.datum.ParametricDatum;
 import com.github.malapert.wkt.datum.TemporalDatum;
 import com.github.malapert.wkt.datum.VerticalDatum;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Stack;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  *
@@ -48,6 +49,11 @@ import java.util.logging.Logger;
  */
 public abstract class CoordinateReferenceSystemFactory {
 
+    /**
+     * Index reused by the parsings of the current thread.
+     */
+    private static final ThreadLocal<WktEltCollection> REUSABLE_INDEX = new ThreadLocal<>();
+
     public static CoordinateReferenceSystem create(final String crsName, final Datum datum, final CoordinateSystem cs) {
         if (datum instanceof EngineeringDatum) {
             return new EngineeringCrs(EngineeringCrs.EngineeringCrsKeyword.ENGCRS, crsName, (EngineeringDatum) datum, cs);
@@ -84,51 +90,148 @@ public abstract class CoordinateReferenceSystemFactory {
         }
     }    
 
+    /**
+     * Creates the CRS described by the base CRS of a derived CRS.
+     *
+     * A base projected CRS gives a projected CRS, which is itself derived
+     * from its base geodetic CRS.
+     *
+     * @param baseCrs base CRS
+     * @param cs coordinate system
+     * @return the coordinate reference system
+     */
+    public static CoordinateReferenceSystem create(final BaseCrs baseCrs, final CoordinateSystem cs) {
+        if (baseCrs instanceof BaseProjectedCrs) {
+            final BaseProjectedCrs baseProjectedCrs = (BaseProjectedCrs) baseCrs;
+            return create(baseProjectedCrs.getBaseCrsName(), baseProjectedCrs.getBaseGeodetic(), baseProjectedCrs.getMapProjection(), cs);
+        }
+        return create(baseCrs.getBaseCrsName(), baseCrs.getDatum(), cs);
+    }
+
     public static <T extends CoordinateReferenceSystem> T create(final Class<T> crsClass) {
-        CrsType[] crsTypeArray = CoordinateReferenceSystem.CrsType.values();
-        for (CrsType crsType : crsTypeArray) {
-            try {
-                Class<?> clazz = Class.forName(crsType.getCrsClassName());
-                if(clazz.isAssignableFrom(crsClass)) {
-                    return (T) clazz.newInstance();
-                }
-            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException ex) {
-                Logger.getLogger(CoordinateReferenceSystemFactory.class.getName()).log(Level.SEVERE, null, ex);
-            }
+        final CoordinateReferenceSystem crs;
+        if (crsClass == GeodeticCrs.class) {
+            crs = new GeodeticCrs();
+        } else if (crsClass == ProjectedCrs.class) {
+            crs = new ProjectedCrs();
+        } else if (crsClass == VerticalCrs.class) {
+            crs = new VerticalCrs();
+        } else if (crsClass == EngineeringCrs.class) {
+            crs = new EngineeringCrs();
+        } else if (crsClass == ParametricCrs.class) {
+            crs = new ParametricCrs();
+        } else if (crsClass == TemporalCrs.class) {
+            crs = new TemporalCrs();
+        } else if (crsClass == DerivedGeodeticCrs.class) {
+            crs = new DerivedGeodeticCrs();
+        } else if (crsClass == DerivedVerticalCrs.class) {
+            crs = new DerivedVerticalCrs();
+        } else if (crsClass == DerivedEngineeringCrs.class) {
+            crs = new DerivedEngineeringCrs();
+        } else if (crsClass == DerivedParametricCrs.class) {
+            crs = new DerivedParametricCrs();
+        } else if (crsClass == DerivedTemporalCrs.class) {
+            crs = new DerivedTemporalCrs();
+        } else if (crsClass == CompoundCrs.class) {
+            crs = new CompoundCrs();
+        } else if (crsClass == BoundCrs.class) {
+            crs = new BoundCrs();
+        } else {
+            throw new RuntimeException("Cannot create an empty " + crsClass.getName());
         }
-        throw new RuntimeException();
+        return crsClass.cast(crs);
     }
 
     public static <T extends CoordinateReferenceSystem> T createFromWkt(final WktElt crsWkt, final Class<T> crsClass) {
-        return (T) createFromWkt(crsWkt);
+        return crsClass.cast(createFromWkt(crsWkt));
     }
     
     public static CoordinateReferenceSystem createFromWkt(final WktElt crsWkt) {
-        CoordinateReferenceSystem.CrsType crsType = CoordinateReferenceSystem.CrsType.findCRSFor(crsWkt.getKeyword(),crsWkt.isDerivated());
-        try {
-            Class<?> clazz = Class.forName(crsType.getCrsClassName());
-            Constructor<?> constructor = clazz.getConstructor(WktElt.class);
-            return (CoordinateReferenceSystem) constructor.newInstance(crsWkt);
-        } catch (ClassNotFoundException | NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-            throw new RuntimeException();
+        final WktKeyword symbol = crsWkt.getSymbol();
+        final boolean isDerivated = crsWkt.isDerivated();
+        switch (symbol) {
+            case GEODCRS:
+            case GEOGCRS:
+                return isDerivated ? new DerivedGeodeticCrs(crsWkt) : new GeodeticCrs(crsWkt);
+            case VERTCRS:
+                return isDerivated ? new DerivedVerticalCrs(crsWkt) : new VerticalCrs(crsWkt);
+            case ENGCRS:
+                return isDerivated ? new DerivedEngineeringCrs(crsWkt) : new EngineeringCrs(crsWkt);
+            case PARAMETRICCRS:
+                return isDerivated ? new DerivedParametricCrs(crsWkt) : new ParametricCrs(crsWkt);
+            case TIMECRS:
+                return isDerivated ? new DerivedTemporalCrs(crsWkt) : new TemporalCrs(crsWkt);
+            case PROJCRS:
+                if (!isDerivated) {
+                    return new ProjectedCrs(crsWkt);
+                }
+                break;
+            case IMAGECRS:
+                if (!isDerivated) {
+                    return new ImageCrs(crsWkt);
+                }
+                break;
+            case COMPOUNDCRS:
+                if (!isDerivated) {
+                    return new CompoundCrs(crsWkt);
+                }
+                break;
+            case BOUNDCRS:
+                if (!isDerivated) {
+                    return new BoundCrs(crsWkt);
+                }
+                break;
+            default:
+                break;
         }
-
+        throw new RuntimeException("Cannot create the CRS for " + crsWkt.getKeyword() + " at offset " + crsWkt.getStart());
     }
 
     public static CoordinateReferenceSystem createFromWkt(final String crsWkt) {
-        ParserWkt parser = new ParserWkt(crsWkt);
-        WktEltCollection wktEltCollection = parser.createsWktIndex();
-        Singleton.getInstance().setCollection(wktEltCollection);
-        Iterator<WktElt> iter = wktEltCollection.iterator();
-        if (!iter.hasNext()) {
-            throw new RuntimeException();
-        }
-        return createFromWkt(iter.next());
+        return parse(crsWkt, CoordinateReferenceSystemFactory::createFromWkt);
+    }
 
+    /**
+     * Indexes a WKT description and builds an object from its root node.
+     * @param <T> type of the object
+     * @param wkt WKT description
+     * @param builder builder of the root node
+     * @return the object
+     */
+    public static <T> T parse(final String wkt, final ParallelParsing.Builder<T> builder) {
+        // a parsing started while this one is running uses its own index
+        WktEltCollection wktEltCollection = REUSABLE_INDEX.get();
+        REUSABLE_INDEX.remove();
+        if (wktEltCollection == null) {
+            wktEltCollection = new WktEltCollection();
+        }
+        final WktEltCollection previous = Singleton.getInstance().getCollection();
+        try {
+            ParserWkt parser = new ParserWkt(wkt);
+            parser.createsWktIndex(wktEltCollection);
+            Singleton.getInstance().setCollection(wktEltCollection);
+            Iterator<WktElt> iter = wktEltCollection.iterator();
+            if (!iter.hasNext()) {
+                throw new RuntimeException("The WKT description is empty");
+            }
+            return builder.build(iter.next());
+        } finally {
+            Singleton.getInstance().setCollection(previous);
+            REUSABLE_INDEX.set(wktEltCollection);
+        }
     }
     
+    /**
+     * Creates a CRS from a PROJJSON document.
+     * @param crsProjJson PROJJSON document
+     * @return the coordinate reference system
+     */
+    public static CoordinateReferenceSystem createFromProjJson(final String crsProjJson) {
+        return new ProjJsonReader(crsProjJson).read();
+    }
+
     public static <T extends CoordinateReferenceSystem> T createFromWkt(final String crsWkt, final Class<T> crsClass) {
-        return (T) createFromWkt(crsWkt);
+        return crsClass.cast(createFromWkt(crsWkt));
     }
     
 
@@ -146,116 +249,63 @@ public abstract class CoordinateReferenceSystemFactory {
          * @return the WKT index based on the WKT description
          */
         public WktEltCollection createsWktIndex() {
-            boolean isDerived = false;
-            WktEltCollection wktCollection = new WktEltCollection();
-            /* Creating Stack */
-            Stack<Integer> stk = new Stack<>();
-            int len = wktDescription.length();
-            boolean isDoubleQuoteisOpen = false;
-            for (int i = 0; i < len; i++) {
-                char ch = wktDescription.charAt(i);
-                // we detect the left delimiter - this delimiter must be not in double quote
-                if (ch == '[' && !isDoubleQuoteisOpen) {
-                    String keyword = scanPreviousCharsForKeyword(i, wktDescription);
-                    WktElt wkt = new WktElt(keyword.toUpperCase(), i + 1, WktElt.WktType.NODE);
-                    if (DerivedConversion.DERIVED_CONVERSION_KEYWORD.equals(keyword.toUpperCase())
-                            || MapProjection.MAP_PROJECTION_KEYWORD.equals(keyword.toUpperCase())) {
-                        isDerived = true;
-                    }
-                    wktCollection.addWktElt(wkt);
-                    stk.push(i);
-                    // we detect the right delimiter - this delimiter must be not in double quote                
-                } else if (ch == ']' && !isDoubleQuoteisOpen) {
-                    try {
-                        int p = stk.pop();
-                        WktElt wkt = wktCollection.wktEltStartingAt(p + 1);
-                        wkt.setStop(i);
-                        scanPreviousCharsForAttributes(i, wktDescription, isDoubleQuoteisOpen, wktCollection);
-                    } catch (Exception e) {
-                        //']' at index (i + 1) is unmatched
-                        throw new RuntimeException("']' at index " + (i + 1) + " is unmatched");
-                    }
-                    // we detect the wkt separator - this delimiter must be not in double quote                
-                } else if (ch == ',' && !isDoubleQuoteisOpen) {
-                    scanPreviousCharsForAttributes(i, wktDescription, isDoubleQuoteisOpen, wktCollection);
-                    // we detect the double quote in order to know if we are at the
-                    // beginning or the ending of the double quote
-                } else if (ch == '"') {
-                    isDoubleQuoteisOpen = (isDoubleQuoteisOpen == false);
-                }
-            }
-            wktCollection.getCollection().get(0).setDerivated(isDerived);
-            // we set the node of each found element .
-            wktCollection.index();
-            return wktCollection;
+            return createsWktIndex(new WktEltCollection());
         }
 
         /**
-         * Scans the previous chars to find the keyword.
+         * Creates the WKT index in a collection that is reset before.
          *
-         * This keyword is the node of the WKT description (e.g CS, DATUM, ...).
-         *
-         * @param currentIndex current index
-         * @param wkt the WKT description
-         * @return the keyword
+         * @param wktCollection collection to fill
+         * @return the WKT index based on the WKT description
          */
-        private String scanPreviousCharsForKeyword(int currentIndex, final String wkt) {
-            int j = currentIndex - 1;
-            String keyword = null;
-            while (j >= 0) {
-                char prevChar = wkt.charAt(j);
-                if (prevChar == ',') {
-                    keyword = wkt.substring(j + 1, currentIndex).trim();
-                    break;
-                } else if (prevChar == '[') {
-                    keyword = wkt.substring(j + 1, currentIndex).trim();
-                    break;
-                } else if (j == 0) {
-                    keyword = wkt.substring(0, currentIndex).trim();
-                    break;
-                }
-                j--;
-            }
-            return keyword;
+        public WktEltCollection createsWktIndex(final WktEltCollection wktCollection) {
+            wktCollection.reset();
+            WktPushParser.parse(wktDescription, new IndexBuilder(wktCollection));
+            return wktCollection;
         }
 
         /**
-         * Scans the previous chars to get attributes.
+         * Builds the WKT index from the events of the push parser.
          *
-         * @param currentIndex the current index on the WKT description
-         * @param wkt the WKT description
-         * @param isDoubleQuoteisOpen True when the double quote is opened,
-         * False when it is closed
-         * @param wktCollection the WKT structure where the index is saved.
+         * The node of each element is set from the stack of the open nodes.
          */
-        private void scanPreviousCharsForAttributes(int currentIndex, String wkt, boolean isDoubleQuoteisOpen, WktEltCollection wktCollection) {
-            int j = currentIndex - 1;
-            while (j >= 0) {
-                char prevChar = wkt.charAt(j);
-                if (prevChar == '"') {
-                    isDoubleQuoteisOpen = (isDoubleQuoteisOpen == false);
+        private static class IndexBuilder implements WktHandler {
+
+            private final WktEltCollection wktCollection;
+            private int[] stk = new int[16];
+            private int depth;
+
+            IndexBuilder(final WktEltCollection wktCollection) {
+                this.wktCollection = wktCollection;
+            }
+
+            private int parent() {
+                return depth == 0 ? WktEltCollection.NO_PARENT : stk[depth - 1];
+            }
+
+            @Override
+            public void startNode(final String keyword, final WktKeyword symbol, final int start) {
+                // the keywords of the table are already in upper case
+                final String upperKeyword = symbol == WktKeyword.UNKNOWN ? keyword.toUpperCase() : keyword;
+                final int parent = parent();
+                // a CRS is derived when the deriving conversion is one of its direct children
+                if (symbol == WktKeyword.DERIVINGCONVERSION && depth > 0) {
+                    wktCollection.setDerivated(parent, true);
                 }
-                if (isDoubleQuoteisOpen) {
-                    j--;
-                    continue;
-                } else if (prevChar == ']') {
-                    break;
-                } else if (prevChar == ',') {
-                    String attribute = wkt.substring(j + 1, currentIndex).trim();
-                    WktElt wktElt = new WktElt(attribute, j + 1, WktElt.WktType.ATTRIBUTE);
-                    wktElt.setStop(currentIndex);
-                    wktCollection.addWktElt(wktElt);
-                    break;
-                } else if (prevChar == '[') {
-                    String attribute = wkt.substring(j + 1, currentIndex).trim();
-                    WktElt wktElt = new WktElt(attribute, j + 1, WktElt.WktType.ATTRIBUTE);
-                    wktElt.setStop(currentIndex);
-                    wktCollection.addWktElt(wktElt);
-                    break;
-                } else if (j == 0) {
-                    break;
+                if (depth == stk.length) {
+                    stk = Arrays.copyOf(stk, depth << 1);
                 }
-                j--;
+                stk[depth++] = wktCollection.addNode(upperKeyword, symbol, start, parent);
+            }
+
+            @Override
+            public void attribute(final String token, final int start, final int stop) {
+                wktCollection.addAttribute(token, start, stop, parent());
+            }
+
+            @Override
+            public void endNode(final int stop) {
+                wktCollection.setStop(stk[--depth], stop);
             }
         }
 
@@ -19,6 +19,7 @@
 package com.github.malapert.wkt.crs;
 
 import com.github.malapert.wkt.conversion.Conversion;
+import java.util.List;
 
 /**
  *
@@ -28,5 +29,12 @@ public interface DerivedCoordinateReferenceSystem extends CoordinateReferenceSys
     
     public CoordinateReferenceSystem getBaseCrs();
     public Conversion getConversionFromBaseCrs();
+
+    /**
+     * Returns this CRS followed by its base CRS, the base CRS of its base
+     * CRS and so on, until a CRS that is not derived.
+     * @return the derivation chain, starting with this CRS
+     */
+    public List<CoordinateReferenceSystem> getDerivationChain();
     
 }
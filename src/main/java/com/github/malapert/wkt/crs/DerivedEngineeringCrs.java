@@ -52,12 +52,14 @@ public class DerivedEngineeringCrs extends AbstractDerivatedCoordinateReferenceS
 
     @Override
     protected void parseSpecificWkt(WktElt crsWkt) {
-        if (BaseDerivatedCrsFactory.BaseProjectedCrs.BASE_PROJECTED_CRS.equals(crsWkt.getKeyword())
-                || BaseDerivatedCrsFactory.BaseGeodeticCrs.BASE_GEODETIC_CRS_KEYWORD.equals(crsWkt.getKeyword())
-                || BaseDerivatedCrsFactory.BaseEngineeringCrs.BASE_ENGINEERING_CRS_KEYWORD.equals(crsWkt.getKeyword())) {                   
-            setBaseDerivatedCrs(BaseDerivatedCrsFactory.createFromWkt(crsWkt));
-        } else {
-            throw new RuntimeException();
+        switch (crsWkt.getSymbol()) {
+            case BASEPROJCRS:
+            case BASEGEODCRS:
+            case BASEENGCRS:
+                setBaseDerivatedCrs(BaseDerivatedCrsFactory.createFromWkt(crsWkt));
+                break;
+            default:
+                throw new RuntimeException();
         }
     }
 
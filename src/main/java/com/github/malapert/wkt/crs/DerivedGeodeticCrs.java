@@ -48,11 +48,13 @@ public class DerivedGeodeticCrs extends AbstractDerivatedCoordinateReferenceSyst
     
     @Override
     public void parseSpecificWkt(WktElt crsWkt) {
-        if(BaseGeodeticCrs.BASE_GEODETIC_CRS_KEYWORD.equals(crsWkt.getKeyword())) {
-            setBaseDerivatedCrs(new BaseGeodeticCrs(crsWkt));
-        } else {
-            throw new RuntimeException();
-        }        
+        switch (crsWkt.getSymbol()) {
+            case BASEGEODCRS:
+                setBaseDerivatedCrs(new BaseGeodeticCrs(crsWkt));
+                break;
+            default:
+                throw new RuntimeException();
+        }
     }
 
     @Override
@@ -20,6 +20,7 @@ package com.github.malapert.wkt.crs;
 
 import com.github.malapert.wkt.conversion.DerivedConversion;
 import com.github.malapert.wkt.cs.CoordinateSystem;
+import com.github.malapert.wkt.utils.CanonicalPool;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import static com.github.malapert.wkt.metadata.WktDescription.LEFT_DELIMITER;
@@ -53,11 +54,13 @@ public class DerivedParametricCrs extends AbstractDerivatedCoordinateReferenceSy
 
     @Override
     protected void parseSpecificWkt(WktElt crsWkt) {
-        if(ParametricCrs.PARAMETRIC_KEYWORD.equals(crsWkt.getKeyword())) {
-            setBaseDerivatedCrs(new BaseParametricCrs(crsWkt));
-        } else {
-            throw new RuntimeException();
-       }
+        switch (crsWkt.getSymbol()) {
+            case BASEPARAMCRS:
+                setBaseDerivatedCrs(new BaseParametricCrs(crsWkt));
+                break;
+            default:
+                throw new RuntimeException();
+        }
     }
 
     @Override
@@ -86,10 +89,12 @@ public class DerivedParametricCrs extends AbstractDerivatedCoordinateReferenceSy
             this.setBaseCrsName(attributes.get(0).getKeyword());
             List<WktElt> nodes = wktEltCollection.getNodesFor(baseVerticalCrs, BASE_PARAMETRIC_CRS_KEYWORD);
             for (WktElt node : nodes) {
-                if (ParametricDatum.ParametricDatumKeywords.getKeywords().contains(node.getKeyword())) {
-                    this.setDatum(new ParametricDatum(baseVerticalCrs));
-                } else {
-                    throw new RuntimeException();
+                switch (node.getSymbol()) {
+                    case PDATUM:
+                        this.setDatum(CanonicalPool.intern(new ParametricDatum(node)));
+                        break;
+                    default:
+                        throw new RuntimeException();
                 }
             }
         }
@@ -20,6 +20,7 @@ package com.github.malapert.wkt.crs;
 
 import com.github.malapert.wkt.conversion.DerivedConversion;
 import com.github.malapert.wkt.cs.CoordinateSystem;
+import com.github.malapert.wkt.utils.CanonicalPool;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import static com.github.malapert.wkt.metadata.WktDescription.LEFT_DELIMITER;
@@ -54,10 +55,12 @@ public class DerivedTemporalCrs extends AbstractDerivatedCoordinateReferenceSyst
         
     @Override
     protected void parseSpecificWkt(WktElt crsWkt) {
-        if(BaseTemporalCrs.BASE_TEMPORAL_CRS.equals(crsWkt.getKeyword())) {
-            setBaseDerivatedCrs(new BaseTemporalCrs(crsWkt));
-        } else {
-            throw new RuntimeException();
+        switch (crsWkt.getSymbol()) {
+            case BASETIMECRS:
+                setBaseDerivatedCrs(new BaseTemporalCrs(crsWkt));
+                break;
+            default:
+                throw new RuntimeException();
         }
     }
 
@@ -87,10 +90,12 @@ public class DerivedTemporalCrs extends AbstractDerivatedCoordinateReferenceSyst
             this.setBaseCrsName(attributes.get(0).getKeyword());
             List<WktElt> nodes = wktEltCollection.getNodesFor(baseVerticalCrs, baseVerticalCrs.getKeyword());
             for (WktElt node : nodes) {
-                if (TemporalDatum.TemporalDatumKeyword.getKeywords().contains(node.getKeyword())) {
-                    this.setDatum(new TemporalDatum(node));
-                } else {
-                    throw new RuntimeException();
+                switch (node.getSymbol()) {
+                    case TDATUM:
+                        this.setDatum(CanonicalPool.intern(new TemporalDatum(node)));
+                        break;
+                    default:
+                        throw new RuntimeException();
                 }
             }
         }
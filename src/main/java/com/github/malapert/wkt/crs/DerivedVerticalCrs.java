@@ -21,6 +21,7 @@ package com.github.malapert.wkt.crs;
 import com.github.malapert.wkt.conversion.DerivedConversion;
 import com.github.malapert.wkt.crs.VerticalCrs.VerticalKeyword;
 import com.github.malapert.wkt.cs.CoordinateSystem;
+import com.github.malapert.wkt.utils.CanonicalPool;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import static com.github.malapert.wkt.metadata.WktDescription.LEFT_DELIMITER;
@@ -59,10 +60,12 @@ public class DerivedVerticalCrs extends AbstractDerivatedCoordinateReferenceSyst
 
     @Override
     protected void parseDerivatedCrs(WktElt crsWkt) {
-        if(BaseVerticalCrs.BASE_VERTICAL_CRS_KEYWORD.equals(crsWkt.getKeyword())) {
-            setBaseDerivatedCrs(new BaseVerticalCrs(crsWkt));
-        } else {
-            super.parseDerivatedCrs(crsWkt); 
+        switch (crsWkt.getSymbol()) {
+            case BASEVERTCRS:
+                setBaseDerivatedCrs(new BaseVerticalCrs(crsWkt));
+                break;
+            default:
+                super.parseDerivatedCrs(crsWkt);
         }
     }
     
@@ -89,10 +92,12 @@ public class DerivedVerticalCrs extends AbstractDerivatedCoordinateReferenceSyst
             this.setBaseCrsName(attributes.get(0).getKeyword());
             List<WktElt> nodes = wktEltCollection.getNodesFor(baseVerticalCrs, baseVerticalCrs.getKeyword());
             for (WktElt node : nodes) {
-                if (VerticalDatum.VerticalDatumKeyword.getKeywords().contains(node.getKeyword())) {
-                    this.setDatum(new VerticalDatum(node));
-                } else {
-                    throw new RuntimeException();
+                switch (node.getSymbol()) {
+                    case VDATUM:
+                        this.setDatum(CanonicalPool.intern(new VerticalDatum(node)));
+                        break;
+                    default:
+                        throw new RuntimeException();
                 }
             }
         }
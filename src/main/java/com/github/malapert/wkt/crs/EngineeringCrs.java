@@ -22,6 +22,7 @@ import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.cs.CoordinateSystem;
 import com.github.malapert.wkt.datum.EngineeringDatum;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -37,9 +38,11 @@ public class EngineeringCrs extends AbstractCoordinateReferenceSystem {
         
         private EngineeringCrsKeyword() {        
         }
-        
+
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(EngineeringCrsKeyword.ENGCRS.name(), EngineeringCrsKeyword.ENGINEERINGCRS.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(EngineeringCrsKeyword.ENGCRS.name(), EngineeringCrsKeyword.ENGINEERINGCRS.name());
+            return KEYWORDS;
         }         
     }
     
@@ -59,10 +62,12 @@ public class EngineeringCrs extends AbstractCoordinateReferenceSystem {
 
     @Override
     protected void parseSpecificWkt(WktElt crsWkt) {
-        if(EngineeringDatum.EngineeringDatumKeyword.getKeywords().contains(crsWkt.getKeyword())) {
-            setCrsDatum(new EngineeringDatum(crsWkt));
-        } else {
-            throw new RuntimeException();
+        switch (crsWkt.getSymbol()) {
+            case EDATUM:
+                setCrsDatum(new EngineeringDatum(crsWkt));
+                break;
+            default:
+                throw new RuntimeException();
         }
     }
 
@@ -18,11 +18,14 @@
 */
 package com.github.malapert.wkt.crs;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
 import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.cs.CoordinateSystem;
+import com.github.malapert.wkt.datum.AbstractDatum.Dynamic;
 import com.github.malapert.wkt.datum.GeodeticDatum;
 import com.github.malapert.wkt.cs.PrimeMeridian;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -36,6 +39,11 @@ import java.util.List;
  */
 public class GeodeticCrs extends AbstractCoordinateReferenceSystem {
 
+    /**
+     * DYNAMIC element parsed before the datum.
+     */
+    private Dynamic dynamic;
+
     /**
      * List of geodetic CRS keywords.
      */
@@ -46,9 +54,11 @@ public class GeodeticCrs extends AbstractCoordinateReferenceSystem {
         GeodeticCrsKeyword() {
             
         }
-        
+
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(GeodeticCrsKeyword.GEODCRS.name(), GeodeticCrsKeyword.GEODETICCRS.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(GeodeticCrsKeyword.GEODCRS.name(), GeodeticCrsKeyword.GEODETICCRS.name());
+            return KEYWORDS;
         }
     }
     
@@ -70,14 +80,34 @@ public class GeodeticCrs extends AbstractCoordinateReferenceSystem {
     protected GeodeticCrs() {
     }    
 
+    /**
+     * Tests if the CRS is based on a dynamic reference frame.
+     * @return true when the datum has a frame epoch
+     */
+    public boolean isDynamic() {
+        return getCrsDatum() instanceof GeodeticDatum && ((GeodeticDatum) getCrsDatum()).isDynamic();
+    }
+
     @Override
     protected void parseSpecificWkt(WktElt crsWkt) {        
-        if(GeodeticDatum.GeodeticDatumKeyword.getKeywords().contains(crsWkt.getKeyword())) {
-            setCrsDatum(new GeodeticDatum(crsWkt));
-        } else if(PrimeMeridian.PrimeMeridianKeyword.getKeywords().contains(crsWkt.getKeyword())) {
-            ((GeodeticDatum)getCrsDatum()).setPrimeMeridian(new PrimeMeridian(crsWkt));
-        } else {
-            throw new RuntimeException("Unknown element "+crsWkt.getKeyword()+" in GEOGCRS");
+        switch (crsWkt.getSymbol()) {
+            case DATUM:
+                final GeodeticDatum datum = new GeodeticDatum(crsWkt);
+                datum.setDynamic(this.dynamic);
+                setCrsDatum(datum);
+                break;
+            case DYNAMIC:
+                // the frame epoch is written before the datum it belongs to
+                this.dynamic = new Dynamic(crsWkt);
+                if (getCrsDatum() != null) {
+                    ((GeodeticDatum)getCrsDatum()).setDynamic(this.dynamic);
+                }
+                break;
+            case PRIMEM:
+                ((GeodeticDatum)getCrsDatum()).setPrimeMeridian(CanonicalPool.intern(new PrimeMeridian(crsWkt)));
+                break;
+            default:
+                throw new RuntimeException("Unknown element "+crsWkt.getKeyword()+" in GEOGCRS");
         }
     }  
 
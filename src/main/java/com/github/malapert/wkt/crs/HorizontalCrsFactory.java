@@ -27,14 +27,16 @@ import com.github.malapert.wkt.utils.WktElt;
 public class HorizontalCrsFactory {
     
     public static CoordinateReferenceSystem createFromWkt(WktElt crsWkt) {
-        if(CoordinateReferenceSystem.CrsType.GEODETIC_CRS.getKeywords().contains(crsWkt.getKeyword())) {
-            return new Geographic2DCrs(crsWkt);
-        } else if(CoordinateReferenceSystem.CrsType.PROJECTED_CRS.getKeywords().contains(crsWkt.getKeyword())) {
-            return new ProjectedCrs(crsWkt);
-        } else if(CoordinateReferenceSystem.CrsType.ENGINEERING_CRS.getKeywords().contains(crsWkt.getKeyword())) {
-            return new EngineeringCrs(crsWkt);
-        } else {
-            throw new RuntimeException();
+        switch (crsWkt.getSymbol()) {
+            case GEODCRS:
+            case GEOGCRS:
+                return new Geographic2DCrs(crsWkt);
+            case PROJCRS:
+                return new ProjectedCrs(crsWkt);
+            case ENGCRS:
+                return new EngineeringCrs(crsWkt);
+            default:
+                throw new RuntimeException();
         }
     }
     
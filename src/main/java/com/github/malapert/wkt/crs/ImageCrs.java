@@ -43,10 +43,12 @@ public class ImageCrs extends AbstractCoordinateReferenceSystem {
 
     @Override
     protected void parseSpecificWkt(WktElt crsWkt) {
-        if(ImageDatum.ImageDatumKeyword.getKeywords().contains(crsWkt.getKeyword())) {
-            setCrsDatum(new ImageDatum(crsWkt));
-        } else {
-            throw new RuntimeException();
+        switch (crsWkt.getSymbol()) {
+            case IDATUM:
+                setCrsDatum(new ImageDatum(crsWkt));
+                break;
+            default:
+                throw new RuntimeException();
         }
     }  
 
@@ -46,10 +46,12 @@ public class ParametricCrs extends AbstractCoordinateReferenceSystem {
 
     @Override
     protected void parseSpecificWkt(WktElt crsWkt) {
-        if(ParametricDatum.ParametricDatumKeywords.getKeywords().contains(crsWkt.getKeyword())) {
-            setCrsDatum(new ParametricDatum(crsWkt));
-        } else {
-            throw new RuntimeException();
+        switch (crsWkt.getSymbol()) {
+            case PDATUM:
+                setCrsDatum(new ParametricDatum(crsWkt));
+                break;
+            default:
+                throw new RuntimeException();
         }
     }   
 
@@ -26,8 +26,8 @@ import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.conversion.MapProjection;
 import com.github.malapert.wkt.crs.BaseDerivatedCrsFactory.BaseGeodeticCrs;
 import com.github.malapert.wkt.cs.CoordinateSystem;
-import com.github.malapert.wkt.parameter.MapProjectionParameter;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -46,9 +46,11 @@ public class ProjectedCrs extends AbstractDerivatedCoordinateReferenceSystem {
         ProjectedCrsKeyword() {
             
         }
-        
+
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(ProjectedCrsKeyword.PROJCRS.name(), ProjectedCrsKeyword.PROJECTEDCRS.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(ProjectedCrsKeyword.PROJCRS.name(), ProjectedCrsKeyword.PROJECTEDCRS.name());
+            return KEYWORDS;
         }        
     }
     
@@ -70,12 +72,12 @@ public class ProjectedCrs extends AbstractDerivatedCoordinateReferenceSystem {
     
     @Override
     protected void parseSpecificWkt(WktElt crsWkt) {
-        if(null != crsWkt.getKeyword()) switch (crsWkt.getKeyword()) {
-            case BaseDerivatedCrsFactory.BaseGeodeticCrs.BASE_GEODETIC_CRS_KEYWORD:
+        switch (crsWkt.getSymbol()) {
+            case BASEGEODCRS:
                 this.setBaseDerivatedCrs(BaseDerivatedCrsFactory.createFromWkt(crsWkt));
                 break;
-            case MapProjection.MAP_PROJECTION_KEYWORD:
-            case MapProjectionParameter.MAP_PROJECTION_PARAMETER:
+            case CONVERSION:
+            case PARAMETER:
                 this.setConversionFromBaseCrs(new MapProjection(crsWkt));
                 break;
             default:
@@ -0,0 +1,71 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.crs;
+
+import com.github.malapert.wkt.conversion.DerivedConversion;
+import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.metadata.Usage;
+import com.github.malapert.wkt.utils.ParallelParsing;
+import com.github.malapert.wkt.utils.WktElt;
+
+/**
+ * Builders of the independent children of a CRS node.
+ *
+ * @author Jean-Christophe Malapert
+ */
+final class SubtreeBuilders {
+
+    static final ParallelParsing.Builder<Usage> USAGE = new ParallelParsing.Builder<Usage>() {
+        @Override
+        public Usage build(final WktElt node) {
+            return new Usage(node);
+        }
+    };
+
+    static final ParallelParsing.Builder<Identifier> IDENTIFIER = new ParallelParsing.Builder<Identifier>() {
+        @Override
+        public Identifier build(final WktElt node) {
+            return new Identifier(node);
+        }
+    };
+
+    static final ParallelParsing.Builder<DerivedConversion> DERIVED_CONVERSION = new ParallelParsing.Builder<DerivedConversion>() {
+        @Override
+        public DerivedConversion build(final WktElt node) {
+            return new DerivedConversion(node);
+        }
+    };
+
+    static final ParallelParsing.Builder<CoordinateReferenceSystem> HORIZONTAL_CRS = new ParallelParsing.Builder<CoordinateReferenceSystem>() {
+        @Override
+        public CoordinateReferenceSystem build(final WktElt node) {
+            return HorizontalCrsFactory.createFromWkt(node);
+        }
+    };
+
+    static final ParallelParsing.Builder<CoordinateReferenceSystem> CRS = new ParallelParsing.Builder<CoordinateReferenceSystem>() {
+        @Override
+        public CoordinateReferenceSystem build(final WktElt node) {
+            return CoordinateReferenceSystemFactory.createFromWkt(node);
+        }
+    };
+
+    private SubtreeBuilders() {
+    }
+}
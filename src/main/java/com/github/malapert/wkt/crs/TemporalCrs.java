@@ -44,10 +44,12 @@ public class TemporalCrs extends AbstractCoordinateReferenceSystem {
 
     @Override
     protected void parseSpecificWkt(WktElt crsWkt) {
-        if(TemporalDatum.TemporalDatumKeyword.getKeywords().contains(crsWkt.getKeyword())) {
-            setCrsDatum(new TemporalDatum(crsWkt));
-        } else {
-            throw new RuntimeException();
+        switch (crsWkt.getSymbol()) {
+            case TDATUM:
+                setCrsDatum(new TemporalDatum(crsWkt));
+                break;
+            default:
+                throw new RuntimeException();
         }
     }    
 
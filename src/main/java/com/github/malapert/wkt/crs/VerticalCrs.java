@@ -22,6 +22,7 @@ import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.cs.CoordinateSystem;
 import com.github.malapert.wkt.datum.VerticalDatum;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -36,9 +37,11 @@ public class VerticalCrs extends AbstractCoordinateReferenceSystem {
 
         private VerticalKeyword() {
         }                
-        
+
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(VerticalKeyword.VERTCRS.name(), VerticalKeyword.VERTICALCRS.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(VerticalKeyword.VERTCRS.name(), VerticalKeyword.VERTICALCRS.name());
+            return KEYWORDS;
         }         
         
     }
@@ -59,10 +62,12 @@ public class VerticalCrs extends AbstractCoordinateReferenceSystem {
 
     @Override
     protected void parseSpecificWkt(WktElt crsWkt) {
-        if(VerticalDatum.VerticalDatumKeyword.getKeywords().contains(crsWkt.getKeyword())) {
-            setCrsDatum(new VerticalDatum(crsWkt));
-        } else {
-            throw new RuntimeException();
+        switch (crsWkt.getSymbol()) {
+            case VDATUM:
+                setCrsDatum(new VerticalDatum(crsWkt));
+                break;
+            default:
+                throw new RuntimeException();
         }
     }    
 
@@ -80,23 +80,18 @@ public class Axis implements WktDescription {
 
         final List<WktElt> nodes = wktEltCollection.getNodesFor(axisWktElts, AXIS_KEYWORD);
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case Identifier.IDENTIFIER_KEYWORD:
+            switch (node.getSymbol()) {
+                case ID:
                     this.getIdentifierList().add(new Identifier(node));
                     break;
-                case AxisOrder.ORDER_KEYWORD:
+                case ORDER:
                     this.setAxisOrder(new AxisOrder(node));
                     break;
-                case UnitFactory.AngleUnit.ANGLEUNIT_KEYWORD:
-                case UnitFactory.AngleUnit.ANGLEUNIT_UNIT_KEYWORD:
-                case UnitFactory.LengthUnit.LENGTH_KEYWORD:
-                case UnitFactory.LengthUnit.LENGTH_UNIT_KEYWORD:
-                case UnitFactory.ScaleUnit.SCALEUNIT_KEYWORD:
-                case UnitFactory.ScaleUnit.SCALEUNIT_UNIT_KEYWORD:
-                case UnitFactory.ParametricUnit.PARAMETRICUNIT_KEYWORD:
-                case UnitFactory.ParametricUnit.PARAMETRICUNIT_UNIT_KEYWORD:
-                case UnitFactory.TimeUnit.TIMEUNIT_KEYWORD:
-                case UnitFactory.TimeUnit.TIMEUNIT_UNIT_KEYWORD:
+                case ANGLEUNIT:
+                case LENGTHUNIT:
+                case SCALEUNIT:
+                case PARAMETRICUNIT:
+                case TIMEUNIT:
                     Unit unit = UnitFactory.createFromWkt(node);
                     this.setAxisUnit(unit);
                     break;
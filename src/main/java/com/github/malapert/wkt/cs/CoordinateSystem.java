@@ -25,11 +25,13 @@ import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.utils.WktEltCollection;
 import com.github.malapert.wkt.metadata.Unit;
 import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem.CrsType;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 /**
@@ -54,97 +56,93 @@ public class CoordinateSystem implements WktDescription {
      */
     public enum CsType {
 
-        affine(new HashMap<String, Integer[]>() {
-            {
-                put("EngineeringCrs", new Integer[]{2, 3});
-                put("ImageCrs", new Integer[]{2});
-            }
-        }),
-        Cartesian(new HashMap<String, Integer[]>() {
-            {
-                put("GeodeticCrs", new Integer[]{3});
-                put("ProjectedCrs", new Integer[]{2});
-                put("EngineeringCrs", new Integer[]{2, 3});
-                put("ImageCrs", new Integer[]{2});
-            }
-        }),
-        cylindrical(new HashMap<String, Integer[]>() {
-            {
-                put("EngineeringCrs", new Integer[]{3});
-            }
-        }),
-        ellipsoidal(new HashMap<String, Integer[]>() {
-            {
-                put("GeodeticCrs", new Integer[]{2, 3});
-            }
-        }),
-        linear(new HashMap<String, Integer[]>() {
-            {
-                put("EngineeringCrs", new Integer[]{1});
-            }
-        }),
-        parametric(new HashMap<String, Integer[]>() {
-            {
-                put("ParametricCrs", new Integer[]{1});
-            }
-        }),
-        polar(new HashMap<String, Integer[]>() {
-            {
-                put("EngineeringCrs", new Integer[]{2});
-            }
-        }),
-        spherical(new HashMap<String, Integer[]>() {
-            {
-                put("GeodeticCrs", new Integer[]{3});
-                put("EngineeringCrs", new Integer[]{3});
-            }
-        }),
-        temporal(new HashMap<String, Integer[]>() {
-            {
-                put("TemporalCrs", new Integer[]{1});
-            }
-        }),
-        vertical(new HashMap<String, Integer[]>() {
-            {
-                put("VerticalCrs", new Integer[]{1});
-            }
-        });
+        affine,
+        Cartesian,
+        cylindrical,
+        ellipsoidal,
+        linear,
+        parametric,
+        polar,
+        spherical,
+        temporal,
+        vertical;
 
-        private Map<String, Integer[]> crs = new HashMap<>();
+        /**
+         * Allowed dimensions for each CRS, bit <i>n</i> is set when the
+         * dimension <i>n</i> is allowed.
+         */
+        private final Map<CrsType, Integer> dimensions = new EnumMap<>(CrsType.class);
 
-        CsType(final Map<String, Integer[]> crs) {
-            this.crs = crs;
+        private static final Map<CrsType, Set<CsType>> CS_TYPES = new EnumMap<>(CrsType.class);
+
+        static {
+            allow(affine, mask(2, 3), CrsType.ENGINEERING_CRS, CrsType.DERIVED_ENGINEERING_CRS);
+            allow(affine, mask(2), CrsType.IMAGE_CRS);
+            allow(Cartesian, mask(3), CrsType.GEODETIC_CRS, CrsType.DERIVED_GEODETIC_CRS);
+            allow(Cartesian, mask(2), CrsType.PROJECTED_CRS, CrsType.IMAGE_CRS);
+            allow(Cartesian, mask(2, 3), CrsType.ENGINEERING_CRS, CrsType.DERIVED_ENGINEERING_CRS);
+            allow(cylindrical, mask(3), CrsType.ENGINEERING_CRS, CrsType.DERIVED_ENGINEERING_CRS);
+            allow(ellipsoidal, mask(2, 3), CrsType.GEODETIC_CRS, CrsType.DERIVED_GEODETIC_CRS);
+            allow(linear, mask(1), CrsType.ENGINEERING_CRS, CrsType.DERIVED_ENGINEERING_CRS);
+            allow(parametric, mask(1), CrsType.PARAMETRIC_CRS, CrsType.DERIVED_PARAMETRIC_CRS);
+            allow(polar, mask(2), CrsType.ENGINEERING_CRS, CrsType.DERIVED_ENGINEERING_CRS);
+            allow(spherical, mask(3), CrsType.GEODETIC_CRS, CrsType.DERIVED_GEODETIC_CRS, CrsType.ENGINEERING_CRS, CrsType.DERIVED_ENGINEERING_CRS);
+            allow(temporal, mask(1), CrsType.TEMPORAL_CRS, CrsType.DERIVED_TEMPORAL_CRS);
+            allow(vertical, mask(1), CrsType.VERTICAL_CRS, CrsType.DERIVED_VERTICAL_CRS);
         }
 
-        public Map<String, Integer[]> getCrs() {
-            return this.crs;
+        private static int mask(final int... allowedDimensions) {
+            int mask = 0;
+            for (int dimension : allowedDimensions) {
+                mask |= 1 << dimension;
+            }
+            return mask;
         }
 
-        public Integer[] getDimensionForCrs(final String searchedCrsName) {
-            Integer[] result = null;
-            for (final Entry<String, Integer[]> crsEntry : this.crs.entrySet()) {
-                final String crsName = crsEntry.getKey();
-                if (crsName.equals(searchedCrsName)) {
-                    result = crsEntry.getValue();
-                    break;
-                }                
+        private static void allow(final CsType csType, final int mask, final CrsType... crsTypes) {
+            for (CrsType crsType : crsTypes) {
+                csType.dimensions.put(crsType, mask);
+                CS_TYPES.computeIfAbsent(crsType, type -> EnumSet.noneOf(CsType.class)).add(csType);
             }
-            return result;
         }
 
-        public List<CsType> getCsTypeFromCrs(String searchedCrsName) {
-            List<CsType> csTypeList = new ArrayList<>();
-            CsType[] csArray = CsType.values();
-            for (CsType csType : csArray) {
-                Map<String, Integer[]> crsMap = csType.getCrs();
-                Set<String> crsKeys = crsMap.keySet();
-                for (String crsKey : crsKeys) {
-                    if (crsKey.equals(searchedCrsName)) {
-                        csTypeList.add(csType);
-                    }
+        /**
+         * Tests if this coordinate system is allowed in a CRS.
+         * @param crsType type of the CRS
+         * @param dimension dimension of the coordinate system
+         * @return true when the type and the dimension are allowed
+         */
+        public boolean isAllowedFor(final CrsType crsType, final int dimension) {
+            final Integer mask = crsType == null ? null : dimensions.get(crsType);
+            return mask != null && dimension >= 0 && dimension < Integer.SIZE && (mask >>> dimension & 1) != 0;
+        }
+
+        /**
+         * Returns the allowed dimensions of this coordinate system in a CRS.
+         * @param crsType type of the CRS
+         * @return the dimensions, empty when the coordinate system is not
+         * allowed in the CRS
+         */
+        public int[] getDimensionsFor(final CrsType crsType) {
+            final int mask = dimensions.getOrDefault(crsType, 0);
+            final int[] result = new int[Integer.bitCount(mask)];
+            int index = 0;
+            for (int dimension = 0; dimension < Integer.SIZE; dimension++) {
+                if ((mask >>> dimension & 1) != 0) {
+                    result[index++] = dimension;
                 }
             }
-            return csTypeList;
+            return result;
+        }
+
+        /**
+         * Returns the coordinate systems allowed in a CRS.
+         * @param crsType type of the CRS
+         * @return the coordinate systems
+         */
+        public static Set<CsType> getCsTypesFor(final CrsType crsType) {
+            final Set<CsType> csTypes = CS_TYPES.get(crsType);
+            return csTypes == null ? Collections.<CsType>emptySet() : Collections.unmodifiableSet(csTypes);
         }
     }
 
@@ -265,6 +263,23 @@ public class CoordinateSystem implements WktDescription {
         this.unit = unit;
     }
 
+    /**
+     * Checks the type, the dimension and the number of axis of this
+     * coordinate system in a CRS.
+     *
+     * @param crsType type of the CRS, the type of the coordinate system is
+     * not checked when it is null
+     * @throws RuntimeException when the coordinate system is not allowed
+     */
+    public void validate(final CrsType crsType) {
+        if (crsType != null && !getCsType().isAllowedFor(crsType, getDimension())) {
+            throw new RuntimeException(COORDINATE_SYSTEM_KEYWORD + "[" + getCsType() + "," + getDimension() + "] is not allowed in " + crsType);
+        }
+        if (getAxisList().size() != getDimension()) {
+            throw new RuntimeException(getDimension() + " " + AXIS_KEYWORD + " expected in " + COORDINATE_SYSTEM_KEYWORD + "[" + getCsType() + "," + getDimension() + "] but found " + getAxisList().size());
+        }
+    }
+
     /**
      * Parses the CS WKT element.
      *
@@ -281,8 +296,8 @@ public class CoordinateSystem implements WktDescription {
             return;
         }
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case Identifier.IDENTIFIER_KEYWORD:
+            switch (node.getSymbol()) {
+                case ID:
                     this.getIdentifierList().add(new Identifier(node));
                     break;
                 default:
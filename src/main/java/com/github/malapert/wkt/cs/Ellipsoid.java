@@ -18,6 +18,8 @@
 */
 package com.github.malapert.wkt.cs;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
+import com.github.malapert.wkt.utils.Freezable;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.metadata.WktDescription;
@@ -28,6 +30,7 @@ import com.github.malapert.wkt.metadata.UnitFactory.LengthUnit;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * An ellipsoid is defined through semi-major axis (a) and either semi-minor 
@@ -46,7 +49,7 @@ import java.util.List;
  *
  * @author Jean-Christophe Malapert
  */
-public class Ellipsoid implements WktDescription {
+public class Ellipsoid implements WktDescription, Freezable {
 
     private EllipsoidKeyword ellipsoid;
     private String ellipsoidName;
@@ -54,6 +57,7 @@ public class Ellipsoid implements WktDescription {
     private BigDecimal inverFlattening;
     private LengthUnit lengthUnit;
     private List<Identifier> identifierList = new ArrayList<>();
+    private boolean frozen;
 
     /**
      * List of ellipsoid keywords.
@@ -78,6 +82,21 @@ public class Ellipsoid implements WktDescription {
         this.inverFlattening = new BigDecimal(inverFlattening);
     }
 
+    /**
+     * Creates an ellipsoid based on required parameters given as exact values.
+     * @param ellipsoid ellipsoid type
+     * @param ellipsoidName ellipsoid name
+     * @param semiMajorAxis semi major axis
+     * @param inverFlattening invert flattening
+     */
+    public Ellipsoid(final EllipsoidKeyword ellipsoid, final String ellipsoidName,
+                     final BigDecimal semiMajorAxis, final BigDecimal inverFlattening) {
+        this.ellipsoid = ellipsoid;
+        this.ellipsoidName = ellipsoidName;
+        this.semiMajorAxis = semiMajorAxis;
+        this.inverFlattening = inverFlattening;
+    }
+
     /**
      * Creates an ellipsoid by parsing on a ELLIPSOID WKT element.
      * @param ellipsoidElts 
@@ -102,13 +121,12 @@ public class Ellipsoid implements WktDescription {
 
         List<WktElt> nodes = wktEltCollection.getNodesFor(ellipsoidElts, ellipsoid.name());
         for (WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case LengthUnit.LENGTH_KEYWORD:
-                case LengthUnit.LENGTH_UNIT_KEYWORD:
-                    LengthUnit unit = new LengthUnit(node);
+            switch (node.getSymbol()) {
+                case LENGTHUNIT:
+                    LengthUnit unit = CanonicalPool.intern(new LengthUnit(node));
                     this.setLengthUnit(unit);
                     break;
-                case Identifier.IDENTIFIER_KEYWORD:
+                case ID:
                     this.getIdentifierList().add(new Identifier(node));
                     break;
                 default:
@@ -130,6 +148,7 @@ public class Ellipsoid implements WktDescription {
      * @param ellipsoid the ellipsoid to set
      */
     public void setEllipsoid(final EllipsoidKeyword ellipsoid) {
+        CanonicalPool.checkModifiable(this);
         this.ellipsoid = ellipsoid;
     }
 
@@ -146,6 +165,7 @@ public class Ellipsoid implements WktDescription {
      * @param ellipsoidName the ellipsoidName to set
      */
     public void setEllipsoidName(final String ellipsoidName) {
+        CanonicalPool.checkModifiable(this);
         this.ellipsoidName = ellipsoidName;
     }
 
@@ -157,11 +177,20 @@ public class Ellipsoid implements WktDescription {
         return semiMajorAxis.floatValue();
     }
 
+    /**
+     * Returns the semi-major axis as written in the definition.
+     * @return the semiMajorAxis
+     */
+    public BigDecimal getSemiMajorAxisValue() {
+        return semiMajorAxis;
+    }
+
     /**
      * Sets the semi-major axis.
      * @param semiMajorAxis the semiMajorAxis to set
      */
     public void setSemiMajorAxis(float semiMajorAxis) {
+        CanonicalPool.checkModifiable(this);
         this.semiMajorAxis = new BigDecimal(semiMajorAxis);
     }
 
@@ -173,11 +202,20 @@ public class Ellipsoid implements WktDescription {
         return inverFlattening.floatValue();
     }
 
+    /**
+     * Returns the inverse flattening as written in the definition.
+     * @return the inverFlattening
+     */
+    public BigDecimal getInverFlatteningValue() {
+        return inverFlattening;
+    }
+
     /**
      * Sets the inverse flattening.
      * @param inverFlattening the inverFlattening to set
      */
     public void setInverFlattening(float inverFlattening) {
+        CanonicalPool.checkModifiable(this);
         this.inverFlattening = new BigDecimal(inverFlattening);
     }
 
@@ -194,9 +232,28 @@ public class Ellipsoid implements WktDescription {
      * @param lengthUnit the lengthUnit to set
      */
     public void setLengthUnit(final LengthUnit lengthUnit) {
+        CanonicalPool.checkModifiable(this);
         this.lengthUnit = lengthUnit;
     }
 
+    /**
+     * Returns the semi-major axis in metres.
+     * @return the semi-major axis converted with the length unit
+     */
+    public double getSemiMajorAxisInMetres() {
+        final BigDecimal factor = lengthUnit == null ? null : lengthUnit.getConversionFactorValue();
+        return factor == null ? semiMajorAxis.doubleValue() : semiMajorAxis.multiply(factor).doubleValue();
+    }
+
+    /**
+     * Returns the flattening.
+     * @return the flattening, 0 for a sphere
+     */
+    public double getFlattening() {
+        final double inverse = inverFlattening.doubleValue();
+        return inverse == 0 ? 0 : 1 / inverse;
+    }
+
     /**
      * Returns the list of Identifier.
      * @return the identifierList
@@ -210,9 +267,48 @@ public class Ellipsoid implements WktDescription {
      * @param identifierList the identifierList to set
      */
     public void setIdentifierList(final List<Identifier> identifierList) {
+        CanonicalPool.checkModifiable(this);
         this.identifierList = identifierList;
     }
 
+    @Override
+    public void freeze() {
+        if (!this.frozen) {
+            if (this.lengthUnit != null) {
+                this.lengthUnit.freeze();
+            }
+            this.identifierList = CanonicalPool.freeze(this.identifierList);
+            this.frozen = true;
+        }
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final Ellipsoid other = (Ellipsoid) obj;
+        return this.ellipsoid == other.ellipsoid
+                && Objects.equals(this.ellipsoidName, other.ellipsoidName)
+                && Objects.equals(this.semiMajorAxis, other.semiMajorAxis)
+                && Objects.equals(this.inverFlattening, other.inverFlattening)
+                && Objects.equals(this.lengthUnit, other.lengthUnit)
+                && Objects.equals(this.identifierList, other.identifierList);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.ellipsoid, this.ellipsoidName, this.semiMajorAxis, this.inverFlattening, this.lengthUnit, this.identifierList);
+    }
+
     @Override
     public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
         StringBuffer wkt = new StringBuffer();
@@ -18,6 +18,8 @@
 */
 package com.github.malapert.wkt.cs;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
+import com.github.malapert.wkt.utils.Freezable;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.metadata.WktDescription;
@@ -25,12 +27,13 @@ import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.utils.WktEltCollection;
 import com.github.malapert.wkt.metadata.Unit;
 import com.github.malapert.wkt.metadata.UnitFactory;
-import com.github.malapert.wkt.metadata.UnitFactory.AngleUnit;
 import com.github.malapert.wkt.metadata.Identifier;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * <prime meridian keyword> <left delimiter> <prime meridian name>
@@ -39,22 +42,25 @@ import java.util.List;
  *
  * @author malapert
  */
-public class PrimeMeridian implements WktDescription {
+public class PrimeMeridian implements WktDescription, Freezable {
 
     private PrimeMeridianKeyword primeMeridianKeyword;
     private String meridianName;
     private BigDecimal longitude;
     private Unit angleUnit;
     private List<Identifier> identifierList = new ArrayList<>();
+    private boolean frozen;
 
     public static enum PrimeMeridianKeyword {
         PRIMEM,
         PRIMEMERIDIAN;
         private PrimeMeridianKeyword() {        
         }
-        
+
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(PrimeMeridianKeyword.PRIMEM.name(), PrimeMeridianKeyword.PRIMEMERIDIAN.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(PrimeMeridianKeyword.PRIMEM.name(), PrimeMeridianKeyword.PRIMEMERIDIAN.name());
+            return KEYWORDS;
         }          
     }
     
@@ -65,6 +71,14 @@ public class PrimeMeridian implements WktDescription {
         this.meridianName = meridianName;
         this.longitude = new BigDecimal(longitude);
     }
+
+    public PrimeMeridian(final PrimeMeridianKeyword primeMeridianKeyword,
+                         final String meridianName,
+                         final BigDecimal longitude) {
+        this.primeMeridianKeyword = primeMeridianKeyword;
+        this.meridianName = meridianName;
+        this.longitude = longitude;
+    }
                          
 
     public PrimeMeridian(WktElt datumElt) {
@@ -82,12 +96,11 @@ public class PrimeMeridian implements WktDescription {
 
         final List<WktElt> nodes = wktEltCollection.getNodesFor(primeMeridianElts, getPrimeMeridianKeyword().name());
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case Identifier.IDENTIFIER_KEYWORD:
+            switch (node.getSymbol()) {
+                case ID:
                     getIdentifierList().add(new Identifier(node));
                     break;
-                case AngleUnit.ANGLEUNIT_KEYWORD:
-                case AngleUnit.ANGLEUNIT_UNIT_KEYWORD:
+                case ANGLEUNIT:
                     Unit unit = UnitFactory.createFromWkt(node);
                     this.setAngleUnit(unit);
                     break;
@@ -108,6 +121,7 @@ public class PrimeMeridian implements WktDescription {
      * @param primeMeridianKeyword the primeMeridianKeyword to set
      */
     public void setPrimeMeridianKeyword(PrimeMeridianKeyword primeMeridianKeyword) {
+        CanonicalPool.checkModifiable(this);
         this.primeMeridianKeyword = primeMeridianKeyword;
     }
 
@@ -122,6 +136,7 @@ public class PrimeMeridian implements WktDescription {
      * @param meridianName the meridianName to set
      */
     public void setMeridianName(String meridianName) {
+        CanonicalPool.checkModifiable(this);
         this.meridianName = meridianName;
     }
 
@@ -132,10 +147,18 @@ public class PrimeMeridian implements WktDescription {
         return longitude.floatValue();
     }
 
+    /**
+     * @return the longitude as written in the definition
+     */
+    public BigDecimal getLongitudeValue() {
+        return longitude;
+    }
+
     /**
      * @param longitude the longitude to set
      */
     public void setLongitude(float longitude) {
+        CanonicalPool.checkModifiable(this);
         this.longitude = new BigDecimal(longitude);
     }
 
@@ -150,6 +173,7 @@ public class PrimeMeridian implements WktDescription {
      * @param angleUnit the angleUnit to set
      */
     public void setAngleUnit(Unit angleUnit) {
+        CanonicalPool.checkModifiable(this);
         this.angleUnit = angleUnit;
     }
 
@@ -164,9 +188,47 @@ public class PrimeMeridian implements WktDescription {
      * @param identifierList the identifierList to set
      */
     public void setIdentifierList(List<Identifier> identifierList) {
+        CanonicalPool.checkModifiable(this);
         this.identifierList = identifierList;
     }
 
+    @Override
+    public void freeze() {
+        if (!this.frozen) {
+            if (this.angleUnit != null) {
+                this.angleUnit.freeze();
+            }
+            this.identifierList = CanonicalPool.freeze(this.identifierList);
+            this.frozen = true;
+        }
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final PrimeMeridian other = (PrimeMeridian) obj;
+        return this.primeMeridianKeyword == other.primeMeridianKeyword
+                && Objects.equals(this.meridianName, other.meridianName)
+                && Objects.equals(this.longitude, other.longitude)
+                && Objects.equals(this.angleUnit, other.angleUnit)
+                && Objects.equals(this.identifierList, other.identifierList);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.primeMeridianKeyword, this.meridianName, this.longitude, this.angleUnit, this.identifierList);
+    }
+
     @Override
     public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
         StringBuffer wkt = new StringBuffer();
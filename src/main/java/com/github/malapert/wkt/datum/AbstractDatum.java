@@ -18,6 +18,8 @@
 */
 package com.github.malapert.wkt.datum;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
+import com.github.malapert.wkt.utils.Freezable;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.utils.WktElt;
@@ -28,17 +30,19 @@ import static com.github.malapert.wkt.metadata.WktDescription.LEFT_DELIMITER;
 import static com.github.malapert.wkt.metadata.WktDescription.RIGHT_DELIMITER;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  *
  * @author malapert
  */
-public abstract class AbstractDatum implements Datum {
+public abstract class AbstractDatum implements Datum, Freezable {
 
     protected String keyword = null;
     private String datumName = null;
     private Anchor anchor = null;
     private List<Identifier> identifierList = new ArrayList<>();
+    private boolean frozen;
 
     /**
      * @return the datumName
@@ -52,6 +56,7 @@ public abstract class AbstractDatum implements Datum {
      * @param datumName the datumName to set
      */
     public final void setDatumName(final String datumName) {
+        CanonicalPool.checkModifiable(this);
         this.datumName = datumName;
     }
 
@@ -67,6 +72,7 @@ public abstract class AbstractDatum implements Datum {
      * @param anchor the anchor to set
      */
     public final void setAnchor(final Anchor anchor) {
+        CanonicalPool.checkModifiable(this);
         this.anchor = anchor;
     }
 
@@ -82,6 +88,7 @@ public abstract class AbstractDatum implements Datum {
      * @param identifierList the identifierList to set
      */
     public final void setIdentifierList(final List<Identifier> identifierList) {
+        CanonicalPool.checkModifiable(this);
         this.identifierList = identifierList;
     }
 
@@ -96,6 +103,7 @@ public abstract class AbstractDatum implements Datum {
      * @param keyword the keyword to set
      */
     public final void setKeyword(final String keyword) {
+        CanonicalPool.checkModifiable(this);
         this.keyword = keyword;
     }
 
@@ -106,11 +114,11 @@ public abstract class AbstractDatum implements Datum {
         this.setDatumName(Utils.removeQuotes(attributes.get(0).getKeyword()));
         final List<WktElt> nodes = wktEltCollection.getNodesFor(datumWkt, this.getKeyword());
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case Anchor.KEYWORD_ANCHOR:
+            switch (node.getSymbol()) {
+                case ANCHOR:
                     this.setAnchor(new Anchor(node));
                     break;
-                case Identifier.IDENTIFIER_KEYWORD:
+                case ID:
                     this.getIdentifierList().add(new Identifier(datumWkt));
                     break;
                 default:
@@ -119,6 +127,45 @@ public abstract class AbstractDatum implements Datum {
         }
     }
 
+    /**
+     * Makes the datum read-only; the subclasses freeze their own components.
+     */
+    @Override
+    public void freeze() {
+        if (!this.frozen) {
+            if (this.anchor != null) {
+                this.anchor.freeze();
+            }
+            this.identifierList = CanonicalPool.freeze(this.identifierList);
+            this.frozen = true;
+        }
+    }
+
+    @Override
+    public final boolean isFrozen() {
+        return this.frozen;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final AbstractDatum other = (AbstractDatum) obj;
+        return Objects.equals(this.keyword, other.keyword)
+                && Objects.equals(this.datumName, other.datumName)
+                && Objects.equals(this.anchor, other.anchor)
+                && Objects.equals(this.identifierList, other.identifierList);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), this.keyword, this.datumName, this.anchor, this.identifierList);
+    }
+
     @Override
     public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
         StringBuffer wkt = new StringBuffer();
@@ -150,10 +197,11 @@ public abstract class AbstractDatum implements Datum {
      *
      * @author Jean-Christophe Malapert
      */
-    public static class Anchor implements WktDescription {
+    public static class Anchor implements WktDescription, Freezable {
 
         public static final String KEYWORD_ANCHOR = "ANCHOR";
         private String description;
+        private boolean frozen;
 
         /**
          * Creates an anchor based on its description element.
@@ -199,9 +247,30 @@ public abstract class AbstractDatum implements Datum {
          * @param description the description to set
          */
         public void setDescription(final String description) {
+            CanonicalPool.checkModifiable(this);
             this.description = description;
         }
 
+        @Override
+        public void freeze() {
+            this.frozen = true;
+        }
+
+        @Override
+        public boolean isFrozen() {
+            return this.frozen;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj || obj instanceof Anchor && Objects.equals(this.description, ((Anchor) obj).description);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.description);
+        }
+
         @Override
         public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
             StringBuffer wkt = new StringBuffer();
@@ -218,4 +287,164 @@ public abstract class AbstractDatum implements Datum {
 
     }
 
+    /**
+     * Defines the frame epoch of a dynamic reference frame.
+     *
+     * <pre>
+     * {@code
+     * <dynamic crs>::=<dynamic crs keyword> <left delimiter> <frame reference epoch>
+     * [ <wkt separator> <deformation model id> ] <right delimiter>
+     * }
+     * </pre>
+     *
+     * @author Jean-Christophe Malapert
+     */
+    public static class Dynamic implements WktDescription, Freezable {
+
+        public static final String KEYWORD_DYNAMIC = "DYNAMIC";
+        public static final String KEYWORD_FRAME_EPOCH = "FRAMEEPOCH";
+        public static final String KEYWORD_MODEL = "MODEL";
+        private String frameEpoch;
+        private double epoch;
+        private String deformationModel;
+        private boolean frozen;
+
+        /**
+         * Creates a dynamic reference frame based on its frame epoch.
+         *
+         * @param frameEpoch frame epoch in decimal years
+         */
+        public Dynamic(final String frameEpoch) {
+            this.setFrameEpoch(frameEpoch);
+        }
+
+        /**
+         * Creates a dynamic reference frame based on DYNAMIC WKT element.
+         *
+         * @param dynamicElts
+         */
+        public Dynamic(final WktElt dynamicElts) {
+            parse(dynamicElts);
+        }
+
+        /**
+         * Parses the DYNAMIC WKT element.
+         *
+         * @param dynamicElts the DYNAMIC WKT element
+         */
+        private void parse(final WktElt dynamicElts) {
+            final WktEltCollection wktEltCollection = Singleton.getInstance().getCollection();
+            final List<WktElt> nodes = wktEltCollection.getNodesFor(dynamicElts, KEYWORD_DYNAMIC);
+            for (final WktElt node : nodes) {
+                switch (node.getSymbol()) {
+                    case FRAMEEPOCH:
+                        this.setFrameEpoch(wktEltCollection.getAttributesFor(node, KEYWORD_FRAME_EPOCH).get(0).getKeyword());
+                        break;
+                    case MODEL:
+                        this.setDeformationModel(Utils.removeQuotes(wktEltCollection.getAttributesFor(node, KEYWORD_MODEL).get(0).getKeyword()));
+                        break;
+                    default:
+                        throw new RuntimeException("Unknown element " + node.getKeyword() + " in DYNAMIC");
+                }
+            }
+            if (this.frameEpoch == null) {
+                throw new RuntimeException("DYNAMIC needs FRAMEEPOCH at offset " + dynamicElts.getStart());
+            }
+        }
+
+        /**
+         * Returns the frame epoch as written in the description.
+         *
+         * @return the frame epoch
+         */
+        public String getFrameEpoch() {
+            return frameEpoch;
+        }
+
+        /**
+         * Sets the frame epoch.
+         *
+         * @param frameEpoch the frame epoch in decimal years
+         */
+        public final void setFrameEpoch(final String frameEpoch) {
+            CanonicalPool.checkModifiable(this);
+            this.epoch = Double.parseDouble(frameEpoch);
+            this.frameEpoch = frameEpoch;
+        }
+
+        /**
+         * Returns the frame epoch.
+         *
+         * @return the frame epoch in decimal years
+         */
+        public double getEpoch() {
+            return epoch;
+        }
+
+        /**
+         * Returns the name of the deformation model.
+         *
+         * @return the deformation model or null
+         */
+        public String getDeformationModel() {
+            return deformationModel;
+        }
+
+        /**
+         * Sets the name of the deformation model.
+         *
+         * @param deformationModel the deformation model to set
+         */
+        public void setDeformationModel(final String deformationModel) {
+            CanonicalPool.checkModifiable(this);
+            this.deformationModel = deformationModel;
+        }
+
+        @Override
+        public void freeze() {
+            this.frozen = true;
+        }
+
+        @Override
+        public boolean isFrozen() {
+            return this.frozen;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Dynamic)) {
+                return false;
+            }
+            final Dynamic other = (Dynamic) obj;
+            return Objects.equals(this.frameEpoch, other.frameEpoch)
+                    && Objects.equals(this.deformationModel, other.deformationModel);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.frameEpoch, this.deformationModel);
+        }
+
+        @Override
+        public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
+            StringBuffer wkt = new StringBuffer();
+            wkt = wkt.append(KEYWORD_DYNAMIC).append(LEFT_DELIMITER);
+            wkt = wkt.append(KEYWORD_FRAME_EPOCH).append(LEFT_DELIMITER).append(getFrameEpoch()).append(RIGHT_DELIMITER);
+            if (getDeformationModel() != null) {
+                wkt = wkt.append(WKT_SEPARATOR).append(KEYWORD_MODEL).append(LEFT_DELIMITER).append(Utils.addQuotes(getDeformationModel())).append(RIGHT_DELIMITER);
+            }
+            wkt = wkt.append(RIGHT_DELIMITER);
+            return wkt;
+        }
+
+        @Override
+        public StringBuffer toWkt() {
+            return toWkt("\n", "   ", 0);
+        }
+
+    }
+
 }
@@ -18,6 +18,7 @@
 */
 package com.github.malapert.wkt.datum;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
 import com.github.malapert.wkt.utils.WktElt;
 
 /**
@@ -26,21 +27,35 @@ import com.github.malapert.wkt.utils.WktElt;
  */
 public abstract class DatumFactory {
     
-    public static Datum createFromWkt(final WktElt datumWkt) {        
-        if(EngineeringDatum.EngineeringDatumKeyword.getKeywords().contains(datumWkt.getKeyword())) {
-            return new EngineeringDatum(datumWkt);
-        } else if (GeodeticDatum.GeodeticDatumKeyword.getKeywords().contains(datumWkt.getKeyword())) {
-            return new GeodeticDatum(datumWkt);
-        } else if (ImageDatum.ImageDatumKeyword.getKeywords().contains(datumWkt.getKeyword())) {
-            return new ImageDatum(datumWkt);
-        } else if (ParametricDatum.ParametricDatumKeywords.getKeywords().contains(datumWkt.getKeyword())) {
-            return new ParametricDatum(datumWkt);
-        } else if (TemporalDatum.TemporalDatumKeyword.getKeywords().contains(datumWkt.getKeyword())) {
-            return new TemporalDatum(datumWkt);
-        } else if (VerticalDatum.VerticalDatumKeyword.getKeywords().contains(datumWkt.getKeyword())) {
-            return new VerticalDatum(datumWkt);
-        } else {
-            throw new RuntimeException();
+    /**
+     * Creates a datum by parsing its WKT element.
+     *
+     * The datum is the canonical instance when the {@link CanonicalPool} is
+     * enabled.
+     *
+     * @param datumWkt datum WKT element
+     * @return the datum
+     */
+    public static Datum createFromWkt(final WktElt datumWkt) {
+        return CanonicalPool.intern(createDatumFromWkt(datumWkt));
+    }
+
+    private static Datum createDatumFromWkt(final WktElt datumWkt) {
+        switch (datumWkt.getSymbol()) {
+            case EDATUM:
+                return new EngineeringDatum(datumWkt);
+            case DATUM:
+                return new GeodeticDatum(datumWkt);
+            case IDATUM:
+                return new ImageDatum(datumWkt);
+            case PDATUM:
+                return new ParametricDatum(datumWkt);
+            case TDATUM:
+                return new TemporalDatum(datumWkt);
+            case VDATUM:
+                return new VerticalDatum(datumWkt);
+            default:
+                throw new RuntimeException("Cannot create the datum for " + datumWkt.getKeyword() + " at offset " + datumWkt.getStart());
         }
-    }    
+    }
 }
@@ -20,6 +20,7 @@ package com.github.malapert.wkt.datum;
 
 import com.github.malapert.wkt.utils.WktElt;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -33,9 +34,11 @@ public class EngineeringDatum extends AbstractDatum {
         ENGINEERINGDATUM;
         private EngineeringDatumKeyword() {        
         }
-        
+
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(EngineeringDatumKeyword.EDATUM.name(), EngineeringDatumKeyword.ENGINEERINGDATUM.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(EngineeringDatumKeyword.EDATUM.name(), EngineeringDatumKeyword.ENGINEERINGDATUM.name());
+            return KEYWORDS;
         }         
     }
     
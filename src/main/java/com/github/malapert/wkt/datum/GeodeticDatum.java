@@ -18,6 +18,7 @@
 */
 package com.github.malapert.wkt.datum;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.utils.WktElt;
@@ -26,7 +27,9 @@ import com.github.malapert.wkt.metadata.Identifier;
 import com.github.malapert.wkt.cs.Ellipsoid;
 import com.github.malapert.wkt.cs.PrimeMeridian;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * "geodetic datum" is used when the CRS type is geodetic. 
@@ -39,6 +42,12 @@ import java.util.List;
  * <geodetic datum>::=<geodetic datum keyword> <left delimiter> <datum name> <wkt separator> <ellipsoid> [ <wkt separator> <datum anchor> ] [ { <wkt separator> <identifier> } ]…  <right delimiter> { <wkt separator> <prime meridian> }  
  * }
  * </pre>
+ * The frame epoch of a dynamic reference frame is written before the datum:
+ * <pre>
+ * {@code
+ * DYNAMIC[FRAMEEPOCH[2005.0]],TRF["World Geodetic System 1984 (G1762)",...]
+ * }
+ * </pre>
  *
  * @author Jean-Christophe Malapert
  */
@@ -50,14 +59,17 @@ public final class GeodeticDatum extends AbstractDatum {
         TRF;
         private GeodeticDatumKeyword() {        
         }
-        
+
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(GeodeticDatumKeyword.DATUM.name(), GeodeticDatumKeyword.GEODETICDATUM.name(), GeodeticDatumKeyword.TRF.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(GeodeticDatumKeyword.DATUM.name(), GeodeticDatumKeyword.GEODETICDATUM.name(), GeodeticDatumKeyword.TRF.name());
+            return KEYWORDS;
         }         
     }    
 
     private Ellipsoid ellipsoid;
     private PrimeMeridian primeMeridian;
+    private Dynamic dynamic;
     
     public GeodeticDatum(final GeodeticDatumKeyword keyword, final String datumName, final Ellipsoid ellipsoid) {
         setKeyword(keyword.name());
@@ -94,15 +106,14 @@ public final class GeodeticDatum extends AbstractDatum {
         this.setDatumName(Utils.removeQuotes(attributes.get(0).getKeyword()));                        
         List<WktElt> nodes = wktEltCollection.getNodesFor(geodeticDatum, geodeticDatum.getKeyword());
         for (WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case "ELLIPSOID":
-                case "SPHEROID":
-                    this.setEllipsoid(new Ellipsoid(node));
+            switch (node.getSymbol()) {
+                case ELLIPSOID:
+                    this.setEllipsoid(CanonicalPool.intern(new Ellipsoid(node)));
                     break;
-                case Anchor.KEYWORD_ANCHOR:
+                case ANCHOR:
                     this.setAnchor(new Anchor(node));
                     break;
-                case Identifier.IDENTIFIER_KEYWORD:
+                case ID:
                     this.getIdentifierList().add(new Identifier(node));
                     break;
                 default:
@@ -124,6 +135,7 @@ public final class GeodeticDatum extends AbstractDatum {
      * @param ellipsoid the ellipsoid to set
      */
     public final void setEllipsoid(final Ellipsoid ellipsoid) {
+        CanonicalPool.checkModifiable(this);
         this.ellipsoid = ellipsoid;
     }
 
@@ -140,13 +152,83 @@ public final class GeodeticDatum extends AbstractDatum {
      * @param primeMeridian the primeMeridian to set
      */
     public void setPrimeMeridian(final PrimeMeridian primeMeridian) {
+        CanonicalPool.checkModifiable(this);
         this.primeMeridian = primeMeridian;
     }
       
 
+    /**
+     * Returns the frame epoch of a dynamic reference frame.
+     * @return the dynamic element or null when the reference frame is static
+     */
+    public Dynamic getDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * Sets the frame epoch of a dynamic reference frame.
+     * @param dynamic the dynamic element or null
+     */
+    public void setDynamic(final Dynamic dynamic) {
+        CanonicalPool.checkModifiable(this);
+        this.dynamic = dynamic;
+    }
+
+    /**
+     * Tests if the reference frame is dynamic.
+     * @return true when the reference frame has a frame epoch
+     */
+    public boolean isDynamic() {
+        return dynamic != null;
+    }
+
+    /**
+     * Returns the frame epoch.
+     * @return the frame epoch in decimal years or NaN when the reference
+     * frame is static
+     */
+    public double getFrameEpoch() {
+        return dynamic == null ? Double.NaN : dynamic.getEpoch();
+    }
+
+    @Override
+    public void freeze() {
+        if (!isFrozen()) {
+            if (this.ellipsoid != null) {
+                this.ellipsoid.freeze();
+            }
+            if (this.primeMeridian != null) {
+                this.primeMeridian.freeze();
+            }
+            if (this.dynamic != null) {
+                this.dynamic.freeze();
+            }
+            super.freeze();
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!super.equals(obj)) {
+            return false;
+        }
+        final GeodeticDatum other = (GeodeticDatum) obj;
+        return Objects.equals(this.ellipsoid, other.ellipsoid)
+                && Objects.equals(this.primeMeridian, other.primeMeridian)
+                && Objects.equals(this.dynamic, other.dynamic);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hash(this.ellipsoid, this.primeMeridian, this.dynamic);
+    }
+
     @Override
     public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
         StringBuffer wkt = new StringBuffer();
+        if (getDynamic() != null) {
+            wkt = wkt.append(getDynamic().toWkt(endLine, tab, deepLevel)).append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel));
+        }
         wkt = wkt.append(this.getKeyword()).append(LEFT_DELIMITER);
         wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel+1)).append(Utils.addQuotes(getDatumName()));
         wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel+1)).append(getEllipsoid().toWkt(endLine, tab, deepLevel+1));
@@ -18,12 +18,14 @@
 */
 package com.github.malapert.wkt.datum;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.utils.WktEltCollection;
 import com.github.malapert.wkt.metadata.Identifier;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -39,9 +41,11 @@ public final class ImageDatum extends AbstractDatum {
         IMAGEDATUM;
         private ImageDatumKeyword() {        
         }
-        
+
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(ImageDatumKeyword.IDATUM.name(), ImageDatumKeyword.IMAGEDATUM.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(ImageDatumKeyword.IDATUM.name(), ImageDatumKeyword.IMAGEDATUM.name());
+            return KEYWORDS;
         }         
     }
     
@@ -54,7 +58,7 @@ public final class ImageDatum extends AbstractDatum {
     public ImageDatum(final ImageDatumKeyword keyword, final String datumName, final PixelInCell pixelCell) {
         setKeyword(keyword.name());
         setDatumName(datumName);
-        setPixelInCell(pixelInCell);
+        setPixelInCell(pixelCell);
     }
     
     public ImageDatum(final WktElt imageDatumCrs) {
@@ -71,11 +75,11 @@ public final class ImageDatum extends AbstractDatum {
         
         List<WktElt> nodes = wktEltCollection.getNodesFor(temporalDatumWkt, temporalDatumWkt.getKeyword());
         for (WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case Anchor.KEYWORD_ANCHOR:
+            switch (node.getSymbol()) {
+                case ANCHOR:
                     this.setAnchor(new Anchor(node));
                     break;
-                case Identifier.IDENTIFIER_KEYWORD:
+                case ID:
                     this.getIdentifierList().add(new Identifier(node));
                     break;
                 default:
@@ -95,9 +99,20 @@ public final class ImageDatum extends AbstractDatum {
      * @param pixelInCell the pixelInCell to set
      */
     public final void setPixelInCell(PixelInCell pixelInCell) {
+        CanonicalPool.checkModifiable(this);
         this.pixelInCell = pixelInCell;
     }
     
+    @Override
+    public boolean equals(final Object obj) {
+        return super.equals(obj) && this.pixelInCell == ((ImageDatum) obj).pixelInCell;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + (this.pixelInCell == null ? 0 : this.pixelInCell.hashCode());
+    }
+
     @Override
     public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
         StringBuffer wkt = new StringBuffer();
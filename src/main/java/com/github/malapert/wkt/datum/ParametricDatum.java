@@ -20,6 +20,7 @@ package com.github.malapert.wkt.datum;
 
 import com.github.malapert.wkt.utils.WktElt;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -38,8 +39,10 @@ public class ParametricDatum extends AbstractDatum {
         private ParametricDatumKeywords() {
         }
 
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(ParametricDatumKeywords.PARAMETRICDATUM.name(), ParametricDatumKeywords.PDATUM.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(ParametricDatumKeywords.PARAMETRICDATUM.name(), ParametricDatumKeywords.PDATUM.name());
+            return KEYWORDS;
         }
     }
 
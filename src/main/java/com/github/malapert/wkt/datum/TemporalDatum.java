@@ -18,6 +18,7 @@
 */
 package com.github.malapert.wkt.datum;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.metadata.WktDescription;
@@ -25,7 +26,9 @@ import com.github.malapert.wkt.utils.WktElt;
 import com.github.malapert.wkt.utils.WktEltCollection;
 import com.github.malapert.wkt.metadata.Identifier;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * <temporal datum>::=<temporal datum keyword> <left delimiter> <datum name> [
@@ -42,8 +45,10 @@ public final class TemporalDatum extends AbstractDatum {
         private TemporalDatumKeyword() {
         }
 
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(TemporalDatumKeyword.TDATUM.name(), TemporalDatumKeyword.TIMEDATUM.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(TemporalDatumKeyword.TDATUM.name(), TemporalDatumKeyword.TIMEDATUM.name());
+            return KEYWORDS;
         }
     }
 
@@ -66,11 +71,11 @@ public final class TemporalDatum extends AbstractDatum {
         this.setDatumName(Utils.removeQuotes(attributes.get(0).getKeyword()));
         final List<WktElt> nodes = wktEltCollection.getNodesFor(temporalDatumWkt, temporalDatumWkt.getKeyword());
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case TemporalOrigin.TEMPORAL_DATUM_KEYWORD:
+            switch (node.getSymbol()) {
+                case TIMEORIGIN:
                     this.setTemporalOrigin(new TemporalOrigin(node));
                     break;
-                case Identifier.IDENTIFIER_KEYWORD:
+                case ID:
                     this.getIdentifierList().add(new Identifier(node));
                     break;
                 default:
@@ -90,15 +95,28 @@ public final class TemporalDatum extends AbstractDatum {
      * @param temporalOrigin the temporalOrigin to set
      */
     public void setTemporalOrigin(TemporalOrigin temporalOrigin) {
+        CanonicalPool.checkModifiable(this);
         this.temporalOrigin = temporalOrigin;
     }
 
+    @Override
+    public boolean equals(final Object obj) {
+        return super.equals(obj) && Objects.equals(this.temporalOrigin, ((TemporalDatum) obj).temporalOrigin);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(this.temporalOrigin);
+    }
+
     @Override
     public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
         StringBuffer wkt = new StringBuffer();
         wkt = wkt.append(this.keyword).append(LEFT_DELIMITER);
         wkt = wkt.append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(Utils.addQuotes(this.getDatumName()));
-        wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(this.getTemporalOrigin().toWkt(endLine, tab, deepLevel + 1));
+        if (getTemporalOrigin() != null) {
+            wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(this.getTemporalOrigin().toWkt(endLine, tab, deepLevel + 1));
+        }
         for (Identifier id : this.getIdentifierList()) {
             wkt = wkt.append(WKT_SEPARATOR).append(endLine).append(Utils.makeSpaces(tab, deepLevel + 1)).append(id.toWkt(endLine, tab, deepLevel + 1));
         }
@@ -131,6 +149,23 @@ public final class TemporalDatum extends AbstractDatum {
             this.description = Utils.removeQuotes(attributes.get(0).getKeyword());
         }
 
+        /**
+         * @return the description
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj || obj instanceof TemporalOrigin && Objects.equals(this.description, ((TemporalOrigin) obj).description);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.description);
+        }
+
         @Override
         public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
             StringBuffer wkt = new StringBuffer();
@@ -20,6 +20,7 @@ package com.github.malapert.wkt.datum;
 
 import com.github.malapert.wkt.utils.WktElt;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -34,9 +35,11 @@ public class VerticalDatum extends AbstractDatum {
 
         private VerticalDatumKeyword() {
         }
-        
+
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(VerticalDatumKeyword.VDATUM.name(), VerticalDatumKeyword.VERTICALDATUM.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(VerticalDatumKeyword.VDATUM.name(), VerticalDatumKeyword.VERTICALDATUM.name());
+            return KEYWORDS;
         }          
     }
     
@@ -0,0 +1,1108 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.geodesy;
+
+import com.github.malapert.wkt.cs.Ellipsoid;
+
+/**
+ * Geodesic computations on an ellipsoid of revolution.
+ *
+ * The direct and the inverse problems are solved with the algorithms of
+ * Karney (Algorithms for geodesics, J. Geodesy 87, 2013), using the series
+ * to the sixth order in the third flattening. The coefficients of the series
+ * depending only on the ellipsoid are computed once when the object is
+ * created. The results are accurate to about 15 nanometres for the WGS 84
+ * ellipsoid. The latitudes, the longitudes and the azimuths are in degrees,
+ * the distances in metres and the areas in square metres.
+ *
+ * <pre>
+ * {@code
+ * Geodesic geodesic = Geodesic.create(datum.getEllipsoid());
+ * geodesic.distances(segments, 0, distances, 0, segments.length / 4);
+ * double area = geodesic.area(polygon, 0, polygon.length / 2);
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class Geodesic {
+
+    private static final int ORDER = 6;
+    private static final int NC3X = 15;
+    private static final int NC4X = 21;
+    private static final int MAXIT1 = 20;
+    private static final int MAXIT2 = MAXIT1 + 53 + 10;
+    private static final double TINY = Math.sqrt(Double.MIN_NORMAL);
+    private static final double TOL0 = Math.ulp(1.0);
+    private static final double TOL1 = 200 * TOL0;
+    private static final double TOL2 = Math.sqrt(TOL0);
+    private static final double TOLB = TOL0 * TOL2;
+    private static final double XTHRESH = 1000 * TOL2;
+
+    private final double a;
+    private final double f;
+    private final double f1;
+    private final double e2;
+    private final double ep2;
+    private final double n;
+    private final double b;
+    private final double c2;
+    private final double etol2;
+    private final double[] a3x = new double[ORDER];
+    private final double[] c3x = new double[NC3X];
+    private final double[] c4x = new double[NC4X];
+
+    /**
+     * Creates the geodesic computations of an ellipsoid.
+     * @param semiMajorAxis semi-major axis in metres
+     * @param flattening flattening, 0 for a sphere
+     */
+    public Geodesic(final double semiMajorAxis, final double flattening) {
+        if (!(semiMajorAxis > 0) || !(flattening < 1)) {
+            throw new RuntimeException("Invalid ellipsoid: a=" + semiMajorAxis + ", f=" + flattening);
+        }
+        this.a = semiMajorAxis;
+        this.f = flattening;
+        this.f1 = 1 - f;
+        this.e2 = f * (2 - f);
+        this.ep2 = e2 / (f1 * f1);
+        this.n = f / (2 - f);
+        this.b = a * f1;
+        final double e = Math.sqrt(Math.abs(e2));
+        this.c2 = (a * a + b * b * (e2 == 0 ? 1 : (e2 > 0 ? atanh(e) : Math.atan(e)) / e)) / 2;
+        this.etol2 = 0.1 * TOL2 / Math.sqrt(Math.max(0.001, Math.abs(f)) * Math.min(1.0, 1 - f / 2) / 2);
+        computeA3x();
+        computeC3x();
+        computeC4x();
+    }
+
+    /**
+     * Creates the geodesic computations of an ellipsoid.
+     * @param ellipsoid ellipsoid
+     * @return the geodesic computations
+     */
+    public static Geodesic create(final Ellipsoid ellipsoid) {
+        return new Geodesic(ellipsoid.getSemiMajorAxisInMetres(), ellipsoid.getFlattening());
+    }
+
+    /**
+     * Returns the semi-major axis.
+     * @return the semi-major axis in metres
+     */
+    public double getSemiMajorAxis() {
+        return a;
+    }
+
+    /**
+     * Returns the flattening.
+     * @return the flattening
+     */
+    public double getFlattening() {
+        return f;
+    }
+
+    /**
+     * Returns the total area of the ellipsoid.
+     * @return the area in square metres
+     */
+    public double getEllipsoidArea() {
+        return 4 * Math.PI * c2;
+    }
+
+    /**
+     * Solves the inverse problem.
+     * @param lat1 latitude of the first point
+     * @param lon1 longitude of the first point
+     * @param lat2 latitude of the second point
+     * @param lon2 longitude of the second point
+     * @return the distance, the azimuth at the first point and the azimuth at
+     * the second point
+     */
+    public double[] inverse(final double lat1, final double lon1, final double lat2, final double lon2) {
+        final Workspace ws = new Workspace();
+        inverse(lat1, lon1, lat2, lon2, false, ws);
+        return new double[]{ws.s12, ws.azi1, ws.azi2};
+    }
+
+    /**
+     * Returns the length of the geodesic between two points.
+     * @param lat1 latitude of the first point
+     * @param lon1 longitude of the first point
+     * @param lat2 latitude of the second point
+     * @param lon2 longitude of the second point
+     * @return the distance in metres
+     */
+    public double distance(final double lat1, final double lon1, final double lat2, final double lon2) {
+        final Workspace ws = new Workspace();
+        inverse(lat1, lon1, lat2, lon2, false, ws);
+        return ws.s12;
+    }
+
+    /**
+     * Solves the inverse problem for a batch of segments.
+     * @param segments latitude and longitude of the first point, then of the
+     * second point, for each segment
+     * @param offset index of the first segment
+     * @param distances array receiving the distances
+     * @param distancesOffset index of the first distance
+     * @param count number of segments
+     */
+    public void distances(final double[] segments, final int offset, final double[] distances, final int distancesOffset, final int count) {
+        final Workspace ws = new Workspace();
+        for (int i = 0; i < count; i++) {
+            final int j = offset + 4 * i;
+            inverse(segments[j], segments[j + 1], segments[j + 2], segments[j + 3], false, ws);
+            distances[distancesOffset + i] = ws.s12;
+        }
+    }
+
+    /**
+     * Returns the length of a path made of geodesics.
+     * @param points latitude and longitude of each vertex
+     * @param offset index of the first vertex
+     * @param count number of vertices
+     * @return the length in metres
+     */
+    public double length(final double[] points, final int offset, final int count) {
+        final Workspace ws = new Workspace();
+        double sum = 0;
+        double compensation = 0;
+        for (int i = 1; i < count; i++) {
+            final int j = offset + 2 * i;
+            inverse(points[j - 2], points[j - 1], points[j], points[j + 1], false, ws);
+            final double y = ws.s12 - compensation;
+            final double t = sum + y;
+            compensation = (t - sum) - y;
+            sum = t;
+        }
+        return sum - compensation;
+    }
+
+    /**
+     * Returns the area of a polygon whose edges are geodesics. The polygon is
+     * closed implicitly and may enclose a pole.
+     * @param points latitude and longitude of each vertex
+     * @param offset index of the first vertex
+     * @param count number of vertices
+     * @return the area in square metres, positive when the vertices are
+     * traversed counter-clockwise
+     */
+    public double area(final double[] points, final int offset, final int count) {
+        if (count < 3) {
+            return 0;
+        }
+        final Workspace ws = new Workspace();
+        double sum = 0;
+        double compensation = 0;
+        int crossings = 0;
+        for (int i = 0; i < count; i++) {
+            final int j = offset + 2 * i;
+            final int k = offset + 2 * ((i + 1) % count);
+            final double lon1 = points[j + 1];
+            final double lon2 = points[k + 1];
+            inverse(points[j], lon1, points[k], lon2, true, ws);
+            final double y = ws.areaS12 - compensation;
+            final double t = sum + y;
+            compensation = (t - sum) - y;
+            sum = t;
+            crossings += transit(lon1, lon2);
+        }
+        final double area0 = getEllipsoidArea();
+        double area = sum - compensation;
+        if ((crossings & 1) != 0) {
+            area += (area < 0 ? 1 : -1) * area0 / 2;
+        }
+        area = -area;
+        if (area > area0 / 2) {
+            area -= area0;
+        } else if (area <= -area0 / 2) {
+            area += area0;
+        }
+        return 0 + area;
+    }
+
+    /**
+     * Solves the direct problem.
+     * @param lat1 latitude of the first point
+     * @param lon1 longitude of the first point
+     * @param azi1 azimuth at the first point
+     * @param s12 distance from the first point in metres, negative to go
+     * backward
+     * @return the latitude, the longitude and the azimuth at the second point
+     */
+    public double[] direct(final double lat1, final double lon1, final double azi1, final double s12) {
+        final double[] c1a = new double[ORDER + 1];
+        final double[] c1pa = new double[ORDER + 1];
+        final double[] c3a = new double[ORDER];
+        final double[] sc = new double[2];
+        sincosd(angRound(angNormalize(azi1)), sc);
+        final double salp1 = sc[0];
+        final double calp1 = sc[1];
+        sincosd(angRound(latFix(lat1)), sc);
+        double sbet1 = f1 * sc[0];
+        double cbet1 = sc[1];
+        final double r1 = Math.hypot(sbet1, cbet1);
+        sbet1 /= r1;
+        cbet1 = Math.max(TINY, cbet1 / r1);
+
+        final double salp0 = salp1 * cbet1;
+        final double calp0 = Math.hypot(calp1, salp1 * sbet1);
+        double ssig1 = sbet1;
+        final double somg1 = salp0 * sbet1;
+        double csig1 = sbet1 != 0 || calp1 != 0 ? cbet1 * calp1 : 1;
+        final double comg1 = csig1;
+        final double rs = Math.hypot(ssig1, csig1);
+        ssig1 /= rs;
+        csig1 /= rs;
+
+        final double k2 = calp0 * calp0 * ep2;
+        final double eps = k2 / (2 * (1 + Math.sqrt(1 + k2)) + k2);
+        final double a1m1 = a1m1f(eps);
+        c1f(eps, c1a);
+        final double b11 = sinCosSeries(true, ssig1, csig1, c1a);
+        double s = Math.sin(b11);
+        double c = Math.cos(b11);
+        final double stau1 = ssig1 * c + csig1 * s;
+        final double ctau1 = csig1 * c - ssig1 * s;
+        c1pf(eps, c1pa);
+        final double a3c = -f * salp0 * a3f(eps);
+        c3f(eps, c3a);
+        final double b31 = sinCosSeries(true, ssig1, csig1, c3a);
+
+        final double tau12 = s12 / (b * (1 + a1m1));
+        s = Math.sin(tau12);
+        c = Math.cos(tau12);
+        double b12 = -sinCosSeries(true, stau1 * c + ctau1 * s, ctau1 * c - stau1 * s, c1pa);
+        double sig12 = tau12 - (b12 - b11);
+        double ssig12 = Math.sin(sig12);
+        double csig12 = Math.cos(sig12);
+        double ssig2;
+        double csig2;
+        if (Math.abs(f) > 0.01) {
+            ssig2 = ssig1 * csig12 + csig1 * ssig12;
+            csig2 = csig1 * csig12 - ssig1 * ssig12;
+            b12 = sinCosSeries(true, ssig2, csig2, c1a);
+            final double serr = (1 + a1m1) * (sig12 + (b12 - b11)) - s12 / b;
+            sig12 = sig12 - serr / Math.sqrt(1 + k2 * ssig2 * ssig2);
+            ssig12 = Math.sin(sig12);
+            csig12 = Math.cos(sig12);
+        }
+        ssig2 = ssig1 * csig12 + csig1 * ssig12;
+        csig2 = csig1 * csig12 - ssig1 * ssig12;
+        final double sbet2 = calp0 * ssig2;
+        double cbet2 = Math.hypot(salp0, calp0 * csig2);
+        if (cbet2 == 0) {
+            cbet2 = TINY;
+            csig2 = TINY;
+        }
+        final double somg2 = salp0 * ssig2;
+        final double comg2 = csig2;
+        final double salp2 = salp0;
+        final double calp2 = calp0 * csig2;
+        final double omg12 = Math.atan2(somg2 * comg1 - comg2 * somg1, comg2 * comg1 + somg2 * somg1);
+        final double lam12 = omg12 + a3c * (sig12 + (sinCosSeries(true, ssig2, csig2, c3a) - b31));
+        final double lon12 = Math.toDegrees(lam12);
+        return new double[]{
+            atan2d(sbet2, f1 * cbet2),
+            angNormalize(angNormalize(lon1) + angNormalize(lon12)),
+            atan2d(salp2, calp2)
+        };
+    }
+
+    /**
+     * Scratch arrays and results of the inverse problem, reused along a batch.
+     */
+    private static final class Workspace {
+
+        private final double[] c1a = new double[ORDER + 1];
+        private final double[] c2a = new double[ORDER + 1];
+        private final double[] c3a = new double[ORDER];
+        private final double[] c4a = new double[ORDER];
+        private final double[] sc = new double[2];
+        private double s12;
+        private double azi1;
+        private double azi2;
+        private double areaS12;
+        // lengths
+        private double s12b;
+        private double m12b;
+        private double m0;
+        // inverse start
+        private double sig12;
+        private double salp1;
+        private double calp1;
+        private double salp2;
+        private double calp2;
+        private double dnm;
+        // lambda12
+        private double lam12;
+        private double ssig1;
+        private double csig1;
+        private double ssig2;
+        private double csig2;
+        private double eps;
+        private double domg12;
+        private double dlam12;
+    }
+
+    private void inverse(double lat1, final double lon1, double lat2, final double lon2, final boolean withArea, final Workspace ws) {
+        final double[] sc = ws.sc;
+        angDiff(lon1, lon2, sc);
+        double lon12 = sc[0];
+        double lon12s = sc[1];
+        int lonsign = lon12 >= 0 ? 1 : -1;
+        lon12 = lonsign * angRound(lon12);
+        lon12s = angRound((180 - lon12) - lonsign * lon12s);
+        final double lam12 = Math.toRadians(lon12);
+        final double slam12;
+        final double clam12;
+        if (lon12 > 90) {
+            sincosd(lon12s, sc);
+            slam12 = sc[0];
+            clam12 = -sc[1];
+        } else {
+            sincosd(lon12, sc);
+            slam12 = sc[0];
+            clam12 = sc[1];
+        }
+
+        lat1 = angRound(latFix(lat1));
+        lat2 = angRound(latFix(lat2));
+        final int swapp = Math.abs(lat1) < Math.abs(lat2) ? -1 : 1;
+        if (swapp < 0) {
+            lonsign *= -1;
+            final double t = lat1;
+            lat1 = lat2;
+            lat2 = t;
+        }
+        final int latsign = lat1 < 0 ? 1 : -1;
+        lat1 *= latsign;
+        lat2 *= latsign;
+
+        sincosd(lat1, sc);
+        double sbet1 = f1 * sc[0];
+        double cbet1 = sc[1];
+        double r = Math.hypot(sbet1, cbet1);
+        sbet1 /= r;
+        cbet1 = Math.max(TINY, cbet1 / r);
+        sincosd(lat2, sc);
+        double sbet2 = f1 * sc[0];
+        double cbet2 = sc[1];
+        r = Math.hypot(sbet2, cbet2);
+        sbet2 /= r;
+        cbet2 = Math.max(TINY, cbet2 / r);
+
+        if (cbet1 < -sbet1) {
+            if (cbet2 == cbet1) {
+                sbet2 = sbet2 < 0 ? sbet1 : -sbet1;
+            }
+        } else if (Math.abs(sbet2) == -sbet1) {
+            cbet2 = cbet1;
+        }
+
+        final double dn1 = Math.sqrt(1 + ep2 * sbet1 * sbet1);
+        final double dn2 = Math.sqrt(1 + ep2 * sbet2 * sbet2);
+
+        double sig12 = 0;
+        double calp1 = 0;
+        double salp1 = 0;
+        double calp2 = 0;
+        double salp2 = 0;
+        double s12x = 0;
+        boolean meridian = lat1 == -90 || slam12 == 0;
+
+        if (meridian) {
+            calp1 = clam12;
+            salp1 = slam12;
+            calp2 = 1;
+            salp2 = 0;
+            final double ssig1 = sbet1;
+            final double csig1 = calp1 * cbet1;
+            final double ssig2 = sbet2;
+            final double csig2 = calp2 * cbet2;
+            sig12 = Math.atan2(Math.max(0.0, csig1 * ssig2 - ssig1 * csig2), csig1 * csig2 + ssig1 * ssig2);
+            lengths(n, sig12, ssig1, csig1, dn1, ssig2, csig2, dn2, ws);
+            s12x = ws.s12b;
+            double m12x = ws.m12b;
+            if (sig12 < 1 || m12x >= 0) {
+                if (sig12 < 3 * TINY || (sig12 < TOL0 && (s12x < 0 || m12x < 0))) {
+                    sig12 = 0;
+                    s12x = 0;
+                }
+                s12x *= b;
+            } else {
+                meridian = false;
+            }
+        }
+
+        double omg12 = Double.NaN;
+        double somg12 = 2;
+        double comg12 = Double.NaN;
+        if (!meridian && sbet1 == 0 && (f <= 0 || lon12s >= f * 180)) {
+            calp1 = 0;
+            calp2 = 0;
+            salp1 = 1;
+            salp2 = 1;
+            s12x = a * lam12;
+            sig12 = lam12 / f1;
+            omg12 = sig12;
+        } else if (!meridian) {
+            inverseStart(sbet1, cbet1, dn1, sbet2, cbet2, dn2, lam12, slam12, clam12, ws);
+            sig12 = ws.sig12;
+            salp1 = ws.salp1;
+            calp1 = ws.calp1;
+            if (sig12 >= 0) {
+                salp2 = ws.salp2;
+                calp2 = ws.calp2;
+                s12x = sig12 * b * ws.dnm;
+                omg12 = lam12 / (f1 * ws.dnm);
+            } else {
+                int numit = 0;
+                double salp1a = TINY;
+                double calp1a = 1;
+                double salp1b = TINY;
+                double calp1b = -1;
+                for (boolean tripn = false, tripb = false; numit < MAXIT2; ++numit) {
+                    lambda12(sbet1, cbet1, dn1, sbet2, cbet2, dn2, salp1, calp1, slam12, clam12, numit < MAXIT1, ws);
+                    final double v = ws.lam12;
+                    final double dv = ws.dlam12;
+                    salp2 = ws.salp2;
+                    calp2 = ws.calp2;
+                    if (tripb || !(Math.abs(v) >= (tripn ? 8 : 1) * TOL0)) {
+                        break;
+                    }
+                    if (v > 0 && (numit > MAXIT1 || calp1 / salp1 > calp1b / salp1b)) {
+                        salp1b = salp1;
+                        calp1b = calp1;
+                    } else if (v < 0 && (numit > MAXIT1 || calp1 / salp1 < calp1a / salp1a)) {
+                        salp1a = salp1;
+                        calp1a = calp1;
+                    }
+                    if (numit < MAXIT1 && dv > 0) {
+                        final double dalp1 = -v / dv;
+                        final double sdalp1 = Math.sin(dalp1);
+                        final double cdalp1 = Math.cos(dalp1);
+                        final double nsalp1 = salp1 * cdalp1 + calp1 * sdalp1;
+                        if (nsalp1 > 0 && Math.abs(dalp1) < Math.PI) {
+                            calp1 = calp1 * cdalp1 - salp1 * sdalp1;
+                            salp1 = nsalp1;
+                            r = Math.hypot(salp1, calp1);
+                            salp1 /= r;
+                            calp1 /= r;
+                            tripn = Math.abs(v) <= 16 * TOL0;
+                            continue;
+                        }
+                    }
+                    salp1 = (salp1a + salp1b) / 2;
+                    calp1 = (calp1a + calp1b) / 2;
+                    r = Math.hypot(salp1, calp1);
+                    salp1 /= r;
+                    calp1 /= r;
+                    tripn = false;
+                    tripb = Math.abs(salp1a - salp1) + (calp1a - calp1) < TOLB
+                            || Math.abs(salp1 - salp1b) + (calp1 - calp1b) < TOLB;
+                }
+                sig12 = ws.sig12;
+                lengths(ws.eps, sig12, ws.ssig1, ws.csig1, dn1, ws.ssig2, ws.csig2, dn2, ws);
+                s12x = ws.s12b * b;
+                if (withArea) {
+                    final double sdomg12 = Math.sin(ws.domg12);
+                    final double cdomg12 = Math.cos(ws.domg12);
+                    somg12 = slam12 * cdomg12 - clam12 * sdomg12;
+                    comg12 = clam12 * cdomg12 + slam12 * sdomg12;
+                }
+            }
+        }
+
+        ws.s12 = 0 + s12x;
+        if (withArea) {
+            final double salp0 = salp1 * cbet1;
+            final double calp0 = Math.hypot(calp1, salp1 * sbet1);
+            double areaS12;
+            if (calp0 != 0 && salp0 != 0) {
+                double ssig1 = sbet1;
+                double csig1 = calp1 * cbet1;
+                double ssig2 = sbet2;
+                double csig2 = calp2 * cbet2;
+                final double k2 = calp0 * calp0 * ep2;
+                final double eps = k2 / (2 * (1 + Math.sqrt(1 + k2)) + k2);
+                final double a4 = a * a * calp0 * salp0 * e2;
+                r = Math.hypot(ssig1, csig1);
+                ssig1 /= r;
+                csig1 /= r;
+                r = Math.hypot(ssig2, csig2);
+                ssig2 /= r;
+                csig2 /= r;
+                c4f(eps, ws.c4a);
+                areaS12 = a4 * (sinCosSeries(false, ssig2, csig2, ws.c4a) - sinCosSeries(false, ssig1, csig1, ws.c4a));
+            } else {
+                areaS12 = 0;
+            }
+            if (!meridian && somg12 > 1) {
+                somg12 = Math.sin(omg12);
+                comg12 = Math.cos(omg12);
+            }
+            final double alp12;
+            if (!meridian && comg12 > -0.7071 && sbet2 - sbet1 < 1.75) {
+                final double domg12 = 1 + comg12;
+                final double dbet1 = 1 + cbet1;
+                final double dbet2 = 1 + cbet2;
+                alp12 = 2 * Math.atan2(somg12 * (sbet1 * dbet2 + sbet2 * dbet1), domg12 * (sbet1 * sbet2 + dbet1 * dbet2));
+            } else {
+                double salp12 = salp2 * calp1 - calp2 * salp1;
+                double calp12 = calp2 * calp1 + salp2 * salp1;
+                if (salp12 == 0 && calp12 < 0) {
+                    salp12 = TINY * calp1;
+                    calp12 = -1;
+                }
+                alp12 = Math.atan2(salp12, calp12);
+            }
+            areaS12 += c2 * alp12;
+            ws.areaS12 = 0 + areaS12 * swapp * lonsign * latsign;
+        }
+
+        if (swapp < 0) {
+            double t = salp1;
+            salp1 = salp2;
+            salp2 = t;
+            t = calp1;
+            calp1 = calp2;
+            calp2 = t;
+        }
+        salp1 *= swapp * lonsign;
+        calp1 *= swapp * latsign;
+        salp2 *= swapp * lonsign;
+        calp2 *= swapp * latsign;
+        ws.azi1 = atan2d(salp1, calp1);
+        ws.azi2 = atan2d(salp2, calp2);
+    }
+
+    private void lengths(final double eps, final double sig12,
+            final double ssig1, final double csig1, final double dn1,
+            final double ssig2, final double csig2, final double dn2, final Workspace ws) {
+        final double[] c1a = ws.c1a;
+        final double[] c2a = ws.c2a;
+        double a1 = a1m1f(eps);
+        c1f(eps, c1a);
+        double a2 = a2m1f(eps);
+        c2f(eps, c2a);
+        final double m0x = a1 - a2;
+        a1 = 1 + a1;
+        a2 = 1 + a2;
+        final double b1 = sinCosSeries(true, ssig2, csig2, c1a) - sinCosSeries(true, ssig1, csig1, c1a);
+        final double b2 = sinCosSeries(true, ssig2, csig2, c2a) - sinCosSeries(true, ssig1, csig1, c2a);
+        final double j12 = m0x * sig12 + (a1 * b1 - a2 * b2);
+        ws.s12b = a1 * (sig12 + b1);
+        ws.m0 = m0x;
+        ws.m12b = dn2 * (csig1 * ssig2) - dn1 * (ssig1 * csig2) - csig1 * csig2 * j12;
+    }
+
+    private void inverseStart(final double sbet1, final double cbet1, final double dn1,
+            final double sbet2, final double cbet2, final double dn2,
+            final double lam12, final double slam12, final double clam12, final Workspace ws) {
+        ws.sig12 = -1;
+        ws.salp2 = Double.NaN;
+        ws.calp2 = Double.NaN;
+        ws.dnm = Double.NaN;
+        final double sbet12 = sbet2 * cbet1 - cbet2 * sbet1;
+        final double cbet12 = cbet2 * cbet1 + sbet2 * sbet1;
+        final double sbet12a = sbet2 * cbet1 + cbet2 * sbet1;
+        final boolean shortline = cbet12 >= 0 && sbet12 < 0.5 && cbet2 * lam12 < 0.5;
+        double somg12;
+        double comg12;
+        if (shortline) {
+            double sbetm2 = (sbet1 + sbet2) * (sbet1 + sbet2);
+            sbetm2 /= sbetm2 + (cbet1 + cbet2) * (cbet1 + cbet2);
+            ws.dnm = Math.sqrt(1 + ep2 * sbetm2);
+            final double omg12 = lam12 / (f1 * ws.dnm);
+            somg12 = Math.sin(omg12);
+            comg12 = Math.cos(omg12);
+        } else {
+            somg12 = slam12;
+            comg12 = clam12;
+        }
+
+        double salp1 = cbet2 * somg12;
+        double calp1 = comg12 >= 0
+                ? sbet12 + cbet2 * sbet1 * somg12 * somg12 / (1 + comg12)
+                : sbet12a - cbet2 * sbet1 * somg12 * somg12 / (1 - comg12);
+        final double ssig12 = Math.hypot(salp1, calp1);
+        final double csig12 = sbet1 * sbet2 + cbet1 * cbet2 * comg12;
+
+        if (shortline && ssig12 < etol2) {
+            double salp2 = cbet1 * somg12;
+            double calp2 = sbet12 - cbet1 * sbet2 * (comg12 >= 0 ? somg12 * somg12 / (1 + comg12) : 1 - comg12);
+            final double r = Math.hypot(salp2, calp2);
+            ws.salp2 = salp2 / r;
+            ws.calp2 = calp2 / r;
+            ws.sig12 = Math.atan2(ssig12, csig12);
+        } else if (Math.abs(n) > 0.1 || csig12 >= 0 || ssig12 >= 6 * Math.abs(n) * Math.PI * cbet1 * cbet1) {
+            // the zeroth order spherical approximation is fine
+        } else {
+            final double x;
+            final double y;
+            final double lamscale;
+            final double betscale;
+            final double lam12x = Math.atan2(-slam12, -clam12);
+            if (f >= 0) {
+                final double k2 = sbet1 * sbet1 * ep2;
+                final double eps = k2 / (2 * (1 + Math.sqrt(1 + k2)) + k2);
+                lamscale = f * cbet1 * a3f(eps) * Math.PI;
+                betscale = lamscale * cbet1;
+                x = lam12x / lamscale;
+                y = sbet12a / betscale;
+            } else {
+                final double cbet12a = cbet2 * cbet1 - sbet2 * sbet1;
+                final double bet12a = Math.atan2(sbet12a, cbet12a);
+                lengths(n, Math.PI + bet12a, sbet1, -cbet1, dn1, sbet2, cbet2, dn2, ws);
+                x = -1 + ws.m12b / (cbet1 * cbet2 * ws.m0 * Math.PI);
+                betscale = x < -0.01 ? sbet12a / x : -f * cbet1 * cbet1 * Math.PI;
+                lamscale = betscale / cbet1;
+                y = lam12x / lamscale;
+            }
+            if (y > -TOL1 && x > -1 - XTHRESH) {
+                if (f >= 0) {
+                    salp1 = Math.min(1.0, -x);
+                    calp1 = -Math.sqrt(1 - salp1 * salp1);
+                } else {
+                    calp1 = Math.max(x > -TOL1 ? 0.0 : -1.0, x);
+                    salp1 = Math.sqrt(1 - calp1 * calp1);
+                }
+            } else {
+                final double k = astroid(x, y);
+                final double omg12a = lamscale * (f >= 0 ? -x * k / (1 + k) : -y * (1 + k) / k);
+                somg12 = Math.sin(omg12a);
+                comg12 = -Math.cos(omg12a);
+                salp1 = cbet2 * somg12;
+                calp1 = sbet12a - cbet2 * sbet1 * somg12 * somg12 / (1 - comg12);
+            }
+        }
+        if (!(salp1 <= 0)) {
+            final double r = Math.hypot(salp1, calp1);
+            ws.salp1 = salp1 / r;
+            ws.calp1 = calp1 / r;
+        } else {
+            ws.salp1 = 1;
+            ws.calp1 = 0;
+        }
+    }
+
+    /**
+     * Computes the difference between the longitude reached with a given
+     * azimuth at the first point and the longitude of the second point.
+     */
+    private void lambda12(final double sbet1, final double cbet1, final double dn1,
+            final double sbet2, final double cbet2, final double dn2,
+            final double salp1, double calp1, final double slam120, final double clam120,
+            final boolean diffp, final Workspace ws) {
+        if (sbet1 == 0 && calp1 == 0) {
+            calp1 = -TINY;
+        }
+        final double salp0 = salp1 * cbet1;
+        final double calp0 = Math.hypot(calp1, salp1 * sbet1);
+        double ssig1 = sbet1;
+        final double somg1 = salp0 * sbet1;
+        double csig1 = calp1 * cbet1;
+        final double comg1 = csig1;
+        double r = Math.hypot(ssig1, csig1);
+        ssig1 /= r;
+        csig1 /= r;
+
+        final double salp2 = cbet2 != cbet1 ? salp0 / cbet2 : salp1;
+        final double calp2 = cbet2 != cbet1 || Math.abs(sbet2) != -sbet1
+                ? Math.sqrt(calp1 * cbet1 * calp1 * cbet1
+                        + (cbet1 < -sbet1 ? (cbet2 - cbet1) * (cbet1 + cbet2) : (sbet1 - sbet2) * (sbet1 + sbet2))) / cbet2
+                : Math.abs(calp1);
+        double ssig2 = sbet2;
+        final double somg2 = salp0 * sbet2;
+        double csig2 = calp2 * cbet2;
+        final double comg2 = csig2;
+        r = Math.hypot(ssig2, csig2);
+        ssig2 /= r;
+        csig2 /= r;
+
+        final double sig12 = Math.atan2(Math.max(0.0, csig1 * ssig2 - ssig1 * csig2), csig1 * csig2 + ssig1 * ssig2);
+        final double somg12 = Math.max(0.0, comg1 * somg2 - somg1 * comg2);
+        final double comg12 = comg1 * comg2 + somg1 * somg2;
+        final double eta = Math.atan2(somg12 * clam120 - comg12 * slam120, comg12 * clam120 + somg12 * slam120);
+        final double k2 = calp0 * calp0 * ep2;
+        final double eps = k2 / (2 * (1 + Math.sqrt(1 + k2)) + k2);
+        c3f(eps, ws.c3a);
+        final double b312 = sinCosSeries(true, ssig2, csig2, ws.c3a) - sinCosSeries(true, ssig1, csig1, ws.c3a);
+        final double domg12 = -f * a3f(eps) * salp0 * (sig12 + b312);
+        final double lam12 = eta + domg12;
+        double dlam12 = Double.NaN;
+        if (diffp) {
+            if (calp2 == 0) {
+                dlam12 = -2 * f1 * dn1 / sbet1;
+            } else {
+                lengths(eps, sig12, ssig1, csig1, dn1, ssig2, csig2, dn2, ws);
+                dlam12 = ws.m12b * f1 / (calp2 * cbet2);
+            }
+        }
+        ws.lam12 = lam12;
+        ws.sig12 = sig12;
+        ws.salp2 = salp2;
+        ws.calp2 = calp2;
+        ws.ssig1 = ssig1;
+        ws.csig1 = csig1;
+        ws.ssig2 = ssig2;
+        ws.csig2 = csig2;
+        ws.eps = eps;
+        ws.domg12 = domg12;
+        ws.dlam12 = dlam12;
+    }
+
+    private static double astroid(final double x, final double y) {
+        final double p = x * x;
+        final double q = y * y;
+        final double r = (p + q - 1) / 6;
+        if (q == 0 && r <= 0) {
+            return 0;
+        }
+        final double s = p * q / 4;
+        final double r2 = r * r;
+        final double r3 = r * r2;
+        final double disc = s * (s + 2 * r3);
+        double u = r;
+        if (disc >= 0) {
+            double t3 = s + r3;
+            t3 += t3 < 0 ? -Math.sqrt(disc) : Math.sqrt(disc);
+            final double t = Math.cbrt(t3);
+            u += t + (t != 0 ? r2 / t : 0);
+        } else {
+            final double ang = Math.atan2(Math.sqrt(-disc), -(s + r3));
+            u += 2 * r * Math.cos(ang / 3);
+        }
+        final double v = Math.sqrt(u * u + q);
+        final double uv = u < 0 ? q / (v - u) : u + v;
+        final double w = (uv - q) / (2 * v);
+        return uv / (Math.sqrt(uv + w * w) + w);
+    }
+
+    private static double a1m1f(final double eps) {
+        final double eps2 = eps * eps;
+        final double t = eps2 * (eps2 * (eps2 + 4) + 64) / 256;
+        return (t + eps) / (1 - eps);
+    }
+
+    private static void c1f(final double eps, final double[] c) {
+        final double eps2 = eps * eps;
+        double d = eps;
+        c[1] = d * ((6 - eps2) * eps2 - 16) / 32;
+        d *= eps;
+        c[2] = d * ((64 - 9 * eps2) * eps2 - 128) / 2048;
+        d *= eps;
+        c[3] = d * (9 * eps2 - 16) / 768;
+        d *= eps;
+        c[4] = d * (3 * eps2 - 5) / 512;
+        d *= eps;
+        c[5] = -7 * d / 1280;
+        d *= eps;
+        c[6] = -7 * d / 2048;
+    }
+
+    private static void c1pf(final double eps, final double[] c) {
+        final double eps2 = eps * eps;
+        double d = eps;
+        c[1] = d * (eps2 * (205 * eps2 - 432) + 768) / 1536;
+        d *= eps;
+        c[2] = d * (eps2 * (4005 * eps2 - 4736) + 3840) / 12288;
+        d *= eps;
+        c[3] = d * (116 - 225 * eps2) / 384;
+        d *= eps;
+        c[4] = d * (2695 - 7173 * eps2) / 7680;
+        d *= eps;
+        c[5] = 3467 * d / 7680;
+        d *= eps;
+        c[6] = 38081 * d / 61440;
+    }
+
+    private static double a2m1f(final double eps) {
+        final double eps2 = eps * eps;
+        final double t = eps2 * (eps2 * (-11 * eps2 - 28) - 192) / 256;
+        return (t - eps) / (1 + eps);
+    }
+
+    private static void c2f(final double eps, final double[] c) {
+        final double eps2 = eps * eps;
+        double d = eps;
+        c[1] = d * (eps2 * (eps2 + 2) + 16) / 32;
+        d *= eps;
+        c[2] = d * (eps2 * (35 * eps2 + 64) + 384) / 2048;
+        d *= eps;
+        c[3] = d * (15 * eps2 + 80) / 768;
+        d *= eps;
+        c[4] = d * (7 * eps2 + 35) / 512;
+        d *= eps;
+        c[5] = 63 * d / 1280;
+        d *= eps;
+        c[6] = 77 * d / 2048;
+    }
+
+    private void computeA3x() {
+        final double[] coeff = {
+            -3, 128,
+            -2, -3, 64,
+            -1, -3, -1, 16,
+            3, -1, -2, 8,
+            1, -1, 2,
+            1, 1
+        };
+        int o = 0;
+        int k = 0;
+        for (int j = ORDER - 1; j >= 0; --j) {
+            final int m = Math.min(ORDER - j - 1, j);
+            a3x[k++] = polyval(m, coeff, o, n) / coeff[o + m + 1];
+            o += m + 2;
+        }
+    }
+
+    private void computeC3x() {
+        final double[] coeff = {
+            3, 128,
+            2, 5, 128,
+            -1, 3, 3, 64,
+            -1, 0, 1, 8,
+            -1, 1, 4,
+            5, 256,
+            1, 3, 128,
+            -3, -2, 3, 64,
+            1, -3, 2, 32,
+            7, 512,
+            -10, 9, 384,
+            5, -9, 5, 192,
+            7, 512,
+            -14, 7, 512,
+            21, 2560
+        };
+        int o = 0;
+        int k = 0;
+        for (int l = 1; l < ORDER; ++l) {
+            for (int j = ORDER - 1; j >= l; --j) {
+                final int m = Math.min(ORDER - j - 1, j);
+                c3x[k++] = polyval(m, coeff, o, n) / coeff[o + m + 1];
+                o += m + 2;
+            }
+        }
+    }
+
+    private void computeC4x() {
+        final double[] coeff = {
+            97, 15015,
+            1088, 156, 45045,
+            -224, -4784, 1573, 45045,
+            -10656, 14144, -4576, -858, 45045,
+            64, 624, -4576, 6864, -3003, 15015,
+            100, 208, 572, 3432, -12012, 30030, 45045,
+            1, 9009,
+            -2944, 468, 135135,
+            5792, 1040, -1287, 135135,
+            5952, -11648, 9152, -2574, 135135,
+            -64, -624, 4576, -6864, 3003, 135135,
+            8, 10725,
+            1856, -936, 225225,
+            -8448, 4992, -1144, 225225,
+            -1440, 4160, -4576, 1716, 225225,
+            -136, 63063,
+            1024, -208, 105105,
+            3584, -3328, 1144, 315315,
+            -128, 135135,
+            -2560, 832, 405405,
+            128, 99099
+        };
+        int o = 0;
+        int k = 0;
+        for (int l = 0; l < ORDER; ++l) {
+            for (int j = ORDER - 1; j >= l; --j) {
+                final int m = ORDER - j - 1;
+                c4x[k++] = polyval(m, coeff, o, n) / coeff[o + m + 1];
+                o += m + 2;
+            }
+        }
+    }
+
+    private double a3f(final double eps) {
+        return polyval(ORDER - 1, a3x, 0, eps);
+    }
+
+    private void c3f(final double eps, final double[] c) {
+        double mult = 1;
+        int o = 0;
+        for (int l = 1; l < ORDER; ++l) {
+            final int m = ORDER - l - 1;
+            mult *= eps;
+            c[l] = mult * polyval(m, c3x, o, eps);
+            o += m + 1;
+        }
+    }
+
+    private void c4f(final double eps, final double[] c) {
+        double mult = 1;
+        int o = 0;
+        for (int l = 0; l < ORDER; ++l) {
+            final int m = ORDER - l - 1;
+            c[l] = mult * polyval(m, c4x, o, eps);
+            o += m + 1;
+            mult *= eps;
+        }
+    }
+
+    private static double sinCosSeries(final boolean sinp, final double sinx, final double cosx, final double[] c) {
+        int k = c.length;
+        int m = k - (sinp ? 1 : 0);
+        final double ar = 2 * (cosx - sinx) * (cosx + sinx);
+        double y0 = (m & 1) != 0 ? c[--k] : 0;
+        double y1 = 0;
+        m /= 2;
+        while (m-- != 0) {
+            y1 = ar * y0 - y1 + c[--k];
+            y0 = ar * y1 - y0 + c[--k];
+        }
+        return sinp ? 2 * sinx * cosx * y0 : cosx * (y0 - y1);
+    }
+
+    private static double polyval(int order, final double[] p, int s, final double x) {
+        double y = order < 0 ? 0 : p[s++];
+        while (--order >= 0) {
+            y = y * x + p[s++];
+        }
+        return y;
+    }
+
+    private static double atanh(final double x) {
+        return 0.5 * Math.log((1 + x) / (1 - x));
+    }
+
+    private static double angNormalize(final double x) {
+        final double y = Math.IEEEremainder(x, 360.0);
+        return Math.abs(y) == 180 ? Math.copySign(180.0, x) : y;
+    }
+
+    private static double latFix(final double x) {
+        return Math.abs(x) > 90 ? Double.NaN : x;
+    }
+
+    private static double angRound(final double x) {
+        final double z = 1 / 16.0;
+        if (x == 0) {
+            return 0;
+        }
+        double y = Math.abs(x);
+        y = y < z ? z - (z - y) : y;
+        return x < 0 ? -y : y;
+    }
+
+    /**
+     * Computes the difference y - x reduced to [-180, 180] and its rounding
+     * error.
+     */
+    private static void angDiff(final double x, final double y, final double[] result) {
+        twoSum(angNormalize(-x), angNormalize(y), result);
+        final double d = angNormalize(result[0]);
+        final double t = result[1];
+        twoSum(d == 180 && t > 0 ? -180 : d, t, result);
+    }
+
+    private static void twoSum(final double u, final double v, final double[] result) {
+        final double s = u + v;
+        double up = s - v;
+        double vpp = s - up;
+        up -= u;
+        vpp -= v;
+        result[0] = s;
+        result[1] = -(up + vpp);
+    }
+
+    private static void sincosd(final double x, final double[] result) {
+        double r = x % 360.0;
+        final int q = (int) Math.round(r / 90);
+        r -= 90 * q;
+        r = Math.toRadians(r);
+        final double s = Math.sin(r);
+        final double c = Math.cos(r);
+        double sinx;
+        double cosx;
+        switch (q & 3) {
+            case 0:
+                sinx = s;
+                cosx = c;
+                break;
+            case 1:
+                sinx = c;
+                cosx = -s;
+                break;
+            case 2:
+                sinx = -s;
+                cosx = -c;
+                break;
+            default:
+                sinx = -c;
+                cosx = s;
+                break;
+        }
+        if (x != 0) {
+            sinx += 0.0;
+            cosx += 0.0;
+        }
+        result[0] = sinx;
+        result[1] = cosx;
+    }
+
+    private static double atan2d(double y, double x) {
+        int q = 0;
+        if (Math.abs(y) > Math.abs(x)) {
+            final double t = x;
+            x = y;
+            y = t;
+            q = 2;
+        }
+        if (x < 0) {
+            x = -x;
+            ++q;
+        }
+        double ang = Math.toDegrees(Math.atan2(y, x));
+        switch (q) {
+            case 1:
+                ang = (y >= 0 ? 180 : -180) - ang;
+                break;
+            case 2:
+                ang = 90 - ang;
+                break;
+            case 3:
+                ang = -90 + ang;
+                break;
+            default:
+                break;
+        }
+        return ang;
+    }
+
+    private static int transit(final double lon1, final double lon2) {
+        final double[] diff = new double[2];
+        angDiff(lon1, lon2, diff);
+        final double lon12 = diff[0];
+        final double l1 = angNormalize(lon1);
+        final double l2 = angNormalize(lon2);
+        if (lon12 > 0 && ((l1 < 0 && l2 >= 0) || (l1 > 0 && l2 == 0))) {
+            return 1;
+        }
+        return lon12 < 0 && l1 >= 0 && l2 < 0 ? -1 : 0;
+    }
+}
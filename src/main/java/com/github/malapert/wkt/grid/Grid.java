@@ -0,0 +1,128 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.grid;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grid of values interpolated at geographic positions.
+ *
+ * The file of a grid is memory-mapped and never copied on the heap. A grid
+ * is opened by the {@link GridManager}, which shares it between the
+ * threads ; each {@link GridManager#acquire(Path)} must be followed by one
+ * {@link #close()}. The reads are absolute so that a grid is used by
+ * several threads at the same time.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public abstract class Grid implements AutoCloseable {
+
+    private final Path path;
+
+    /**
+     * Number of users, guarded by the {@link GridManager}.
+     */
+    int references;
+
+    /**
+     * Creates a grid.
+     * @param path file of the grid
+     */
+    protected Grid(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the file of the grid.
+     * @return the path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the number of values at each node.
+     * @return the number of bands
+     */
+    public abstract int getBandCount();
+
+    /**
+     * Interpolates the values of the grid at a batch of positions with a
+     * bilinear interpolation. The values of a position outside of the grid
+     * are NaN.
+     * @param points positions, longitude and latitude in degrees followed by
+     * <i>dimension</i> - 2 other ordinates
+     * @param offset index of the first position in points
+     * @param dimension number of ordinates of a position
+     * @param count number of positions
+     * @param values interpolated values, {@link #getBandCount()} values per
+     * position
+     * @param valuesOffset index of the first value in values
+     */
+    public abstract void interpolate(double[] points, int offset, int dimension, int count, double[] values, int valuesOffset);
+
+    /**
+     * Releases this grid. When the last user has released it, the grid is
+     * dropped from the shared grids; the memory mapping of the file is not
+     * closed and remains until the garbage collector reclaims the buffer.
+     */
+    @Override
+    public void close() {
+        GridManager.release(this);
+    }
+
+    /**
+     * Maps a file in memory.
+     * @param path file
+     * @param order byte order of the file
+     * @return the read-only buffer of the file
+     * @throws IOException when the file cannot be read
+     */
+    protected static MappedByteBuffer map(final Path path, final ByteOrder order) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new RuntimeException("The grid " + path + " is larger than 2 GB");
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(order);
+            return buffer;
+        }
+    }
+
+    /**
+     * Bilinear interpolation between four nodes.
+     * @param v00 value at the lower left node
+     * @param v10 value at the lower right node
+     * @param v01 value at the upper left node
+     * @param v11 value at the upper right node
+     * @param tx position between the left and the right nodes, from 0 to 1
+     * @param ty position between the lower and the upper nodes, from 0 to 1
+     * @return the interpolated value
+     */
+    protected static double bilinear(final double v00, final double v10, final double v01, final double v11, final double tx, final double ty) {
+        final double lower = v00 + (v10 - v00) * tx;
+        final double upper = v01 + (v11 - v01) * tx;
+        return lower + (upper - lower) * ty;
+    }
+}
@@ -0,0 +1,127 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.grid;
+
+import com.github.malapert.wkt.parameter.CoordinateOperationParameterFile;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Opens the grids and shares them between the threads.
+ *
+ * A grid is memory-mapped at its first {@link #acquire(Path)} and kept
+ * while it is used : the next calls return the same instance and increment
+ * its number of users. The grid is removed when its last user has called
+ * {@link Grid#close()}. The NTv2 and GTX operations of a concatenated
+ * operation acquire their PARAMETERFILE here when they are fused by
+ * {@link com.github.malapert.wkt.operation.FusedOperation}, which releases
+ * them when it is closed.
+ *
+ * <pre>
+ * {@code
+ * try (NTv2Grid grid = (NTv2Grid) GridManager.acquire(parameterFile, gridDirectory)) {
+ *     grid.shift(lonLat, 0, 2, lonLat.length / 2);
+ * }
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class GridManager {
+
+    private static final Map<Path, Grid> GRIDS = new HashMap<>();
+
+    private GridManager() {
+    }
+
+    /**
+     * Opens a grid or returns the grid that is already opened. The format
+     * is given by the extension of the file : .gsb for NTv2 and .gtx for
+     * GTX.
+     * @param path file of the grid
+     * @return the grid, to be closed after use
+     */
+    public static Grid acquire(final Path path) {
+        final Path key = path.toAbsolutePath().normalize();
+        synchronized (GRIDS) {
+            Grid grid = GRIDS.get(key);
+            if (grid == null) {
+                grid = open(key);
+                GRIDS.put(key, grid);
+            }
+            grid.references++;
+            return grid;
+        }
+    }
+
+    /**
+     * Opens the grid of a PARAMETERFILE.
+     * @param parameterFile parameter file of an operation
+     * @param directory directory of the grids, used when the file name is
+     * relative
+     * @return the grid, to be closed after use
+     */
+    public static Grid acquire(final CoordinateOperationParameterFile parameterFile, final Path directory) {
+        return acquire(directory.resolve(parameterFile.getParameterValueOrFile()));
+    }
+
+    /**
+     * Returns the number of opened grids.
+     * @return the number of grids
+     */
+    public static int size() {
+        synchronized (GRIDS) {
+            return GRIDS.size();
+        }
+    }
+
+    /**
+     * Releases a grid.
+     * @param grid grid returned by {@link #acquire(Path)}
+     */
+    static void release(final Grid grid) {
+        final Path key = grid.getPath();
+        synchronized (GRIDS) {
+            if (GRIDS.get(key) != grid || grid.references == 0) {
+                throw new IllegalStateException("The grid " + key + " is already closed");
+            }
+            if (--grid.references == 0) {
+                GRIDS.remove(key);
+            }
+        }
+    }
+
+    private static Grid open(final Path path) {
+        final String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        try {
+            if (name.endsWith(".gsb")) {
+                return new NTv2Grid(path);
+            } else if (name.endsWith(".gtx")) {
+                return new GtxGrid(path);
+            } else {
+                throw new RuntimeException("Unknown grid format " + path);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Cannot open the grid " + path, ex);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+
+/**
+ * Geoid grid in the GTX format.
+ *
+ * The header is made of the latitude and the longitude of the lower left
+ * node, the latitude and the longitude increments (big-endian doubles, in
+ * degrees) and the number of rows and columns (big-endian ints). The nodes
+ * follow as big-endian floats, row by row from the south. The value
+ * -88.8888 marks a node without value.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class GtxGrid extends Grid {
+
+    private static final int HEADER_SIZE = 40;
+    private static final float NO_DATA = -88.8888f;
+
+    private final ByteBuffer buffer;
+    private final double lowerLatitude;
+    private final double lowerLongitude;
+    private final double latitudeIncrement;
+    private final double longitudeIncrement;
+    private final int rows;
+    private final int columns;
+
+    /**
+     * Maps a GTX file.
+     * @param path GTX file
+     * @throws IOException when the file cannot be read
+     */
+    GtxGrid(final Path path) throws IOException {
+        super(path);
+        this.buffer = map(path, ByteOrder.BIG_ENDIAN);
+        this.lowerLatitude = buffer.getDouble(0);
+        this.lowerLongitude = buffer.getDouble(8);
+        this.latitudeIncrement = buffer.getDouble(16);
+        this.longitudeIncrement = buffer.getDouble(24);
+        this.rows = buffer.getInt(32);
+        this.columns = buffer.getInt(36);
+        if (rows < 2 || columns < 2 || buffer.capacity() < HEADER_SIZE + 4L * rows * columns) {
+            throw new RuntimeException("The GTX grid " + path + " is truncated");
+        }
+    }
+
+    @Override
+    public int getBandCount() {
+        return 1;
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns.
+     * @return the number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public void interpolate(final double[] points, final int offset, final int dimension, final int count, final double[] values, final int valuesOffset) {
+        for (int i = 0; i < count; i++) {
+            final int point = offset + i * dimension;
+            values[valuesOffset + i] = interpolate(points[point], points[point + 1]);
+        }
+    }
+
+    /**
+     * Interpolates the grid at one position.
+     * @param longitude longitude in degrees
+     * @param latitude latitude in degrees
+     * @return the value or NaN outside of the grid
+     */
+    public double interpolate(final double longitude, final double latitude) {
+        double x = (longitude - lowerLongitude) / longitudeIncrement;
+        if (x < 0) {
+            x += 360 / longitudeIncrement;
+        }
+        final double y = (latitude - lowerLatitude) / latitudeIncrement;
+        if (!(x >= 0 && x <= columns - 1 && y >= 0 && y <= rows - 1)) {
+            return Double.NaN;
+        }
+        final int column = Math.min((int) x, columns - 2);
+        final int row = Math.min((int) y, rows - 2);
+        final float v00 = node(row, column);
+        final float v10 = node(row, column + 1);
+        final float v01 = node(row + 1, column);
+        final float v11 = node(row + 1, column + 1);
+        if (v00 == NO_DATA || v10 == NO_DATA || v01 == NO_DATA || v11 == NO_DATA) {
+            return Double.NaN;
+        }
+        return bilinear(v00, v10, v01, v11, x - column, y - row);
+    }
+
+    private float node(final int row, final int column) {
+        return buffer.getFloat(HEADER_SIZE + 4 * (row * columns + column));
+    }
+}
@@ -0,0 +1,239 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Datum shift grid in the NTv2 format (.gsb).
+ *
+ * The file is made of an overview header, then of subgrids, each one with
+ * its header and its nodes. A subgrid can refine a part of its parent ; the
+ * most refined subgrid containing a position is used. The headers are
+ * records of 16 bytes (an 8 characters name and a value), the nodes are
+ * four floats (latitude shift, longitude shift and their accuracies) in
+ * seconds of arc, ordered from the south-east corner, westward then
+ * northward. The longitudes of the file are positive westward.
+ *
+ * The two bands of the grid are the latitude shift and the longitude shift
+ * in degrees, the longitude shift being positive eastward.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class NTv2Grid extends Grid {
+
+    private static final int RECORD_SIZE = 16;
+    private static final int OVERVIEW_RECORDS = 11;
+    private static final int SUBGRID_RECORDS = 11;
+    private static final int NODE_SIZE = 16;
+    private static final double SECONDS_PER_DEGREE = 3600;
+    private static final String NO_PARENT = "NONE";
+
+    private final ByteBuffer buffer;
+    private final List<SubGrid> roots = new ArrayList<>();
+    private final List<SubGrid> subGrids = new ArrayList<>();
+
+    /**
+     * Maps a NTv2 file and indexes its subgrids.
+     * @param path NTv2 file
+     * @throws IOException when the file cannot be read
+     */
+    NTv2Grid(final Path path) throws IOException {
+        super(path);
+        final ByteBuffer mapped = map(path, ByteOrder.LITTLE_ENDIAN);
+        if (mapped.getInt(8) != OVERVIEW_RECORDS) {
+            mapped.order(ByteOrder.BIG_ENDIAN);
+            if (mapped.getInt(8) != OVERVIEW_RECORDS) {
+                throw new RuntimeException(path + " is not a NTv2 grid");
+            }
+        }
+        this.buffer = mapped;
+        final int count = buffer.getInt(2 * RECORD_SIZE + 8);
+        final Map<String, SubGrid> byName = new HashMap<>();
+        int position = OVERVIEW_RECORDS * RECORD_SIZE;
+        for (int i = 0; i < count; i++) {
+            final SubGrid subGrid = new SubGrid(position);
+            subGrids.add(subGrid);
+            byName.put(subGrid.name, subGrid);
+            position = subGrid.dataOffset + subGrid.rows * subGrid.columns * NODE_SIZE;
+            if (position > buffer.capacity()) {
+                throw new RuntimeException("The NTv2 grid " + path + " is truncated");
+            }
+        }
+        for (SubGrid subGrid : subGrids) {
+            final SubGrid parent = byName.get(subGrid.parent);
+            if (NO_PARENT.equalsIgnoreCase(subGrid.parent) || parent == null) {
+                roots.add(subGrid);
+            } else {
+                parent.children.add(subGrid);
+            }
+        }
+    }
+
+    @Override
+    public int getBandCount() {
+        return 2;
+    }
+
+    /**
+     * Returns the names of the subgrids, in the order of the file.
+     * @return the names of the subgrids
+     */
+    public List<String> getSubGridNames() {
+        final List<String> names = new ArrayList<>(subGrids.size());
+        for (SubGrid subGrid : subGrids) {
+            names.add(subGrid.name);
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    @Override
+    public void interpolate(final double[] points, final int offset, final int dimension, final int count, final double[] values, final int valuesOffset) {
+        for (int i = 0; i < count; i++) {
+            final int point = offset + i * dimension;
+            interpolate(points[point], points[point + 1], values, valuesOffset + 2 * i);
+        }
+    }
+
+    /**
+     * Applies the shifts of the grid to a batch of positions, in place. The
+     * positions outside of the grid are set to NaN.
+     * @param points positions, longitude and latitude in degrees followed by
+     * <i>dimension</i> - 2 other ordinates that are not changed
+     * @param offset index of the first position in points
+     * @param dimension number of ordinates of a position
+     * @param count number of positions
+     */
+    public void shift(final double[] points, final int offset, final int dimension, final int count) {
+        final double[] shifts = new double[2];
+        for (int i = 0; i < count; i++) {
+            final int point = offset + i * dimension;
+            interpolate(points[point], points[point + 1], shifts, 0);
+            points[point] += shifts[1];
+            points[point + 1] += shifts[0];
+        }
+    }
+
+    private void interpolate(final double longitude, final double latitude, final double[] values, final int valuesOffset) {
+        final double x = -longitude * SECONDS_PER_DEGREE;
+        final double y = latitude * SECONDS_PER_DEGREE;
+        SubGrid subGrid = find(roots, x, y);
+        if (subGrid == null) {
+            values[valuesOffset] = Double.NaN;
+            values[valuesOffset + 1] = Double.NaN;
+            return;
+        }
+        for (SubGrid child = find(subGrid.children, x, y); child != null; child = find(child.children, x, y)) {
+            subGrid = child;
+        }
+        final double fx = (x - subGrid.east) / subGrid.longitudeIncrement;
+        final double fy = (y - subGrid.south) / subGrid.latitudeIncrement;
+        final int column = Math.min((int) fx, subGrid.columns - 2);
+        final int row = Math.min((int) fy, subGrid.rows - 2);
+        final double tx = fx - column;
+        final double ty = fy - row;
+        final int n00 = subGrid.node(row, column);
+        final int n10 = n00 + NODE_SIZE;
+        final int n01 = subGrid.node(row + 1, column);
+        final int n11 = n01 + NODE_SIZE;
+        final double latitudeShift = bilinear(buffer.getFloat(n00), buffer.getFloat(n10), buffer.getFloat(n01), buffer.getFloat(n11), tx, ty);
+        final double longitudeShift = bilinear(buffer.getFloat(n00 + 4), buffer.getFloat(n10 + 4), buffer.getFloat(n01 + 4), buffer.getFloat(n11 + 4), tx, ty);
+        values[valuesOffset] = latitudeShift / SECONDS_PER_DEGREE;
+        values[valuesOffset + 1] = -longitudeShift / SECONDS_PER_DEGREE;
+    }
+
+    private static SubGrid find(final List<SubGrid> candidates, final double x, final double y) {
+        for (int i = 0; i < candidates.size(); i++) {
+            final SubGrid subGrid = candidates.get(i);
+            if (subGrid.contains(x, y)) {
+                return subGrid;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Header of a subgrid. The longitudes are in seconds, positive westward.
+     */
+    private final class SubGrid {
+
+        private final String name;
+        private final String parent;
+        private final double south;
+        private final double north;
+        private final double east;
+        private final double west;
+        private final double latitudeIncrement;
+        private final double longitudeIncrement;
+        private final int rows;
+        private final int columns;
+        private final int dataOffset;
+        private final List<SubGrid> children = new ArrayList<>();
+
+        private SubGrid(final int position) {
+            this.name = text(position);
+            this.parent = text(position + RECORD_SIZE);
+            this.south = value(position, 4);
+            this.north = value(position, 5);
+            this.east = value(position, 6);
+            this.west = value(position, 7);
+            this.latitudeIncrement = value(position, 8);
+            this.longitudeIncrement = value(position, 9);
+            this.rows = (int) Math.round((north - south) / latitudeIncrement) + 1;
+            this.columns = (int) Math.round((west - east) / longitudeIncrement) + 1;
+            this.dataOffset = position + SUBGRID_RECORDS * RECORD_SIZE;
+            final int nodes = buffer.getInt(position + 10 * RECORD_SIZE + 8);
+            if (rows < 2 || columns < 2 || nodes != rows * columns) {
+                throw new RuntimeException("The subgrid " + name + " of " + getPath() + " has " + nodes + " nodes instead of " + rows + "x" + columns);
+            }
+        }
+
+        private boolean contains(final double x, final double y) {
+            return y >= south && y <= north && x >= east && x <= west;
+        }
+
+        /**
+         * Returns the offset of a node. The columns are counted westward.
+         */
+        private int node(final int row, final int column) {
+            return dataOffset + (row * columns + column) * NODE_SIZE;
+        }
+
+        private String text(final int record) {
+            final byte[] bytes = new byte[8];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(record + 8 + i);
+            }
+            return new String(bytes, StandardCharsets.US_ASCII).trim();
+        }
+
+        private double value(final int position, final int record) {
+            return buffer.getDouble(position + record * RECORD_SIZE + 8);
+        }
+    }
+}
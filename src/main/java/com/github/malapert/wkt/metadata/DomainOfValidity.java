@@ -0,0 +1,196 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.metadata;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Geographic domain of validity of an object, computed from the bounding
+ * boxes of its {@link com.github.malapert.wkt.metadata.Usage usages}.
+ *
+ * The domain is the union of all the BBOX extents of all the usages. The
+ * bounds are converted once in decimal degrees and a box crossing the
+ * antimeridian (west bound greater than east bound) is split in two ranges,
+ * so that the tests on a point are plain comparisons. When no BBOX is given,
+ * the domain is unbounded and every point is valid.
+ *
+ * @author malapert
+ */
+public final class DomainOfValidity {
+
+    private static final DomainOfValidity UNBOUNDED = new DomainOfValidity(new ArrayList<double[]>(), true);
+
+    private final double[] south;
+    private final double[] north;
+    private final double[] west;
+    private final double[] east;
+    private final boolean unbounded;
+
+    private DomainOfValidity(final List<double[]> boxes, boolean unbounded) {
+        final int nb = boxes.size();
+        this.south = new double[nb];
+        this.north = new double[nb];
+        this.west = new double[nb];
+        this.east = new double[nb];
+        for (int i = 0; i < nb; i++) {
+            final double[] box = boxes.get(i);
+            this.south[i] = box[0];
+            this.west[i] = box[1];
+            this.north[i] = box[2];
+            this.east[i] = box[3];
+        }
+        this.unbounded = unbounded;
+    }
+
+    /**
+     * Creates the domain of validity from the usages of a scope extent.
+     * @param scopeExtent scope extent
+     * @return the domain of validity
+     */
+    public static DomainOfValidity of(final ScopeExtent scopeExtent) {
+        return scopeExtent == null ? UNBOUNDED : of(scopeExtent.getUsageList());
+    }
+
+    /**
+     * Creates the domain of validity as the union of the bounding boxes of
+     * the usages.
+     * @param usages usages
+     * @return the domain of validity
+     */
+    public static DomainOfValidity of(final List<Usage> usages) {
+        final List<double[]> boxes = new ArrayList<>();
+        if (usages != null) {
+            for (Usage usage : usages) {
+                if (usage.getExtentList() == null) {
+                    continue;
+                }
+                for (Extent extent : usage.getExtentList()) {
+                    if (extent instanceof ExtentFactory.GeographicBoundingBox) {
+                        addBox(boxes, (ExtentFactory.GeographicBoundingBox) extent);
+                    }
+                }
+            }
+        }
+        return boxes.isEmpty() ? UNBOUNDED : new DomainOfValidity(boxes, false);
+    }
+
+    private static void addBox(final List<double[]> boxes, final ExtentFactory.GeographicBoundingBox bbox) {
+        final double s = bbox.getLowerLeftLatitudeValue().doubleValue();
+        final double w = bbox.getLowerLeftLongitudeValue().doubleValue();
+        final double n = bbox.getUpperRightLatitudeValue().doubleValue();
+        final double e = bbox.getUpperRightLongitudeValue().doubleValue();
+        if (s > n) {
+            throw new RuntimeException("Invalid bounding box " + bbox + ": south bound greater than north bound");
+        }
+        if (w > e) {
+            boxes.add(new double[]{s, w, n, 180});
+            boxes.add(new double[]{s, -180, n, e});
+        } else {
+            boxes.add(new double[]{s, w, n, e});
+        }
+    }
+
+    /**
+     * Returns true when no bounding box restricts the domain.
+     * @return true when every point is valid
+     */
+    public boolean isUnbounded() {
+        return this.unbounded;
+    }
+
+    /**
+     * Returns the number of longitude ranges after splitting at the
+     * antimeridian.
+     * @return the number of ranges
+     */
+    public int getRangeCount() {
+        return this.south.length;
+    }
+
+    /**
+     * Tests whether a point is in the domain of validity.
+     * @param lon longitude in decimal degrees
+     * @param lat latitude in decimal degrees
+     * @return true when the point is in one of the bounding boxes
+     */
+    public boolean contains(double lon, double lat) {
+        if (this.unbounded) {
+            return true;
+        }
+        if (lon < -180 || lon > 180) {
+            lon = Math.IEEEremainder(lon, 360);
+        }
+        for (int i = 0; i < this.south.length; i++) {
+            if (lat >= this.south[i] && lat <= this.north[i]
+                    && lon >= this.west[i] && lon <= this.east[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Classifies a buffer of points in one pass.
+     *
+     * Bit {@code i} of the mask (bit {@code i % 64} of word {@code i / 64}) is
+     * set when the point {@code i} is in the domain of validity.
+     * @param points points, longitude then latitude in decimal degrees
+     * @param offset index of the first point in the buffer
+     * @param dimension number of ordinates per point, at least 2
+     * @param count number of points
+     * @return the mask
+     */
+    public long[] mask(final double[] points, int offset, int dimension, int count) {
+        if (dimension < 2) {
+            throw new RuntimeException("At least longitude and latitude are expected, got dimension " + dimension);
+        }
+        final long[] mask = new long[(count + 63) >>> 6];
+        if (this.unbounded) {
+            for (int w = 0; w < mask.length; w++) {
+                mask[w] = -1L;
+            }
+            if ((count & 63) != 0) {
+                mask[mask.length - 1] = (1L << (count & 63)) - 1;
+            }
+            return mask;
+        }
+        int index = offset;
+        for (int i = 0; i < count; i++, index += dimension) {
+            if (contains(points[index], points[index + 1])) {
+                mask[i >>> 6] |= 1L << (i & 63);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Classifies a buffer of points in one pass.
+     * @param points points, longitude then latitude in decimal degrees
+     * @param offset index of the first point in the buffer
+     * @param dimension number of ordinates per point, at least 2
+     * @param count number of points
+     * @return the indexes of the points in the domain of validity
+     * @see #mask(double[], int, int, int)
+     */
+    public BitSet classify(final double[] points, int offset, int dimension, int count) {
+        return BitSet.valueOf(mask(points, offset, dimension, count));
+    }
+}
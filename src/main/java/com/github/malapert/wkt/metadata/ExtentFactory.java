@@ -55,17 +55,17 @@ public abstract class ExtentFactory {
      */
     public static Extent createFromWkt(final WktElt extentWkt) {
         final Extent extent;
-        switch (extentWkt.getKeyword()) {
-            case AREA_DESCRIPTION_KEYWORD:
+        switch (extentWkt.getSymbol()) {
+            case AREA:
                 extent = new AreaDescription(extentWkt);
                 break;
-            case GEOGRAPHIC_BOUDING_BOX_KEYWORD:
+            case BBOX:
                 extent = new GeographicBoundingBox(extentWkt);
                 break;
-            case VERTICAL_EXTENT_KEYWORD:
+            case VERTICALEXTENT:
                 extent = new VerticalExtent(extentWkt);
                 break;
-            case TEMPORAL_EXTENT_KEYWORD:
+            case TIMEEXTENT:
                 extent = new TemporalExtent(extentWkt);
                 break;
             default:
@@ -215,6 +215,16 @@ public abstract class ExtentFactory {
             setUpperRightLongitude(upperRightLongitude, precision);
         }
 
+        public GeographicBoundingBox(final BigDecimal lowerLeftLatitude,
+                final BigDecimal lowerLeftLongitude,
+                final BigDecimal upperRightLatitude,
+                final BigDecimal upperRightLongitude) {
+            this.lowerLeftLatitude = lowerLeftLatitude;
+            this.lowerLeftLongitude = lowerLeftLongitude;
+            this.upperRightLatitude = upperRightLatitude;
+            this.upperRightLongitude = upperRightLongitude;
+        }
+
         /**
          * Empty constructor.
          *
@@ -255,6 +265,15 @@ public abstract class ExtentFactory {
             return this.lowerLeftLatitude.floatValue();
         }
 
+        /**
+         * Returns the lower left latitude as written in the definition.
+         *
+         * @return the lowerLeftLatitude
+         */
+        public BigDecimal getLowerLeftLatitudeValue() {
+            return this.lowerLeftLatitude;
+        }
+
         /**
          * Sets the lower left latitude.
          *
@@ -277,6 +296,15 @@ public abstract class ExtentFactory {
             return this.lowerLeftLongitude.floatValue();
         }
 
+        /**
+         * Returns the lower left longitude as written in the definition.
+         *
+         * @return the lowerLeftLongitude
+         */
+        public BigDecimal getLowerLeftLongitudeValue() {
+            return this.lowerLeftLongitude;
+        }
+
         /**
          * Sets the lower left longitude.
          *
@@ -299,6 +327,15 @@ public abstract class ExtentFactory {
             return this.upperRightLatitude.floatValue();
         }
 
+        /**
+         * Returns the upper right latitude as written in the definition.
+         *
+         * @return the upperRightLatitude
+         */
+        public BigDecimal getUpperRightLatitudeValue() {
+            return this.upperRightLatitude;
+        }
+
         /**
          * Sets the upper right latitude.
          *
@@ -321,6 +358,15 @@ public abstract class ExtentFactory {
             return this.upperRightLongitude.floatValue();
         }
 
+        /**
+         * Returns the upper right longitude as written in the definition.
+         *
+         * @return the upperRightLongitude
+         */
+        public BigDecimal getUpperRightLongitudeValue() {
+            return this.upperRightLongitude;
+        }
+
         /**
          * Sets the upper right longitude.
          *
@@ -503,6 +549,11 @@ public abstract class ExtentFactory {
             setMaximumHeight(maximumHeight, precision);
         }
 
+        public VerticalExtent(final BigDecimal minimumHeight, final BigDecimal maximumHeight) {
+            this.minimumHeight = minimumHeight;
+            this.maximumHeight = maximumHeight;
+        }
+
         /**
          * Empty constructor.
          *
@@ -551,6 +602,15 @@ public abstract class ExtentFactory {
             return this.minimumHeight.floatValue();
         }
 
+        /**
+         * Returns the vertical minimum height as written in the definition.
+         *
+         * @return the minimumHeight
+         */
+        public BigDecimal getMinimumHeightValue() {
+            return this.minimumHeight;
+        }
+
         /**
          * Sets the vertical minimum height.
          *
@@ -573,6 +633,15 @@ public abstract class ExtentFactory {
             return this.maximumHeight.floatValue();
         }
 
+        /**
+         * Returns the vertical maximum height as written in the definition.
+         *
+         * @return the maximumHeight
+         */
+        public BigDecimal getMaximumHeightValue() {
+            return this.maximumHeight;
+        }
+
         /**
          * Sets the vertical maximum height.
          *
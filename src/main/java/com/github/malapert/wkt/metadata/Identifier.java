@@ -18,6 +18,8 @@
 */
 package com.github.malapert.wkt.metadata;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
+import com.github.malapert.wkt.utils.Freezable;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.utils.WktElt;
@@ -25,6 +27,7 @@ import com.github.malapert.wkt.utils.WktEltCollection;
 import static com.github.malapert.wkt.metadata.Identifier.Citation.AUTHORITY_CITATION_KEYWORD;
 import static com.github.malapert.wkt.metadata.Identifier.URI.URI_KEYWORD;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Identifier is an optional attribute which references an external description 
@@ -64,7 +67,7 @@ import java.util.List;
  *
  * @author Jean-Christophe Malapert
  */
-public final class Identifier implements WktDescription {
+public final class Identifier implements WktDescription, Freezable {
 
     /**
      * ID keyword.
@@ -83,6 +86,37 @@ public final class Identifier implements WktDescription {
      * or object that is cited.     
      */
     private String version;
+    @Override
+    public void freeze() {
+        this.frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Identifier)) {
+            return false;
+        }
+        final Identifier other = (Identifier) obj;
+        return Objects.equals(this.authorityName, other.authorityName)
+                && Objects.equals(this.authorityUniqueIdentifier, other.authorityUniqueIdentifier)
+                && Objects.equals(this.version, other.version)
+                && Objects.equals(this.citation, other.citation)
+                && Objects.equals(this.uri, other.uri);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.authorityName, this.authorityUniqueIdentifier, this.version, this.citation, this.uri);
+    }
+
     /**
      * Citation is an optional attribute that may be used to give further 
      * details of the authority.
@@ -94,6 +128,8 @@ public final class Identifier implements WktDescription {
      */
     private URI uri;
 
+    private boolean frozen;
+
     /**
      * Constructs the Identifier WKT element based on required parameters.
      * @param authorityName
@@ -125,11 +161,11 @@ public final class Identifier implements WktDescription {
 
         final List<WktElt> nodes = wktEltCollection.getNodesFor(identifierWktElts, IDENTIFIER_KEYWORD);
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case AUTHORITY_CITATION_KEYWORD:
+            switch (node.getSymbol()) {
+                case CITATION:
                     this.setCitation(new Citation(node));
                     break;
-                case URI_KEYWORD:
+                case URI:
                     this.setUri(new URI(node));
                     break;
                 default:
@@ -177,6 +213,7 @@ public final class Identifier implements WktDescription {
      * @param authorityName the authorityName to set
      */
     public void setAuthorityName(final String authorityName) {
+        CanonicalPool.checkModifiable(this);
         this.authorityName = authorityName;
     }
 
@@ -193,9 +230,32 @@ public final class Identifier implements WktDescription {
      * @param authorityUniqueIdentifier the authorityUniqueIdentifier to set
      */
     public void setAuthorityUniqueIdentifier(final String authorityUniqueIdentifier) {
+        CanonicalPool.checkModifiable(this);
         this.authorityUniqueIdentifier = authorityUniqueIdentifier;
     }
 
+    /**
+     * Returns the numeric code of this identifier for an authority.
+     * @param authority authority name, the case is ignored
+     * @return the code or -1 when the identifier is not from this authority
+     * or when its code is not a number
+     */
+    public int getCodeFor(final String authority) {
+        final String code = getAuthorityUniqueIdentifier();
+        if (!authority.equalsIgnoreCase(getAuthorityName()) || code == null || code.isEmpty() || code.length() > 9) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = 0; i < code.length(); i++) {
+            final char ch = code.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            result = result * 10 + ch - '0';
+        }
+        return result;
+    }
+
     /**
      * Returns the version.
      * @return the version
@@ -209,6 +269,7 @@ public final class Identifier implements WktDescription {
      * @param version the version to set
      */
     public void setVersion(final String version) {
+        CanonicalPool.checkModifiable(this);
         this.version = version;
     }
 
@@ -225,6 +286,7 @@ public final class Identifier implements WktDescription {
      * @param citation the citation to set
      */
     public void setCitation(final Citation citation) {
+        CanonicalPool.checkModifiable(this);
         this.citation = citation;
     }
 
@@ -241,6 +303,7 @@ public final class Identifier implements WktDescription {
      * @param uri the uri to set
      */
     public void setUri(final URI uri) {
+        CanonicalPool.checkModifiable(this);
         this.uri = uri;
     }
 
@@ -277,6 +340,24 @@ public final class Identifier implements WktDescription {
             this.description = attributes.get(0).getKeyword();
         }
 
+        /**
+         * Returns the description.
+         * @return the description
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj || obj instanceof Citation && Objects.equals(this.description, ((Citation) obj).description);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.description);
+        }
+
         @Override
         public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
             StringBuffer wkt = new StringBuffer();
@@ -326,6 +407,24 @@ public final class Identifier implements WktDescription {
             this.description = Utils.removeQuotes(attributes.get(0).getKeyword());            
         }
 
+        /**
+         * Returns the description.
+         * @return the description
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj || obj instanceof URI && Objects.equals(this.description, ((URI) obj).description);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.description);
+        }
+
         @Override
         public StringBuffer toWkt(final String endLine, final String tab, int deepLevel) {
             StringBuffer wkt = new StringBuffer(); 
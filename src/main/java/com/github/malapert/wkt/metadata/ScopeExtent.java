@@ -64,14 +64,14 @@ public final class ScopeExtent implements WktDescription {
         Iterator<WktElt> iter = this.wktEltCollection.iterator(scopeExtent);
         while (iter.hasNext()) {
             WktElt wkt = iter.next();
-            switch (wkt.getKeyword()) {
-                case Usage.USAGE_KEYWORD:
+            switch (wkt.getSymbol()) {
+                case USAGE:
                     this.getUsageList().add(new Usage(wkt));
                     break;
-                case Identifier.IDENTIFIER_KEYWORD:
+                case ID:
                     this.getIdentifierList().add(new Identifier(wkt));
                     break;
-                case Remark.REMARK_KEYWORD:
+                case REMARK:
                     this.setRemark(new Remark(wkt));
                     break;
                 default:
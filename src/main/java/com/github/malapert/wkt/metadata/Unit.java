@@ -18,6 +18,8 @@
  */
 package com.github.malapert.wkt.metadata;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
+import com.github.malapert.wkt.utils.Freezable;
 import com.github.malapert.wkt.utils.Singleton;
 import com.github.malapert.wkt.utils.Utils;
 import com.github.malapert.wkt.utils.WktElt;
@@ -25,6 +27,7 @@ import com.github.malapert.wkt.utils.WktEltCollection;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Some attributes of coordinate reference systems and coordinate operations are
@@ -45,17 +48,23 @@ import java.util.List;
  *
  * @author Jean-Christophe Malapert
  */
-public abstract class Unit implements WktDescription {
+public abstract class Unit implements WktDescription, Freezable {
 
     private String unitName;
     private BigDecimal conversionFactor;
     private List<Identifier> identifierList = new ArrayList<>();
+    private boolean frozen;
 
     protected Unit(final String name, float conversionFactor) {
         setUnitName(name);
         setConversionFactor(conversionFactor);
     }
 
+    protected Unit(final String name, final BigDecimal conversionFactor) {
+        setUnitName(name);
+        this.conversionFactor = conversionFactor;
+    }
+
     protected Unit(final WktElt unitWkt) {
         parse(unitWkt);
     }
@@ -66,6 +75,7 @@ public abstract class Unit implements WktDescription {
      * @param unitWkt the Unit WKT element
      */
     public final void parse(WktElt unitWkt) {
+        CanonicalPool.checkModifiable(this);
         WktEltCollection wktEltCollection = Singleton.getInstance().getCollection();
 
         List<WktElt> attributes = wktEltCollection.getAttributesFor(unitWkt, getUnitKeyword());
@@ -75,8 +85,8 @@ public abstract class Unit implements WktDescription {
 
             List<WktElt> nodes = wktEltCollection.getNodesFor(unitWkt, getUnitKeyword());
             for (WktElt node : nodes) {
-                switch (node.getKeyword()) {
-                    case Identifier.IDENTIFIER_KEYWORD:
+                switch (node.getSymbol()) {
+                    case ID:
                         this.getIdentifierList().add(new Identifier(unitWkt));
                         break;
                     default:
@@ -133,6 +143,7 @@ public abstract class Unit implements WktDescription {
      * @param unitName the unitName to set
      */
     public final void setUnitName(final String unitName) {
+        CanonicalPool.checkModifiable(this);
         this.unitName = unitName;
     }
 
@@ -145,12 +156,22 @@ public abstract class Unit implements WktDescription {
         return conversionFactor.floatValue();
     }
 
+    /**
+     * Returns the conversion factor as written in the definition.
+     *
+     * @return the conversionFactor or null when the unit has no conversion factor
+     */
+    public BigDecimal getConversionFactorValue() {
+        return conversionFactor;
+    }
+
     /**
      * Sets the conversion factor.
      *
      * @param conversionFactor the conversionFactor to set
      */
     public final void setConversionFactor(float conversionFactor) {
+        CanonicalPool.checkModifiable(this);
         this.conversionFactor = new BigDecimal(conversionFactor);
     }
 
@@ -169,6 +190,39 @@ public abstract class Unit implements WktDescription {
      * @param identifierList the identifierList to set
      */
     public void setIdentifierList(final List<Identifier> identifierList) {
+        CanonicalPool.checkModifiable(this);
         this.identifierList = identifierList;
     }
+
+    @Override
+    public void freeze() {
+        if (!this.frozen) {
+            this.identifierList = CanonicalPool.freeze(this.identifierList);
+            this.frozen = true;
+        }
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final Unit other = (Unit) obj;
+        return Objects.equals(this.unitName, other.unitName)
+                && Objects.equals(this.conversionFactor, other.conversionFactor)
+                && Objects.equals(this.identifierList, other.identifierList);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), this.unitName, this.conversionFactor, this.identifierList);
+    }
 }
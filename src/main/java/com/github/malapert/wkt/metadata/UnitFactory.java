@@ -18,7 +18,9 @@
 */
 package com.github.malapert.wkt.metadata;
 
+import com.github.malapert.wkt.utils.CanonicalPool;
 import com.github.malapert.wkt.utils.WktElt;
+import java.math.BigDecimal;
 
 /**
  * {@link com.github.malapert.wkt.metadata.Unit} factory
@@ -30,41 +32,44 @@ public abstract class UnitFactory {
     /**
      * Returns the right Unit implementation according to the <i>keyword</i>.
      *
+     * The unit is the canonical instance when the {@link CanonicalPool} is
+     * enabled.
+     *
      * @param unitWkt
      * @return the right Unit implementation
      */
     public static Unit createFromWkt(final WktElt unitWkt) {
-        switch (unitWkt.getKeyword()) {
-            case AngleUnit.ANGLEUNIT_KEYWORD:
-            case AngleUnit.ANGLEUNIT_UNIT_KEYWORD:
+        return CanonicalPool.intern(createUnitFromWkt(unitWkt));
+    }
+
+    public static Unit createUnitParameterFromWkt(final WktElt unitWkt) {
+        return CanonicalPool.intern(createParameterUnit(unitWkt));
+    }
+
+    private static Unit createUnitFromWkt(final WktElt unitWkt) {
+        switch (unitWkt.getSymbol()) {
+            case ANGLEUNIT:
                 return new AngleUnit(unitWkt);
-            case LengthUnit.LENGTH_KEYWORD:
-            case LengthUnit.LENGTH_UNIT_KEYWORD:
+            case LENGTHUNIT:
                 return new LengthUnit(unitWkt);
-            case ScaleUnit.SCALEUNIT_KEYWORD:
-            case ScaleUnit.SCALEUNIT_UNIT_KEYWORD:
+            case SCALEUNIT:
                 return new ScaleUnit(unitWkt);
-            case ParametricUnit.PARAMETRICUNIT_KEYWORD:
-            case ParametricUnit.PARAMETRICUNIT_UNIT_KEYWORD:
+            case PARAMETRICUNIT:
                 return new ParametricUnit(unitWkt);
-            case TimeUnit.TIMEUNIT_KEYWORD:
-            case TimeUnit.TIMEUNIT_UNIT_KEYWORD:
+            case TIMEUNIT:
                 return new TimeUnit(unitWkt);
             default:
                 throw new RuntimeException("Unknown unit");
         }
     }
 
-    public static Unit createUnitParameterFromWkt(final WktElt unitWkt) {
-        switch (unitWkt.getKeyword()) {
-            case AngleUnit.ANGLEUNIT_KEYWORD:
-            case AngleUnit.ANGLEUNIT_UNIT_KEYWORD:
+    private static Unit createParameterUnit(final WktElt unitWkt) {
+        switch (unitWkt.getSymbol()) {
+            case ANGLEUNIT:
                 return new AngleUnit(unitWkt);
-            case LengthUnit.LENGTH_KEYWORD:
-            case LengthUnit.LENGTH_UNIT_KEYWORD:
+            case LENGTHUNIT:
                 return new LengthUnit(unitWkt);
-            case ScaleUnit.SCALEUNIT_KEYWORD:
-            case ScaleUnit.SCALEUNIT_UNIT_KEYWORD:
+            case SCALEUNIT:
                 return new ScaleUnit(unitWkt);
             default:
                 throw new RuntimeException("Unknown unit");
@@ -88,6 +93,10 @@ public abstract class UnitFactory {
         public AngleUnit(final String name, float conversionFactor) {
             super(name, conversionFactor);
         }
+
+        public AngleUnit(final String name, final BigDecimal conversionFactor) {
+            super(name, conversionFactor);
+        }
                 
         /**
          * Empty constructor
@@ -120,6 +129,10 @@ public abstract class UnitFactory {
         public LengthUnit(final String name, float conversionFactor) {
             super(name, conversionFactor);
         }        
+
+        public LengthUnit(final String name, final BigDecimal conversionFactor) {
+            super(name, conversionFactor);
+        }
         
         /**
          * Empty constructor.
@@ -154,6 +167,10 @@ public abstract class UnitFactory {
         public ScaleUnit(final String name, float conversionFactor) {
             super(name, conversionFactor);
         }
+
+        public ScaleUnit(final String name, final BigDecimal conversionFactor) {
+            super(name, conversionFactor);
+        }
         
         /**
          * Empty constructor.
@@ -187,6 +204,10 @@ public abstract class UnitFactory {
         public ParametricUnit(final String name, float conversionFactor) {
             super(name, conversionFactor);
         }
+
+        public ParametricUnit(final String name, final BigDecimal conversionFactor) {
+            super(name, conversionFactor);
+        }
         
         /**
          * Empty constructor.
@@ -220,6 +241,10 @@ public abstract class UnitFactory {
         public TimeUnit(final String name, float conversionFactor) {
             super(name, conversionFactor);
         }
+
+        public TimeUnit(final String name, final BigDecimal conversionFactor) {
+            super(name, conversionFactor);
+        }
         
         /**
          * Empty constructor.
@@ -88,14 +88,14 @@ public final class Usage implements WktDescription {
         final WktEltCollection wktEltCollection = Singleton.getInstance().getCollection();
         final List<WktElt> nodes = wktEltCollection.getNodesFor(scopeWktElts, Usage.USAGE_KEYWORD);
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case Scope.SCOPE_KEYWORD:
+            switch (node.getSymbol()) {
+                case SCOPE:
                     this.setScope(new Scope(node));
                     break;
-                case ExtentFactory.AreaDescription.AREA_DESCRIPTION_KEYWORD:
-                case ExtentFactory.GeographicBoundingBox.GEOGRAPHIC_BOUDING_BOX_KEYWORD:
-                case ExtentFactory.VerticalExtent.VERTICAL_EXTENT_KEYWORD:
-                case ExtentFactory.TemporalExtent.TEMPORAL_EXTENT_KEYWORD:
+                case AREA:
+                case BBOX:
+                case VERTICALEXTENT:
+                case TIMEEXTENT:
                     this.getExtentList().add(ExtentFactory.createFromWkt(node));
                     break;
                 default:
@@ -47,8 +47,8 @@ public abstract class AbstractMethod implements Method {
         this.setMethodName(Utils.removeQuotes(attributes.get(0).getKeyword()));
         final List<WktElt> nodes = wktEltCollection.getNodesFor(conversionMethodWkt, DERIVED_CONVERSION_METHOD);
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case Identifier.IDENTIFIER_KEYWORD:
+            switch (node.getSymbol()) {
+                case ID:
                     this.getIdentifierList().add(new Identifier(node));
                     break;
                 default:
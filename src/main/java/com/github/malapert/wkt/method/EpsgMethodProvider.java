@@ -0,0 +1,82 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.method;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Methods of the EPSG dataset that are known by the library.
+ *
+ * @author Jean-Christophe Malapert
+ */
+final class EpsgMethodProvider implements MethodProvider {
+
+    private static final List<MethodDescriptor> METHODS = Collections.unmodifiableList(Arrays.asList(
+            new MethodDescriptor(9807, "Transverse Mercator", "Gauss-Kruger", "transverse_mercator"),
+            new MethodDescriptor(9808, "Transverse Mercator (South Orientated)", "transverse_mercator_south_orientated"),
+            new MethodDescriptor(9801, "Lambert Conic Conformal (1SP)", "lambert_conformal_conic_1sp"),
+            new MethodDescriptor(9802, "Lambert Conic Conformal (2SP)", "lambert_conformal_conic_2sp", "Lambert Conformal Conic"),
+            new MethodDescriptor(9804, "Mercator (variant A)", "Mercator (1SP)", "mercator_1sp"),
+            new MethodDescriptor(9805, "Mercator (variant B)", "Mercator (2SP)", "mercator_2sp"),
+            new MethodDescriptor(1024, "Popular Visualisation Pseudo Mercator", "Pseudo Mercator", "Web Mercator"),
+            new MethodDescriptor(9820, "Lambert Azimuthal Equal Area", "lambert_azimuthal_equal_area", "LAEA"),
+            new MethodDescriptor(1027, "Lambert Azimuthal Equal Area (Spherical)"),
+            new MethodDescriptor(9822, "Albers Equal Area", "albers_conic_equal_area"),
+            new MethodDescriptor(9810, "Polar Stereographic (variant A)", "polar_stereographic"),
+            new MethodDescriptor(9829, "Polar Stereographic (variant B)"),
+            new MethodDescriptor(9809, "Oblique Stereographic", "oblique_stereographic", "Double Stereographic"),
+            new MethodDescriptor(9812, "Hotine Oblique Mercator (variant A)", "hotine_oblique_mercator"),
+            new MethodDescriptor(9815, "Hotine Oblique Mercator (variant B)", "oblique_mercator"),
+            new MethodDescriptor(9806, "Cassini-Soldner", "cassini_soldner"),
+            new MethodDescriptor(1028, "Equidistant Cylindrical", "equirectangular"),
+            new MethodDescriptor(9818, "American Polyconic", "polyconic"),
+            new MethodDescriptor(9840, "Orthographic", "orthographic"),
+            new MethodDescriptor(9601, "Longitude rotation"),
+            new MethodDescriptor(9602, "Geographic/geocentric conversions"),
+            new MethodDescriptor(1031, "Geocentric translations (geocentric domain)"),
+            new MethodDescriptor(9603, "Geocentric translations (geog2D domain)", "Geocentric translations"),
+            new MethodDescriptor(1033, "Position Vector transformation (geocentric domain)"),
+            new MethodDescriptor(1032, "Coordinate Frame rotation (geocentric domain)"),
+            new MethodDescriptor(9606, "Position Vector transformation (geog2D domain)", "Position Vector 7-param. transformation"),
+            new MethodDescriptor(9607, "Coordinate Frame rotation (geog2D domain)", "Coordinate Frame rotation"),
+            new MethodDescriptor(1037, "Position Vector transformation (geog3D domain)"),
+            new MethodDescriptor(1038, "Coordinate Frame rotation (geog3D domain)"),
+            new MethodDescriptor(1053, "Time-dependent Position Vector tfm (geocentric)"),
+            new MethodDescriptor(1054, "Time-dependent Position Vector tfm (geog3D)"),
+            new MethodDescriptor(1055, "Time-dependent Position Vector tfm (geog2D)"),
+            new MethodDescriptor(1056, "Time-dependent Coordinate Frame rotation (geocentric)"),
+            new MethodDescriptor(1057, "Time-dependent Coordinate Frame rotation (geog3D)"),
+            new MethodDescriptor(1058, "Time-dependent Coordinate Frame rotation (geog2D)"),
+            new MethodDescriptor(9615, "NTv2"),
+            new MethodDescriptor(9665, "Geographic3D to GravityRelatedHeight (gtx)"),
+            new MethodDescriptor(9624, "Affine parametric transformation", "Affine"),
+            new MethodDescriptor(9843, "Axis Order Reversal (2D)"),
+            new MethodDescriptor(9844, "Axis Order Reversal (Geographic3D horizontal)"),
+            new MethodDescriptor(1068, "Height Depth Reversal"),
+            new MethodDescriptor(1069, "Change of Vertical Unit"),
+            new MethodDescriptor(MethodDescriptor.NO_CODE, "Pole rotation", "Pole rotation (GRIB convention)")
+    ));
+
+    @Override
+    public List<MethodDescriptor> getMethods() {
+        return METHODS;
+    }
+}
@@ -20,6 +20,7 @@ package com.github.malapert.wkt.method;
 
 import com.github.malapert.wkt.utils.WktElt;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -39,8 +40,10 @@ public class MapProjectionMethod extends AbstractMethod {
         private MapMethod() {
         }
 
+        private static final List<String> KEYWORDS = Collections.unmodifiableList(Arrays.asList(MapMethod.METHOD.name(), MapMethod.PROJECTION.name()));
+
         public static List<String> getKeywords() {
-            return Arrays.asList(MapMethod.METHOD.name(), MapMethod.PROJECTION.name());
+            return KEYWORDS;
         }
     }
     
@@ -0,0 +1,81 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.method;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Canonical description of an operation method.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class MethodDescriptor {
+
+    /**
+     * Code of a method that is not in the EPSG dataset.
+     */
+    public static final int NO_CODE = -1;
+
+    private final int epsgCode;
+    private final String name;
+    private final List<String> aliases;
+
+    /**
+     * Creates a method descriptor.
+     * @param epsgCode EPSG code of the method or {@link #NO_CODE}
+     * @param name canonical name of the method
+     * @param aliases other names of the method
+     */
+    public MethodDescriptor(final int epsgCode, final String name, final String... aliases) {
+        this.epsgCode = epsgCode;
+        this.name = name;
+        this.aliases = Collections.unmodifiableList(Arrays.asList(aliases.clone()));
+    }
+
+    /**
+     * Returns the EPSG code.
+     * @return the EPSG code or {@link #NO_CODE}
+     */
+    public int getEpsgCode() {
+        return epsgCode;
+    }
+
+    /**
+     * Returns the canonical name.
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the other names.
+     * @return the aliases
+     */
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    @Override
+    public String toString() {
+        return epsgCode == NO_CODE ? name : name + " (EPSG:" + epsgCode + ")";
+    }
+}
@@ -0,0 +1,39 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.method;
+
+import java.util.List;
+
+/**
+ * Provides method descriptors to the {@link MethodRegistry}.
+ *
+ * Implementations are found with {@link java.util.ServiceLoader}, by
+ * listing them in
+ * <code>META-INF/services/com.github.malapert.wkt.method.MethodProvider</code>.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public interface MethodProvider {
+
+    /**
+     * Returns the methods of this provider.
+     * @return the method descriptors
+     */
+    List<MethodDescriptor> getMethods();
+}
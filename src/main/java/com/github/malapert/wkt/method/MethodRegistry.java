@@ -0,0 +1,168 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.method;
+
+import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.utils.Utils;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Resolves the method of a conversion to a canonical {@link MethodDescriptor}.
+ *
+ * A method is found by the EPSG code of its ID and then by its name. The
+ * names and the aliases are normalized by {@link Utils#normalizeName(String)}
+ * so that the case, the spaces and the punctuation are ignored. The
+ * registry contains the methods of the library and the methods of the
+ * {@link MethodProvider} found by {@link ServiceLoader} ; a method
+ * registered later replaces a method with the same code or name.
+ *
+ * <pre>
+ * {@code
+ * MethodDescriptor descriptor = MethodRegistry.resolve(projection.getMethod());
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class MethodRegistry {
+
+    private static final String EPSG = "EPSG";
+
+    private static volatile Tables tables = load();
+
+    private MethodRegistry() {
+    }
+
+    /**
+     * Resolves a method.
+     * @param method method of a conversion
+     * @return the method descriptor or null when the method is unknown
+     */
+    public static MethodDescriptor resolve(final Method method) {
+        final Tables current = tables;
+        for (Identifier id : method.getIdentifierList()) {
+            final int code = id.getCodeFor(EPSG);
+            if (code >= 0) {
+                final MethodDescriptor descriptor = current.codes.get(code);
+                if (descriptor != null) {
+                    return descriptor;
+                }
+            }
+        }
+        return method.getMethodName() == null ? null : current.names.get(Utils.normalizeName(method.getMethodName()));
+    }
+
+    /**
+     * Resolves a method from its EPSG code.
+     * @param epsgCode EPSG code
+     * @return the method descriptor or null when the method is unknown
+     */
+    public static MethodDescriptor resolve(final int epsgCode) {
+        return tables.codes.get(epsgCode);
+    }
+
+    /**
+     * Resolves a method from its name or one of its aliases.
+     * @param name method name
+     * @return the method descriptor or null when the method is unknown
+     */
+    public static MethodDescriptor resolve(final String name) {
+        return tables.names.get(Utils.normalizeName(name));
+    }
+
+    /**
+     * Adds a method to the registry.
+     * @param descriptor method descriptor
+     */
+    public static synchronized void register(final MethodDescriptor descriptor) {
+        final Tables copy = new Tables(tables);
+        copy.add(descriptor);
+        tables = copy;
+    }
+
+    /**
+     * Reloads the methods of the library and of the providers. The methods
+     * added by {@link #register(MethodDescriptor)} are removed.
+     */
+    public static synchronized void reload() {
+        tables = load();
+    }
+
+    /**
+     * Returns the registered methods.
+     * @return the method descriptors
+     */
+    public static Collection<MethodDescriptor> getMethods() {
+        final Tables current = tables;
+        final Set<MethodDescriptor> methods = new LinkedHashSet<>(current.codes.values());
+        methods.addAll(current.names.values());
+        return Collections.unmodifiableCollection(methods);
+    }
+
+    private static Tables load() {
+        final Tables loaded = new Tables();
+        loaded.addAll(new EpsgMethodProvider());
+        for (MethodProvider provider : ServiceLoader.load(MethodProvider.class)) {
+            loaded.addAll(provider);
+        }
+        return loaded;
+    }
+
+    /**
+     * Methods by EPSG code and by normalized name. A table is not modified
+     * once it is published.
+     */
+    private static final class Tables {
+
+        private final Map<Integer, MethodDescriptor> codes;
+        private final Map<String, MethodDescriptor> names;
+
+        private Tables() {
+            this.codes = new HashMap<>();
+            this.names = new HashMap<>();
+        }
+
+        private Tables(final Tables tables) {
+            this.codes = new HashMap<>(tables.codes);
+            this.names = new HashMap<>(tables.names);
+        }
+
+        private void addAll(final MethodProvider provider) {
+            for (MethodDescriptor descriptor : provider.getMethods()) {
+                add(descriptor);
+            }
+        }
+
+        private void add(final MethodDescriptor descriptor) {
+            if (descriptor.getEpsgCode() != MethodDescriptor.NO_CODE) {
+                codes.put(descriptor.getEpsgCode(), descriptor);
+            }
+            names.put(Utils.normalizeName(descriptor.getName()), descriptor);
+            for (String alias : descriptor.getAliases()) {
+                names.put(Utils.normalizeName(alias), descriptor);
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+/**
+ * Affine step on the first three ordinates of a point.
+ *
+ * The unit changes, the axis swaps and the Helmert transformations are affine
+ * steps, so that consecutive steps are concatenated in one matrix. A point
+ * with two ordinates has a third ordinate equal to 0. A point with one
+ * ordinate has its own scale and offset, which are those of the first row
+ * except for the {@link #vertical(double, double) vertical} steps, so that a
+ * change of height applies to the third ordinate of a 3D point and to the
+ * single ordinate of a vertical point.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class AffineStep implements CoordinateStep {
+
+    private static final AffineStep IDENTITY = scale(1, 1, 1);
+
+    private final double m00, m01, m02, m03;
+    private final double m10, m11, m12, m13;
+    private final double m20, m21, m22, m23;
+    private final boolean vertical;
+    private final double s1, t1;
+
+    /**
+     * Creates an affine step.
+     * @param matrix 3x4 matrix, row by row, the last column being the
+     * translation
+     */
+    public AffineStep(final double[] matrix) {
+        this(matrix, false, 0, 0);
+    }
+
+    private AffineStep(final double[] matrix, final boolean vertical, final double s1, final double t1) {
+        if (matrix.length != 12) {
+            throw new RuntimeException("The matrix must have 3 rows and 4 columns");
+        }
+        this.m00 = matrix[0];
+        this.m01 = matrix[1];
+        this.m02 = matrix[2];
+        this.m03 = matrix[3];
+        this.m10 = matrix[4];
+        this.m11 = matrix[5];
+        this.m12 = matrix[6];
+        this.m13 = matrix[7];
+        this.m20 = matrix[8];
+        this.m21 = matrix[9];
+        this.m22 = matrix[10];
+        this.m23 = matrix[11];
+        this.vertical = vertical;
+        this.s1 = vertical ? s1 : m00;
+        this.t1 = vertical ? t1 : m03;
+    }
+
+    /**
+     * Returns the identity.
+     * @return the identity
+     */
+    public static AffineStep identity() {
+        return IDENTITY;
+    }
+
+    /**
+     * Creates a change of units.
+     * @param sx factor of the first ordinate
+     * @param sy factor of the second ordinate
+     * @param sz factor of the third ordinate
+     * @return the affine step
+     */
+    public static AffineStep scale(final double sx, final double sy, final double sz) {
+        return new AffineStep(new double[]{
+            sx, 0, 0, 0,
+            0, sy, 0, 0,
+            0, 0, sz, 0
+        });
+    }
+
+    /**
+     * Creates a translation.
+     * @param tx translation of the first ordinate
+     * @param ty translation of the second ordinate
+     * @param tz translation of the third ordinate
+     * @return the affine step
+     */
+    public static AffineStep translation(final double tx, final double ty, final double tz) {
+        return new AffineStep(new double[]{
+            1, 0, 0, tx,
+            0, 1, 0, ty,
+            0, 0, 1, tz
+        });
+    }
+
+    /**
+     * Creates a change of the vertical ordinate, which is the third ordinate
+     * of a 3D point and the single ordinate of a 1D point; a 2D point is not
+     * changed.
+     * @param scale factor of the vertical ordinate
+     * @param offset offset added after the scale
+     * @return the affine step
+     */
+    public static AffineStep vertical(final double scale, final double offset) {
+        return new AffineStep(new double[]{
+            1, 0, 0, 0,
+            0, 1, 0, 0,
+            0, 0, scale, offset
+        }, true, scale, offset);
+    }
+
+    /**
+     * Creates the swap of the first two ordinates.
+     * @return the affine step
+     */
+    public static AffineStep swapXY() {
+        return new AffineStep(new double[]{
+            0, 1, 0, 0,
+            1, 0, 0, 0,
+            0, 0, 1, 0
+        });
+    }
+
+    /**
+     * Returns the step applying this step and then another affine step.
+     * @param next step applied after this step
+     * @return the concatenated step
+     */
+    public AffineStep concatenate(final AffineStep next) {
+        final boolean isVertical = vertical || next.vertical;
+        return new AffineStep(new double[]{
+            next.m00 * m00 + next.m01 * m10 + next.m02 * m20,
+            next.m00 * m01 + next.m01 * m11 + next.m02 * m21,
+            next.m00 * m02 + next.m01 * m12 + next.m02 * m22,
+            next.m00 * m03 + next.m01 * m13 + next.m02 * m23 + next.m03,
+            next.m10 * m00 + next.m11 * m10 + next.m12 * m20,
+            next.m10 * m01 + next.m11 * m11 + next.m12 * m21,
+            next.m10 * m02 + next.m11 * m12 + next.m12 * m22,
+            next.m10 * m03 + next.m11 * m13 + next.m12 * m23 + next.m13,
+            next.m20 * m00 + next.m21 * m10 + next.m22 * m20,
+            next.m20 * m01 + next.m21 * m11 + next.m22 * m21,
+            next.m20 * m02 + next.m21 * m12 + next.m22 * m22,
+            next.m20 * m03 + next.m21 * m13 + next.m22 * m23 + next.m23
+        }, isVertical, next.s1 * s1, next.s1 * t1 + next.t1);
+    }
+
+    /**
+     * Tests if the step does not change the points.
+     * @return true when the step is the identity
+     */
+    public boolean isIdentity() {
+        return m00 == 1 && m01 == 0 && m02 == 0 && m03 == 0
+                && m10 == 0 && m11 == 1 && m12 == 0 && m13 == 0
+                && m20 == 0 && m21 == 0 && m22 == 1 && m23 == 0
+                && s1 == 1 && t1 == 0;
+    }
+
+    /**
+     * Returns the matrix.
+     * @return the 3x4 matrix, row by row, the last column being the
+     * translation
+     */
+    public double[] getMatrix() {
+        return new double[]{
+            m00, m01, m02, m03,
+            m10, m11, m12, m13,
+            m20, m21, m22, m23
+        };
+    }
+
+    @Override
+    public void transform(final double[] points, final int offset, final int dimension) {
+        final double x = points[offset];
+        if (dimension == 1) {
+            points[offset] = s1 * x + t1;
+            return;
+        }
+        final double y = points[offset + 1];
+        if (dimension > 2) {
+            final double z = points[offset + 2];
+            points[offset] = m00 * x + m01 * y + m02 * z + m03;
+            points[offset + 1] = m10 * x + m11 * y + m12 * z + m13;
+            points[offset + 2] = m20 * x + m21 * y + m22 * z + m23;
+        } else {
+            points[offset] = m00 * x + m01 * y + m03;
+            points[offset + 1] = m10 * x + m11 * y + m13;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.crs.CoordinateLayout;
+import java.util.List;
+
+/**
+ * Batch operation on the tuples of a compound CRS.
+ *
+ * Each component of the tuple has its own fused operation, for instance a map
+ * projection for the horizontal ordinates, a change of unit for the height
+ * and a change of origin for the time. The operation reads the tuples of an
+ * interleaved buffer one after the other and applies the steps of each
+ * component directly on its slice of the tuple, without copying the
+ * ordinates.
+ *
+ * <pre>
+ * {@code
+ * CompoundOperation operation = CrsOperationFactory.createCompound(source, target);
+ * operation.transform(tuples, 0, tuples.length / operation.getDimension());
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class CompoundOperation {
+
+    private final CoordinateLayout layout;
+    private final CoordinateStep[][] steps;
+    private final int[] offsets;
+    private final int[] dimensions;
+
+    /**
+     * Creates a compound operation.
+     * @param layout layout of the tuples
+     * @param operations operation of each component of the layout
+     */
+    public CompoundOperation(final CoordinateLayout layout, final List<FusedOperation> operations) {
+        if (operations.size() != layout.getComponentCount()) {
+            throw new RuntimeException("Expected " + layout.getComponentCount() + " operations, found " + operations.size());
+        }
+        this.layout = layout;
+        this.steps = new CoordinateStep[operations.size()][];
+        this.offsets = new int[steps.length];
+        this.dimensions = new int[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            final List<CoordinateStep> componentSteps = operations.get(i).getSteps();
+            steps[i] = componentSteps.toArray(new CoordinateStep[componentSteps.size()]);
+            offsets[i] = layout.getOffset(i);
+            dimensions[i] = layout.getDimension(i);
+        }
+    }
+
+    /**
+     * Returns the layout of the tuples.
+     * @return the layout
+     */
+    public CoordinateLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the number of ordinates of a tuple.
+     * @return the dimension of the tuple
+     */
+    public int getDimension() {
+        return layout.getDimension();
+    }
+
+    /**
+     * Transforms a batch of tuples in place.
+     * @param points interleaved tuples
+     * @param offset index of the first tuple
+     * @param count number of tuples
+     */
+    public void transform(final double[] points, final int offset, final int count) {
+        final CoordinateStep[][] componentSteps = this.steps;
+        final int components = componentSteps.length;
+        final int dimension = layout.getDimension();
+        final int end = offset + count * dimension;
+        for (int i = offset; i < end; i += dimension) {
+            for (int c = 0; c < components; c++) {
+                final int start = i + offsets[c];
+                for (CoordinateStep step : componentSteps[c]) {
+                    step.transform(points, start, dimensions[c]);
+                }
+            }
+        }
+    }
+}
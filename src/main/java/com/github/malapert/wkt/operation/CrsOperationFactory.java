@@ -0,0 +1,354 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.conversion.Conversion;
+import com.github.malapert.wkt.crs.CoordinateLayout;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.DerivedCoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.GeodeticCrs;
+import com.github.malapert.wkt.crs.TemporalCrs;
+import com.github.malapert.wkt.crs.VerticalCrs;
+import com.github.malapert.wkt.cs.Axis;
+import com.github.malapert.wkt.cs.CoordinateSystem;
+import com.github.malapert.wkt.cs.PrimeMeridian;
+import com.github.malapert.wkt.datum.Datum;
+import com.github.malapert.wkt.datum.GeodeticDatum;
+import com.github.malapert.wkt.datum.TemporalDatum;
+import com.github.malapert.wkt.method.MethodDescriptor;
+import com.github.malapert.wkt.method.MethodRegistry;
+import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.metadata.Unit;
+import com.github.malapert.wkt.utils.Utils;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates the operations between two CRSs sharing the same datum.
+ *
+ * The coordinates of the source CRS are first normalized, that is converted
+ * to the axis order and to the units of a reference frame: longitude,
+ * latitude in radians and ellipsoidal height in metres for the geodetic
+ * datums, height in metres for the vertical datums and seconds since
+ * 1970-01-01T00:00:00Z for the temporal datums. The conversions of the
+ * derivation chain of the source CRS are then undone down to its root CRS,
+ * the conversions of the derivation chain of the target CRS are applied from
+ * its root CRS and the result is converted to the axes of the target CRS.
+ * The changes of axes and units are affine steps, so that they are
+ * concatenated by {@link FusedOperation}. The Transverse Mercator projection
+ * and the pole rotation are supported; the changes of datum are not.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public abstract class CrsOperationFactory {
+
+    private static final String EPSG = "EPSG";
+    private static final String POLE_ROTATION = "Pole rotation";
+
+    private enum Frame {
+        GEODETIC,
+        VERTICAL,
+        TEMPORAL
+    }
+
+    /**
+     * Creates the operation between two CRSs that are not compound.
+     * @param source source CRS
+     * @param target target CRS
+     * @return the operation
+     * @throws RuntimeException when no operation is supported between the
+     * CRSs
+     */
+    public static FusedOperation create(final CoordinateReferenceSystem source, final CoordinateReferenceSystem target) {
+        if (source.getCs() == null || target.getCs() == null) {
+            throw new RuntimeException("No coordinate system for " + (source.getCs() == null ? source : target).getCrsName());
+        }
+        if (source.getCs().getDimension() != target.getCs().getDimension()) {
+            throw new RuntimeException("The CRSs " + source.getCrsName() + " and " + target.getCrsName() + " have different dimensions");
+        }
+        final List<CoordinateReferenceSystem> sourceChain = derivationChainOf(source);
+        final List<CoordinateReferenceSystem> targetChain = derivationChainOf(target);
+        final CoordinateReferenceSystem sourceRoot = sourceChain.get(sourceChain.size() - 1);
+        final CoordinateReferenceSystem targetRoot = targetChain.get(targetChain.size() - 1);
+        final Frame frame = frameOf(sourceRoot);
+        if (frame != frameOf(targetRoot)) {
+            throw new RuntimeException("No operation from " + source.getCrsName() + " to " + target.getCrsName());
+        }
+        final double[] sourceOrigin = new double[3];
+        final double[] targetOrigin = new double[3];
+        if (frame == Frame.TEMPORAL) {
+            final TemporalDatum.TemporalOrigin sourceTime = ((TemporalDatum) sourceRoot.getCrsDatum()).getTemporalOrigin();
+            final TemporalDatum.TemporalOrigin targetTime = ((TemporalDatum) targetRoot.getCrsDatum()).getTemporalOrigin();
+            if (sourceTime != null && targetTime != null && !sourceTime.getDescription().equals(targetTime.getDescription())) {
+                sourceOrigin[0] = secondsOf(sourceTime.getDescription());
+                targetOrigin[0] = secondsOf(targetTime.getDescription());
+            } else if ((sourceTime == null) != (targetTime == null)) {
+                throw new RuntimeException("No temporal origin in " + (sourceTime == null ? source : target).getCrsName());
+            }
+        } else if (!isSameDatum(sourceRoot.getCrsDatum(), targetRoot.getCrsDatum())) {
+            throw new RuntimeException("Change of datum from " + sourceRoot.getCrsDatum().getDatumName() + " to " + targetRoot.getCrsDatum().getDatumName() + " is not supported");
+        }
+        final List<CoordinateStep> steps = new ArrayList<>(sourceChain.size() + targetChain.size());
+        steps.add(normalization(source.getCs(), frame, sourceOrigin));
+        for (int i = 0; i < sourceChain.size() - 1; i++) {
+            steps.add(conversionOf((DerivedCoordinateReferenceSystem) sourceChain.get(i), sourceRoot).inverse());
+        }
+        for (int i = targetChain.size() - 2; i >= 0; i--) {
+            steps.add(conversionOf((DerivedCoordinateReferenceSystem) targetChain.get(i), targetRoot));
+        }
+        steps.add(denormalization(target.getCs(), frame, targetOrigin));
+        return FusedOperation.create(steps);
+    }
+
+    /**
+     * Creates the operation between the tuples of two CRSs. The components
+     * of the source CRS are transformed to the components of the target CRS
+     * having the same index, a CRS that is not compound having one component.
+     * @param source source CRS
+     * @param target target CRS
+     * @return the operation
+     * @throws RuntimeException when no operation is supported between two
+     * components
+     */
+    public static CompoundOperation createCompound(final CoordinateReferenceSystem source, final CoordinateReferenceSystem target) {
+        final CoordinateLayout sourceLayout = CoordinateLayout.of(source);
+        final CoordinateLayout targetLayout = CoordinateLayout.of(target);
+        if (sourceLayout.getComponentCount() != targetLayout.getComponentCount()) {
+            throw new RuntimeException("The CRSs " + source.getCrsName() + " and " + target.getCrsName() + " have different components");
+        }
+        final List<FusedOperation> operations = new ArrayList<>(sourceLayout.getComponentCount());
+        for (int i = 0; i < sourceLayout.getComponentCount(); i++) {
+            operations.add(create(sourceLayout.getComponents().get(i), targetLayout.getComponents().get(i)));
+        }
+        return new CompoundOperation(sourceLayout, operations);
+    }
+
+    /**
+     * Tests if two datums are structurally equal. The datums must have the
+     * same type and the same EPSG code or, when one of them has no EPSG code,
+     * the same name. The geodetic datums must also have the same ellipsoid,
+     * the same prime meridian and the same frame epoch.
+     * @param datum first datum
+     * @param other second datum
+     * @return true when the datums are equal
+     */
+    public static boolean isSameDatum(final Datum datum, final Datum other) {
+        if (datum == other) {
+            return true;
+        }
+        if (datum == null || other == null || datum.getClass() != other.getClass()) {
+            return false;
+        }
+        final int code = epsgCodeOf(datum.getIdentifierList());
+        final int otherCode = epsgCodeOf(other.getIdentifierList());
+        if (code >= 0 && otherCode >= 0) {
+            if (code != otherCode) {
+                return false;
+            }
+        } else if (!Utils.normalizeName(datum.getDatumName()).equals(Utils.normalizeName(other.getDatumName()))) {
+            return false;
+        }
+        if (datum instanceof GeodeticDatum) {
+            final GeodeticDatum geodetic = (GeodeticDatum) datum;
+            final GeodeticDatum otherGeodetic = (GeodeticDatum) other;
+            return geodetic.getEllipsoid().getSemiMajorAxisInMetres() == otherGeodetic.getEllipsoid().getSemiMajorAxisInMetres()
+                    && geodetic.getEllipsoid().getInverFlatteningValue().compareTo(otherGeodetic.getEllipsoid().getInverFlatteningValue()) == 0
+                    && primeMeridianOf(geodetic) == primeMeridianOf(otherGeodetic)
+                    && Double.compare(geodetic.getFrameEpoch(), otherGeodetic.getFrameEpoch()) == 0;
+        }
+        return true;
+    }
+
+    private static int epsgCodeOf(final List<Identifier> identifiers) {
+        for (Identifier id : identifiers) {
+            final int code = id.getCodeFor(EPSG);
+            if (code >= 0) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    private static double primeMeridianOf(final GeodeticDatum datum) {
+        final PrimeMeridian primeMeridian = datum.getPrimeMeridian();
+        if (primeMeridian == null || primeMeridian.getLongitudeValue() == null) {
+            return 0;
+        }
+        return primeMeridian.getLongitudeValue().doubleValue() * factorOf(primeMeridian.getAngleUnit());
+    }
+
+    private static List<CoordinateReferenceSystem> derivationChainOf(final CoordinateReferenceSystem crs) {
+        if (crs instanceof DerivedCoordinateReferenceSystem) {
+            return ((DerivedCoordinateReferenceSystem) crs).getDerivationChain();
+        }
+        return Collections.singletonList(crs);
+    }
+
+    private static Frame frameOf(final CoordinateReferenceSystem crs) {
+        if (crs instanceof GeodeticCrs) {
+            return Frame.GEODETIC;
+        } else if (crs instanceof VerticalCrs) {
+            return Frame.VERTICAL;
+        } else if (crs instanceof TemporalCrs) {
+            return Frame.TEMPORAL;
+        } else {
+            throw new RuntimeException("Unsupported CRS " + crs.getCrsName());
+        }
+    }
+
+    /**
+     * Returns the conversion from the base CRS of a derived CRS, applied on
+     * normalized coordinates.
+     */
+    private static InvertibleStep conversionOf(final DerivedCoordinateReferenceSystem crs, final CoordinateReferenceSystem root) {
+        final Conversion conversion = crs.getConversionFromBaseCrs();
+        final MethodDescriptor method = MethodRegistry.resolve(conversion.getMethod());
+        switch (method == null ? MethodDescriptor.NO_CODE : method.getEpsgCode()) {
+            case 9807:
+                return TransverseMercator.create(conversion, ((GeodeticDatum) root.getCrsDatum()).getEllipsoid());
+            case MethodDescriptor.NO_CODE:
+                if (method != null && POLE_ROTATION.equals(method.getName())) {
+                    return PoleRotation.create(conversion);
+                }
+                // the other methods without EPSG code are not supported
+                break;
+            default:
+                break;
+        }
+        throw new RuntimeException("Unsupported conversion " + conversion.getMethod().getMethodName() + " for " + crs.getCrsName());
+    }
+
+    /**
+     * Returns, for each axis, the index of the normalized ordinate and the
+     * factor converting the axis value to this ordinate.
+     */
+    private static double[][] axesOf(final CoordinateSystem cs, final Frame frame) {
+        final List<Axis> axes = cs.getAxisList();
+        final double[][] result = new double[axes.size()][];
+        final boolean[] used = new boolean[3];
+        for (int j = 0; j < axes.size(); j++) {
+            final Axis axis = axes.get(j);
+            final int index;
+            final double sign;
+            switch (axis.getDirection().toLowerCase()) {
+                case "east":
+                case "west":
+                    index = 0;
+                    break;
+                case "north":
+                case "south":
+                    index = 1;
+                    break;
+                case "up":
+                case "down":
+                    index = frame == Frame.GEODETIC ? 2 : 0;
+                    break;
+                case "future":
+                case "past":
+                    index = 0;
+                    break;
+                default:
+                    throw new RuntimeException("Unsupported axis direction " + axis.getDirection());
+            }
+            switch (axis.getDirection().toLowerCase()) {
+                case "west":
+                case "south":
+                case "down":
+                case "past":
+                    sign = -1;
+                    break;
+                default:
+                    sign = 1;
+            }
+            if (used[index]) {
+                throw new RuntimeException("Several axes with the direction " + axis.getDirection());
+            }
+            used[index] = true;
+            result[j] = new double[]{index, sign * factorOf(axis.getAxisUnit() == null ? cs.getUnit() : axis.getAxisUnit())};
+        }
+        return result;
+    }
+
+    private static double factorOf(final Unit unit) {
+        final BigDecimal factor = unit == null ? null : unit.getConversionFactorValue();
+        return factor == null ? 1 : factor.doubleValue();
+    }
+
+    private static AffineStep normalization(final CoordinateSystem cs, final Frame frame, final double[] origin) {
+        final double[] matrix = identityMatrix();
+        final double[][] axes = axesOf(cs, frame);
+        for (int j = 0; j < axes.length; j++) {
+            final int index = (int) axes[j][0];
+            matrix[index * 4 + index] = 0;
+            matrix[index * 4 + j] = axes[j][1];
+            matrix[index * 4 + 3] = origin[index];
+        }
+        return new AffineStep(matrix);
+    }
+
+    private static AffineStep denormalization(final CoordinateSystem cs, final Frame frame, final double[] origin) {
+        final double[] matrix = identityMatrix();
+        final double[][] axes = axesOf(cs, frame);
+        for (int j = 0; j < axes.length; j++) {
+            final int index = (int) axes[j][0];
+            matrix[j * 4 + j] = 0;
+            matrix[j * 4 + index] = 1 / axes[j][1];
+            matrix[j * 4 + 3] = -origin[index] / axes[j][1];
+        }
+        return new AffineStep(matrix);
+    }
+
+    private static double[] identityMatrix() {
+        final double[] matrix = new double[12];
+        matrix[0] = 1;
+        matrix[5] = 1;
+        matrix[10] = 1;
+        return matrix;
+    }
+
+    /**
+     * Returns the number of seconds between 1970-01-01T00:00:00Z and a
+     * temporal origin written in the ISO 8601 format.
+     */
+    private static double secondsOf(final String origin) {
+        Instant instant;
+        try {
+            instant = OffsetDateTime.parse(origin).toInstant();
+        } catch (DateTimeParseException ex) {
+            try {
+                instant = LocalDateTime.parse(origin).toInstant(ZoneOffset.UTC);
+            } catch (DateTimeParseException ex2) {
+                try {
+                    instant = LocalDate.parse(origin).atStartOfDay(ZoneOffset.UTC).toInstant();
+                } catch (DateTimeParseException ex3) {
+                    throw new RuntimeException("Unsupported temporal origin " + origin, ex3);
+                }
+            }
+        }
+        return instant.getEpochSecond() + instant.getNano() * 1e-9;
+    }
+}
@@ -0,0 +1,252 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.conversion.ConcatenatedOperation;
+import com.github.malapert.wkt.conversion.Conversion;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.cs.Ellipsoid;
+import com.github.malapert.wkt.datum.GeodeticDatum;
+import com.github.malapert.wkt.grid.Grid;
+import com.github.malapert.wkt.grid.GridManager;
+import com.github.malapert.wkt.grid.GtxGrid;
+import com.github.malapert.wkt.grid.NTv2Grid;
+import com.github.malapert.wkt.method.MethodDescriptor;
+import com.github.malapert.wkt.method.MethodRegistry;
+import com.github.malapert.wkt.parameter.CoordinateOperationParameterFile;
+import com.github.malapert.wkt.parameter.Operation;
+import com.github.malapert.wkt.parameter.ParameterValues;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Executes the steps of a coordinate operation in a single pass.
+ *
+ * The consecutive affine steps are concatenated in one matrix when the
+ * operation is created. Each point of a batch then goes through all the
+ * remaining steps before the next point is read, so that the coordinates are
+ * read and written once whatever the number of steps.
+ *
+ * The steps of a concatenated operation that read geographic coordinates,
+ * the NTv2 and GTX grids and the Transverse Mercator projection, take the
+ * longitude before the latitude, in degrees. The grids of the PARAMETERFILE
+ * elements are acquired from the {@link GridManager} when the operation is
+ * created and released by {@link #close()}.
+ *
+ * <pre>
+ * {@code
+ * ConcatenatedOperation operation = CoordinateOperationFactory.createFromWkt(wkt, ConcatenatedOperation.class);
+ * try (FusedOperation fused = FusedOperation.create(operation, gridDirectory)) {
+ *     fused.transform(points, 0, 3, points.length / 3);
+ * }
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class FusedOperation implements AutoCloseable {
+
+    private final CoordinateStep[] steps;
+    private final Grid[] grids;
+
+    private FusedOperation(final CoordinateStep[] steps, final Grid[] grids) {
+        this.steps = steps;
+        this.grids = grids;
+    }
+
+    /**
+     * Fuses a list of steps.
+     * @param steps steps in the order of their execution
+     * @return the fused operation
+     */
+    public static FusedOperation create(final List<? extends CoordinateStep> steps) {
+        return fuse(steps, new Grid[0]);
+    }
+
+    private static FusedOperation fuse(final List<? extends CoordinateStep> steps, final Grid[] grids) {
+        final List<CoordinateStep> fused = new ArrayList<>(steps.size());
+        AffineStep affine = null;
+        for (CoordinateStep step : steps) {
+            if (step instanceof AffineStep) {
+                affine = affine == null ? (AffineStep) step : affine.concatenate((AffineStep) step);
+            } else {
+                if (affine != null && !affine.isIdentity()) {
+                    fused.add(affine);
+                }
+                affine = null;
+                fused.add(step);
+            }
+        }
+        if (affine != null && !affine.isIdentity()) {
+            fused.add(affine);
+        }
+        return new FusedOperation(fused.toArray(new CoordinateStep[fused.size()]), grids);
+    }
+
+    /**
+     * Fuses the steps of a concatenated operation, the files of the grids
+     * being relative to the working directory.
+     * @param operation concatenated operation
+     * @return the fused operation, to be closed after use
+     */
+    public static FusedOperation create(final ConcatenatedOperation operation) {
+        return create(operation, Paths.get(""));
+    }
+
+    /**
+     * Fuses the steps of a concatenated operation. The ellipsoid of a
+     * projection step is the ellipsoid of the target CRS of the operation.
+     * @param operation concatenated operation
+     * @param gridDirectory directory of the grids, used when the file name
+     * of a PARAMETERFILE is relative
+     * @return the fused operation, to be closed after use
+     */
+    public static FusedOperation create(final ConcatenatedOperation operation, final Path gridDirectory) {
+        final List<CoordinateStep> steps = new ArrayList<>(operation.getSteps().size());
+        final List<Grid> grids = new ArrayList<>();
+        try {
+            for (Conversion step : operation.getSteps()) {
+                addSteps(step, operation.getTargetCrs(), gridDirectory, steps, grids);
+            }
+        } catch (RuntimeException ex) {
+            for (Grid grid : grids) {
+                grid.close();
+            }
+            throw ex;
+        }
+        return fuse(steps, grids.toArray(new Grid[grids.size()]));
+    }
+
+    /**
+     * Adds the steps of an operation of a concatenated operation.
+     */
+    private static void addSteps(final Conversion operation, final CoordinateReferenceSystem targetCrs, final Path gridDirectory,
+            final List<CoordinateStep> steps, final List<Grid> grids) {
+        final MethodDescriptor method = MethodRegistry.resolve(operation.getMethod());
+        switch (method == null ? MethodDescriptor.NO_CODE : method.getEpsgCode()) {
+            case 9807:
+                steps.add(AffineStep.scale(Math.PI / 180, Math.PI / 180, 1));
+                steps.add(TransverseMercator.create(operation, ellipsoidOf(targetCrs, operation)));
+                break;
+            case 9615:
+                steps.add(new GridShift(acquire(NTv2Grid.class, operation, gridDirectory, grids)));
+                break;
+            case 9665:
+                steps.add(new GeoidHeight(acquire(GtxGrid.class, operation, gridDirectory, grids)));
+                break;
+            default:
+                steps.add(stepOf(operation));
+        }
+    }
+
+    private static <T extends Grid> T acquire(final Class<T> gridClass, final Conversion operation, final Path gridDirectory, final List<Grid> grids) {
+        for (Operation parameter : operation.getParameters()) {
+            if (parameter instanceof CoordinateOperationParameterFile) {
+                final Grid grid = GridManager.acquire((CoordinateOperationParameterFile) parameter, gridDirectory);
+                grids.add(grid);
+                if (!gridClass.isInstance(grid)) {
+                    throw new RuntimeException("The file " + grid.getPath() + " is not a grid of " + operation.getMethod().getMethodName());
+                }
+                return gridClass.cast(grid);
+            }
+        }
+        throw new RuntimeException("No parameter file for " + operation.getName());
+    }
+
+    private static Ellipsoid ellipsoidOf(final CoordinateReferenceSystem crs, final Conversion operation) {
+        if (crs == null || !(crs.getCrsDatum() instanceof GeodeticDatum)) {
+            throw new RuntimeException("No ellipsoid for the projection " + operation.getName());
+        }
+        return ((GeodeticDatum) crs.getCrsDatum()).getEllipsoid();
+    }
+
+    /**
+     * Creates the step of an operation that needs neither grid nor
+     * ellipsoid. The Helmert transformations of the geocentric domain, the
+     * affine parametric transformation, the axis order reversals, the height
+     * depth reversal and the change of vertical unit are supported.
+     * @param operation operation
+     * @return the step
+     */
+    public static CoordinateStep stepOf(final Conversion operation) {
+        final MethodDescriptor method = MethodRegistry.resolve(operation.getMethod());
+        switch (method == null ? MethodDescriptor.NO_CODE : method.getEpsgCode()) {
+            case 1031:
+            case 1032:
+            case 1033:
+                return new AffineStep(HelmertTransform.create(operation).getMatrix());
+            case 9624:
+                final ParameterValues values = operation.getParameterValues();
+                return new AffineStep(new double[]{
+                    values.getByCode(8624), values.getByCode(8625), 0, values.getByCode(8623),
+                    values.getByCode(8640), values.getByCode(8641), 0, values.getByCode(8639),
+                    0, 0, 1, 0
+                });
+            case 9843:
+            case 9844:
+                return AffineStep.swapXY();
+            case 1068:
+                return AffineStep.vertical(-1, 0);
+            case 1069:
+                return AffineStep.vertical(operation.getParameterValues().getByCode(1051), 0);
+            default:
+                throw new RuntimeException("No coordinate step for the method " + operation.getMethod().getMethodName());
+        }
+    }
+
+    /**
+     * Returns the steps that remain after the fusion.
+     * @return the steps
+     */
+    public List<CoordinateStep> getSteps() {
+        return Collections.unmodifiableList(Arrays.asList(steps));
+    }
+
+    /**
+     * Transforms a batch of points in place.
+     * @param points coordinates
+     * @param offset index of the first point
+     * @param dimension number of ordinates of each point
+     * @param count number of points
+     */
+    public void transform(final double[] points, final int offset, final int dimension, final int count) {
+        final CoordinateStep[] fused = this.steps;
+        final int end = offset + count * dimension;
+        for (int i = offset; i < end; i += dimension) {
+            for (CoordinateStep step : fused) {
+                step.transform(points, i, dimension);
+            }
+        }
+    }
+
+    /**
+     * Releases the grids acquired by the operation, which must not be used
+     * afterwards. An operation without grid has nothing to release.
+     */
+    @Override
+    public void close() {
+        for (Grid grid : grids) {
+            grid.close();
+        }
+    }
+}
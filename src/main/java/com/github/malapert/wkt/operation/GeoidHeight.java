@@ -0,0 +1,60 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.grid.GtxGrid;
+
+/**
+ * Ellipsoidal height to gravity-related height through a geoid model in the
+ * GTX format (EPSG:9665).
+ *
+ * The step reads a longitude and a latitude in degrees, as the grid, and
+ * subtracts the geoid undulation from the third ordinate; a 2D point is not
+ * changed. The points outside the grid get a NaN height. The grid is not
+ * closed by the step.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class GeoidHeight implements CoordinateStep {
+
+    private final GtxGrid grid;
+
+    /**
+     * Creates the height correction of a geoid model.
+     * @param grid GTX grid
+     */
+    public GeoidHeight(final GtxGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Returns the grid.
+     * @return the grid
+     */
+    public GtxGrid getGrid() {
+        return grid;
+    }
+
+    @Override
+    public void transform(final double[] points, final int offset, final int dimension) {
+        if (dimension > 2) {
+            points[offset + 2] -= grid.interpolate(points[offset], points[offset + 1]);
+        }
+    }
+}
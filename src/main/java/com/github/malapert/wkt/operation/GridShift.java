@@ -0,0 +1,56 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.grid.NTv2Grid;
+
+/**
+ * Horizontal shift interpolated in a NTv2 grid (EPSG:9615).
+ *
+ * The step reads a longitude and a latitude in degrees, as the grid, and
+ * adds the shifts of the grid, the other ordinates being unchanged. The
+ * points outside the grid become NaN. The grid is not closed by the step.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class GridShift implements CoordinateStep {
+
+    private final NTv2Grid grid;
+
+    /**
+     * Creates the shift of a grid.
+     * @param grid NTv2 grid
+     */
+    public GridShift(final NTv2Grid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Returns the grid.
+     * @return the grid
+     */
+    public NTv2Grid getGrid() {
+        return grid;
+    }
+
+    @Override
+    public void transform(final double[] points, final int offset, final int dimension) {
+        grid.shift(points, offset, dimension, 1);
+    }
+}
@@ -0,0 +1,240 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.conversion.Conversion;
+import com.github.malapert.wkt.method.MethodDescriptor;
+import com.github.malapert.wkt.method.MethodRegistry;
+import com.github.malapert.wkt.parameter.ParameterValues;
+
+/**
+ * Helmert transformation of geocentric coordinates, compiled in a matrix.
+ *
+ * The translations, the rotations and the scale difference are combined once
+ * in a 3x3 matrix and a translation so that a batch of points is transformed
+ * without evaluating the parameters again. The rotations follow the small
+ * angle approximation of the EPSG formulas.
+ *
+ * <pre>
+ * {@code
+ * HelmertTransform helmert = HelmertTransform.create(boundCrs.getTransformation());
+ * helmert.transform(xyz, 0, 3, xyz.length / 3);
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class HelmertTransform {
+
+    private static final int X_AXIS_TRANSLATION = 8605;
+    private static final int Y_AXIS_TRANSLATION = 8606;
+    private static final int Z_AXIS_TRANSLATION = 8607;
+    private static final int X_AXIS_ROTATION = 8608;
+    private static final int Y_AXIS_ROTATION = 8609;
+    private static final int Z_AXIS_ROTATION = 8610;
+    private static final int SCALE_DIFFERENCE = 8611;
+
+    private final double m00, m01, m02;
+    private final double m10, m11, m12;
+    private final double m20, m21, m22;
+    private final double tx, ty, tz;
+
+    /**
+     * Creates a Helmert transformation.
+     * @param tx X-axis translation in metres
+     * @param ty Y-axis translation in metres
+     * @param tz Z-axis translation in metres
+     * @param rx X-axis rotation in radians
+     * @param ry Y-axis rotation in radians
+     * @param rz Z-axis rotation in radians
+     * @param scaleDifference scale difference, without unit
+     * @param coordinateFrame true for the coordinate frame convention, false
+     * for the position vector convention
+     */
+    public HelmertTransform(final double tx, final double ty, final double tz,
+            final double rx, final double ry, final double rz,
+            final double scaleDifference, final boolean coordinateFrame) {
+        final double sign = coordinateFrame ? -1 : 1;
+        final double scale = 1 + scaleDifference;
+        this.m00 = scale;
+        this.m01 = -sign * rz * scale;
+        this.m02 = sign * ry * scale;
+        this.m10 = sign * rz * scale;
+        this.m11 = scale;
+        this.m12 = -sign * rx * scale;
+        this.m20 = -sign * ry * scale;
+        this.m21 = sign * rx * scale;
+        this.m22 = scale;
+        this.tx = tx;
+        this.ty = ty;
+        this.tz = tz;
+    }
+
+    private HelmertTransform(final double[] matrix) {
+        this.m00 = matrix[0];
+        this.m01 = matrix[1];
+        this.m02 = matrix[2];
+        this.tx = matrix[3];
+        this.m10 = matrix[4];
+        this.m11 = matrix[5];
+        this.m12 = matrix[6];
+        this.ty = matrix[7];
+        this.m20 = matrix[8];
+        this.m21 = matrix[9];
+        this.m22 = matrix[10];
+        this.tz = matrix[11];
+    }
+
+    /**
+     * Compiles the Helmert transformation described by a coordinate operation.
+     *
+     * The geocentric translations need the three translations, the position
+     * vector and the coordinate frame methods need the seven parameters. The
+     * parameters are found by their EPSG code, otherwise by their name.
+     *
+     * @param operation coordinate operation
+     * @return the Helmert transformation
+     */
+    public static HelmertTransform create(final Conversion operation) {
+        final MethodDescriptor method = MethodRegistry.resolve(operation.getMethod());
+        final boolean coordinateFrame;
+        final boolean rotations;
+        switch (method == null ? MethodDescriptor.NO_CODE : method.getEpsgCode()) {
+            case 1031:
+            case 9603:
+                coordinateFrame = false;
+                rotations = false;
+                break;
+            case 1033:
+            case 9606:
+            case 1037:
+                coordinateFrame = false;
+                rotations = true;
+                break;
+            case 1032:
+            case 9607:
+            case 1038:
+                coordinateFrame = true;
+                rotations = true;
+                break;
+            default:
+                throw new RuntimeException("The method " + operation.getMethod().getMethodName() + " is not a Helmert transformation");
+        }
+        final ParameterValues values = operation.getParameterValues();
+        final double tx = valueOf(values, X_AXIS_TRANSLATION, "X-axis translation");
+        final double ty = valueOf(values, Y_AXIS_TRANSLATION, "Y-axis translation");
+        final double tz = valueOf(values, Z_AXIS_TRANSLATION, "Z-axis translation");
+        if (!rotations) {
+            return new HelmertTransform(tx, ty, tz, 0, 0, 0, 0, false);
+        }
+        return new HelmertTransform(tx, ty, tz,
+                valueOf(values, X_AXIS_ROTATION, "X-axis rotation"),
+                valueOf(values, Y_AXIS_ROTATION, "Y-axis rotation"),
+                valueOf(values, Z_AXIS_ROTATION, "Z-axis rotation"),
+                valueOf(values, SCALE_DIFFERENCE, "Scale difference"),
+                coordinateFrame);
+    }
+
+    /**
+     * Returns the value of a parameter in SI units.
+     * @param values parameter values
+     * @param epsgCode EPSG code of the parameter
+     * @param name name of the parameter
+     * @return the value
+     */
+    static double valueOf(final ParameterValues values, final int epsgCode, final String name) {
+        int index = values.indexOf(epsgCode);
+        if (index < 0) {
+            index = values.indexOf(name);
+        }
+        if (index < 0) {
+            throw new RuntimeException("The parameter " + name + " is missing");
+        }
+        final double value = values.valueAt(index);
+        if (Double.isNaN(value)) {
+            throw new RuntimeException("The parameter " + name + " has no numeric value");
+        }
+        return value;
+    }
+
+    /**
+     * Transforms geocentric coordinates in place.
+     * @param points coordinates, X, Y and Z being the first three ordinates of
+     * each point
+     * @param offset index of the first point
+     * @param dimension number of ordinates of each point, at least 3
+     * @param count number of points
+     */
+    public void transform(final double[] points, final int offset, final int dimension, final int count) {
+        if (dimension < 3) {
+            throw new RuntimeException("The dimension must be at least 3");
+        }
+        final int end = offset + count * dimension;
+        for (int i = offset; i < end; i += dimension) {
+            final double x = points[i];
+            final double y = points[i + 1];
+            final double z = points[i + 2];
+            points[i] = m00 * x + m01 * y + m02 * z + tx;
+            points[i + 1] = m10 * x + m11 * y + m12 * z + ty;
+            points[i + 2] = m20 * x + m21 * y + m22 * z + tz;
+        }
+    }
+
+    /**
+     * Returns the inverse transformation. The matrix is inverted exactly,
+     * so that the inverse undoes this transformation to the rounding errors.
+     * @return the inverse transformation
+     */
+    public HelmertTransform inverse() {
+        final double c00 = m11 * m22 - m12 * m21;
+        final double c01 = m02 * m21 - m01 * m22;
+        final double c02 = m01 * m12 - m02 * m11;
+        final double c10 = m12 * m20 - m10 * m22;
+        final double c11 = m00 * m22 - m02 * m20;
+        final double c12 = m02 * m10 - m00 * m12;
+        final double c20 = m10 * m21 - m11 * m20;
+        final double c21 = m01 * m20 - m00 * m21;
+        final double c22 = m00 * m11 - m01 * m10;
+        final double det = m00 * c00 + m01 * c10 + m02 * c20;
+        if (det == 0) {
+            throw new RuntimeException("The Helmert transformation cannot be inverted");
+        }
+        final double i00 = c00 / det, i01 = c01 / det, i02 = c02 / det;
+        final double i10 = c10 / det, i11 = c11 / det, i12 = c12 / det;
+        final double i20 = c20 / det, i21 = c21 / det, i22 = c22 / det;
+        return new HelmertTransform(new double[]{
+            i00, i01, i02, -(i00 * tx + i01 * ty + i02 * tz),
+            i10, i11, i12, -(i10 * tx + i11 * ty + i12 * tz),
+            i20, i21, i22, -(i20 * tx + i21 * ty + i22 * tz)
+        });
+    }
+
+    /**
+     * Returns the compiled matrix.
+     * @return the 3x4 matrix, row by row, the last column being the
+     * translation
+     */
+    public double[] getMatrix() {
+        return new double[]{
+            m00, m01, m02, tx,
+            m10, m11, m12, ty,
+            m20, m21, m22, tz
+        };
+    }
+}
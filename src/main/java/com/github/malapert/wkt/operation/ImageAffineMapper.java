@@ -0,0 +1,188 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.ImageCrs;
+import com.github.malapert.wkt.cs.CoordinateSystem;
+import com.github.malapert.wkt.datum.ImageDatum;
+
+/**
+ * Mapping between the pixel indices of an image and model coordinates.
+ *
+ * The grid to model affine is given on the grid coordinates of the image CRS.
+ * With {@code cellCorner}, the grid coordinates (0,0) are the corner of the
+ * first pixel so that the centre of the pixel (col,row) is at
+ * (col+0.5,row+0.5); with {@code cellCentre}, they are the centre of the first
+ * pixel. This half-pixel offset is folded once in the translation terms, so
+ * that pixel indices are mapped with two multiplications and two additions,
+ * without allocation.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class ImageAffineMapper {
+
+    private final ImageDatum.PixelInCell pixelInCell;
+    private final double a, b, c;
+    private final double d, e, f;
+    private final double ua, ub, uc;
+    private final double va, vb, vc;
+
+    /**
+     * Creates a mapper.
+     * @param pixelInCell grid origin of the image datum
+     * @param gridToModel 2x3 matrix, row by row, such as
+     * x = m[0]*u + m[1]*v + m[2] and y = m[3]*u + m[4]*v + m[5], (u,v) being
+     * the grid coordinates along the columns and the rows
+     */
+    public ImageAffineMapper(final ImageDatum.PixelInCell pixelInCell, final double[] gridToModel) {
+        if (gridToModel.length != 6) {
+            throw new RuntimeException("The grid to model matrix must have 2 rows and 3 columns");
+        }
+        this.pixelInCell = pixelInCell == null ? ImageDatum.PixelInCell.cellCentre : pixelInCell;
+        final double half = this.pixelInCell == ImageDatum.PixelInCell.cellCorner ? 0.5 : 0;
+        this.a = gridToModel[0];
+        this.b = gridToModel[1];
+        this.c = gridToModel[2] + half * (gridToModel[0] + gridToModel[1]);
+        this.d = gridToModel[3];
+        this.e = gridToModel[4];
+        this.f = gridToModel[5] + half * (gridToModel[3] + gridToModel[4]);
+        final double det = this.a * this.e - this.b * this.d;
+        if (det == 0 || Double.isNaN(det)) {
+            throw new RuntimeException("The grid to model matrix is not invertible");
+        }
+        this.ua = this.e / det;
+        this.ub = -this.b / det;
+        this.uc = (this.b * this.f - this.e * this.c) / det;
+        this.va = -this.d / det;
+        this.vb = this.a / det;
+        this.vc = (this.d * this.c - this.a * this.f) / det;
+    }
+
+    /**
+     * Creates a mapper for an image CRS.
+     * @param crs image CRS with a Cartesian or an affine coordinate system
+     * of dimension 2
+     * @param gridToModel 2x3 matrix from the grid coordinates to the model
+     * coordinates
+     * @return the mapper
+     * @see #ImageAffineMapper(ImageDatum.PixelInCell, double[])
+     */
+    public static ImageAffineMapper create(final CoordinateReferenceSystem crs, final double[] gridToModel) {
+        if (!(crs instanceof ImageCrs)) {
+            throw new RuntimeException(crs.getCrsName() + " is not an image CRS");
+        }
+        final CoordinateSystem cs = crs.getCs();
+        if (cs == null || cs.getDimension() != 2
+                || (cs.getCsType() != CoordinateSystem.CsType.Cartesian && cs.getCsType() != CoordinateSystem.CsType.affine)) {
+            throw new RuntimeException(crs.getCrsName() + " must have a Cartesian or an affine coordinate system of dimension 2");
+        }
+        return new ImageAffineMapper(((ImageDatum) crs.getCrsDatum()).getPixelInCell(), gridToModel);
+    }
+
+    /**
+     * Returns the grid origin of the image datum.
+     * @return the grid origin
+     */
+    public ImageDatum.PixelInCell getPixelInCell() {
+        return this.pixelInCell;
+    }
+
+    /**
+     * Returns the matrix from the pixel indices to the model coordinates,
+     * the half-pixel offset being included.
+     * @return 2x3 matrix, row by row
+     */
+    public double[] getMatrix() {
+        return new double[]{this.a, this.b, this.c, this.d, this.e, this.f};
+    }
+
+    /**
+     * Returns the mapping from the pixel indices to the model coordinates as
+     * an affine step, so that it can be chained with other steps.
+     * @return the affine step
+     */
+    public AffineStep toAffineStep() {
+        return new AffineStep(new double[]{
+            this.a, this.b, 0, this.c,
+            this.d, this.e, 0, this.f,
+            0, 0, 1, 0
+        });
+    }
+
+    /**
+     * Maps the pixels of a part of a scanline.
+     * @param row row index
+     * @param colStart first column, inclusive
+     * @param colEnd last column, exclusive
+     * @param out model coordinates, x then y for each pixel
+     * @param outOffset index of the first ordinate in out
+     */
+    public void toModel(int row, int colStart, int colEnd, final double[] out, int outOffset) {
+        toModel(row, row + 1, colStart, colEnd, out, outOffset);
+    }
+
+    /**
+     * Maps the pixels of a tile, row by row.
+     * @param rowStart first row, inclusive
+     * @param rowEnd last row, exclusive
+     * @param colStart first column, inclusive
+     * @param colEnd last column, exclusive
+     * @param out model coordinates, x then y for each pixel
+     * @param outOffset index of the first ordinate in out
+     */
+    public void toModel(int rowStart, int rowEnd, int colStart, int colEnd, final double[] out, int outOffset) {
+        if (rowEnd < rowStart || colEnd < colStart) {
+            throw new RuntimeException("Invalid range of pixels");
+        }
+        final long size = 2L * (rowEnd - rowStart) * (colEnd - colStart);
+        if (outOffset < 0 || outOffset + size > out.length) {
+            throw new RuntimeException("The output buffer is too small for " + size / 2 + " pixels");
+        }
+        int k = outOffset;
+        for (int row = rowStart; row < rowEnd; row++) {
+            final double x0 = this.b * row + this.c;
+            final double y0 = this.e * row + this.f;
+            for (int col = colStart; col < colEnd; col++) {
+                out[k++] = this.a * col + x0;
+                out[k++] = this.d * col + y0;
+            }
+        }
+    }
+
+    /**
+     * Maps model coordinates to fractional pixel indices; the pixel containing
+     * a point is given by rounding its indices.
+     * @param points model coordinates, x then y for each point
+     * @param offset index of the first ordinate in points
+     * @param count number of points
+     * @param out pixel indices, column then row for each point; may be points
+     * @param outOffset index of the first ordinate in out
+     */
+    public void toPixel(final double[] points, int offset, int count, final double[] out, int outOffset) {
+        int i = offset;
+        int k = outOffset;
+        for (int n = 0; n < count; n++) {
+            final double x = points[i++];
+            final double y = points[i++];
+            out[k++] = this.ua * x + this.ub * y + this.uc;
+            out[k++] = this.va * x + this.vb * y + this.vc;
+        }
+    }
+}
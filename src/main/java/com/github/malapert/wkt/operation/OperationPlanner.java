@@ -0,0 +1,278 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of the operations between pairs of CRSs.
+ *
+ * Creating an operation walks the derivation chains of both CRSs, compares
+ * their datums and compiles the steps; the plan is then kept for the pair so
+ * that the next conversions between the same CRSs only cost a lookup. The
+ * CRSs are compared by their WKT, computed once per CRS instance, so that a
+ * CRS parsed again from the same definition finds the plan; the WKT strings
+ * given to {@link #plan(String, String)} are compared as written. The cache
+ * is a concurrent map read without lock; above its
+ * {@link #getMaximumSize() maximum size}, the least recently used plans are
+ * removed by the thread that has added a plan, so that the size is bounded
+ * approximately when several threads add plans at once. The plans are
+ * immutable and can be shared by several threads.
+ *
+ * <pre>
+ * {@code
+ * CompoundOperation plan = OperationPlanner.plan(sourceWkt, targetWkt);
+ * plan.transform(points, 0, points.length / plan.getDimension());
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class OperationPlanner {
+
+    /**
+     * Default number of cached plans.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private static final ConcurrentMap<CrsKey, String> KEYS = new ConcurrentHashMap<>();
+
+    private static final ReferenceQueue<CoordinateReferenceSystem> RELEASED = new ReferenceQueue<>();
+
+    private static final ConcurrentMap<PlanKey, CachedPlan> PLANS = new ConcurrentHashMap<>();
+
+    private static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private OperationPlanner() {
+    }
+
+    /**
+     * Returns the operation between two CRSs, created at the first call for
+     * this pair.
+     * @param source source CRS
+     * @param target target CRS
+     * @return the operation
+     * @throws RuntimeException when no operation is supported between the
+     * CRSs
+     */
+    public static CompoundOperation plan(final CoordinateReferenceSystem source, final CoordinateReferenceSystem target) {
+        final PlanKey key = new PlanKey(keyOf(source), keyOf(target));
+        final CompoundOperation plan = get(key);
+        return plan != null ? plan : put(key, CrsOperationFactory.createCompound(source, target));
+    }
+
+    /**
+     * Returns the operation between two CRSs described in WKT, created at the
+     * first call for this pair. The WKT strings are parsed only when the
+     * operation is created.
+     * @param sourceWkt WKT of the source CRS
+     * @param targetWkt WKT of the target CRS
+     * @return the operation
+     * @throws RuntimeException when a WKT is invalid or when no operation is
+     * supported between the CRSs
+     */
+    public static CompoundOperation plan(final String sourceWkt, final String targetWkt) {
+        final PlanKey key = new PlanKey(sourceWkt, targetWkt);
+        final CompoundOperation plan = get(key);
+        return plan != null ? plan : put(key, CrsOperationFactory.createCompound(
+                CoordinateReferenceSystemFactory.createFromWkt(sourceWkt),
+                CoordinateReferenceSystemFactory.createFromWkt(targetWkt)));
+    }
+
+    /**
+     * Returns the number of cached plans.
+     * @return the number of plans
+     */
+    public static int size() {
+        return PLANS.size();
+    }
+
+    /**
+     * Returns the maximum number of cached plans.
+     * @return the maximum number of plans
+     */
+    public static int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of cached plans; the least recently used plans
+     * are removed above this size.
+     * @param size maximum number of plans, 0 to disable the cache
+     */
+    public static void setMaximumSize(final int size) {
+        if (size < 0) {
+            throw new RuntimeException("The maximum size must be positive: " + size);
+        }
+        maximumSize = size;
+        evict();
+    }
+
+    /**
+     * Removes all the cached plans.
+     */
+    public static void clear() {
+        PLANS.clear();
+    }
+
+    private static CompoundOperation get(final PlanKey key) {
+        final CachedPlan cached = PLANS.get(key);
+        if (cached == null) {
+            return null;
+        }
+        cached.lastUse = System.nanoTime();
+        return cached.plan;
+    }
+
+    /**
+     * Caches a plan unless another thread has cached one for the same key
+     * meanwhile, in which case the cached plan is returned.
+     */
+    private static CompoundOperation put(final PlanKey key, final CompoundOperation plan) {
+        if (maximumSize == 0) {
+            return plan;
+        }
+        final CachedPlan cached = PLANS.putIfAbsent(key, new CachedPlan(plan));
+        if (cached != null) {
+            return cached.plan;
+        }
+        evict();
+        return plan;
+    }
+
+    /**
+     * Removes the least recently used plans above the maximum size. The
+     * plans are only scanned when a plan is added or when the size changes.
+     */
+    private static void evict() {
+        while (PLANS.size() > maximumSize) {
+            Map.Entry<PlanKey, CachedPlan> eldest = null;
+            for (final Map.Entry<PlanKey, CachedPlan> entry : PLANS.entrySet()) {
+                if (eldest == null || entry.getValue().lastUse - eldest.getValue().lastUse < 0) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            PLANS.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * Returns the WKT of a CRS, computed at the first call for this instance.
+     */
+    private static String keyOf(final CoordinateReferenceSystem crs) {
+        final String key = KEYS.get(new CrsKey(crs, null));
+        if (key != null) {
+            return key;
+        }
+        Reference<? extends CoordinateReferenceSystem> released;
+        while ((released = RELEASED.poll()) != null) {
+            KEYS.remove((CrsKey) released);
+        }
+        final String wkt = crs.toWkt("", "", 0).toString();
+        final String cached = KEYS.putIfAbsent(new CrsKey(crs, RELEASED), wkt);
+        return cached != null ? cached : wkt;
+    }
+
+    /**
+     * Cached plan and the time of its last use.
+     */
+    private static final class CachedPlan {
+
+        private final CompoundOperation plan;
+        private volatile long lastUse = System.nanoTime();
+
+        CachedPlan(final CompoundOperation plan) {
+            this.plan = plan;
+        }
+    }
+
+    /**
+     * Weak reference to a CRS, compared by identity, so that the WKT of a
+     * CRS is forgotten once the CRS is no longer used.
+     */
+    private static final class CrsKey extends WeakReference<CoordinateReferenceSystem> {
+
+        private final int hash;
+
+        CrsKey(final CoordinateReferenceSystem crs, final ReferenceQueue<CoordinateReferenceSystem> queue) {
+            super(crs, queue);
+            this.hash = System.identityHashCode(crs);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CrsKey)) {
+                return false;
+            }
+            final CoordinateReferenceSystem crs = get();
+            return crs != null && crs == ((CrsKey) obj).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Pair of the WKT of a source and of a target.
+     */
+    private static final class PlanKey {
+
+        private final String source;
+        private final String target;
+        private final int hash;
+
+        PlanKey(final String source, final String target) {
+            this.source = source;
+            this.target = target;
+            this.hash = 31 * source.hashCode() + target.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PlanKey)) {
+                return false;
+            }
+            final PlanKey other = (PlanKey) obj;
+            return source.equals(other.source) && target.equals(other.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.conversion.Conversion;
+import com.github.malapert.wkt.parameter.ParameterValues;
+
+/**
+ * Pole rotation of a geographic CRS, compiled in a 3x3 rotation matrix.
+ *
+ * The north pole of the rotated CRS is located at the latitude and the
+ * longitude of the rotated pole in the base CRS, and the axis rotation is
+ * added to the rotated longitudes. The trigonometric functions of the
+ * parameters are evaluated once when the rotation is created; each point then
+ * costs one matrix product between two unit vectors. The step rotates a
+ * longitude and a latitude in radians, the other ordinates being unchanged.
+ *
+ * <pre>
+ * {@code
+ * PoleRotation rotation = PoleRotation.create(derivedGeodeticCrs.getConversionFromBaseCrs());
+ * rotation.transform(lonLat, 0, 2, lonLat.length / 2);
+ * rotation.inverse().transform(lonLat, 0, 2, lonLat.length / 2);
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class PoleRotation implements InvertibleStep {
+
+    public static final String LATITUDE_OF_ROTATED_POLE = "Latitude of rotated pole";
+    public static final String LONGITUDE_OF_ROTATED_POLE = "Longitude of rotated pole";
+    public static final String AXIS_ROTATION = "Axis rotation";
+
+    private final double m00, m01, m02;
+    private final double m10, m11, m12;
+    private final double m20, m21, m22;
+
+    /**
+     * Creates a pole rotation.
+     * @param poleLatitude latitude of the rotated pole in radians
+     * @param poleLongitude longitude of the rotated pole in radians
+     * @param axisRotation axis rotation in radians
+     */
+    public PoleRotation(final double poleLatitude, final double poleLongitude, final double axisRotation) {
+        // Rz(axisRotation) * Ry(poleLatitude - PI/2) * Rz(-poleLongitude)
+        final double sinLat = Math.sin(poleLatitude);
+        final double cosLat = Math.cos(poleLatitude);
+        final double sinLon = Math.sin(poleLongitude);
+        final double cosLon = Math.cos(poleLongitude);
+        final double sinAxis = Math.sin(axisRotation);
+        final double cosAxis = Math.cos(axisRotation);
+        final double a00 = sinLat * cosLon;
+        final double a01 = sinLat * sinLon;
+        final double a02 = -cosLat;
+        final double a10 = -sinLon;
+        final double a11 = cosLon;
+        final double a20 = cosLat * cosLon;
+        final double a21 = cosLat * sinLon;
+        final double a22 = sinLat;
+        this.m00 = cosAxis * a00 - sinAxis * a10;
+        this.m01 = cosAxis * a01 - sinAxis * a11;
+        this.m02 = cosAxis * a02;
+        this.m10 = sinAxis * a00 + cosAxis * a10;
+        this.m11 = sinAxis * a01 + cosAxis * a11;
+        this.m12 = sinAxis * a02;
+        this.m20 = a20;
+        this.m21 = a21;
+        this.m22 = a22;
+    }
+
+    private PoleRotation(final double[] matrix) {
+        this.m00 = matrix[0];
+        this.m01 = matrix[1];
+        this.m02 = matrix[2];
+        this.m10 = matrix[3];
+        this.m11 = matrix[4];
+        this.m12 = matrix[5];
+        this.m20 = matrix[6];
+        this.m21 = matrix[7];
+        this.m22 = matrix[8];
+    }
+
+    /**
+     * Creates the pole rotation of a conversion. The axis rotation is 0 when
+     * it is not defined.
+     * @param conversion conversion using the Pole rotation method
+     * @return the pole rotation
+     * @throws RuntimeException when the latitude or the longitude of the
+     * rotated pole is missing
+     */
+    public static PoleRotation create(final Conversion conversion) {
+        final ParameterValues values = conversion.getParameterValues();
+        return new PoleRotation(
+                values.get(LATITUDE_OF_ROTATED_POLE),
+                values.get(LONGITUDE_OF_ROTATED_POLE),
+                values.get(AXIS_ROTATION, 0));
+    }
+
+    /**
+     * Returns the rotation matrix, applied to the unit vectors of the base
+     * CRS.
+     * @return the 3x3 matrix, row by row
+     */
+    public double[] getMatrix() {
+        return new double[]{
+            m00, m01, m02,
+            m10, m11, m12,
+            m20, m21, m22
+        };
+    }
+
+    /**
+     * Returns the rotation from the rotated CRS to the base CRS.
+     * @return the inverse rotation
+     */
+    @Override
+    public PoleRotation inverse() {
+        return new PoleRotation(new double[]{
+            m00, m10, m20,
+            m01, m11, m21,
+            m02, m12, m22
+        });
+    }
+
+    @Override
+    public void transform(final double[] points, final int offset, final int dimension) {
+        final double lon = points[offset];
+        final double lat = points[offset + 1];
+        final double cosLat = Math.cos(lat);
+        final double x = cosLat * Math.cos(lon);
+        final double y = cosLat * Math.sin(lon);
+        final double z = Math.sin(lat);
+        final double rx = m00 * x + m01 * y + m02 * z;
+        final double ry = m10 * x + m11 * y + m12 * z;
+        final double rz = m20 * x + m21 * y + m22 * z;
+        points[offset] = Math.atan2(ry, rx);
+        points[offset + 1] = Math.atan2(rz, Math.sqrt(rx * rx + ry * ry));
+    }
+
+    /**
+     * Rotates a batch of points in place.
+     * @param points longitudes and latitudes in radians
+     * @param offset index of the first point
+     * @param dimension number of ordinates of each point
+     * @param count number of points
+     */
+    public void transform(final double[] points, final int offset, final int dimension, final int count) {
+        final int end = offset + count * dimension;
+        for (int i = offset; i < end; i += dimension) {
+            transform(points, i, dimension);
+        }
+    }
+}
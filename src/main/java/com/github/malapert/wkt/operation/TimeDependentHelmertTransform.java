@@ -0,0 +1,204 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.conversion.Conversion;
+import com.github.malapert.wkt.method.MethodDescriptor;
+import com.github.malapert.wkt.method.MethodRegistry;
+import com.github.malapert.wkt.parameter.ParameterValues;
+
+/**
+ * Time-dependent Helmert transformation (14 parameters) of geocentric
+ * coordinates.
+ *
+ * Each parameter is p(t) = p + rate * (t - reference epoch), the epochs being
+ * in decimal years. A batch of points takes the epoch of each point from a
+ * parallel array; the matrix is evaluated again only when the epoch changes
+ * from one point to the next, without allocating.
+ *
+ * <pre>
+ * {@code
+ * TimeDependentHelmertTransform helmert = TimeDependentHelmertTransform.create(operation);
+ * helmert.transform(xyz, 0, 3, epochs, 0, epochs.length);
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class TimeDependentHelmertTransform {
+
+    /**
+     * Length of the year used by the units of the rates, in seconds.
+     */
+    public static final double YEAR = 31556925.445;
+
+    private static final int[] CODES = {8605, 8606, 8607, 8608, 8609, 8610, 8611};
+    private static final int[] RATE_CODES = {1040, 1041, 1042, 1043, 1044, 1045, 1046};
+    private static final String[] NAMES = {"X-axis translation", "Y-axis translation", "Z-axis translation", "X-axis rotation", "Y-axis rotation", "Z-axis rotation", "Scale difference"};
+    private static final int REFERENCE_EPOCH = 1047;
+
+    private final double tx, ty, tz, rx, ry, rz, ds;
+    private final double dtx, dty, dtz, drx, dry, drz, dds;
+    private final double referenceEpoch;
+
+    /**
+     * Creates a time-dependent Helmert transformation.
+     * @param parameters translations in metres, rotations in radians and
+     * scale difference at the reference epoch
+     * @param rates rates of the parameters per year, in the same order
+     * @param referenceEpoch reference epoch in decimal years
+     * @param coordinateFrame true for the coordinate frame convention, false
+     * for the position vector convention
+     */
+    public TimeDependentHelmertTransform(final double[] parameters, final double[] rates, final double referenceEpoch, final boolean coordinateFrame) {
+        if (parameters.length != 7 || rates.length != 7) {
+            throw new RuntimeException("A time-dependent Helmert transformation needs 7 parameters and 7 rates");
+        }
+        // the rotations are kept in the position vector convention
+        final double sign = coordinateFrame ? -1 : 1;
+        this.tx = parameters[0];
+        this.ty = parameters[1];
+        this.tz = parameters[2];
+        this.rx = sign * parameters[3];
+        this.ry = sign * parameters[4];
+        this.rz = sign * parameters[5];
+        this.ds = parameters[6];
+        this.dtx = rates[0];
+        this.dty = rates[1];
+        this.dtz = rates[2];
+        this.drx = sign * rates[3];
+        this.dry = sign * rates[4];
+        this.drz = sign * rates[5];
+        this.dds = rates[6];
+        this.referenceEpoch = referenceEpoch;
+    }
+
+    /**
+     * Creates the time-dependent Helmert transformation described by a
+     * coordinate operation. The rates are converted from their SI units, per
+     * second, to rates per {@link #YEAR}; the reference epoch is read in
+     * decimal years.
+     * @param operation coordinate operation
+     * @return the time-dependent Helmert transformation
+     */
+    public static TimeDependentHelmertTransform create(final Conversion operation) {
+        final MethodDescriptor method = MethodRegistry.resolve(operation.getMethod());
+        final boolean coordinateFrame;
+        switch (method == null ? MethodDescriptor.NO_CODE : method.getEpsgCode()) {
+            case 1053:
+            case 1054:
+            case 1055:
+                coordinateFrame = false;
+                break;
+            case 1056:
+            case 1057:
+            case 1058:
+                coordinateFrame = true;
+                break;
+            default:
+                throw new RuntimeException("The method " + operation.getMethod().getMethodName() + " is not a time-dependent Helmert transformation");
+        }
+        final ParameterValues values = operation.getParameterValues();
+        final double[] parameters = new double[7];
+        final double[] rates = new double[7];
+        for (int i = 0; i < 7; i++) {
+            parameters[i] = HelmertTransform.valueOf(values, CODES[i], NAMES[i]);
+            rates[i] = HelmertTransform.valueOf(values, RATE_CODES[i], "Rate of change of " + NAMES[i]) * YEAR;
+        }
+        int index = values.indexOf(REFERENCE_EPOCH);
+        if (index < 0) {
+            index = values.indexOf("Parameter reference epoch");
+        }
+        if (index < 0) {
+            throw new RuntimeException("The parameter Parameter reference epoch is missing");
+        }
+        final double referenceEpoch = Double.parseDouble(values.parameterAt(index).getParameterValueOrFile());
+        return new TimeDependentHelmertTransform(parameters, rates, referenceEpoch, coordinateFrame);
+    }
+
+    /**
+     * Returns the reference epoch of the parameters.
+     * @return the reference epoch in decimal years
+     */
+    public double getReferenceEpoch() {
+        return referenceEpoch;
+    }
+
+    /**
+     * Returns the Helmert transformation at an epoch.
+     * @param epoch epoch in decimal years
+     * @return the Helmert transformation
+     */
+    public HelmertTransform at(final double epoch) {
+        final double dt = epoch - referenceEpoch;
+        return new HelmertTransform(tx + dtx * dt, ty + dty * dt, tz + dtz * dt,
+                rx + drx * dt, ry + dry * dt, rz + drz * dt, ds + dds * dt, false);
+    }
+
+    /**
+     * Transforms geocentric coordinates in place at the same epoch.
+     * @param points coordinates, X, Y and Z being the first three ordinates of
+     * each point
+     * @param offset index of the first point
+     * @param dimension number of ordinates of each point, at least 3
+     * @param count number of points
+     * @param epoch epoch of the points in decimal years
+     */
+    public void transform(final double[] points, final int offset, final int dimension, final int count, final double epoch) {
+        at(epoch).transform(points, offset, dimension, count);
+    }
+
+    /**
+     * Transforms geocentric coordinates in place, each point at its epoch.
+     * @param points coordinates, X, Y and Z being the first three ordinates of
+     * each point
+     * @param offset index of the first point
+     * @param dimension number of ordinates of each point, at least 3
+     * @param epochs epochs of the points in decimal years
+     * @param epochsOffset index of the epoch of the first point
+     * @param count number of points
+     */
+    public void transform(final double[] points, final int offset, final int dimension, final double[] epochs, final int epochsOffset, final int count) {
+        if (dimension < 3) {
+            throw new RuntimeException("The dimension must be at least 3");
+        }
+        double current = Double.NaN;
+        double s = 1, mrx = 0, mry = 0, mrz = 0, ttx = 0, tty = 0, ttz = 0;
+        for (int k = 0, i = offset; k < count; k++, i += dimension) {
+            final double epoch = epochs[epochsOffset + k];
+            if (epoch != current) {
+                final double dt = epoch - referenceEpoch;
+                s = 1 + ds + dds * dt;
+                mrx = (rx + drx * dt) * s;
+                mry = (ry + dry * dt) * s;
+                mrz = (rz + drz * dt) * s;
+                ttx = tx + dtx * dt;
+                tty = ty + dty * dt;
+                ttz = tz + dtz * dt;
+                current = epoch;
+            }
+            final double x = points[i];
+            final double y = points[i + 1];
+            final double z = points[i + 2];
+            points[i] = s * x - mrz * y + mry * z + ttx;
+            points[i + 1] = mrz * x + s * y - mrx * z + tty;
+            points[i + 2] = -mry * x + mrx * y + s * z + ttz;
+        }
+    }
+}
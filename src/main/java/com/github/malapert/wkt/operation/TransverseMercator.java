@@ -0,0 +1,182 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.conversion.Conversion;
+import com.github.malapert.wkt.cs.Ellipsoid;
+import com.github.malapert.wkt.parameter.ParameterValues;
+
+/**
+ * Transverse Mercator projection (EPSG:9807).
+ *
+ * The projection uses the series of Krüger to the fourth order in the third
+ * flattening, as published by Karney, so that the error stays below one
+ * millimetre within 3900 km of the central meridian. The step projects a
+ * longitude and a latitude in radians to an easting and a northing in
+ * metres, the other ordinates being unchanged.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class TransverseMercator implements InvertibleStep {
+
+    private static final int LATITUDE_OF_NATURAL_ORIGIN = 8801;
+    private static final int LONGITUDE_OF_NATURAL_ORIGIN = 8802;
+    private static final int SCALE_FACTOR_AT_NATURAL_ORIGIN = 8805;
+    private static final int FALSE_EASTING = 8806;
+    private static final int FALSE_NORTHING = 8807;
+
+    private final double e;
+    private final double lon0;
+    private final double k0A;
+    private final double falseEasting;
+    private final double falseNorthing;
+    private final double[] alpha;
+    private final double[] beta;
+
+    /**
+     * Creates a Transverse Mercator projection.
+     * @param semiMajorAxis semi-major axis in metres
+     * @param inverseFlattening inverse flattening, 0 for a sphere
+     * @param lat0 latitude of natural origin in radians
+     * @param lon0 longitude of natural origin in radians
+     * @param k0 scale factor at natural origin
+     * @param falseEasting false easting in metres
+     * @param falseNorthing false northing in metres
+     */
+    public TransverseMercator(final double semiMajorAxis, final double inverseFlattening,
+            final double lat0, final double lon0, final double k0,
+            final double falseEasting, final double falseNorthing) {
+        final double f = inverseFlattening == 0 ? 0 : 1 / inverseFlattening;
+        final double n = f / (2 - f);
+        final double n2 = n * n;
+        final double n3 = n2 * n;
+        final double n4 = n3 * n;
+        this.e = Math.sqrt(f * (2 - f));
+        this.lon0 = lon0;
+        this.k0A = k0 * semiMajorAxis / (1 + n) * (1 + n2 / 4 + n4 / 64);
+        this.alpha = new double[]{
+            n / 2 - 2 * n2 / 3 + 5 * n3 / 16 + 41 * n4 / 180,
+            13 * n2 / 48 - 3 * n3 / 5 + 557 * n4 / 1440,
+            61 * n3 / 240 - 103 * n4 / 140,
+            49561 * n4 / 161280
+        };
+        this.beta = new double[]{
+            n / 2 - 2 * n2 / 3 + 37 * n3 / 96 - n4 / 360,
+            n2 / 48 + n3 / 15 - 437 * n4 / 1440,
+            17 * n3 / 480 - 37 * n4 / 840,
+            4397 * n4 / 161280
+        };
+        this.falseEasting = falseEasting;
+        final double chi0 = conformalLatitude(lat0);
+        double xi0 = chi0;
+        for (int j = 1; j <= alpha.length; j++) {
+            xi0 += alpha[j - 1] * Math.sin(2 * j * chi0);
+        }
+        this.falseNorthing = falseNorthing - k0A * xi0;
+    }
+
+    /**
+     * Creates the projection of a conversion. The parameters that are not
+     * defined take their default value, 0 for the origin and the false
+     * coordinates and 1 for the scale factor.
+     * @param conversion conversion using the Transverse Mercator method
+     * @param ellipsoid ellipsoid of the base CRS
+     * @return the projection
+     */
+    public static TransverseMercator create(final Conversion conversion, final Ellipsoid ellipsoid) {
+        final ParameterValues values = conversion.getParameterValues();
+        return new TransverseMercator(
+                ellipsoid.getSemiMajorAxisInMetres(),
+                ellipsoid.getInverFlatteningValue().doubleValue(),
+                valueOf(values, LATITUDE_OF_NATURAL_ORIGIN, "Latitude of natural origin", 0),
+                valueOf(values, LONGITUDE_OF_NATURAL_ORIGIN, "Longitude of natural origin", 0),
+                valueOf(values, SCALE_FACTOR_AT_NATURAL_ORIGIN, "Scale factor at natural origin", 1),
+                valueOf(values, FALSE_EASTING, "False easting", 0),
+                valueOf(values, FALSE_NORTHING, "False northing", 0));
+    }
+
+    private static double valueOf(final ParameterValues values, final int epsgCode, final String name, final double defaultValue) {
+        int index = values.indexOf(epsgCode);
+        if (index < 0) {
+            index = values.indexOf(name);
+        }
+        return index < 0 ? defaultValue : values.valueAt(index);
+    }
+
+    private double conformalLatitude(final double lat) {
+        final double sinLat = Math.sin(lat);
+        return Math.atan(Math.sinh(atanh(sinLat) - e * atanh(e * sinLat)));
+    }
+
+    private static double atanh(final double x) {
+        return 0.5 * Math.log((1 + x) / (1 - x));
+    }
+
+    /**
+     * Returns the inverse projection, from an easting and a northing in
+     * metres to a longitude and a latitude in radians.
+     * @return the inverse projection
+     */
+    @Override
+    public CoordinateStep inverse() {
+        return new CoordinateStep() {
+            @Override
+            public void transform(final double[] points, final int offset, final int dimension) {
+                final double xi = (points[offset + 1] - falseNorthing) / k0A;
+                final double eta = (points[offset] - falseEasting) / k0A;
+                double xiPrime = xi;
+                double etaPrime = eta;
+                for (int j = 1; j <= beta.length; j++) {
+                    xiPrime -= beta[j - 1] * Math.sin(2 * j * xi) * Math.cosh(2 * j * eta);
+                    etaPrime -= beta[j - 1] * Math.cos(2 * j * xi) * Math.sinh(2 * j * eta);
+                }
+                final double chi = Math.asin(Math.sin(xiPrime) / Math.cosh(etaPrime));
+                final double q = Math.log(Math.tan(Math.PI / 4 + chi / 2));
+                double lat = chi;
+                for (int i = 0; i < 15; i++) {
+                    final double esinLat = e * Math.sin(lat);
+                    final double next = 2 * Math.atan(Math.exp(q + e * atanh(esinLat))) - Math.PI / 2;
+                    if (Math.abs(next - lat) < 1e-14) {
+                        lat = next;
+                        break;
+                    }
+                    lat = next;
+                }
+                points[offset] = lon0 + Math.atan2(Math.sinh(etaPrime), Math.cos(xiPrime));
+                points[offset + 1] = lat;
+            }
+        };
+    }
+
+    @Override
+    public void transform(final double[] points, final int offset, final int dimension) {
+        final double lon = points[offset] - lon0;
+        final double chi = conformalLatitude(points[offset + 1]);
+        final double xiPrime = Math.atan2(Math.tan(chi), Math.cos(lon));
+        final double etaPrime = atanh(Math.cos(chi) * Math.sin(lon));
+        double xi = xiPrime;
+        double eta = etaPrime;
+        for (int j = 1; j <= alpha.length; j++) {
+            xi += alpha[j - 1] * Math.sin(2 * j * xiPrime) * Math.cosh(2 * j * etaPrime);
+            eta += alpha[j - 1] * Math.cos(2 * j * xiPrime) * Math.sinh(2 * j * etaPrime);
+        }
+        points[offset] = falseEasting + k0A * eta;
+        points[offset + 1] = falseNorthing + k0A * xi;
+    }
+}
@@ -67,6 +67,7 @@ public abstract class AbstractOperation implements Operation {
     /**
      * @return the parameterUnit
      */
+    @Override
     public Unit getParameterUnit() {
         return parameterUnit;
     }
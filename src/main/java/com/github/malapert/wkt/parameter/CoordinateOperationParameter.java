@@ -40,6 +40,11 @@ public class CoordinateOperationParameter extends AbstractOperation {
 
     public static final String OPERATION_PARAMETER_KEYWORD = "PARAMETER";
 
+    public CoordinateOperationParameter(final String name, final String value) {
+        setParameterName(name);
+        setParameterValueOrFile(value);
+    }
+
     public CoordinateOperationParameter(final WktElt operationParameter) {
         parse(operationParameter);
     }
@@ -52,20 +57,15 @@ public class CoordinateOperationParameter extends AbstractOperation {
 
         final List<WktElt> nodes = wktEltCollection.getNodesFor(operationParameter, OPERATION_PARAMETER_KEYWORD);
         for (final WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case Identifier.IDENTIFIER_KEYWORD:
+            switch (node.getSymbol()) {
+                case ID:
                     this.getIdentifierList().add(new Identifier(node));
                     break;
-                case UnitFactory.LengthUnit.LENGTH_KEYWORD:
-                case UnitFactory.LengthUnit.LENGTH_UNIT_KEYWORD:
-                case UnitFactory.AngleUnit.ANGLEUNIT_KEYWORD:
-                case UnitFactory.AngleUnit.ANGLEUNIT_UNIT_KEYWORD:
-                case UnitFactory.ScaleUnit.SCALEUNIT_KEYWORD:
-                case UnitFactory.ScaleUnit.SCALEUNIT_UNIT_KEYWORD:
-                case UnitFactory.TimeUnit.TIMEUNIT_KEYWORD:
-                case UnitFactory.TimeUnit.TIMEUNIT_UNIT_KEYWORD:                    
-                case UnitFactory.ParametricUnit.PARAMETRICUNIT_KEYWORD:
-                case UnitFactory.ParametricUnit.PARAMETRICUNIT_UNIT_KEYWORD:                    
+                case LENGTHUNIT:
+                case ANGLEUNIT:
+                case SCALEUNIT:
+                case TIMEUNIT:
+                case PARAMETRICUNIT:
                     setParameterUnit(UnitFactory.createFromWkt(node));
                     break;
                 default:
@@ -57,8 +57,8 @@ public class CoordinateOperationParameterFile extends AbstractOperation {
 
         List<WktElt> nodes = wktEltCollection.getNodesFor(parameterFileWkt, OPERATION_PARAMETER_FILE);
         for (WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case Identifier.IDENTIFIER_KEYWORD:
+            switch (node.getSymbol()) {
+                case ID:
                     this.getIdentifierList().add(new Identifier(node));
                     break;
                 default:
@@ -56,16 +56,13 @@ public class MapProjectionParameter extends AbstractOperation {
         setParameterValueOrFile(attributes.get(1).getKeyword());
         List<WktElt> nodes = wktEltCollection.getNodesFor(mapProjectionParameterElts, MAP_PROJECTION_PARAMETER);
         for (WktElt node : nodes) {
-            switch (node.getKeyword()) {
-                case UnitFactory.AngleUnit.ANGLEUNIT_KEYWORD:
-                case UnitFactory.AngleUnit.ANGLEUNIT_UNIT_KEYWORD:
-                case UnitFactory.LengthUnit.LENGTH_KEYWORD:
-                case UnitFactory.LengthUnit.LENGTH_UNIT_KEYWORD:
-                case UnitFactory.ScaleUnit.SCALEUNIT_KEYWORD:
-                case UnitFactory.ScaleUnit.SCALEUNIT_UNIT_KEYWORD:
+            switch (node.getSymbol()) {
+                case ANGLEUNIT:
+                case LENGTHUNIT:
+                case SCALEUNIT:
                     setParameterUnit(UnitFactory.createFromWkt(node));                   
                     break;
-                case Identifier.IDENTIFIER_KEYWORD:
+                case ID:
                     this.getIdentifierList().add(new Identifier(node));
                     break;
                 default:
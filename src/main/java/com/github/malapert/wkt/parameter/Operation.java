@@ -20,6 +20,7 @@ package com.github.malapert.wkt.parameter;
 
 import com.github.malapert.wkt.metadata.WktDescription;
 import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.metadata.Unit;
 import java.util.List;
 
 /**
@@ -30,6 +31,7 @@ public interface Operation extends WktDescription {
     
     public String getParameterName();
     public String getParameterValueOrFile();
+    public Unit getParameterUnit();
     public List<Identifier> getIdentifierList();
     
     
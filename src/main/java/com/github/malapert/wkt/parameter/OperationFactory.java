@@ -40,11 +40,11 @@ public abstract class OperationFactory implements WktDescription {
                     result = new MapProjectionParameter(node);
                     break;
                 case DERIVED_CONVERSION:
-                    switch (node.getKeyword()) {
-                        case CoordinateOperationParameter.OPERATION_PARAMETER_KEYWORD:
+                    switch (node.getSymbol()) {
+                        case PARAMETER:
                             result = new CoordinateOperationParameter(node);
                             break;
-                        case CoordinateOperationParameterFile.OPERATION_PARAMETER_FILE:
+                        case PARAMETERFILE:
                             result = new CoordinateOperationParameterFile(node);
                             break;
                         default:
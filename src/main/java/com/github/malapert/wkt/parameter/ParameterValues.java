@@ -0,0 +1,207 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.parameter;
+
+import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.metadata.Unit;
+import com.github.malapert.wkt.utils.Utils;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parameters of a conversion, with their values converted once to double.
+ *
+ * A parameter is found by its normalized name (lower case, letters and
+ * digits only, so that "Latitude of natural origin" and
+ * "latitude_of_natural_origin" are the same) or by its EPSG code given by
+ * an ID child. The values are in SI units : radians for the angles, metres
+ * for the lengths and unity for the scales, according to the unit of the
+ * parameter. A value without unit is kept as written and the value of a
+ * parameter file is NaN.
+ *
+ * <pre>
+ * {@code
+ * ParameterValues values = projection.getParameterValues();
+ * double lat0 = values.get("Latitude of natural origin");
+ * double k0 = values.getByCode(8805);
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class ParameterValues {
+
+    private static final String EPSG = "EPSG";
+
+    private final Operation[] operations;
+    private final double[] values;
+    private final Map<String, Integer> names;
+    private final Map<Integer, Integer> codes;
+
+    /**
+     * Creates the values of a list of parameters.
+     * @param parameters parameters of a conversion
+     */
+    public ParameterValues(final List<Operation> parameters) {
+        final int size = parameters.size();
+        this.operations = parameters.toArray(new Operation[size]);
+        this.values = new double[size];
+        this.names = new HashMap<>(size * 2);
+        this.codes = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            final Operation operation = operations[i];
+            values[i] = toSI(operation);
+            names.putIfAbsent(normalize(operation.getParameterName()), i);
+            for (Identifier id : operation.getIdentifierList()) {
+                final int code = id.getCodeFor(EPSG);
+                if (code >= 0) {
+                    codes.putIfAbsent(code, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Normalizes a parameter name.
+     * @param name parameter name
+     * @return the name in lower case, without the characters that are
+     * neither letters nor digits
+     */
+    public static String normalize(final String name) {
+        return Utils.normalizeName(name);
+    }
+
+    /**
+     * Returns the number of parameters.
+     * @return the number of parameters
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Returns the index of a parameter.
+     * @param name parameter name, normalized by {@link #normalize(String)}
+     * @return the index or -1 when there is no parameter with this name
+     */
+    public int indexOf(final String name) {
+        final Integer index = names.get(normalize(name));
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the index of a parameter.
+     * @param epsgCode EPSG code of the parameter
+     * @return the index or -1 when there is no parameter with this code
+     */
+    public int indexOf(final int epsgCode) {
+        final Integer index = codes.get(epsgCode);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Tests if a parameter exists.
+     * @param name parameter name
+     * @return true when the parameter exists
+     */
+    public boolean contains(final String name) {
+        return indexOf(name) >= 0;
+    }
+
+    /**
+     * Returns the value of a parameter in SI units.
+     * @param name parameter name
+     * @return the value
+     * @throws RuntimeException when there is no parameter with this name
+     */
+    public double get(final String name) {
+        final int index = indexOf(name);
+        if (index < 0) {
+            throw new RuntimeException("Unknown parameter " + name);
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns the value of a parameter in SI units or a default value.
+     * @param name parameter name
+     * @param defaultValue value returned when the parameter does not exist
+     * @return the value
+     */
+    public double get(final String name, final double defaultValue) {
+        final int index = indexOf(name);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Returns the value of a parameter in SI units.
+     * @param epsgCode EPSG code of the parameter
+     * @return the value
+     * @throws RuntimeException when there is no parameter with this code
+     */
+    public double getByCode(final int epsgCode) {
+        final int index = indexOf(epsgCode);
+        if (index < 0) {
+            throw new RuntimeException("Unknown parameter EPSG:" + epsgCode);
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns the value of a parameter in SI units or a default value.
+     * @param epsgCode EPSG code of the parameter
+     * @param defaultValue value returned when the parameter does not exist
+     * @return the value
+     */
+    public double getByCode(final int epsgCode, final double defaultValue) {
+        final int index = indexOf(epsgCode);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Returns the value of a parameter in SI units.
+     * @param index index of the parameter
+     * @return the value
+     */
+    public double valueAt(final int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns a parameter.
+     * @param index index of the parameter
+     * @return the parameter
+     */
+    public Operation parameterAt(final int index) {
+        return operations[index];
+    }
+
+    private static double toSI(final Operation operation) {
+        final String value = operation.getParameterValueOrFile();
+        if (value == null || value.isEmpty() || value.charAt(0) == '"' || operation instanceof CoordinateOperationParameterFile) {
+            return Double.NaN;
+        }
+        final double raw = Double.parseDouble(value);
+        final Unit unit = operation.getParameterUnit();
+        final BigDecimal factor = unit == null ? null : unit.getConversionFactorValue();
+        return factor == null ? raw : raw * factor.doubleValue();
+    }
+}
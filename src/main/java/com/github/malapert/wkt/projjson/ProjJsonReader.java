@@ -0,0 +1,1111 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.projjson;
+
+import com.github.malapert.wkt.conversion.AbstractConversion;
+import com.github.malapert.wkt.conversion.DerivedConversion;
+import com.github.malapert.wkt.conversion.MapProjection;
+import com.github.malapert.wkt.crs.AbstractCoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.AbstractDerivatedCoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.BaseDerivatedCrsFactory.BaseGeodeticCrs;
+import com.github.malapert.wkt.crs.CompoundCrs;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.DerivedGeodeticCrs;
+import com.github.malapert.wkt.crs.EngineeringCrs;
+import com.github.malapert.wkt.crs.GeodeticCrs;
+import com.github.malapert.wkt.crs.ParametricCrs;
+import com.github.malapert.wkt.crs.ProjectedCrs;
+import com.github.malapert.wkt.crs.TemporalCrs;
+import com.github.malapert.wkt.crs.VerticalCrs;
+import com.github.malapert.wkt.cs.Axis;
+import com.github.malapert.wkt.cs.CoordinateSystem;
+import com.github.malapert.wkt.cs.Ellipsoid;
+import com.github.malapert.wkt.cs.PrimeMeridian;
+import com.github.malapert.wkt.datum.AbstractDatum;
+import com.github.malapert.wkt.datum.AbstractDatum.Anchor;
+import com.github.malapert.wkt.datum.Datum;
+import com.github.malapert.wkt.datum.EngineeringDatum;
+import com.github.malapert.wkt.datum.GeodeticDatum;
+import com.github.malapert.wkt.datum.ParametricDatum;
+import com.github.malapert.wkt.datum.TemporalDatum;
+import com.github.malapert.wkt.datum.VerticalDatum;
+import com.github.malapert.wkt.metadata.Extent;
+import com.github.malapert.wkt.metadata.ExtentFactory;
+import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.metadata.Remark;
+import com.github.malapert.wkt.metadata.Scope;
+import com.github.malapert.wkt.metadata.ScopeExtent;
+import com.github.malapert.wkt.metadata.Unit;
+import com.github.malapert.wkt.metadata.UnitFactory;
+import com.github.malapert.wkt.metadata.Usage;
+import com.github.malapert.wkt.method.DerivedConversionMethod;
+import com.github.malapert.wkt.method.MapProjectionMethod;
+import com.github.malapert.wkt.parameter.AbstractOperation;
+import com.github.malapert.wkt.parameter.CoordinateOperationParameter;
+import com.github.malapert.wkt.parameter.MapProjectionParameter;
+import com.github.malapert.wkt.projjson.ProjJsonTokenizer.Token;
+import com.github.malapert.wkt.utils.Utils;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a PROJJSON document and builds the same object model as the WKT
+ * parser.
+ *
+ * The document is read in a single pass by a hand-written tokenizer : each
+ * JSON object is turned into its model object as soon as its closing brace is
+ * reached, so no intermediate tree is kept in memory and no reflection is
+ * used. Members that have no equivalent in the object model (e.g.
+ * <i>$schema</i>) are skipped.
+ *
+ * <p>
+ * The supported CRS types are GeographicCRS, GeodeticCRS, ProjectedCRS,
+ * DerivedGeographicCRS, DerivedGeodeticCRS, VerticalCRS, EngineeringCRS,
+ * ParametricCRS, TemporalCRS and CompoundCRS.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class ProjJsonReader {
+
+    static final String GEOGRAPHIC_CRS = "GeographicCRS";
+    static final String GEODETIC_CRS = "GeodeticCRS";
+    static final String PROJECTED_CRS = "ProjectedCRS";
+    static final String DERIVED_GEOGRAPHIC_CRS = "DerivedGeographicCRS";
+    static final String DERIVED_GEODETIC_CRS = "DerivedGeodeticCRS";
+    static final String VERTICAL_CRS = "VerticalCRS";
+    static final String ENGINEERING_CRS = "EngineeringCRS";
+    static final String PARAMETRIC_CRS = "ParametricCRS";
+    static final String TEMPORAL_CRS = "TemporalCRS";
+    static final String COMPOUND_CRS = "CompoundCRS";
+
+    static final String GEODETIC_REFERENCE_FRAME = "GeodeticReferenceFrame";
+    static final String DYNAMIC_GEODETIC_REFERENCE_FRAME = "DynamicGeodeticReferenceFrame";
+    static final String VERTICAL_REFERENCE_FRAME = "VerticalReferenceFrame";
+    static final String DYNAMIC_VERTICAL_REFERENCE_FRAME = "DynamicVerticalReferenceFrame";
+    static final String ENGINEERING_DATUM = "EngineeringDatum";
+    static final String PARAMETRIC_DATUM = "ParametricDatum";
+    static final String TEMPORAL_DATUM = "TemporalDatum";
+
+    static final String LINEAR_UNIT = "LinearUnit";
+    static final String ANGULAR_UNIT = "AngularUnit";
+    static final String SCALE_UNIT = "ScaleUnit";
+    static final String TIME_UNIT = "TimeUnit";
+    static final String PARAMETRIC_UNIT = "ParametricUnit";
+
+    static final String METRE = "metre";
+    static final String DEGREE = "degree";
+    static final String UNITY = "unity";
+    static final BigDecimal DEGREE_FACTOR = new BigDecimal("0.0174532925199433");
+
+    static final String TEMPORAL_DATE_TIME = "TemporalDateTime";
+    static final String TEMPORAL_COUNT = "TemporalCount";
+    static final String TEMPORAL_MEASURE = "TemporalMeasure";
+
+    private static final String UNKNOWN_SCOPE = "unknown";
+
+    private final ProjJsonTokenizer in;
+
+    /**
+     * Creates a reader on a PROJJSON stream.
+     * @param reader the PROJJSON stream
+     */
+    public ProjJsonReader(final Reader reader) {
+        this.in = new ProjJsonTokenizer(reader);
+    }
+
+    /**
+     * Creates a reader on a PROJJSON document.
+     * @param projJson the PROJJSON document
+     */
+    public ProjJsonReader(final String projJson) {
+        this.in = new ProjJsonTokenizer(projJson);
+    }
+
+    /**
+     * Reads the coordinate reference system of the document.
+     * @return the coordinate reference system
+     */
+    public CoordinateReferenceSystem read() {
+        final CoordinateReferenceSystem crs = readCrs(null);
+        if (in.peek() != Token.END_DOCUMENT) {
+            throw in.syntaxError("Expected the end of the document");
+        }
+        return crs;
+    }
+
+    /**
+     * Reads a CRS object.
+     * @param defaultType CRS type when the object has no type member
+     * @return the coordinate reference system
+     */
+    private CoordinateReferenceSystem readCrs(final String defaultType) {
+        String type = defaultType;
+        String name = null;
+        Datum datum = null;
+        CoordinateReferenceSystem baseCrs = null;
+        ConversionMembers conversion = null;
+        CoordinateSystem cs = null;
+        final List<CoordinateReferenceSystem> components = new ArrayList<>();
+        final ScopeExtent scopeExtent = new ScopeExtent();
+        final UsageMembers usage = new UsageMembers();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            final String member = in.nextName();
+            switch (member) {
+                case "type":
+                    type = in.nextString();
+                    break;
+                case "name":
+                    name = in.nextString();
+                    break;
+                case "datum":
+                    datum = readDatum();
+                    break;
+                case "datum_ensemble":
+                    throw in.syntaxError("Datum ensembles are not supported");
+                case "base_crs":
+                    // type is optional for the base CRS of a derived CRS
+                    baseCrs = readCrs(GEOGRAPHIC_CRS);
+                    break;
+                case "conversion":
+                    conversion = readConversion();
+                    break;
+                case "coordinate_system":
+                    cs = readCoordinateSystem();
+                    break;
+                case "components":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        components.add(readCrs(null));
+                    }
+                    in.endArray();
+                    break;
+                case "usages":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        scopeExtent.getUsageList().add(readUsage());
+                    }
+                    in.endArray();
+                    break;
+                case "remarks":
+                    scopeExtent.setRemark(new Remark(in.nextString()));
+                    break;
+                case "id":
+                    scopeExtent.getIdentifierList().add(readIdentifier());
+                    break;
+                case "ids":
+                    readIdentifiers(scopeExtent.getIdentifierList());
+                    break;
+                default:
+                    if (!usage.readMember(member)) {
+                        in.skipValue();
+                    }
+            }
+        }
+        in.endObject();
+        if (usage.isDefined()) {
+            scopeExtent.getUsageList().add(0, usage.toUsage());
+        }
+        if (type == null) {
+            throw in.syntaxError("Missing type for CRS " + name);
+        }
+
+        if (cs == null && !COMPOUND_CRS.equals(type)) {
+            throw in.syntaxError("Missing coordinate system for CRS " + name);
+        }
+
+        final CoordinateReferenceSystem crs;
+        switch (type) {
+            case GEOGRAPHIC_CRS:
+            case GEODETIC_CRS:
+                crs = new GeodeticCrs(GeodeticCrs.GeodeticCrsKeyword.GEODCRS, Utils.addQuotes(name), checkDatum(GeodeticDatum.class, datum, type), cs);
+                break;
+            case PROJECTED_CRS:
+                crs = new ProjectedCrs(ProjectedCrs.ProjectedCrsKeyword.PROJCRS, Utils.addQuotes(name), toBaseGeodeticCrs(baseCrs, type),
+                        checkConversion(conversion, name).toMapProjection(), cs);
+                break;
+            case DERIVED_GEOGRAPHIC_CRS:
+            case DERIVED_GEODETIC_CRS:
+                crs = new DerivedGeodeticCrs(GeodeticCrs.GeodeticCrsKeyword.GEODCRS, Utils.addQuotes(name), toBaseGeodeticCrs(baseCrs, type),
+                        checkConversion(conversion, name).toDerivedConversion(), cs);
+                break;
+            case VERTICAL_CRS:
+                crs = new VerticalCrs(VerticalCrs.VerticalKeyword.VERTCRS, Utils.addQuotes(name), checkDatum(VerticalDatum.class, datum, type), cs);
+                break;
+            case ENGINEERING_CRS:
+                crs = new EngineeringCrs(EngineeringCrs.EngineeringCrsKeyword.ENGCRS, Utils.addQuotes(name), checkDatum(EngineeringDatum.class, datum, type), cs);
+                break;
+            case PARAMETRIC_CRS:
+                crs = new ParametricCrs(Utils.addQuotes(name), checkDatum(ParametricDatum.class, datum, type), cs);
+                break;
+            case TEMPORAL_CRS:
+                crs = new TemporalCrs(Utils.addQuotes(name), checkDatum(TemporalDatum.class, datum, type), cs);
+                break;
+            case COMPOUND_CRS:
+                crs = new CompoundCrs(Utils.addQuotes(name), components);
+                break;
+            default:
+                throw in.syntaxError("Unsupported CRS type " + type);
+        }
+        copyScopeExtent(scopeExtent, scopeExtentOf(crs));
+        return crs;
+    }
+
+    /**
+     * Reads a datum object.
+     * @return the datum
+     */
+    private Datum readDatum() {
+        String type = null;
+        String name = null;
+        String anchor = null;
+        String timeOrigin = null;
+        Ellipsoid ellipsoid = null;
+        PrimeMeridian primeMeridian = null;
+        final List<Identifier> identifiers = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "type":
+                    type = in.nextString();
+                    break;
+                case "name":
+                    name = in.nextString();
+                    break;
+                case "anchor":
+                    anchor = in.nextString();
+                    break;
+                case "time_origin":
+                    timeOrigin = in.nextString();
+                    break;
+                case "ellipsoid":
+                    ellipsoid = readEllipsoid();
+                    break;
+                case "prime_meridian":
+                    primeMeridian = readPrimeMeridian();
+                    break;
+                case "id":
+                    identifiers.add(readIdentifier());
+                    break;
+                case "ids":
+                    readIdentifiers(identifiers);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (type == null) {
+            throw in.syntaxError("Missing type for datum " + name);
+        }
+
+        final AbstractDatum datum;
+        switch (type) {
+            case GEODETIC_REFERENCE_FRAME:
+            case DYNAMIC_GEODETIC_REFERENCE_FRAME:
+                if (ellipsoid == null) {
+                    throw in.syntaxError("Missing ellipsoid for datum " + name);
+                }
+                final GeodeticDatum geodeticDatum = new GeodeticDatum(GeodeticDatum.GeodeticDatumKeyword.DATUM, name, ellipsoid);
+                geodeticDatum.setPrimeMeridian(primeMeridian);
+                datum = geodeticDatum;
+                break;
+            case VERTICAL_REFERENCE_FRAME:
+            case DYNAMIC_VERTICAL_REFERENCE_FRAME:
+                datum = new VerticalDatum(VerticalDatum.VerticalDatumKeyword.VDATUM, name);
+                break;
+            case ENGINEERING_DATUM:
+                datum = new EngineeringDatum(EngineeringDatum.EngineeringDatumKeyword.EDATUM, name);
+                break;
+            case PARAMETRIC_DATUM:
+                datum = new ParametricDatum(ParametricDatum.ParametricDatumKeywords.PDATUM, name);
+                break;
+            case TEMPORAL_DATUM:
+                final TemporalDatum temporalDatum = new TemporalDatum(TemporalDatum.TemporalDatumKeyword.TDATUM, name);
+                if (timeOrigin != null) {
+                    temporalDatum.setTemporalOrigin(new TemporalDatum.TemporalOrigin(timeOrigin));
+                }
+                datum = temporalDatum;
+                break;
+            default:
+                throw in.syntaxError("Unsupported datum type " + type);
+        }
+        if (anchor != null) {
+            datum.setAnchor(new Anchor(anchor));
+        }
+        datum.getIdentifierList().addAll(identifiers);
+        return datum;
+    }
+
+    /**
+     * Reads an ellipsoid object.
+     * @return the ellipsoid
+     */
+    private Ellipsoid readEllipsoid() {
+        String name = null;
+        ValueAndUnit semiMajorAxis = null;
+        ValueAndUnit semiMinorAxis = null;
+        ValueAndUnit radius = null;
+        BigDecimal inverseFlattening = null;
+        final List<Identifier> identifiers = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    name = in.nextString();
+                    break;
+                case "semi_major_axis":
+                    semiMajorAxis = readValueAndUnit();
+                    break;
+                case "semi_minor_axis":
+                    semiMinorAxis = readValueAndUnit();
+                    break;
+                case "radius":
+                    radius = readValueAndUnit();
+                    break;
+                case "inverse_flattening":
+                    inverseFlattening = new BigDecimal(in.nextNumber());
+                    break;
+                case "id":
+                    identifiers.add(readIdentifier());
+                    break;
+                case "ids":
+                    readIdentifiers(identifiers);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        final Ellipsoid ellipsoid;
+        final Unit unit;
+        if (radius != null) {
+            ellipsoid = new Ellipsoid(Ellipsoid.EllipsoidKeyword.ELLIPSOID, name, radius.value, BigDecimal.ZERO);
+            unit = radius.unit;
+        } else if (semiMajorAxis == null) {
+            throw in.syntaxError("Missing semi_major_axis for ellipsoid " + name);
+        } else if (inverseFlattening != null) {
+            ellipsoid = new Ellipsoid(Ellipsoid.EllipsoidKeyword.ELLIPSOID, name, semiMajorAxis.value, inverseFlattening);
+            unit = semiMajorAxis.unit;
+        } else if (semiMinorAxis != null) {
+            // 1/f = a / (a - b)
+            final BigDecimal diff = semiMajorAxis.value.subtract(semiMinorAxis.value);
+            final BigDecimal invFlattening = diff.signum() == 0 ? BigDecimal.ZERO : semiMajorAxis.value.divide(diff, MathContext.DECIMAL64);
+            ellipsoid = new Ellipsoid(Ellipsoid.EllipsoidKeyword.ELLIPSOID, name, semiMajorAxis.value, invFlattening);
+            unit = semiMajorAxis.unit;
+        } else {
+            throw in.syntaxError("Missing inverse_flattening or semi_minor_axis for ellipsoid " + name);
+        }
+        if (unit != null) {
+            if (!(unit instanceof UnitFactory.LengthUnit)) {
+                throw in.syntaxError("Ellipsoid " + name + " must use a linear unit");
+            }
+            ellipsoid.setLengthUnit((UnitFactory.LengthUnit) unit);
+        }
+        ellipsoid.getIdentifierList().addAll(identifiers);
+        return ellipsoid;
+    }
+
+    /**
+     * Reads a prime meridian object.
+     * @return the prime meridian
+     */
+    private PrimeMeridian readPrimeMeridian() {
+        String name = null;
+        ValueAndUnit longitude = null;
+        final List<Identifier> identifiers = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    name = in.nextString();
+                    break;
+                case "longitude":
+                    longitude = readValueAndUnit();
+                    break;
+                case "id":
+                    identifiers.add(readIdentifier());
+                    break;
+                case "ids":
+                    readIdentifiers(identifiers);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        final PrimeMeridian primeMeridian = new PrimeMeridian(PrimeMeridian.PrimeMeridianKeyword.PRIMEM, name,
+                longitude == null ? BigDecimal.ZERO : longitude.value);
+        if (longitude != null && longitude.unit != null) {
+            primeMeridian.setAngleUnit(longitude.unit);
+        }
+        primeMeridian.getIdentifierList().addAll(identifiers);
+        return primeMeridian;
+    }
+
+    /**
+     * Reads a coordinate system object.
+     * @return the coordinate system
+     */
+    private CoordinateSystem readCoordinateSystem() {
+        String subtype = null;
+        final List<Axis> axisList = new ArrayList<>();
+        final List<Identifier> identifiers = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "subtype":
+                    subtype = in.nextString();
+                    break;
+                case "axis":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        axisList.add(readAxis());
+                    }
+                    in.endArray();
+                    break;
+                case "id":
+                    identifiers.add(readIdentifier());
+                    break;
+                case "ids":
+                    readIdentifiers(identifiers);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        final CoordinateSystem.CsType csType;
+        if (TEMPORAL_DATE_TIME.equals(subtype) || TEMPORAL_COUNT.equals(subtype) || TEMPORAL_MEASURE.equals(subtype)) {
+            csType = CoordinateSystem.CsType.temporal;
+        } else {
+            try {
+                csType = CoordinateSystem.CsType.valueOf(subtype);
+            } catch (IllegalArgumentException | NullPointerException ex) {
+                throw in.syntaxError("Unsupported coordinate system subtype " + subtype);
+            }
+        }
+        final CoordinateSystem cs = new CoordinateSystem(csType, axisList.size());
+        cs.getAxisList().addAll(axisList);
+        cs.getIdentifierList().addAll(identifiers);
+
+        // WKT2 writes a shared unit once, after the axes
+        Unit sharedUnit = axisList.isEmpty() ? null : axisList.get(0).getAxisUnit();
+        for (final Axis axis : axisList) {
+            if (!isSameUnit(sharedUnit, axis.getAxisUnit())) {
+                sharedUnit = null;
+                break;
+            }
+        }
+        if (sharedUnit != null) {
+            cs.setUnit(sharedUnit);
+            for (final Axis axis : axisList) {
+                axis.setAxisUnit(null);
+            }
+        }
+        return cs;
+    }
+
+    /**
+     * Reads an axis object.
+     * @return the axis
+     */
+    private Axis readAxis() {
+        String name = null;
+        String abbreviation = null;
+        String direction = null;
+        Unit unit = null;
+        final List<Identifier> identifiers = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    name = in.nextString();
+                    break;
+                case "abbreviation":
+                    abbreviation = in.nextString();
+                    break;
+                case "direction":
+                    direction = in.nextString();
+                    break;
+                case "unit":
+                    unit = readUnit();
+                    break;
+                case "id":
+                    identifiers.add(readIdentifier());
+                    break;
+                case "ids":
+                    readIdentifiers(identifiers);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        final String nameAbbrev;
+        if (abbreviation == null || abbreviation.isEmpty()) {
+            nameAbbrev = name;
+        } else if (name == null || name.isEmpty() || name.equals(abbreviation)) {
+            nameAbbrev = "(" + abbreviation + ")";
+        } else {
+            nameAbbrev = name + " (" + abbreviation + ")";
+        }
+        final Axis axis = new Axis(nameAbbrev, direction);
+        axis.setAxisUnit(unit);
+        axis.getIdentifierList().addAll(identifiers);
+        return axis;
+    }
+
+    /**
+     * Reads a unit, given either as one of the predefined names or as an
+     * object.
+     * @return the unit
+     */
+    private Unit readUnit() {
+        if (in.peek() == Token.STRING) {
+            final String name = in.nextString();
+            switch (name) {
+                case METRE:
+                    return new UnitFactory.LengthUnit(METRE, BigDecimal.ONE);
+                case DEGREE:
+                    return new UnitFactory.AngleUnit(DEGREE, DEGREE_FACTOR);
+                case UNITY:
+                    return new UnitFactory.ScaleUnit(UNITY, BigDecimal.ONE);
+                default:
+                    throw in.syntaxError("Unknown unit " + name);
+            }
+        }
+
+        String type = null;
+        String name = null;
+        BigDecimal conversionFactor = null;
+        final List<Identifier> identifiers = new ArrayList<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "type":
+                    type = in.nextString();
+                    break;
+                case "name":
+                    name = in.nextString();
+                    break;
+                case "conversion_factor":
+                    conversionFactor = new BigDecimal(in.nextNumber());
+                    break;
+                case "id":
+                    identifiers.add(readIdentifier());
+                    break;
+                case "ids":
+                    readIdentifiers(identifiers);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        final Unit unit;
+        if (LINEAR_UNIT.equals(type)) {
+            unit = new UnitFactory.LengthUnit(name, conversionFactor);
+        } else if (ANGULAR_UNIT.equals(type)) {
+            unit = new UnitFactory.AngleUnit(name, conversionFactor);
+        } else if (SCALE_UNIT.equals(type)) {
+            unit = new UnitFactory.ScaleUnit(name, conversionFactor);
+        } else if (TIME_UNIT.equals(type)) {
+            unit = new UnitFactory.TimeUnit(name, conversionFactor);
+        } else if (PARAMETRIC_UNIT.equals(type)) {
+            unit = new UnitFactory.ParametricUnit(name, conversionFactor);
+        } else {
+            throw in.syntaxError("Unsupported unit type " + type);
+        }
+        unit.getIdentifierList().addAll(identifiers);
+        return unit;
+    }
+
+    /**
+     * Reads a value given either as a number or as a {value, unit} object.
+     * @return the value and its optional unit
+     */
+    private ValueAndUnit readValueAndUnit() {
+        final ValueAndUnit result = new ValueAndUnit();
+        if (in.peek() == Token.NUMBER) {
+            result.value = new BigDecimal(in.nextNumber());
+            return result;
+        }
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "value":
+                    result.value = new BigDecimal(in.nextNumber());
+                    break;
+                case "unit":
+                    result.unit = readUnit();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (result.value == null) {
+            throw in.syntaxError("Missing value");
+        }
+        return result;
+    }
+
+    /**
+     * Reads a conversion object.
+     * @return the members of the conversion
+     */
+    private ConversionMembers readConversion() {
+        final ConversionMembers conversion = new ConversionMembers();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    conversion.name = in.nextString();
+                    break;
+                case "method":
+                    readMethod(conversion);
+                    break;
+                case "parameters":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        conversion.parameters.add(readParameter());
+                    }
+                    in.endArray();
+                    break;
+                case "id":
+                    conversion.identifiers.add(readIdentifier());
+                    break;
+                case "ids":
+                    readIdentifiers(conversion.identifiers);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return conversion;
+    }
+
+    /**
+     * Reads the method object of a conversion.
+     * @param conversion the conversion being read
+     */
+    private void readMethod(final ConversionMembers conversion) {
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    conversion.methodName = in.nextString();
+                    break;
+                case "id":
+                    conversion.methodIdentifiers.add(readIdentifier());
+                    break;
+                case "ids":
+                    readIdentifiers(conversion.methodIdentifiers);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+    }
+
+    /**
+     * Reads a parameter object.
+     * @return the members of the parameter
+     */
+    private ParameterMembers readParameter() {
+        final ParameterMembers parameter = new ParameterMembers();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    parameter.name = in.nextString();
+                    break;
+                case "value":
+                    parameter.value = in.peek() == Token.STRING ? Utils.addQuotes(in.nextString()) : in.nextNumber();
+                    break;
+                case "unit":
+                    parameter.unit = readUnit();
+                    break;
+                case "id":
+                    parameter.identifiers.add(readIdentifier());
+                    break;
+                case "ids":
+                    readIdentifiers(parameter.identifiers);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return parameter;
+    }
+
+    /**
+     * Reads a usage object.
+     * @return the usage
+     */
+    private Usage readUsage() {
+        final UsageMembers usage = new UsageMembers();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!usage.readMember(in.nextName())) {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return usage.toUsage();
+    }
+
+    /**
+     * Reads an identifier object.
+     * @return the identifier
+     */
+    private Identifier readIdentifier() {
+        String authority = null;
+        String code = null;
+        String version = null;
+        String citation = null;
+        String uri = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "authority":
+                    authority = in.nextString();
+                    break;
+                case "code":
+                    code = in.nextScalar();
+                    break;
+                case "version":
+                    version = in.nextScalar();
+                    break;
+                case "authority_citation":
+                    citation = in.nextString();
+                    break;
+                case "uri":
+                    uri = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        final Identifier identifier = new Identifier(authority, code);
+        identifier.setVersion(version);
+        if (citation != null) {
+            identifier.setCitation(new Identifier.Citation(citation));
+        }
+        if (uri != null) {
+            identifier.setUri(new Identifier.URI(uri));
+        }
+        return identifier;
+    }
+
+    /**
+     * Reads an array of identifiers.
+     * @param identifiers the list to fill
+     */
+    private void readIdentifiers(final List<Identifier> identifiers) {
+        in.beginArray();
+        while (in.hasNext()) {
+            identifiers.add(readIdentifier());
+        }
+        in.endArray();
+    }
+
+    /**
+     * Reads a bbox object.
+     * @return the geographic bounding box
+     */
+    private ExtentFactory.GeographicBoundingBox readBbox() {
+        BigDecimal south = null;
+        BigDecimal west = null;
+        BigDecimal north = null;
+        BigDecimal east = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "south_latitude":
+                    south = new BigDecimal(in.nextNumber());
+                    break;
+                case "west_longitude":
+                    west = new BigDecimal(in.nextNumber());
+                    break;
+                case "north_latitude":
+                    north = new BigDecimal(in.nextNumber());
+                    break;
+                case "east_longitude":
+                    east = new BigDecimal(in.nextNumber());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (south == null || west == null || north == null || east == null) {
+            throw in.syntaxError("Incomplete bbox");
+        }
+        return new ExtentFactory.GeographicBoundingBox(south, west, north, east);
+    }
+
+    /**
+     * Reads a vertical_extent object.
+     * @return the vertical extent
+     */
+    private ExtentFactory.VerticalExtent readVerticalExtent() {
+        BigDecimal minimum = null;
+        BigDecimal maximum = null;
+        Unit unit = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "minimum":
+                    minimum = new BigDecimal(in.nextNumber());
+                    break;
+                case "maximum":
+                    maximum = new BigDecimal(in.nextNumber());
+                    break;
+                case "unit":
+                    unit = readUnit();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        final ExtentFactory.VerticalExtent extent = new ExtentFactory.VerticalExtent(minimum, maximum);
+        if (unit instanceof UnitFactory.LengthUnit) {
+            extent.setLengthUnit((UnitFactory.LengthUnit) unit);
+        }
+        return extent;
+    }
+
+    /**
+     * Reads a temporal_extent object.
+     * @return the temporal extent
+     */
+    private ExtentFactory.TemporalExtent readTemporalExtent() {
+        String start = null;
+        String end = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "start":
+                    start = in.nextString();
+                    break;
+                case "end":
+                    end = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new ExtentFactory.TemporalExtent(start, end);
+    }
+
+    private <T extends Datum> T checkDatum(final Class<T> datumClass, final Datum datum, final String crsType) {
+        if (!datumClass.isInstance(datum)) {
+            throw in.syntaxError("Missing or invalid datum for " + crsType);
+        }
+        return datumClass.cast(datum);
+    }
+
+    private ConversionMembers checkConversion(final ConversionMembers conversion, final String crsName) {
+        if (conversion == null) {
+            throw in.syntaxError("Missing conversion for CRS " + crsName);
+        }
+        return conversion;
+    }
+
+    private BaseGeodeticCrs toBaseGeodeticCrs(final CoordinateReferenceSystem baseCrs, final String crsType) {
+        if (!(baseCrs instanceof GeodeticCrs)) {
+            throw in.syntaxError("Missing or invalid base_crs for " + crsType);
+        }
+        final BaseGeodeticCrs base = new BaseGeodeticCrs(baseCrs.getCrsName(), (GeodeticDatum) baseCrs.getCrsDatum());
+        if (baseCrs.getCs() != null && baseCrs.getCs().getUnit() instanceof UnitFactory.AngleUnit) {
+            base.setAngleUnit(baseCrs.getCs().getUnit());
+        }
+        return base;
+    }
+
+    /**
+     * Returns the scope, extent, identifier and remark of a CRS.
+     * @param crs coordinate reference system
+     * @return the scope extent or null when the CRS has none
+     */
+    static ScopeExtent scopeExtentOf(final CoordinateReferenceSystem crs) {
+        if (crs instanceof AbstractCoordinateReferenceSystem) {
+            return ((AbstractCoordinateReferenceSystem) crs).getScopeExtent();
+        } else if (crs instanceof AbstractDerivatedCoordinateReferenceSystem) {
+            return ((AbstractDerivatedCoordinateReferenceSystem) crs).getScopeExtent();
+        } else if (crs instanceof CompoundCrs) {
+            return ((CompoundCrs) crs).getScopeExtent();
+        } else {
+            return null;
+        }
+    }
+
+    private static void copyScopeExtent(final ScopeExtent from, final ScopeExtent to) {
+        to.getUsageList().addAll(from.getUsageList());
+        to.getIdentifierList().addAll(from.getIdentifierList());
+        if (from.getRemark() != null) {
+            to.setRemark(from.getRemark());
+        }
+    }
+
+    private static boolean isSameUnit(final Unit unit1, final Unit unit2) {
+        if (unit1 == null || unit2 == null) {
+            return false;
+        }
+        return unit1.getClass() == unit2.getClass()
+                && unit1.getUnitName().equals(unit2.getUnitName())
+                && (unit1.getConversionFactorValue() == null
+                        ? unit2.getConversionFactorValue() == null
+                        : unit2.getConversionFactorValue() != null && unit1.getConversionFactorValue().compareTo(unit2.getConversionFactorValue()) == 0);
+    }
+
+    /**
+     * A number with its optional unit.
+     */
+    private static final class ValueAndUnit {
+
+        private BigDecimal value;
+        private Unit unit;
+    }
+
+    /**
+     * Members of a parameter object.
+     */
+    private static final class ParameterMembers {
+
+        private String name;
+        private String value;
+        private Unit unit;
+        private final List<Identifier> identifiers = new ArrayList<>();
+
+        private void fill(final AbstractOperation parameter) {
+            parameter.setParameterUnit(unit);
+            parameter.getIdentifierList().addAll(identifiers);
+        }
+    }
+
+    /**
+     * Members of a conversion object. The conversion class depends on the CRS
+     * that contains it, which is only known once the CRS object is read.
+     */
+    private static final class ConversionMembers {
+
+        private String name;
+        private String methodName;
+        private final List<Identifier> methodIdentifiers = new ArrayList<>();
+        private final List<ParameterMembers> parameters = new ArrayList<>();
+        private final List<Identifier> identifiers = new ArrayList<>();
+
+        private MapProjection toMapProjection() {
+            final MapProjectionMethod method = new MapProjectionMethod(MapProjectionMethod.MapMethod.METHOD, methodName);
+            method.getIdentifierList().addAll(methodIdentifiers);
+            final MapProjection conversion = new MapProjection(Utils.addQuotes(name), method);
+            for (final ParameterMembers parameter : parameters) {
+                final MapProjectionParameter mapParameter = new MapProjectionParameter(parameter.name, parameter.value);
+                parameter.fill(mapParameter);
+                conversion.getParameters().add(mapParameter);
+            }
+            return fill(conversion);
+        }
+
+        private DerivedConversion toDerivedConversion() {
+            final DerivedConversionMethod method = new DerivedConversionMethod(methodName);
+            method.getIdentifierList().addAll(methodIdentifiers);
+            final DerivedConversion conversion = new DerivedConversion(name, method);
+            for (final ParameterMembers parameter : parameters) {
+                final CoordinateOperationParameter operationParameter = new CoordinateOperationParameter(parameter.name, parameter.value);
+                parameter.fill(operationParameter);
+                conversion.getParameters().add(operationParameter);
+            }
+            return fill(conversion);
+        }
+
+        private <T extends AbstractConversion> T fill(final T conversion) {
+            conversion.getIdentifiers().addAll(identifiers);
+            return conversion;
+        }
+    }
+
+    /**
+     * Members of a usage, either read from a usages array or directly from the
+     * CRS object.
+     */
+    private final class UsageMembers {
+
+        private String scope;
+        private final List<Extent> extents = new ArrayList<>();
+
+        /**
+         * Reads the member when it belongs to a usage.
+         * @param member member name
+         * @return True when the member has been read
+         */
+        private boolean readMember(final String member) {
+            switch (member) {
+                case "scope":
+                    scope = in.nextString();
+                    return true;
+                case "area":
+                    extents.add(new ExtentFactory.AreaDescription(in.nextString()));
+                    return true;
+                case "bbox":
+                    extents.add(readBbox());
+                    return true;
+                case "vertical_extent":
+                    extents.add(readVerticalExtent());
+                    return true;
+                case "temporal_extent":
+                    extents.add(readTemporalExtent());
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private boolean isDefined() {
+            return scope != null || !extents.isEmpty();
+        }
+
+        private Usage toUsage() {
+            return new Usage(new Scope(scope == null ? UNKNOWN_SCOPE : scope), extents);
+        }
+    }
+}
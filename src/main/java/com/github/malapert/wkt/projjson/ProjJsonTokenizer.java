@@ -0,0 +1,492 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.projjson;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal pull tokenizer for the JSON documents read by {@link ProjJsonReader}.
+ *
+ * The tokenizer reads its input through a fixed size buffer and never builds
+ * a tree : the caller walks the document with {@link #peek()} and the
+ * {@code beginXxx}/{@code endXxx}/{@code nextXxx} methods. Numbers are
+ * returned as their literal text so that no precision is lost when they are
+ * stored in the {@code BigDecimal} fields of the object model.
+ *
+ * @author Jean-Christophe Malapert
+ */
+final class ProjJsonTokenizer {
+
+    /**
+     * JSON tokens.
+     */
+    enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        NAME,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END_DOCUMENT
+    }
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?");
+
+    private final Reader in;
+    private final char[] buffer = new char[4096];
+    private int pos = 0;
+    private int limit = 0;
+    private long offset = 0;
+
+    private int[] stack = new int[32];
+    private int stackSize = 1;
+
+    private Token peeked = null;
+    private String value = null;
+
+    /**
+     * Creates a tokenizer reading the characters from <i>in</i>.
+     * @param in the JSON stream
+     */
+    ProjJsonTokenizer(final Reader in) {
+        this.in = in;
+        this.stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Creates a tokenizer reading the characters from <i>json</i>.
+     * @param json the JSON document
+     */
+    ProjJsonTokenizer(final String json) {
+        this(new StringReader(json));
+    }
+
+    /**
+     * Returns the type of the next token without consuming it.
+     * @return the next token
+     */
+    Token peek() {
+        if (peeked != null) {
+            return peeked;
+        }
+        final int context = stack[stackSize - 1];
+        int c;
+        switch (context) {
+            case EMPTY_ARRAY:
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    peeked = Token.END_ARRAY;
+                    return peeked;
+                }
+                pos--;
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    peeked = Token.END_ARRAY;
+                    return peeked;
+                } else if (c != ',') {
+                    throw syntaxError("Expected ',' or ']' but found " + describe(c));
+                }
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    peeked = Token.END_OBJECT;
+                    return peeked;
+                }
+                if (context == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Expected ',' or '}' but found " + describe(c));
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected a member name but found " + describe(c));
+                }
+                stack[stackSize - 1] = DANGLING_NAME;
+                value = readString();
+                peeked = Token.NAME;
+                return peeked;
+            case DANGLING_NAME:
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                c = nextNonWhitespace();
+                if (c != ':') {
+                    throw syntaxError("Expected ':' but found " + describe(c));
+                }
+                break;
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            case NONEMPTY_DOCUMENT:
+                c = nextNonWhitespace();
+                if (c != -1) {
+                    throw syntaxError("Unexpected data after the end of the document: " + describe(c));
+                }
+                peeked = Token.END_DOCUMENT;
+                return peeked;
+            default:
+                throw new IllegalStateException();
+        }
+        return peekValue();
+    }
+
+    /**
+     * Returns true when the current array or object has another element.
+     * @return True when the next token is not the end of the array or object
+     */
+    boolean hasNext() {
+        final Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    /**
+     * Consumes the beginning of an object.
+     */
+    void beginObject() {
+        expect(Token.BEGIN_OBJECT);
+        peeked = null;
+    }
+
+    /**
+     * Consumes the end of an object.
+     */
+    void endObject() {
+        expect(Token.END_OBJECT);
+        peeked = null;
+        stackSize--;
+    }
+
+    /**
+     * Consumes the beginning of an array.
+     */
+    void beginArray() {
+        expect(Token.BEGIN_ARRAY);
+        peeked = null;
+    }
+
+    /**
+     * Consumes the end of an array.
+     */
+    void endArray() {
+        expect(Token.END_ARRAY);
+        peeked = null;
+        stackSize--;
+    }
+
+    /**
+     * Consumes a member name and returns it.
+     * @return the member name
+     */
+    String nextName() {
+        expect(Token.NAME);
+        peeked = null;
+        return value;
+    }
+
+    /**
+     * Consumes a string value and returns it.
+     * @return the string
+     */
+    String nextString() {
+        expect(Token.STRING);
+        peeked = null;
+        return value;
+    }
+
+    /**
+     * Consumes a number and returns its literal text.
+     * @return the number as written in the document
+     */
+    String nextNumber() {
+        expect(Token.NUMBER);
+        peeked = null;
+        return value;
+    }
+
+    /**
+     * Consumes a number or a string and returns its text.
+     * @return the scalar value as text
+     */
+    String nextScalar() {
+        final Token token = peek();
+        if (token != Token.NUMBER && token != Token.STRING) {
+            throw syntaxError("Expected a number or a string but found " + token);
+        }
+        peeked = null;
+        return value;
+    }
+
+    /**
+     * Consumes a boolean and returns it.
+     * @return the boolean
+     */
+    boolean nextBoolean() {
+        expect(Token.BOOLEAN);
+        peeked = null;
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Consumes a null literal.
+     */
+    void nextNull() {
+        expect(Token.NULL);
+        peeked = null;
+    }
+
+    /**
+     * Skips the next value, including nested objects and arrays.
+     */
+    void skipValue() {
+        int depth = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    depth++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    depth--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    depth--;
+                    break;
+                case END_DOCUMENT:
+                    throw syntaxError("Unexpected end of document");
+                default:
+                    peeked = null;
+                    break;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Returns the number of characters consumed so far.
+     * @return the offset in the stream
+     */
+    long getOffset() {
+        return offset - limit + pos;
+    }
+
+    /**
+     * Creates a syntax error positioned at the current offset.
+     * @param message error message
+     * @return the exception to throw
+     */
+    RuntimeException syntaxError(final String message) {
+        return new RuntimeException(message + " at offset " + getOffset());
+    }
+
+    private void expect(final Token expected) {
+        final Token token = peek();
+        if (token != expected) {
+            throw syntaxError("Expected " + expected + " but found " + token);
+        }
+    }
+
+    private Token peekValue() {
+        final int c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                push(EMPTY_OBJECT);
+                peeked = Token.BEGIN_OBJECT;
+                break;
+            case '[':
+                push(EMPTY_ARRAY);
+                peeked = Token.BEGIN_ARRAY;
+                break;
+            case '"':
+                value = readString();
+                peeked = Token.STRING;
+                break;
+            case 't':
+                readLiteral("rue");
+                value = "true";
+                peeked = Token.BOOLEAN;
+                break;
+            case 'f':
+                readLiteral("alse");
+                value = "false";
+                peeked = Token.BOOLEAN;
+                break;
+            case 'n':
+                readLiteral("ull");
+                value = null;
+                peeked = Token.NULL;
+                break;
+            case -1:
+                throw syntaxError("Unexpected end of document");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    value = readNumber((char) c);
+                    peeked = Token.NUMBER;
+                } else {
+                    throw syntaxError("Unexpected character " + describe(c));
+                }
+        }
+        return peeked;
+    }
+
+    private void push(final int context) {
+        if (stackSize == stack.length) {
+            final int[] newStack = new int[stackSize * 2];
+            System.arraycopy(stack, 0, newStack, 0, stackSize);
+            stack = newStack;
+        }
+        stack[stackSize++] = context;
+    }
+
+    private boolean fill() {
+        try {
+            final int n = in.read(buffer, 0, buffer.length);
+            if (n <= 0) {
+                return false;
+            }
+            offset += n;
+            pos = 0;
+            limit = n;
+            return true;
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private int read() {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+
+    private int nextNonWhitespace() {
+        int c = read();
+        while (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+            c = read();
+        }
+        return c;
+    }
+
+    private void readLiteral(final String rest) {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw syntaxError("Invalid literal");
+            }
+        }
+    }
+
+    private String readString() {
+        final StringBuilder str = new StringBuilder();
+        while (true) {
+            final int c = read();
+            if (c == -1) {
+                throw syntaxError("Unterminated string");
+            } else if (c == '"') {
+                return str.toString();
+            } else if (c == '\\') {
+                final int escaped = read();
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        str.append((char) escaped);
+                        break;
+                    case 'b':
+                        str.append('\b');
+                        break;
+                    case 'f':
+                        str.append('\f');
+                        break;
+                    case 'n':
+                        str.append('\n');
+                        break;
+                    case 'r':
+                        str.append('\r');
+                        break;
+                    case 't':
+                        str.append('\t');
+                        break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            final int digit = Character.digit(read(), 16);
+                            if (digit < 0) {
+                                throw syntaxError("Invalid unicode escape");
+                            }
+                            code = (code << 4) | digit;
+                        }
+                        str.append((char) code);
+                        break;
+                    default:
+                        throw syntaxError("Invalid escape sequence");
+                }
+            } else {
+                str.append((char) c);
+            }
+        }
+    }
+
+    private String readNumber(final char first) {
+        final StringBuilder str = new StringBuilder();
+        str.append(first);
+        while (true) {
+            if (pos == limit && !fill()) {
+                break;
+            }
+            final char c = buffer[pos];
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                str.append(c);
+                pos++;
+            } else {
+                break;
+            }
+        }
+        final String number = str.toString();
+        if (!NUMBER_PATTERN.matcher(number).matches()) {
+            throw syntaxError("Invalid number " + number);
+        }
+        return number;
+    }
+
+    private static String describe(final int c) {
+        return c == -1 ? "end of document" : "'" + (char) c + "'";
+    }
+}
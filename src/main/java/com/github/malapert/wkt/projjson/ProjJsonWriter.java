@@ -0,0 +1,597 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.projjson;
+
+import com.github.malapert.wkt.conversion.Conversion;
+import com.github.malapert.wkt.crs.AbstractDerivatedCoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.BaseDerivatedCrsFactory.BaseGeodeticCrs;
+import com.github.malapert.wkt.crs.CompoundCrs;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.DerivedGeodeticCrs;
+import com.github.malapert.wkt.crs.EngineeringCrs;
+import com.github.malapert.wkt.crs.GeodeticCrs;
+import com.github.malapert.wkt.crs.ParametricCrs;
+import com.github.malapert.wkt.crs.ProjectedCrs;
+import com.github.malapert.wkt.crs.TemporalCrs;
+import com.github.malapert.wkt.crs.VerticalCrs;
+import com.github.malapert.wkt.cs.Axis;
+import com.github.malapert.wkt.cs.CoordinateSystem;
+import com.github.malapert.wkt.cs.Ellipsoid;
+import com.github.malapert.wkt.cs.PrimeMeridian;
+import com.github.malapert.wkt.datum.Datum;
+import com.github.malapert.wkt.datum.EngineeringDatum;
+import com.github.malapert.wkt.datum.GeodeticDatum;
+import com.github.malapert.wkt.datum.ParametricDatum;
+import com.github.malapert.wkt.datum.TemporalDatum;
+import com.github.malapert.wkt.datum.VerticalDatum;
+import com.github.malapert.wkt.metadata.Extent;
+import com.github.malapert.wkt.metadata.ExtentFactory;
+import com.github.malapert.wkt.metadata.Identifier;
+import com.github.malapert.wkt.metadata.ScopeExtent;
+import com.github.malapert.wkt.metadata.Unit;
+import com.github.malapert.wkt.metadata.UnitFactory;
+import com.github.malapert.wkt.metadata.Usage;
+import com.github.malapert.wkt.parameter.AbstractOperation;
+import com.github.malapert.wkt.parameter.Operation;
+import com.github.malapert.wkt.utils.Utils;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Writes the object model as a PROJJSON document.
+ *
+ * The document is written directly in a buffer while walking the object
+ * model; the supported CRS types are the ones read by {@link ProjJsonReader}.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class ProjJsonWriter {
+
+    private static final String SCHEMA = "https://proj.org/schemas/v0.7/projjson.schema.json";
+
+    private final StringBuilder json = new StringBuilder();
+    private final String endLine;
+    private final String tab;
+    private int deepLevel;
+    private boolean first = true;
+    private boolean afterName;
+
+    private ProjJsonWriter(final String endLine, final String tab) {
+        this.endLine = endLine;
+        this.tab = tab;
+    }
+
+    /**
+     * Returns the compact PROJJSON document of a CRS.
+     * @param crs coordinate reference system
+     * @return the PROJJSON document
+     */
+    public static String toProjJson(final CoordinateReferenceSystem crs) {
+        return toProjJson(crs, "", "");
+    }
+
+    /**
+     * Returns the PROJJSON document of a CRS.
+     * @param crs coordinate reference system
+     * @param endLine end of line character
+     * @param tab indentation
+     * @return the PROJJSON document
+     */
+    public static String toProjJson(final CoordinateReferenceSystem crs, final String endLine, final String tab) {
+        final ProjJsonWriter writer = new ProjJsonWriter(endLine, tab);
+        writer.writeCrs(crs, true);
+        return writer.json.toString();
+    }
+
+    private void writeCrs(final CoordinateReferenceSystem crs, final boolean root) {
+        beginObject();
+        if (root) {
+            member("$schema").string(SCHEMA);
+        }
+        member("type").string(crsType(crs));
+        member("name").string(Utils.removeQuotes(crs.getCrsName()));
+        if (crs instanceof CompoundCrs) {
+            member("components").beginArray();
+            for (final CoordinateReferenceSystem component : ((CompoundCrs) crs).getComponents()) {
+                writeCrs(component, false);
+            }
+            endArray();
+        } else if (crs instanceof AbstractDerivatedCoordinateReferenceSystem) {
+            final AbstractDerivatedCoordinateReferenceSystem derivedCrs = (AbstractDerivatedCoordinateReferenceSystem) crs;
+            member("base_crs");
+            writeBaseGeodeticCrs((BaseGeodeticCrs) derivedCrs.getBaseDerivatedCrs());
+            member("conversion");
+            writeConversion(derivedCrs.getConversionFromBaseCrs());
+            member("coordinate_system");
+            writeCoordinateSystem(crs.getCs());
+        } else {
+            member("datum");
+            writeDatum(crs.getCrsDatum());
+            member("coordinate_system");
+            writeCoordinateSystem(crs.getCs());
+        }
+        writeScopeExtent(ProjJsonReader.scopeExtentOf(crs));
+        endObject();
+    }
+
+    private void writeBaseGeodeticCrs(final BaseGeodeticCrs baseCrs) {
+        beginObject();
+        member("type").string(baseCrs.getAngleUnit() == null ? ProjJsonReader.GEODETIC_CRS : ProjJsonReader.GEOGRAPHIC_CRS);
+        member("name").string(Utils.removeQuotes(baseCrs.getBaseCrsName()));
+        member("datum");
+        writeDatum(baseCrs.getDatum());
+        if (baseCrs.getAngleUnit() != null) {
+            // PROJJSON requires a CS; WKT only keeps the angle unit of the base CRS
+            member("coordinate_system").beginObject();
+            member("subtype").string(CoordinateSystem.CsType.ellipsoidal.name());
+            member("axis").beginArray();
+            writeBaseAxis("Geodetic latitude", "Lat", "north", baseCrs.getAngleUnit());
+            writeBaseAxis("Geodetic longitude", "Lon", "east", baseCrs.getAngleUnit());
+            endArray();
+            endObject();
+        }
+        endObject();
+    }
+
+    private void writeBaseAxis(final String name, final String abbreviation, final String direction, final Unit unit) {
+        beginObject();
+        member("name").string(name);
+        member("abbreviation").string(abbreviation);
+        member("direction").string(direction);
+        member("unit");
+        writeUnit(unit);
+        endObject();
+    }
+
+    private void writeDatum(final Datum datum) {
+        beginObject();
+        member("type").string(datumType(datum));
+        member("name").string(Utils.removeQuotes(datum.getDatumName()));
+        if (datum.getAnchor() != null) {
+            member("anchor").string(datum.getAnchor().getDescription());
+        }
+        if (datum instanceof TemporalDatum && ((TemporalDatum) datum).getTemporalOrigin() != null) {
+            member("time_origin").string(((TemporalDatum) datum).getTemporalOrigin().getDescription());
+        }
+        if (datum instanceof GeodeticDatum) {
+            final GeodeticDatum geodeticDatum = (GeodeticDatum) datum;
+            member("ellipsoid");
+            writeEllipsoid(geodeticDatum.getEllipsoid());
+            if (geodeticDatum.getPrimeMeridian() != null) {
+                member("prime_meridian");
+                writePrimeMeridian(geodeticDatum.getPrimeMeridian());
+            }
+        }
+        writeIdentifiers(datum.getIdentifierList());
+        endObject();
+    }
+
+    private void writeEllipsoid(final Ellipsoid ellipsoid) {
+        beginObject();
+        member("name").string(Utils.removeQuotes(ellipsoid.getEllipsoidName()));
+        final boolean isSphere = ellipsoid.getInverFlatteningValue().signum() == 0;
+        member(isSphere ? "radius" : "semi_major_axis");
+        writeValueAndUnit(ellipsoid.getSemiMajorAxisValue(), ellipsoid.getLengthUnit(), ProjJsonReader.METRE);
+        if (!isSphere) {
+            member("inverse_flattening").number(ellipsoid.getInverFlatteningValue());
+        }
+        writeIdentifiers(ellipsoid.getIdentifierList());
+        endObject();
+    }
+
+    private void writePrimeMeridian(final PrimeMeridian primeMeridian) {
+        beginObject();
+        member("name").string(Utils.removeQuotes(primeMeridian.getMeridianName()));
+        member("longitude");
+        writeValueAndUnit(primeMeridian.getLongitudeValue(), primeMeridian.getAngleUnit(), ProjJsonReader.DEGREE);
+        writeIdentifiers(primeMeridian.getIdentifierList());
+        endObject();
+    }
+
+    private void writeValueAndUnit(final BigDecimal value, final Unit unit, final String defaultUnit) {
+        if (unit == null || defaultUnit.equals(shorthand(unit))) {
+            number(value);
+        } else {
+            beginObject();
+            member("value").number(value);
+            member("unit");
+            writeUnit(unit);
+            endObject();
+        }
+    }
+
+    private void writeConversion(final Conversion conversion) {
+        beginObject();
+        member("name").string(Utils.removeQuotes(conversion.getName()));
+        member("method").beginObject();
+        member("name").string(Utils.removeQuotes(conversion.getMethod().getMethodName()));
+        writeIdentifiers(conversion.getMethod().getIdentifierList());
+        endObject();
+        if (!conversion.getParameters().isEmpty()) {
+            member("parameters").beginArray();
+            for (final Operation parameter : conversion.getParameters()) {
+                writeParameter(parameter);
+            }
+            endArray();
+        }
+        writeIdentifiers(conversion.getIdentifiers());
+        endObject();
+    }
+
+    private void writeParameter(final Operation parameter) {
+        beginObject();
+        member("name").string(Utils.removeQuotes(parameter.getParameterName()));
+        final String value = parameter.getParameterValueOrFile();
+        member("value");
+        if (value.startsWith("\"") || !Utils.isNumeric(value)) {
+            string(Utils.removeQuotes(value));
+        } else {
+            number(new BigDecimal(value));
+        }
+        if (parameter instanceof AbstractOperation && ((AbstractOperation) parameter).getParameterUnit() != null) {
+            member("unit");
+            writeUnit(((AbstractOperation) parameter).getParameterUnit());
+        }
+        writeIdentifiers(parameter.getIdentifierList());
+        endObject();
+    }
+
+    private void writeCoordinateSystem(final CoordinateSystem cs) {
+        beginObject();
+        member("subtype").string(csSubtype(cs));
+        member("axis").beginArray();
+        for (final Axis axis : cs.getAxisList()) {
+            writeAxis(axis, axis.getAxisUnit() == null ? cs.getUnit() : axis.getAxisUnit());
+        }
+        endArray();
+        writeIdentifiers(cs.getIdentifierList());
+        endObject();
+    }
+
+    private void writeAxis(final Axis axis, final Unit unit) {
+        final String nameAbbrev = Utils.removeQuotes(axis.getNameAbbrev());
+        final int start = nameAbbrev.lastIndexOf('(');
+        final int stop = nameAbbrev.lastIndexOf(')');
+        final String name;
+        final String abbreviation;
+        if (start >= 0 && stop > start) {
+            name = nameAbbrev.substring(0, start).trim();
+            abbreviation = nameAbbrev.substring(start + 1, stop).trim();
+        } else {
+            name = nameAbbrev;
+            abbreviation = "";
+        }
+        beginObject();
+        member("name").string(name.isEmpty() ? abbreviation : name);
+        member("abbreviation").string(abbreviation);
+        member("direction").string(axis.getDirection());
+        if (unit != null) {
+            member("unit");
+            writeUnit(unit);
+        }
+        writeIdentifiers(axis.getIdentifierList());
+        endObject();
+    }
+
+    private void writeUnit(final Unit unit) {
+        final String shorthand = shorthand(unit);
+        if (shorthand != null) {
+            string(shorthand);
+            return;
+        }
+        beginObject();
+        member("type").string(unitType(unit));
+        member("name").string(Utils.removeQuotes(unit.getUnitName()));
+        if (unit.getConversionFactorValue() != null) {
+            member("conversion_factor").number(unit.getConversionFactorValue());
+        }
+        writeIdentifiers(unit.getIdentifierList());
+        endObject();
+    }
+
+    private void writeScopeExtent(final ScopeExtent scopeExtent) {
+        if (scopeExtent == null) {
+            return;
+        }
+        final List<Usage> usages = scopeExtent.getUsageList();
+        if (usages.size() == 1) {
+            writeUsageMembers(usages.get(0));
+        } else if (usages.size() > 1) {
+            member("usages").beginArray();
+            for (final Usage usage : usages) {
+                beginObject();
+                writeUsageMembers(usage);
+                endObject();
+            }
+            endArray();
+        }
+        if (scopeExtent.getRemark() != null) {
+            member("remarks").string(scopeExtent.getRemark().getText());
+        }
+        writeIdentifiers(scopeExtent.getIdentifierList());
+    }
+
+    private void writeUsageMembers(final Usage usage) {
+        member("scope").string(usage.getScope().getDescription());
+        for (final Extent extent : usage.getExtentList()) {
+            if (extent.getAreaDescription() != null) {
+                member("area").string(Utils.removeQuotes(extent.getAreaDescription().getDescription()));
+            } else if (extent.getGeographicElement() != null) {
+                final ExtentFactory.GeographicBoundingBox bbox = extent.getGeographicElement();
+                member("bbox").beginObject();
+                member("south_latitude").number(bbox.getLowerLeftLatitudeValue());
+                member("west_longitude").number(bbox.getLowerLeftLongitudeValue());
+                member("north_latitude").number(bbox.getUpperRightLatitudeValue());
+                member("east_longitude").number(bbox.getUpperRightLongitudeValue());
+                endObject();
+            } else if (extent.getVerticalElement() != null) {
+                final ExtentFactory.VerticalExtent verticalExtent = extent.getVerticalElement();
+                member("vertical_extent").beginObject();
+                member("minimum").number(verticalExtent.getMinimumHeightValue());
+                member("maximum").number(verticalExtent.getMaximumHeightValue());
+                if (verticalExtent.getLengthUnit() != null) {
+                    member("unit");
+                    writeUnit(verticalExtent.getLengthUnit());
+                }
+                endObject();
+            } else if (extent.getTemporalElement() != null) {
+                final ExtentFactory.TemporalExtent temporalExtent = extent.getTemporalElement();
+                member("temporal_extent").beginObject();
+                member("start").string(Utils.removeQuotes(temporalExtent.getStart()));
+                member("end").string(Utils.removeQuotes(temporalExtent.getStop()));
+                endObject();
+            }
+        }
+    }
+
+    private void writeIdentifiers(final List<Identifier> identifiers) {
+        if (identifiers.size() == 1) {
+            member("id");
+            writeIdentifier(identifiers.get(0));
+        } else if (identifiers.size() > 1) {
+            member("ids").beginArray();
+            for (final Identifier identifier : identifiers) {
+                writeIdentifier(identifier);
+            }
+            endArray();
+        }
+    }
+
+    private void writeIdentifier(final Identifier identifier) {
+        beginObject();
+        member("authority").string(identifier.getAuthorityName());
+        member("code");
+        final String code = identifier.getAuthorityUniqueIdentifier();
+        if (code.matches("-?\\d+")) {
+            literal(code);
+        } else {
+            string(code);
+        }
+        if (identifier.getVersion() != null) {
+            member("version").string(identifier.getVersion());
+        }
+        if (identifier.getCitation() != null) {
+            member("authority_citation").string(Utils.removeQuotes(identifier.getCitation().getDescription()));
+        }
+        if (identifier.getUri() != null) {
+            member("uri").string(identifier.getUri().getDescription());
+        }
+        endObject();
+    }
+
+    private static String crsType(final CoordinateReferenceSystem crs) {
+        final boolean isEllipsoidal = crs.getCs() != null && crs.getCs().getCsType() == CoordinateSystem.CsType.ellipsoidal;
+        if (crs instanceof DerivedGeodeticCrs) {
+            return isEllipsoidal ? ProjJsonReader.DERIVED_GEOGRAPHIC_CRS : ProjJsonReader.DERIVED_GEODETIC_CRS;
+        } else if (crs instanceof ProjectedCrs) {
+            return ProjJsonReader.PROJECTED_CRS;
+        } else if (crs instanceof GeodeticCrs) {
+            return isEllipsoidal ? ProjJsonReader.GEOGRAPHIC_CRS : ProjJsonReader.GEODETIC_CRS;
+        } else if (crs instanceof VerticalCrs) {
+            return ProjJsonReader.VERTICAL_CRS;
+        } else if (crs instanceof EngineeringCrs) {
+            return ProjJsonReader.ENGINEERING_CRS;
+        } else if (crs instanceof ParametricCrs) {
+            return ProjJsonReader.PARAMETRIC_CRS;
+        } else if (crs instanceof TemporalCrs) {
+            return ProjJsonReader.TEMPORAL_CRS;
+        } else if (crs instanceof CompoundCrs) {
+            return ProjJsonReader.COMPOUND_CRS;
+        } else {
+            throw new RuntimeException("Unsupported CRS for PROJJSON: " + crs.getClass().getSimpleName());
+        }
+    }
+
+    private static String datumType(final Datum datum) {
+        if (datum instanceof GeodeticDatum) {
+            return ProjJsonReader.GEODETIC_REFERENCE_FRAME;
+        } else if (datum instanceof VerticalDatum) {
+            return ProjJsonReader.VERTICAL_REFERENCE_FRAME;
+        } else if (datum instanceof EngineeringDatum) {
+            return ProjJsonReader.ENGINEERING_DATUM;
+        } else if (datum instanceof ParametricDatum) {
+            return ProjJsonReader.PARAMETRIC_DATUM;
+        } else if (datum instanceof TemporalDatum) {
+            return ProjJsonReader.TEMPORAL_DATUM;
+        } else {
+            throw new RuntimeException("Unsupported datum for PROJJSON: " + datum.getClass().getSimpleName());
+        }
+    }
+
+    private static String csSubtype(final CoordinateSystem cs) {
+        if (cs.getCsType() != CoordinateSystem.CsType.temporal) {
+            return cs.getCsType().name();
+        }
+        final Unit unit = cs.getAxisList().isEmpty() || cs.getAxisList().get(0).getAxisUnit() == null
+                ? cs.getUnit() : cs.getAxisList().get(0).getAxisUnit();
+        return unit == null ? ProjJsonReader.TEMPORAL_DATE_TIME : ProjJsonReader.TEMPORAL_MEASURE;
+    }
+
+    private static String unitType(final Unit unit) {
+        if (unit instanceof UnitFactory.LengthUnit) {
+            return ProjJsonReader.LINEAR_UNIT;
+        } else if (unit instanceof UnitFactory.AngleUnit) {
+            return ProjJsonReader.ANGULAR_UNIT;
+        } else if (unit instanceof UnitFactory.ScaleUnit) {
+            return ProjJsonReader.SCALE_UNIT;
+        } else if (unit instanceof UnitFactory.TimeUnit) {
+            return ProjJsonReader.TIME_UNIT;
+        } else if (unit instanceof UnitFactory.ParametricUnit) {
+            return ProjJsonReader.PARAMETRIC_UNIT;
+        } else {
+            return "Unit";
+        }
+    }
+
+    /**
+     * Returns the PROJJSON shorthand of a unit.
+     * @param unit unit
+     * @return "metre", "degree", "unity" or null when the unit has no shorthand
+     */
+    private static String shorthand(final Unit unit) {
+        final String name = Utils.removeQuotes(unit.getUnitName());
+        final BigDecimal factor = unit.getConversionFactorValue();
+        if (!unit.getIdentifierList().isEmpty() || factor == null) {
+            return null;
+        } else if (unit instanceof UnitFactory.LengthUnit && ProjJsonReader.METRE.equals(name) && factor.compareTo(BigDecimal.ONE) == 0) {
+            return ProjJsonReader.METRE;
+        } else if (unit instanceof UnitFactory.AngleUnit && ProjJsonReader.DEGREE.equals(name) && factor.compareTo(ProjJsonReader.DEGREE_FACTOR) == 0) {
+            return ProjJsonReader.DEGREE;
+        } else if (unit instanceof UnitFactory.ScaleUnit && ProjJsonReader.UNITY.equals(name) && factor.compareTo(BigDecimal.ONE) == 0) {
+            return ProjJsonReader.UNITY;
+        } else {
+            return null;
+        }
+    }
+
+    private ProjJsonWriter beginObject() {
+        return open('{');
+    }
+
+    private ProjJsonWriter endObject() {
+        return close('}');
+    }
+
+    private ProjJsonWriter beginArray() {
+        return open('[');
+    }
+
+    private ProjJsonWriter endArray() {
+        return close(']');
+    }
+
+    private ProjJsonWriter open(final char bracket) {
+        separator();
+        json.append(bracket);
+        deepLevel++;
+        first = true;
+        return this;
+    }
+
+    private ProjJsonWriter close(final char bracket) {
+        deepLevel--;
+        if (!first) {
+            newLine();
+        }
+        json.append(bracket);
+        first = false;
+        return this;
+    }
+
+    /**
+     * Writes a member name; the next written value is its value.
+     */
+    private ProjJsonWriter member(final String name) {
+        separator();
+        quote(name);
+        json.append(':');
+        if (!endLine.isEmpty()) {
+            json.append(' ');
+        }
+        afterName = true;
+        return this;
+    }
+
+    private ProjJsonWriter string(final String value) {
+        separator();
+        quote(value);
+        first = false;
+        return this;
+    }
+
+    private ProjJsonWriter number(final BigDecimal value) {
+        return literal(value.toString());
+    }
+
+    private ProjJsonWriter literal(final String value) {
+        separator();
+        json.append(value);
+        first = false;
+        return this;
+    }
+
+    private void separator() {
+        if (afterName) {
+            // the value follows its member name on the same line
+            afterName = false;
+            return;
+        }
+        if (!first) {
+            json.append(',');
+        }
+        if (deepLevel > 0) {
+            newLine();
+        }
+    }
+
+    private void newLine() {
+        json.append(endLine).append(Utils.makeSpaces(tab, deepLevel));
+    }
+
+    private void quote(final String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,207 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.stream;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the CRS read from a stream of WKT definitions.
+ *
+ * A definition is read from the stream and parsed only when the subscriber
+ * has requested it, so the memory used does not depend on the size of the
+ * stream. The stream can be consumed by a single subscriber ; it is closed
+ * when the stream ends, on error or when the subscription is cancelled.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class WktPublisher implements Flow.Publisher<CoordinateReferenceSystem> {
+
+    private final WktSplitter splitter;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Creates a publisher on a UTF-8 stream, delivering on the common pool.
+     * @param in WKT stream
+     */
+    public WktPublisher(final InputStream in) {
+        this(Channels.newChannel(in), StandardCharsets.UTF_8, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a publisher.
+     * @param channel WKT stream
+     * @param charset encoding of the stream
+     * @param executor executor reading, parsing and delivering the definitions
+     */
+    public WktPublisher(final ReadableByteChannel channel, final Charset charset, final Executor executor) {
+        this(new WktSplitter(channel, charset, WktSplitter.DEFAULT_MAX_LENGTH), executor);
+    }
+
+    /**
+     * Creates a publisher.
+     * @param splitter splitter of the WKT stream
+     * @param executor executor reading, parsing and delivering the definitions
+     */
+    public WktPublisher(final WktSplitter splitter, final Executor executor) {
+        this.splitter = splitter;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super CoordinateReferenceSystem> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber cannot be null");
+        }
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("The WKT stream has already been subscribed"));
+            return;
+        }
+        final WktSubscription subscription = new WktSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Reads and parses the definitions requested by the subscriber. A single
+     * drain loop runs at a time.
+     */
+    private final class WktSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super CoordinateReferenceSystem> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+        private volatile Throwable invalidRequest;
+
+        private WktSubscription(final Flow.Subscriber<? super CoordinateReferenceSystem> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("The request must be positive, got " + n);
+                schedule();
+                return;
+            }
+            long current;
+            long next;
+            do {
+                current = demand.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!demand.compareAndSet(current, next));
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (!done) {
+                done = true;
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (done) {
+                    closeSplitter();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    terminate(invalidRequest);
+                    return;
+                }
+                final long requested = demand.get();
+                long emitted = 0;
+                while (emitted != requested && !done) {
+                    final String wkt;
+                    final CoordinateReferenceSystem crs;
+                    try {
+                        wkt = splitter.next();
+                        if (wkt == null) {
+                            done = true;
+                            closeSplitter();
+                            subscriber.onComplete();
+                            return;
+                        }
+                        crs = CoordinateReferenceSystemFactory.createFromWkt(wkt);
+                    } catch (IOException | RuntimeException ex) {
+                        terminate(ex);
+                        return;
+                    }
+                    subscriber.onNext(crs);
+                    emitted++;
+                }
+                if (emitted != 0 && requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void terminate(final Throwable error) {
+            if (done) {
+                return;
+            }
+            done = true;
+            closeSplitter();
+            subscriber.onError(error);
+        }
+
+        private void closeSplitter() {
+            try {
+                splitter.close();
+            } catch (IOException ex) {
+                // the stream is no longer used
+            }
+        }
+    }
+}
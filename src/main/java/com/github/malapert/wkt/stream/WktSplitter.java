@@ -0,0 +1,168 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Splits a stream of WKT definitions on the balance of the top-level
+ * brackets.
+ *
+ * The stream is decoded by chunks and only the definition being read is kept
+ * in memory. Separators between definitions (white spaces, commas and
+ * semicolons) are ignored. Brackets inside quoted text are not counted.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class WktSplitter implements Closeable {
+
+    /**
+     * Default maximum length of a definition, in characters.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 16 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final int maxLength;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder definition = new StringBuilder();
+    private boolean endOfInput;
+    private boolean flushed;
+    private long position;
+
+    /**
+     * Creates a splitter.
+     * @param channel WKT stream
+     * @param charset encoding of the stream
+     * @param maxLength maximum length of a definition, in characters
+     */
+    public WktSplitter(final ReadableByteChannel channel, final Charset charset, final int maxLength) {
+        this.channel = channel;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.maxLength = maxLength;
+        this.chars.flip();
+    }
+
+    /**
+     * Reads the next definition.
+     * @return the next definition or null at the end of the stream
+     * @throws IOException when the stream cannot be read
+     */
+    public String next() throws IOException {
+        definition.setLength(0);
+        int depth = 0;
+        boolean isDoubleQuoteOpen = false;
+        while (true) {
+            if (!chars.hasRemaining() && !fill()) {
+                if (definition.length() == 0) {
+                    return null;
+                }
+                throw new RuntimeException("Unbalanced WKT definition at the end of the stream : " + abbreviate());
+            }
+            final char ch = chars.get();
+            position++;
+            if (definition.length() == 0 && isSeparator(ch)) {
+                continue;
+            }
+            if (definition.length() == maxLength) {
+                throw new RuntimeException("WKT definition longer than " + maxLength + " characters at offset " + position);
+            }
+            definition.append(ch);
+            if (ch == '"') {
+                isDoubleQuoteOpen = !isDoubleQuoteOpen;
+            } else if (isDoubleQuoteOpen) {
+                continue;
+            } else if (ch == '[' || ch == '(') {
+                depth++;
+            } else if (ch == ']' || ch == ')') {
+                depth--;
+                if (depth < 0) {
+                    throw new RuntimeException("Unmatched '" + ch + "' at offset " + position);
+                }
+                if (depth == 0) {
+                    return definition.toString();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of characters read.
+     * @return the number of characters read
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Decodes the next chunk of the stream.
+     * @return False at the end of the stream
+     */
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (chars.position() == 0 && !flushed) {
+            if (!endOfInput && channel.read(bytes) < 0) {
+                endOfInput = true;
+            }
+            bytes.flip();
+            final CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            bytes.compact();
+            checkResult(result);
+            if (endOfInput && !result.isOverflow()) {
+                checkResult(decoder.flush(chars));
+                flushed = true;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    private static void checkResult(final CoderResult result) throws CharacterCodingException {
+        if (result.isError()) {
+            result.throwException();
+        }
+    }
+
+    private static boolean isSeparator(final char ch) {
+        return Character.isWhitespace(ch) || ch == ',' || ch == ';';
+    }
+
+    private String abbreviate() {
+        return definition.length() <= 64 ? definition.toString() : definition.substring(0, 64) + "...";
+    }
+}
@@ -0,0 +1,193 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import com.github.malapert.wkt.metadata.WktDescription;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pool of canonical leaf components.
+ *
+ * The pool is disabled by default. When it is enabled, the parsers and the
+ * factories replace each unit, ellipsoid, prime meridian and datum by the
+ * first instance equal to it, the components being compared on their
+ * defining fields. A large catalog then keeps one instance of
+ * LENGTHUNIT["metre",1] or ELLIPSOID["WGS 84",...] and components can be
+ * compared by identity.
+ *
+ * <pre>
+ * {@code
+ * CanonicalPool.enable();
+ * CoordinateReferenceSystem crs1 = CoordinateReferenceSystemFactory.createFromWkt(wkt1);
+ * CoordinateReferenceSystem crs2 = CoordinateReferenceSystemFactory.createFromWkt(wkt2);
+ * // crs1.getCrsDatum() == crs2.getCrsDatum() when both datums are identical
+ * }
+ * </pre>
+ *
+ * Only {@link Freezable} components are interned and the canonical instances
+ * are frozen, so that a shared component cannot be modified through one of
+ * the objects using it. The pool keeps at most {@link #getMaximumSize()}
+ * instances until it is cleared or disabled; the components parsed once the
+ * pool is full are not shared.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class CanonicalPool {
+
+    /**
+     * Default maximum number of canonical instances.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private static final ConcurrentMap<WktDescription, WktDescription> POOL = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+
+    private static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private CanonicalPool() {
+    }
+
+    /**
+     * Enables the pool with the default maximum size.
+     */
+    public static void enable() {
+        enable(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Enables the pool.
+     * @param size maximum number of canonical instances
+     */
+    public static void enable(final int size) {
+        if (size <= 0) {
+            throw new RuntimeException("The maximum size must be strictly positive: " + size);
+        }
+        maximumSize = size;
+        enabled = true;
+    }
+
+    /**
+     * Disables the pool and releases its instances.
+     */
+    public static void disable() {
+        enabled = false;
+        POOL.clear();
+    }
+
+    /**
+     * Tests if the pool is enabled.
+     * @return True when the components are interned
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the maximum number of canonical instances.
+     * @return the maximum number of canonical instances
+     */
+    public static int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Releases the instances of the pool.
+     */
+    public static void clear() {
+        POOL.clear();
+    }
+
+    /**
+     * Returns the number of canonical instances.
+     * @return the number of canonical instances
+     */
+    public static int size() {
+        return POOL.size();
+    }
+
+    /**
+     * Returns the canonical instance of a component.
+     * @param <T> type of the component
+     * @param component component
+     * @return the canonical instance or the component itself when the pool is
+     * disabled or full, or when the component is not {@link Freezable}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends WktDescription> T intern(final T component) {
+        if (!enabled || !(component instanceof Freezable)) {
+            return component;
+        }
+        final WktDescription canonical = POOL.get(component);
+        if (canonical != null) {
+            return (T) canonical;
+        }
+        if (POOL.size() >= maximumSize) {
+            return component;
+        }
+        ((Freezable) component).freeze();
+        final WktDescription previous = POOL.putIfAbsent(component, component);
+        return previous == null ? component : (T) previous;
+    }
+
+    /**
+     * Tests if two components are structurally identical. Canonical instances
+     * are compared by identity.
+     * @param component1 first component
+     * @param component2 second component
+     * @return True when the components have the same class and the same
+     * defining fields
+     */
+    public static boolean isSame(final WktDescription component1, final WktDescription component2) {
+        return Objects.equals(component1, component2);
+    }
+
+    /**
+     * Raises an exception when a component is frozen; called by the setters
+     * of the {@link Freezable} components.
+     * @param component component to modify
+     * @throws RuntimeException when the component is frozen
+     */
+    public static void checkModifiable(final Freezable component) {
+        if (component.isFrozen()) {
+            throw new RuntimeException(component.getClass().getSimpleName() + " is shared and cannot be modified");
+        }
+    }
+
+    /**
+     * Freezes the elements of a list; called by the {@link Freezable}
+     * components when they are frozen.
+     * @param <T> type of the elements
+     * @param list list to freeze or null
+     * @return the unmodifiable list or null
+     */
+    public static <T extends Freezable> List<T> freeze(final List<T> list) {
+        if (list == null) {
+            return null;
+        }
+        for (final T element : list) {
+            element.freeze();
+        }
+        return Collections.unmodifiableList(list);
+    }
+}
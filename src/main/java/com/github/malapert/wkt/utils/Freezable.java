@@ -0,0 +1,42 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+/**
+ * Component that can be made read-only once complete, so that it can be
+ * shared by several objects.
+ *
+ * The setters of a frozen component raise an exception and its lists are
+ * unmodifiable. Freezing a component freezes the components it owns.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public interface Freezable {
+
+    /**
+     * Makes the component read-only.
+     */
+    void freeze();
+
+    /**
+     * Tests if the component is read-only.
+     * @return true when the component is frozen
+     */
+    boolean isFrozen();
+}
@@ -0,0 +1,201 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Builds the sibling subtrees of a WKT node in parallel.
+ *
+ * Once the WKT elements are indexed, the children of a node that do not
+ * depend on each other (compound components, usages, identifiers, base CRS
+ * and conversion) can be built independently. This mode is disabled by
+ * default ; when it is enabled, the children of a node are built on a
+ * {@link ForkJoinPool} only when the node is larger than a threshold, so
+ * that small documents are still parsed sequentially.
+ *
+ * <pre>
+ * {@code
+ * ParallelParsing.enable(new ForkJoinPool(), ParallelParsing.DEFAULT_THRESHOLD);
+ * CoordinateReferenceSystem crs = CoordinateReferenceSystemFactory.createFromWkt(hugeWkt);
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class ParallelParsing {
+
+    /**
+     * Default size, in characters, from which the children of a node are
+     * built in parallel.
+     */
+    public static final int DEFAULT_THRESHOLD = 64 * 1024;
+
+    private static volatile ForkJoinPool pool;
+    private static volatile int threshold = DEFAULT_THRESHOLD;
+
+    private final boolean parallel;
+
+    private ParallelParsing(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Enables the parallel mode.
+     * @param forkJoinPool pool on which the subtrees are built
+     * @param minSize size, in characters, from which the children of a node
+     * are built in parallel
+     */
+    public static void enable(final ForkJoinPool forkJoinPool, final int minSize) {
+        if (forkJoinPool == null) {
+            throw new IllegalArgumentException("forkJoinPool cannot be null");
+        }
+        threshold = minSize;
+        pool = forkJoinPool;
+    }
+
+    /**
+     * Disables the parallel mode.
+     */
+    public static void disable() {
+        pool = null;
+    }
+
+    /**
+     * Tests whether the parallel mode is enabled.
+     * @return True when the parallel mode is enabled
+     */
+    public static boolean isEnabled() {
+        return pool != null;
+    }
+
+    /**
+     * Returns the builder of the children of a node.
+     * @param parent WKT node
+     * @return a parallel builder when the mode is enabled and the node is
+     * large enough, otherwise a sequential builder
+     */
+    public static ParallelParsing forNode(final WktElt parent) {
+        return new ParallelParsing(pool != null && parent.getStop() - parent.getStart() >= threshold);
+    }
+
+    /**
+     * Tests whether the children are built in parallel.
+     * @return True when the children are built in parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Builds a child, in the background when the builder is parallel.
+     * @param <T> type of the built object
+     * @param node child node
+     * @param builder builder of the child
+     * @return the result
+     */
+    public <T> Result<T> submit(final WktElt node, final Builder<T> builder) {
+        if (!parallel) {
+            return new Result<>(builder.build(node));
+        }
+        final SubtreeTask<T> task = new SubtreeTask<>(Singleton.getInstance().getCollection(), node, builder);
+        final ForkJoinPool forkJoinPool = pool;
+        if (ForkJoinTask.inForkJoinPool() || forkJoinPool == null) {
+            task.fork();
+        } else {
+            forkJoinPool.execute(task);
+        }
+        return new Result<>(task);
+    }
+
+    /**
+     * Builds an object from a WKT node.
+     * @param <T> type of the built object
+     */
+    public interface Builder<T> {
+
+        /**
+         * Builds the object.
+         * @param node WKT node
+         * @return the object
+         */
+        T build(WktElt node);
+    }
+
+    /**
+     * Object being built.
+     * @param <T> type of the built object
+     */
+    public static final class Result<T> {
+
+        private final T value;
+        private final ForkJoinTask<T> task;
+
+        private Result(final T value) {
+            this.value = value;
+            this.task = null;
+        }
+
+        private Result(final ForkJoinTask<T> task) {
+            this.value = null;
+            this.task = task;
+        }
+
+        /**
+         * Waits for the object and returns it.
+         * @return the object
+         */
+        public T get() {
+            return task == null ? value : task.join();
+        }
+    }
+
+    /**
+     * Builds a subtree on a worker thread with the WKT elements of the
+     * submitting thread.
+     */
+    private static final class SubtreeTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient WktEltCollection collection;
+        private final transient WktElt node;
+        private final transient Builder<T> builder;
+
+        private SubtreeTask(final WktEltCollection collection, final WktElt node, final Builder<T> builder) {
+            this.collection = collection;
+            this.node = node;
+            this.builder = builder;
+        }
+
+        @Override
+        protected T compute() {
+            final Singleton singleton = Singleton.getInstance();
+            final WktEltCollection previous = singleton.getCollection();
+            singleton.setCollection(collection);
+            try {
+                return builder.build(node);
+            } finally {
+                singleton.setCollection(previous);
+            }
+        }
+    }
+}
@@ -20,41 +20,46 @@ package com.github.malapert.wkt.utils;
 
 /**
  * Singleton
+ *
+ * The WKT elements being parsed are kept per thread so that several
+ * documents can be parsed at the same time.
+ *
  * @author malapert
  */
 public class Singleton {
     
-    private WktEltCollection collection;
+    private final ThreadLocal<WktEltCollection> collection = new ThreadLocal<>();
 
     /**
      * Returns the instance.
      * @return the instance
      */
     public static Singleton getInstance() {
-        if (null == instance) { // Premier appel
-            instance = new Singleton();
-        }
         return instance;
     }
 
     private Singleton() {
     }
     
-        private static Singleton instance;
+    private static final Singleton instance = new Singleton();
 
     /**
-     * Returns the WKT elements.
+     * Returns the WKT elements of the current thread.
      * @return the collection
      */
     public WktEltCollection getCollection() {
-        return collection;
+        return collection.get();
     }
 
     /**
-     * Sets the WKT elements.
+     * Sets the WKT elements of the current thread.
      * @param collection the collection to set
      */
     public void setCollection(final WktEltCollection collection) {
-        this.collection = collection;
+        if (collection == null) {
+            this.collection.remove();
+        } else {
+            this.collection.set(collection);
+        }
     }
 }
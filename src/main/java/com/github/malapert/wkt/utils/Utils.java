@@ -100,4 +100,22 @@ public class Utils {
         return true;
     }
 
+    /**
+     * Normalizes a name so that names differing only by the case, the spaces
+     * or the punctuation are equal.
+     * @param name name
+     * @return the name in lower case, without the characters that are
+     * neither letters nor digits
+     */
+    public static String normalizeName(final String name) {
+        final StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            final char ch = name.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                normalized.append(Character.toLowerCase(ch));
+            }
+        }
+        return normalized.toString();
+    }
+
 }
@@ -0,0 +1,321 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+/**
+ * Pull cursor over a WKT description.
+ *
+ * The cursor reads the description directly, without building a
+ * {@link WktEltCollection}. The caller moves from one event to the next and
+ * skips the subtrees it does not need:
+ *
+ * <pre>
+ * {@code
+ * WktCursor cursor = new WktCursor(wkt);
+ * while (cursor.next() != WktCursor.Event.END_DOCUMENT) {
+ *     if (cursor.getEvent() == WktCursor.Event.START_NODE) {
+ *         if (cursor.isKeyword("USAGE") || cursor.isKeyword("REMARK")) {
+ *             cursor.skipChildren();
+ *         }
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * Moving, skipping and {@link #symbol()} do not allocate; only
+ * {@link #rawValue()}, {@link #textValue()}, {@link #numberValue()} and
+ * {@link #keyword()} for a keyword out of the {@link WktKeyword} table create
+ * the values they return.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class WktCursor {
+
+    /**
+     * Events of the cursor.
+     */
+    public enum Event {
+        /**
+         * A node is opened, {@link WktCursor#keyword()} gives its keyword.
+         */
+        START_NODE,
+        /**
+         * An attribute of the current node.
+         */
+        ATTRIBUTE,
+        /**
+         * The current node is closed.
+         */
+        END_NODE,
+        /**
+         * End of the description.
+         */
+        END_DOCUMENT
+    }
+
+    private final CharSequence wkt;
+    private final int length;
+    private int position;
+    private int depth;
+    private boolean isAfterNode;
+    private boolean isNodeClosed;
+    private Event event;
+    private int tokenStart;
+    private int tokenStop;
+
+    /**
+     * Creates a cursor before the first event.
+     * @param wkt WKT description
+     */
+    public WktCursor(final CharSequence wkt) {
+        this.wkt = wkt;
+        this.length = wkt.length();
+    }
+
+    /**
+     * Tests if an event follows the current one.
+     * @return False when the end of the document has been reached
+     */
+    public boolean hasNext() {
+        return event != Event.END_DOCUMENT;
+    }
+
+    /**
+     * Moves to the next event.
+     * @return the event
+     */
+    public Event next() {
+        if (event == Event.END_DOCUMENT) {
+            throw new IllegalStateException("The end of the WKT has been reached");
+        }
+        if (isNodeClosed) {
+            depth--;
+            isNodeClosed = false;
+        }
+        int start = position;
+        boolean isDoubleQuoteOpen = false;
+        for (int i = position; i < length; i++) {
+            final char ch = wkt.charAt(i);
+            if (ch == '"') {
+                isDoubleQuoteOpen = !isDoubleQuoteOpen;
+            } else if (isDoubleQuoteOpen) {
+                continue;
+            } else if (ch == '[') {
+                setToken(start, i);
+                depth++;
+                position = i + 1;
+                isAfterNode = false;
+                return event = Event.START_NODE;
+            } else if (ch == ',') {
+                position = i + 1;
+                if (!isAfterNode && depth > 0) {
+                    setToken(start, i);
+                    return event = Event.ATTRIBUTE;
+                }
+                isAfterNode = false;
+                start = position;
+            } else if (ch == ']') {
+                if (depth == 0) {
+                    throw new RuntimeException("']' at index " + (i + 1) + " is unmatched");
+                }
+                if (!isAfterNode) {
+                    // the attribute is returned first, the delimiter is read again at the next call
+                    setToken(start, i);
+                    position = i;
+                    isAfterNode = true;
+                    return event = Event.ATTRIBUTE;
+                }
+                setToken(i, i);
+                position = i + 1;
+                isNodeClosed = true;
+                return event = Event.END_NODE;
+            }
+        }
+        if (isDoubleQuoteOpen) {
+            throw new RuntimeException("Unclosed double quote at the end of the WKT");
+        }
+        if (depth != 0) {
+            throw new RuntimeException(depth + " node(s) not closed at the end of the WKT");
+        }
+        position = length;
+        setToken(length, length);
+        return event = Event.END_DOCUMENT;
+    }
+
+    /**
+     * Skips the children of the node that has just been opened. The next
+     * event is the end of this node.
+     */
+    public void skipChildren() {
+        if (event != Event.START_NODE) {
+            throw new IllegalStateException("skipChildren is only allowed on " + Event.START_NODE);
+        }
+        int level = 0;
+        boolean isDoubleQuoteOpen = false;
+        for (int i = position; i < length; i++) {
+            final char ch = wkt.charAt(i);
+            if (ch == '"') {
+                isDoubleQuoteOpen = !isDoubleQuoteOpen;
+            } else if (isDoubleQuoteOpen) {
+                continue;
+            } else if (ch == '[') {
+                level++;
+            } else if (ch == ']') {
+                if (level == 0) {
+                    position = i;
+                    isAfterNode = true;
+                    return;
+                }
+                level--;
+            }
+        }
+        throw new RuntimeException(depth + " node(s) not closed at the end of the WKT");
+    }
+
+    /**
+     * Returns the current event.
+     * @return the current event or null before the first call to next
+     */
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * Returns the depth of the current node. The root node is at depth 1 and
+     * a node and its attributes share the same depth.
+     * @return the depth
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns the keyword of the opened node.
+     * @return the keyword in upper case
+     */
+    public String keyword() {
+        checkEvent(Event.START_NODE);
+        final int slot = WktKeyword.slotOf(wkt, tokenStart, tokenStop);
+        return slot == -1 ? wkt.subSequence(tokenStart, tokenStop).toString().toUpperCase() : WktKeyword.spellingAt(slot);
+    }
+
+    /**
+     * Returns the constant of the keyword of the opened node.
+     * @return the constant or {@link WktKeyword#UNKNOWN}
+     */
+    public WktKeyword symbol() {
+        checkEvent(Event.START_NODE);
+        return WktKeyword.of(wkt, tokenStart, tokenStop);
+    }
+
+    /**
+     * Tests the keyword of the opened node, ignoring the case.
+     * @param keyword keyword to test
+     * @return True when the opened node has this keyword
+     */
+    public boolean isKeyword(final String keyword) {
+        if (event != Event.START_NODE || tokenStop - tokenStart != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (Character.toUpperCase(wkt.charAt(tokenStart + i)) != Character.toUpperCase(keyword.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests if the current attribute is a quoted text.
+     * @return True when the attribute is a quoted text
+     */
+    public boolean isText() {
+        return event == Event.ATTRIBUTE && tokenStop - tokenStart >= 2
+                && wkt.charAt(tokenStart) == '"' && wkt.charAt(tokenStop - 1) == '"';
+    }
+
+    /**
+     * Returns the current attribute as written in the description.
+     * @return the attribute, trimmed, with its double quotes
+     */
+    public String rawValue() {
+        checkEvent(Event.ATTRIBUTE);
+        return wkt.subSequence(tokenStart, tokenStop).toString();
+    }
+
+    /**
+     * Returns the current attribute without its double quotes.
+     * @return the text
+     */
+    public String textValue() {
+        checkEvent(Event.ATTRIBUTE);
+        if (!isText()) {
+            return rawValue();
+        }
+        return wkt.subSequence(tokenStart + 1, tokenStop - 1).toString().replace("\"\"", "\"");
+    }
+
+    /**
+     * Returns the current attribute as a number.
+     * @return the number
+     */
+    public double numberValue() {
+        checkEvent(Event.ATTRIBUTE);
+        try {
+            return Double.parseDouble(rawValue());
+        } catch (NumberFormatException ex) {
+            throw new RuntimeException("The attribute " + rawValue() + " at index " + tokenStart + " is not a number", ex);
+        }
+    }
+
+    /**
+     * Returns the offset of the current token in the description.
+     * @return the offset of the first character of the token
+     */
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * Returns the offset following the current token in the description.
+     * @return the offset following the last character of the token
+     */
+    public int getTokenStop() {
+        return tokenStop;
+    }
+
+    private void checkEvent(final Event expected) {
+        if (event != expected) {
+            throw new IllegalStateException("The current event is " + event + ", not " + expected);
+        }
+    }
+
+    private void setToken(final int start, final int stop) {
+        int first = start;
+        int last = stop;
+        while (first < last && Character.isWhitespace(wkt.charAt(first))) {
+            first++;
+        }
+        while (last > first && Character.isWhitespace(wkt.charAt(last - 1))) {
+            last--;
+        }
+        tokenStart = first;
+        tokenStop = last;
+    }
+}
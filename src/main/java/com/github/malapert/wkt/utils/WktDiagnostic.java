@@ -0,0 +1,110 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+/**
+ * Problem found by the {@link WktValidator} in a WKT description.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class WktDiagnostic {
+
+    /**
+     * Severity of a diagnostic.
+     */
+    public enum Severity {
+        /**
+         * The description cannot be parsed.
+         */
+        ERROR,
+        /**
+         * The description can be parsed but is not conform to the standard.
+         */
+        WARNING
+    }
+
+    private final Severity severity;
+    private final int offset;
+    private final String path;
+    private final String expected;
+    private final String found;
+
+    /**
+     * Creates a diagnostic.
+     * @param severity severity
+     * @param offset offset of the problem in the description
+     * @param path keywords from the root node to the node of the problem
+     * @param expected expected element
+     * @param found element found in the description
+     */
+    public WktDiagnostic(final Severity severity, final int offset, final String path, final String expected, final String found) {
+        this.severity = severity;
+        this.offset = offset;
+        this.path = path;
+        this.expected = expected;
+        this.found = found;
+    }
+
+    /**
+     * Returns the severity.
+     * @return the severity
+     */
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    /**
+     * Returns the offset of the problem in the description.
+     * @return the offset in characters
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the keywords from the root node to the node of the problem,
+     * separated by a slash (e.g. GEODCRS/DATUM/ELLIPSOID).
+     * @return the keyword path, empty outside of the root node
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the expected element.
+     * @return the expected element
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * Returns the element found in the description.
+     * @return the element found
+     */
+    public String getFound() {
+        return found;
+    }
+
+    @Override
+    public String toString() {
+        return severity + " at offset " + offset + " in " + (path.isEmpty() ? "<root>" : path)
+                + ": expected " + expected + " but found " + found;
+    }
+}
@@ -20,6 +20,10 @@ package com.github.malapert.wkt.utils;
 
 /**
  * Stores the WKT elements of the WKT description into a data structure.
+ *
+ * An element is either a value created by its constructor or a view on an
+ * element of a {@link WktEltCollection}.
+ *
  * @author Jean-Christophe Malapert
  */
 public class WktElt {
@@ -44,7 +48,17 @@ public class WktElt {
      */
     private WktType wktType;      
    
-    public boolean derivated = false;
+    private boolean derivated = false;
+
+    /**
+     * Collection storing the element when this element is a view.
+     */
+    private final WktEltCollection owner;
+
+    /**
+     * Index of the element in its collection.
+     */
+    private final int index;
     
     /**
      * The type of a WKT element.
@@ -63,6 +77,35 @@ public class WktElt {
         this.keyword = keyword;
         this.start = start;
         this.wktType = type;
+        this.owner = null;
+        this.index = -1;
+    }
+
+    /**
+     * Construct a view on an element of a collection.
+     * @param owner collection storing the element
+     * @param index index of the element in the collection
+     */
+    WktElt(final WktEltCollection owner, final int index) {
+        this.owner = owner;
+        this.index = index;
+    }
+
+    /**
+     * Tests if this element is a view on an element of a collection.
+     * @param collection collection
+     * @return True when the element is stored in the collection
+     */
+    public boolean isViewOf(final WktEltCollection collection) {
+        return owner != null && owner == collection;
+    }
+
+    /**
+     * Returns the index of the element in its collection.
+     * @return the index or -1 when the element is not a view
+     */
+    public int getIndex() {
+        return index;
     }
     
     /**
@@ -70,7 +113,7 @@ public class WktElt {
      * @return the wktType
      */
     public WktType getWktType() {
-        return wktType;
+        return owner == null ? wktType : owner.getWktType(index);
     }
 
     /**
@@ -78,15 +121,31 @@ public class WktElt {
      * @param wktType the wktType to set
      */
     public void setWktType(final WktType wktType) {
-        this.wktType = wktType;
+        if (owner == null) {
+            this.wktType = wktType;
+        } else {
+            owner.setWktType(index, wktType);
+        }
     }    
 
+    /**
+     * Returns the constant of the keyword.
+     * @return the constant, {@link WktKeyword#UNKNOWN} for an attribute or a
+     * keyword out of the table
+     */
+    public WktKeyword getSymbol() {
+        if (owner != null) {
+            return owner.getSymbol(index);
+        }
+        return wktType == WktType.NODE && keyword != null ? WktKeyword.of(keyword) : WktKeyword.UNKNOWN;
+    }
+
     /**
      * Returns the keyword or attribute value of the WKT description.
      * @return the keyword or attribute value
      */
     public String getKeyword() {
-        return keyword;
+        return owner == null ? keyword : owner.getKeyword(index);
     }
 
     /**
@@ -94,7 +153,11 @@ public class WktElt {
      * @param keyword the keyword or attribute to set
      */
     public void setKeyword(final String keyword) {
-        this.keyword = keyword;
+        if (owner == null) {
+            this.keyword = keyword;
+        } else {
+            owner.setKeyword(index, keyword);
+        }
     }
 
     /**
@@ -102,7 +165,7 @@ public class WktElt {
      * @return the start position
      */
     public int getStart() {
-        return start;
+        return owner == null ? start : owner.getStart(index);
     }
 
     /**
@@ -110,7 +173,11 @@ public class WktElt {
      * @param start the start to set
      */
     public void setStart(int start) {
-        this.start = start;
+        if (owner == null) {
+            this.start = start;
+        } else {
+            owner.setStart(index, start);
+        }
     }
 
     /**
@@ -118,7 +185,7 @@ public class WktElt {
      * @return the stop
      */
     public int getStop() {
-        return stop;
+        return owner == null ? stop : owner.getStop(index);
     }
 
     /**
@@ -126,7 +193,11 @@ public class WktElt {
      * @param stop the stop to set
      */
     public void setStop(int stop) {
-        this.stop = stop;
+        if (owner == null) {
+            this.stop = stop;
+        } else {
+            owner.setStop(index, stop);
+        }
     }
 
     /**
@@ -134,7 +205,7 @@ public class WktElt {
      * @return the node
      */
     public String getNode() {
-        return node;
+        return owner == null ? node : owner.getNode(index);
     }
 
     /**
@@ -142,6 +213,9 @@ public class WktElt {
      * @param node the node to set
      */
     public void setNode(final String node) {
+        if (owner != null) {
+            throw new UnsupportedOperationException("The node of an indexed element is given by its parent");
+        }
         this.node = node;
     }           
     
@@ -149,13 +223,17 @@ public class WktElt {
      * @return the derivated
      */
     public boolean isDerivated() {
-        return derivated;
+        return owner == null ? derivated : owner.isDerivated(index);
     }
 
     /**
      * @param derivated the derivated to set
      */
     public void setDerivated(boolean derivated) {
-        this.derivated = derivated;
+        if (owner == null) {
+            this.derivated = derivated;
+        } else {
+            owner.setDerivated(index, derivated);
+        }
     }    
 }
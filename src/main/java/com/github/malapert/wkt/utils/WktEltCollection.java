@@ -20,49 +20,419 @@ package com.github.malapert.wkt.utils;
 
 import com.github.malapert.wkt.utils.WktElt.WktType;
 import com.github.malapert.wkt.conversion.DerivedConversion;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Creates a collection of the WKT elements.
+ *
+ * The elements are stored in document order in parallel arrays: start, stop,
+ * parent, first child, next sibling, type, keyword id and {@link WktKeyword}
+ * constant. The keywords and
+ * the attributes are kept once in a symbol table. The {@link WktElt} returned
+ * by the collection are views on these arrays, they are valid until the
+ * collection is {@link #reset() reset}.
+ *
  * @author Jean-Christophe Malapert
  */
 public class WktEltCollection {
 
-    private final List<WktElt> collection = new ArrayList<>();
+    /**
+     * Parent of the first element.
+     */
+    public static final int NO_PARENT = -1;
+
+    /**
+     * Parent of an element added by {@link #addWktElt(WktElt)} before
+     * {@link #index()} is called.
+     */
+    private static final int UNRESOLVED = -2;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final byte ATTRIBUTE_FLAG = 1;
+    private static final byte DERIVATED_FLAG = 2;
+
+    private int size;
+    private int[] start;
+    private int[] stop;
+    private int[] parent;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] lastChild;
+    private int[] keywordId;
+    private short[] symbol;
+    private byte[] flags;
+
+    private final Map<String, Integer> symbolIds = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+
+    /**
+     * Whether the parent and sibling links are set for all the elements.
+     */
+    private boolean isLinked = true;
+
+    /**
+     * Whether the elements are sorted by start position.
+     */
+    private boolean isSorted = true;
+
+    private final List<WktElt> collection = new AbstractList<WktElt>() {
+        @Override
+        public WktElt get(final int index) {
+            return WktEltCollection.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
 
     /**
      * Empty constructor.
      */
     public WktEltCollection() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(final int capacity) {
+        start = new int[capacity];
+        stop = new int[capacity];
+        parent = new int[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        lastChild = new int[capacity];
+        keywordId = new int[capacity];
+        symbol = new short[capacity];
+        flags = new byte[capacity];
+    }
+
+    private void ensureCapacity() {
+        if (size == start.length) {
+            final int capacity = size << 1;
+            start = Arrays.copyOf(start, capacity);
+            stop = Arrays.copyOf(stop, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            lastChild = Arrays.copyOf(lastChild, capacity);
+            keywordId = Arrays.copyOf(keywordId, capacity);
+            symbol = Arrays.copyOf(symbol, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+    }
 
+    /**
+     * Empties the collection and keeps its arrays for the next parsing.
+     * The views returned before are no longer valid.
+     */
+    public void reset() {
+        size = 0;
+        symbolIds.clear();
+        symbols.clear();
+        isLinked = true;
+        isSorted = true;
     }
 
     /**
-     * Adds an WKT element in the collection.
+     * Returns the number of elements.
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the id of a keyword or attribute in the symbol table.
+     * @param keyword keyword or attribute
+     * @return the id or -1 when the collection does not contain it
+     */
+    public int keywordIdOf(final String keyword) {
+        final Integer id = symbolIds.get(keyword);
+        return id == null ? -1 : id;
+    }
+
+    private int symbol(final String keyword) {
+        Integer id = symbolIds.get(keyword);
+        if (id == null) {
+            id = symbols.size();
+            symbols.add(keyword);
+            symbolIds.put(keyword, id);
+        }
+        return id;
+    }
+
+    private int append(final String keyword, final WktKeyword keywordSymbol, final int startPosition, final int stopPosition, final byte flag, final int parentIndex) {
+        ensureCapacity();
+        final int index = size++;
+        if (index > 0 && startPosition < start[index - 1]) {
+            isSorted = false;
+        }
+        start[index] = startPosition;
+        stop[index] = stopPosition;
+        keywordId[index] = symbol(keyword);
+        symbol[index] = (short) keywordSymbol.ordinal();
+        flags[index] = flag;
+        parent[index] = parentIndex;
+        firstChild[index] = NO_PARENT;
+        nextSibling[index] = NO_PARENT;
+        lastChild[index] = NO_PARENT;
+        if (parentIndex >= 0) {
+            if (lastChild[parentIndex] == NO_PARENT) {
+                firstChild[parentIndex] = index;
+            } else {
+                nextSibling[lastChild[parentIndex]] = index;
+            }
+            lastChild[parentIndex] = index;
+        } else if (parentIndex == UNRESOLVED) {
+            isLinked = false;
+        }
+        return index;
+    }
+
+    /**
+     * Adds a node whose stop position is set when the node is closed.
+     * @param keyword keyword of the node
+     * @param startPosition position following the left delimiter
+     * @param parentIndex index of the parent or {@link #NO_PARENT}
+     * @return the index of the node
+     */
+    public int addNode(final String keyword, final int startPosition, final int parentIndex) {
+        return addNode(keyword, WktKeyword.of(keyword), startPosition, parentIndex);
+    }
+
+    /**
+     * Adds a node whose keyword constant is already known.
+     * @param keyword keyword of the node
+     * @param keywordSymbol constant of the keyword
+     * @param startPosition position following the left delimiter
+     * @param parentIndex index of the parent or {@link #NO_PARENT}
+     * @return the index of the node
+     */
+    public int addNode(final String keyword, final WktKeyword keywordSymbol, final int startPosition, final int parentIndex) {
+        return append(keyword, keywordSymbol, startPosition, 0, (byte) 0, parentIndex);
+    }
+
+    /**
+     * Adds an attribute.
+     * @param attribute value of the attribute
+     * @param startPosition position following the previous delimiter
+     * @param stopPosition position of the delimiter ending the attribute
+     * @param parentIndex index of the node of the attribute
+     * @return the index of the attribute
+     */
+    public int addAttribute(final String attribute, final int startPosition, final int stopPosition, final int parentIndex) {
+        return append(attribute, WktKeyword.UNKNOWN, startPosition, stopPosition, ATTRIBUTE_FLAG, parentIndex);
+    }
+
+    /**
+     * Adds an WKT element in the collection. The node of the element is set
+     * by {@link #index()}.
      * @param elt WKT element
      */
     public void addWktElt(WktElt elt) {
-        this.getCollection().add(elt);
+        final byte flag = (byte) ((elt.getWktType() == WktType.ATTRIBUTE ? ATTRIBUTE_FLAG : 0)
+                | (elt.isDerivated() ? DERIVATED_FLAG : 0));
+        append(elt.getKeyword(), elt.getSymbol(), elt.getStart(), elt.getStop(), flag, UNRESOLVED);
     }
-    
+
+    /**
+     * Returns a view on an element.
+     * @param index index of the element
+     * @return the WKT element
+     */
+    public WktElt get(final int index) {
+        checkIndex(index);
+        return new WktElt(this, index);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+    }
+
+    int getStart(final int index) {
+        checkIndex(index);
+        return start[index];
+    }
+
+    void setStart(final int index, final int startPosition) {
+        checkIndex(index);
+        start[index] = startPosition;
+        isSorted = false;
+    }
+
+    int getStop(final int index) {
+        checkIndex(index);
+        return stop[index];
+    }
+
+    /**
+     * Sets the stop position of an element.
+     * @param index index of the element
+     * @param stopPosition position of the right delimiter
+     */
+    public void setStop(final int index, final int stopPosition) {
+        checkIndex(index);
+        stop[index] = stopPosition;
+    }
+
+    String getKeyword(final int index) {
+        checkIndex(index);
+        return symbols.get(keywordId[index]);
+    }
+
+    void setKeyword(final int index, final String keyword) {
+        checkIndex(index);
+        keywordId[index] = symbol(keyword);
+        updateSymbol(index);
+    }
+
+    private void updateSymbol(final int index) {
+        final WktKeyword keywordSymbol = (flags[index] & ATTRIBUTE_FLAG) == 0
+                ? WktKeyword.of(symbols.get(keywordId[index])) : WktKeyword.UNKNOWN;
+        symbol[index] = (short) keywordSymbol.ordinal();
+    }
+
+    /**
+     * Returns the keyword constant of an element.
+     * @param index index of the element
+     * @return the constant, {@link WktKeyword#UNKNOWN} for an attribute
+     */
+    public WktKeyword getSymbol(final int index) {
+        checkIndex(index);
+        return WktKeyword.valueOf(symbol[index]);
+    }
+
+    /**
+     * Returns the keyword id of an element.
+     * @param index index of the element
+     * @return the keyword id
+     */
+    public int getKeywordId(final int index) {
+        checkIndex(index);
+        return keywordId[index];
+    }
+
+    WktType getWktType(final int index) {
+        checkIndex(index);
+        return (flags[index] & ATTRIBUTE_FLAG) == 0 ? WktType.NODE : WktType.ATTRIBUTE;
+    }
+
+    void setWktType(final int index, final WktType type) {
+        checkIndex(index);
+        flags[index] = (byte) (type == WktType.ATTRIBUTE ? flags[index] | ATTRIBUTE_FLAG : flags[index] & ~ATTRIBUTE_FLAG);
+        updateSymbol(index);
+    }
+
+    boolean isDerivated(final int index) {
+        checkIndex(index);
+        return (flags[index] & DERIVATED_FLAG) != 0;
+    }
+
+    /**
+     * Marks a CRS node as derived.
+     * @param index index of the node
+     * @param derivated True when the CRS is derived
+     */
+    public void setDerivated(final int index, final boolean derivated) {
+        checkIndex(index);
+        flags[index] = (byte) (derivated ? flags[index] | DERIVATED_FLAG : flags[index] & ~DERIVATED_FLAG);
+    }
+
+    String getNode(final int index) {
+        checkIndex(index);
+        final int parentIndex = parent[index];
+        if (parentIndex == NO_PARENT) {
+            return "root";
+        }
+        return parentIndex == UNRESOLVED ? null : symbols.get(keywordId[parentIndex]);
+    }
+
+    /**
+     * Returns the parent of an element.
+     * @param index index of the element
+     * @return the index of the parent or {@link #NO_PARENT}
+     */
+    public int getParent(final int index) {
+        checkIndex(index);
+        return parent[index];
+    }
+
+    /**
+     * Returns the first child of a node.
+     * @param index index of the node
+     * @return the index of the first child or -1
+     */
+    public int getFirstChild(final int index) {
+        checkIndex(index);
+        return firstChild[index];
+    }
+
+    /**
+     * Returns the next sibling of an element.
+     * @param index index of the element
+     * @return the index of the next sibling or -1
+     */
+    public int getNextSibling(final int index) {
+        checkIndex(index);
+        return nextSibling[index];
+    }
+
+    /**
+     * Returns the index following the last descendant of an element. The
+     * descendants of an element are stored just after it.
+     * @param index index of the element
+     * @return the end of the subtree, exclusive
+     */
+    public int getSubtreeEnd(final int index) {
+        checkIndex(index);
+        for (int i = index; i >= 0; i = parent[i]) {
+            if (nextSibling[i] != NO_PARENT) {
+                return nextSibling[i];
+            }
+        }
+        return size;
+    }
+
     /**
      * Finds the WKT element at the position <i>start</i>.
      * @param start
      * @return WKT element
      */
     public WktElt wktEltStartingAt(int start) {
-        WktElt wktResult = null;
-        for (WktElt wkt : getCollection()) {
-            if (wkt.getStart() == start) {
-                wktResult = wkt;
-                break;
+        int found = -1;
+        if (isSorted) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (this.start[mid] < start) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low < size && this.start[low] == start) {
+                found = low;
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (this.start[i] == start) {
+                    found = i;
+                    break;
+                }
             }
         }
-        return wktResult;
-    }          
-      
+        return found == -1 ? null : get(found);
+    }
+
     /**
      * Tests if the <i>wkt1</i> element is included in the <i>wkt2</i>.     
      * 
@@ -75,6 +445,10 @@ public class WktEltCollection {
         return (wkt2.getStart() <= wkt1.getStart() && wkt1.getStop()<=wkt2.getStop());
     }
 
+    private boolean isWkt1inWkt2(final int wkt1, final int wkt2) {
+        return start[wkt2] <= start[wkt1] && stop[wkt1] <= stop[wkt2];
+    }
+
     /**
      * Returns the collection of WKT elements.
      * @return the collection
@@ -90,7 +464,18 @@ public class WktEltCollection {
     public Iterator<WktElt> iterator() {
         return collection.iterator();
     }
-    
+
+    /**
+     * Returns the range of indexes containing a WKT element and its
+     * descendants.
+     */
+    private int[] rangeOf(final WktElt wktIn) {
+        if (isLinked && wktIn.isViewOf(this)) {
+            return new int[]{wktIn.getIndex(), getSubtreeEnd(wktIn.getIndex())};
+        }
+        return null;
+    }
+
     /**
      * Iterates on each sub WKT element from a WKT element of the collection.
      * @param wktIn WKT element
@@ -98,15 +483,46 @@ public class WktEltCollection {
      */    
     public Iterator<WktElt> iterator(final WktElt wktIn) {
         List<WktElt> findWktElt = new ArrayList<>();
-        for (WktElt wkt : getCollection()) {
-            if(wkt.getStart() >= wktIn.getStart() 
-               && wkt.getStop() <= wktIn.getStop()) {
-                findWktElt.add(wkt);
+        final int[] range = rangeOf(wktIn);
+        if (range != null) {
+            for (int i = range[0]; i < range[1]; i++) {
+                findWktElt.add(get(i));
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (start[i] >= wktIn.getStart() && stop[i] <= wktIn.getStop()) {
+                    findWktElt.add(get(i));
+                }
             }
         }
         return findWktElt.iterator();
     }
 
+    /**
+     * Returns the elements of a given type whose node is <i>nodeName</i>.
+     */
+    private List<WktElt> getElementsFor(final WktElt wktIn, final String nodeName, final WktType type) {
+        final List<WktElt> elements = new ArrayList<>();
+        final int nodeId = keywordIdOf(nodeName);
+        if (nodeId == -1) {
+            return elements;
+        }
+        final byte typeFlag = type == WktType.ATTRIBUTE ? ATTRIBUTE_FLAG : 0;
+        final int[] range = rangeOf(wktIn);
+        final int first = range == null ? 0 : range[0];
+        final int last = range == null ? size : range[1];
+        for (int i = first; i < last; i++) {
+            if ((flags[i] & ATTRIBUTE_FLAG) != typeFlag || parent[i] < 0 || keywordId[parent[i]] != nodeId) {
+                continue;
+            }
+            if (range == null && (start[i] < wktIn.getStart() || stop[i] > wktIn.getStop())) {
+                continue;
+            }
+            elements.add(get(i));
+        }
+        return elements;
+    }
+
     /**
      * Returns the attributes of a WKT node from a WKT element.
      * @param wktIn the WKT element
@@ -114,15 +530,7 @@ public class WktEltCollection {
      * @return the list of attributes of the node
      */
     public List<WktElt> getAttributesFor(final WktElt wktIn, final String nodeName) {
-        List<WktElt> attributes = new ArrayList<>();
-        Iterator<WktElt> iter = iterator(wktIn);
-        while(iter.hasNext()) {
-            WktElt wktElt = iter.next();
-            if(WktType.ATTRIBUTE == wktElt.getWktType() && nodeName.equals(wktElt.getNode())) {
-                attributes.add(wktElt);
-            }
-        }
-        return attributes;
+        return getElementsFor(wktIn, nodeName, WktType.ATTRIBUTE);
     }
     
     /**
@@ -132,15 +540,7 @@ public class WktEltCollection {
      * @return the list of sub nodes from the node
      */    
     public List<WktElt> getNodesFor(final WktElt wktIn, final String nodeName) {
-        List<WktElt> nodes = new ArrayList<>();
-        Iterator<WktElt> iter = iterator(wktIn);
-        while(iter.hasNext()) {
-            WktElt wktElt = iter.next();
-            if(WktType.NODE == wktElt.getWktType() && nodeName.equals(wktElt.getNode())) {
-                nodes.add(wktElt);
-            }
-        }
-        return nodes;        
+        return getElementsFor(wktIn, nodeName, WktType.NODE);
     }    
     
     /**
@@ -150,38 +550,48 @@ public class WktEltCollection {
      * (e.g DATUM, CS, ...)
      */
     public void index() {
-        List<WktElt> wktElts = this.getCollection();
-        if(wktElts.isEmpty()) {
+        if (size == 0) {
             return;
         }
-        WktElt previousWkt = wktElts.get(0);
-        previousWkt.setNode("root");   
-        for(int i=1;i<wktElts.size();i++) {
-            WktElt current = wktElts.get(i);
-            if(isWkt1inWkt2(current, previousWkt)) {
-                current.setNode(previousWkt.getKeyword());                
+        Arrays.fill(firstChild, 0, size, NO_PARENT);
+        Arrays.fill(nextSibling, 0, size, NO_PARENT);
+        Arrays.fill(lastChild, 0, size, NO_PARENT);
+        parent[0] = NO_PARENT;
+        int previousWkt = 0;
+        for (int i = 1; i < size; i++) {
+            int parentIndex = UNRESOLVED;
+            if (isWkt1inWkt2(i, previousWkt)) {
+                parentIndex = previousWkt;
             } else {
-                for(int j=i-1;j>=0;j--) {
-                    previousWkt = wktElts.get(j);
-                    if(isWkt1inWkt2(current, previousWkt)) {
-                        current.setNode(previousWkt.getKeyword()); 
+                for (int j = i - 1; j >= 0; j--) {
+                    if (isWkt1inWkt2(i, j)) {
+                        parentIndex = j;
                         break;
                     }
                 }
-            }          
-            previousWkt = current;
-        }      
+            }
+            parent[i] = parentIndex;
+            if (parentIndex >= 0) {
+                if (lastChild[parentIndex] == NO_PARENT) {
+                    firstChild[parentIndex] = i;
+                } else {
+                    nextSibling[lastChild[parentIndex]] = i;
+                }
+                lastChild[parentIndex] = i;
+            }
+            previousWkt = i;
+        }
+        isLinked = true;
     }
     
     public boolean isDerivatedCrs() {
-        boolean result = false;
-        for(WktElt wkt:getCollection()) {
-            if(DerivedConversion.DERIVED_CONVERSION_KEYWORD.equals(wkt.getKeyword())) {
-                result = true;
-                break;
+        final int id = keywordIdOf(DerivedConversion.DERIVED_CONVERSION_KEYWORD);
+        for (int i = 0; id != -1 && i < size; i++) {
+            if (keywordId[i] == id) {
+                return true;
             }
         }
-        return result;
+        return false;
     }
 
 }
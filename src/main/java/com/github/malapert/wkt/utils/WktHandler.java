@@ -0,0 +1,85 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+/**
+ * Receives the events of the {@link WktPushParser}.
+ *
+ * Offsets are counted in characters from the beginning of the WKT
+ * description. The default implementations ignore the events so that a
+ * handler only implements the events it needs.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public interface WktHandler {
+
+    /**
+     * Called when a node is opened.
+     * @param keyword keyword of the node, in upper case when it is in the
+     * {@link WktKeyword} table, otherwise as written in the description
+     * @param start offset of the first character after the left delimiter
+     */
+    default void startNode(final String keyword, final int start) {
+    }
+
+    /**
+     * Called when a node is opened, with the constant of its keyword. The
+     * default implementation calls {@link #startNode(String, int)}.
+     * @param keyword keyword of the node
+     * @param symbol constant of the keyword or {@link WktKeyword#UNKNOWN}
+     * @param start offset of the first character after the left delimiter
+     */
+    default void startNode(final String keyword, final WktKeyword symbol, final int start) {
+        startNode(keyword, start);
+    }
+
+    /**
+     * Called for each attribute of the current node.
+     * @param token attribute, trimmed, with its double quotes
+     * @param start offset of the first character after the previous delimiter
+     * @param stop offset of the delimiter ending the attribute
+     */
+    default void attribute(final String token, final int start, final int stop) {
+    }
+
+    /**
+     * Called when the current node is closed.
+     * @param stop offset of the right delimiter
+     */
+    default void endNode(final int stop) {
+    }
+
+    /**
+     * Called at the end of the description.
+     */
+    default void endDocument() {
+    }
+
+    /**
+     * Called when the description is not well formed. The default
+     * implementation throws the error ; when a handler returns instead, the
+     * parser skips the faulty character and goes on.
+     * @param expected element expected by the parser
+     * @param found element found in the description
+     * @param offset offset of the error
+     */
+    default void error(final String expected, final String found, final int offset) {
+        throw new RuntimeException("Expected " + expected + " but found " + found + " at offset " + offset);
+    }
+}
@@ -0,0 +1,257 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Symbol table of the WKT keywords.
+ *
+ * Each constant is a keyword and its aliases (e.g. {@link #GEODCRS} for
+ * GEODCRS and GEODETICCRS). The parsers find the constant of a keyword
+ * directly in the characters of the description, ignoring the case, so that
+ * the models dispatch on the constant instead of on the keyword text.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public enum WktKeyword {
+
+    GEODCRS("GEODETICCRS"),
+    GEOGCRS("GEOGRAPHICCRS"),
+    PROJCRS("PROJECTEDCRS"),
+    VERTCRS("VERTICALCRS"),
+    ENGCRS("ENGINEERINGCRS"),
+    IMAGECRS,
+    PARAMETRICCRS,
+    TIMECRS,
+    COMPOUNDCRS,
+    BOUNDCRS,
+    DERIVEDPROJCRS,
+    COORDINATEMETADATA,
+    COORDINATEOPERATION,
+    CONCATENATEDOPERATION,
+    POINTMOTIONOPERATION,
+    BASEGEODCRS,
+    BASEGEOGCRS,
+    BASEPROJCRS,
+    BASEVERTCRS,
+    BASEENGCRS,
+    BASEPARAMCRS,
+    BASETIMECRS,
+    SOURCECRS,
+    TARGETCRS,
+    INTERPOLATIONCRS,
+    DATUM("GEODETICDATUM", "TRF"),
+    VDATUM("VERTICALDATUM", "VRF"),
+    EDATUM("ENGINEERINGDATUM"),
+    IDATUM("IMAGEDATUM"),
+    PDATUM("PARAMETRICDATUM"),
+    TDATUM("TIMEDATUM"),
+    ENSEMBLE,
+    MEMBER,
+    ENSEMBLEACCURACY,
+    TIMEORIGIN,
+    CALENDAR,
+    ANCHOR,
+    ANCHOREPOCH,
+    DYNAMIC,
+    FRAMEEPOCH,
+    MODEL,
+    ELLIPSOID("SPHEROID"),
+    PRIMEM("PRIMEMERIDIAN"),
+    CS,
+    AXIS,
+    ORDER,
+    MERIDIAN,
+    BEARING,
+    AXISMINVALUE,
+    AXISMAXVALUE,
+    RANGEMEANING,
+    UNIT,
+    ANGLEUNIT,
+    LENGTHUNIT,
+    SCALEUNIT,
+    PARAMETRICUNIT,
+    TIMEUNIT,
+    CONVERSION,
+    DERIVINGCONVERSION,
+    METHOD("PROJECTION"),
+    PARAMETER,
+    PARAMETERFILE,
+    ABRIDGEDTRANSFORMATION,
+    OPERATIONACCURACY,
+    VERSION,
+    STEP,
+    EPOCH("COORDEPOCH"),
+    ID,
+    CITATION,
+    URI,
+    USAGE,
+    SCOPE,
+    AREA,
+    BBOX,
+    VERTICALEXTENT,
+    TIMEEXTENT,
+    REMARK,
+    /**
+     * Attributes and keywords that are not in the table.
+     */
+    UNKNOWN;
+
+    private final List<String> aliases;
+
+    private static final WktKeyword[] VALUES = values();
+    private static final String[] SPELLINGS;
+    private static final WktKeyword[] SYMBOLS;
+    private static final int MASK;
+
+    static {
+        int count = 0;
+        for (WktKeyword keyword : VALUES) {
+            count += keyword == UNKNOWN ? 0 : 1 + keyword.aliases.size();
+        }
+        final int size = Integer.highestOneBit(count) << 2;
+        SPELLINGS = new String[size];
+        SYMBOLS = new WktKeyword[size];
+        MASK = size - 1;
+        for (WktKeyword keyword : VALUES) {
+            if (keyword != UNKNOWN) {
+                add(keyword.name(), keyword);
+                for (String alias : keyword.aliases) {
+                    add(alias, keyword);
+                }
+            }
+        }
+    }
+
+    WktKeyword(final String... aliases) {
+        this.aliases = Collections.unmodifiableList(Arrays.asList(aliases));
+    }
+
+    /**
+     * Returns the other spellings of the keyword.
+     * @return the aliases
+     */
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    /**
+     * Returns the constant from its ordinal.
+     * @param ordinal ordinal of the constant
+     * @return the constant
+     */
+    public static WktKeyword valueOf(final int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Finds the constant of a keyword, ignoring the case.
+     * @param keyword keyword or alias
+     * @return the constant or {@link #UNKNOWN}
+     */
+    public static WktKeyword of(final CharSequence keyword) {
+        return of(keyword, 0, keyword.length());
+    }
+
+    /**
+     * Finds the constant of a keyword written in a sequence of characters,
+     * ignoring the case.
+     * @param chars characters
+     * @param start offset of the first character of the keyword
+     * @param end offset following the last character of the keyword
+     * @return the constant or {@link #UNKNOWN}
+     */
+    public static WktKeyword of(final CharSequence chars, final int start, final int end) {
+        final int slot = slotOf(chars, start, end);
+        return slot == -1 ? UNKNOWN : SYMBOLS[slot];
+    }
+
+    /**
+     * Finds the slot of a keyword written in a sequence of characters.
+     * @param chars characters
+     * @param start offset of the first character of the keyword
+     * @param end offset following the last character of the keyword
+     * @return the slot or -1 when the keyword is not in the table
+     */
+    static int slotOf(final CharSequence chars, final int start, final int end) {
+        int slot = hash(chars, start, end) & MASK;
+        String spelling;
+        while ((spelling = SPELLINGS[slot]) != null) {
+            if (matches(spelling, chars, start, end)) {
+                return slot;
+            }
+            slot = (slot + 1) & MASK;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the upper case spelling stored in a slot.
+     * @param slot slot found by {@link #slotOf(CharSequence, int, int)}
+     * @return the spelling
+     */
+    static String spellingAt(final int slot) {
+        return SPELLINGS[slot];
+    }
+
+    /**
+     * Returns the constant stored in a slot.
+     * @param slot slot found by {@link #slotOf(CharSequence, int, int)}
+     * @return the constant
+     */
+    static WktKeyword symbolAt(final int slot) {
+        return SYMBOLS[slot];
+    }
+
+    private static void add(final String spelling, final WktKeyword keyword) {
+        int slot = hash(spelling, 0, spelling.length()) & MASK;
+        while (SPELLINGS[slot] != null) {
+            slot = (slot + 1) & MASK;
+        }
+        SPELLINGS[slot] = spelling;
+        SYMBOLS[slot] = keyword;
+    }
+
+    private static boolean matches(final String spelling, final CharSequence chars, final int start, final int end) {
+        if (spelling.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (upperCase(chars.charAt(i)) != spelling.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(final CharSequence chars, final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + upperCase(chars.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static char upperCase(final char ch) {
+        return ch >= 'a' && ch <= 'z' ? (char) (ch - ('a' - 'A')) : ch;
+    }
+}
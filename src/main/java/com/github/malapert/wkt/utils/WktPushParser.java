@@ -0,0 +1,278 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Event-driven WKT parser.
+ *
+ * The description is given by chunks, as it arrives, and the parser calls
+ * the {@link WktHandler} for each node and attribute. Only the depth of the
+ * current node and the token being read are kept in memory.
+ *
+ * <pre>
+ * {@code
+ * WktPushParser parser = new WktPushParser(handler);
+ * parser.feed(chunk1, 0, length1);
+ * parser.feed(chunk2, 0, length2);
+ * parser.end();
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class WktPushParser {
+
+    private static final int CHAR_BUFFER_SIZE = 4096;
+
+    private final WktHandler handler;
+    private final StringBuilder token = new StringBuilder();
+    private int offset;
+    private int depth;
+    private int tokenStart;
+    private boolean isDoubleQuoteOpen;
+    private boolean isAfterNode;
+    private boolean ended;
+
+    private CharsetDecoder decoder;
+    private CharBuffer decoded;
+    private ByteBuffer carry;
+
+    /**
+     * Creates a parser.
+     * @param handler receiver of the events
+     */
+    public WktPushParser(final WktHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Parses a whole description.
+     * @param wkt WKT description
+     * @param handler receiver of the events
+     */
+    public static void parse(final String wkt, final WktHandler handler) {
+        final WktPushParser parser = new WktPushParser(handler);
+        parser.feed(wkt);
+        parser.end();
+    }
+
+    /**
+     * Returns the depth of the current node.
+     * @return 0 outside the root node
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of characters parsed.
+     * @return the number of characters parsed
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Parses the next characters.
+     * @param chars characters
+     * @param off first character to parse
+     * @param len number of characters to parse
+     */
+    public void feed(final char[] chars, final int off, final int len) {
+        for (int i = off; i < off + len; i++) {
+            accept(chars[i]);
+        }
+    }
+
+    /**
+     * Parses the remaining characters of a buffer.
+     * @param chars characters
+     */
+    public void feed(final CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            accept(chars.charAt(i));
+        }
+    }
+
+    /**
+     * Parses the remaining characters of a buffer.
+     * @param chars characters
+     */
+    public void feed(final CharBuffer chars) {
+        while (chars.hasRemaining()) {
+            accept(chars.get());
+        }
+    }
+
+    /**
+     * Parses the remaining bytes of a buffer. An incomplete character at the
+     * end of the buffer is kept until the next call.
+     * @param bytes encoded characters
+     * @param charset encoding of the bytes
+     */
+    public void feed(final ByteBuffer bytes, final Charset charset) {
+        if (decoder == null) {
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            decoded = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+            carry = ByteBuffer.allocate(16);
+        } else if (!decoder.charset().equals(charset)) {
+            throw new IllegalArgumentException("The charset cannot change from " + decoder.charset() + " to " + charset);
+        }
+        // completes the character split between the previous and this buffer
+        while (carry.position() > 0 && bytes.hasRemaining()) {
+            carry.put(bytes.get());
+            carry.flip();
+            decode(carry, false);
+            carry.compact();
+        }
+        if (carry.position() == 0) {
+            decode(bytes, false);
+            if (bytes.remaining() > carry.remaining()) {
+                throw new RuntimeException("Malformed input at offset " + offset);
+            }
+            carry.put(bytes);
+        }
+    }
+
+    /**
+     * Ends the description.
+     */
+    public void end() {
+        if (ended) {
+            return;
+        }
+        if (decoder != null) {
+            carry.flip();
+            decode(carry, true);
+            carry.clear();
+            decoded.clear();
+            checkResult(decoder.flush(decoded));
+            decoded.flip();
+            feed(decoded);
+        }
+        ended = true;
+        if (isDoubleQuoteOpen) {
+            handler.error("'\"'", "the end of the WKT", offset);
+        }
+        if (depth != 0) {
+            handler.error("']'", "the end of the WKT", offset);
+        }
+        handler.endDocument();
+    }
+
+    private void decode(final ByteBuffer bytes, final boolean endOfInput) {
+        CoderResult result;
+        do {
+            decoded.clear();
+            result = decoder.decode(bytes, decoded, endOfInput);
+            decoded.flip();
+            feed(decoded);
+            checkResult(result);
+        } while (result.isOverflow());
+    }
+
+    private void checkResult(final CoderResult result) {
+        if (result.isError()) {
+            try {
+                result.throwException();
+            } catch (CharacterCodingException ex) {
+                throw new RuntimeException("Cannot decode the WKT at offset " + offset, ex);
+            }
+        }
+    }
+
+    /**
+     * Parses one character. The left delimiter ends a keyword, the separator
+     * and the right delimiter end an attribute unless a node has just been
+     * closed.
+     */
+    private void accept(final char ch) {
+        if (ended) {
+            throw new IllegalStateException("The WKT has already been ended");
+        }
+        final int position = offset++;
+        if (ch == '"') {
+            isDoubleQuoteOpen = !isDoubleQuoteOpen;
+            token.append(ch);
+        } else if (isDoubleQuoteOpen) {
+            token.append(ch);
+        } else if (ch == '[') {
+            depth++;
+            startNode(position + 1);
+            startToken(position + 1, false);
+        } else if (ch == ',') {
+            emitAttribute(position);
+            startToken(position + 1, false);
+        } else if (ch == ']') {
+            if (depth == 0) {
+                handler.error("the end of the WKT", "']'", position);
+                return;
+            }
+            emitAttribute(position);
+            depth--;
+            handler.endNode(position);
+            startToken(position + 1, true);
+        } else {
+            token.append(ch);
+        }
+    }
+
+    /**
+     * Finds the keyword in the token without copying it when the keyword is
+     * in the {@link WktKeyword} table.
+     */
+    private void startNode(final int start) {
+        int first = 0;
+        int last = token.length();
+        while (first < last && Character.isWhitespace(token.charAt(first))) {
+            first++;
+        }
+        while (last > first && Character.isWhitespace(token.charAt(last - 1))) {
+            last--;
+        }
+        final int slot = WktKeyword.slotOf(token, first, last);
+        if (slot == -1) {
+            handler.startNode(token.substring(first, last), WktKeyword.UNKNOWN, start);
+        } else {
+            handler.startNode(WktKeyword.spellingAt(slot), WktKeyword.symbolAt(slot), start);
+        }
+    }
+
+    private void emitAttribute(final int stop) {
+        if (!isAfterNode && depth > 0) {
+            handler.attribute(token.toString().trim(), tokenStart, stop);
+        }
+    }
+
+    private void startToken(final int start, final boolean afterNode) {
+        token.setLength(0);
+        tokenStart = start;
+        isAfterNode = afterNode;
+    }
+}
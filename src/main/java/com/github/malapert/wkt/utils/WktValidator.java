@@ -0,0 +1,399 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import com.github.malapert.wkt.utils.WktDiagnostic.Severity;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Validates WKT descriptions without building the models.
+ *
+ * The validator checks that the description is well formed and that the
+ * nodes have their mandatory attributes and children. The problems are
+ * returned as a list of {@link WktDiagnostic} instead of being thrown, so
+ * that a whole catalog can be checked in one pass.
+ *
+ * <pre>
+ * {@code
+ * List<List<WktDiagnostic>> diagnostics = WktValidator.validateAll(catalog);
+ * }
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class WktValidator {
+
+    private static final Set<WktKeyword> ROOTS = EnumSet.range(WktKeyword.GEODCRS, WktKeyword.POINTMOTIONOPERATION);
+    private static final Set<WktKeyword> COMPONENTS = EnumSet.range(WktKeyword.GEODCRS, WktKeyword.TIMECRS);
+    private static final Map<WktKeyword, Rule> RULES = new EnumMap<>(WktKeyword.class);
+
+    static {
+        final WktKeyword[] geodeticDatum = {WktKeyword.DATUM, WktKeyword.ENSEMBLE};
+        final WktKeyword[] baseGeodetic = {WktKeyword.BASEGEODCRS, WktKeyword.BASEGEOGCRS};
+        final WktKeyword[] cs = {WktKeyword.CS};
+        final WktKeyword[] conversion = {WktKeyword.CONVERSION};
+        RULES.put(WktKeyword.GEODCRS, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.DATUM, WktKeyword.ENSEMBLE, WktKeyword.BASEGEODCRS, WktKeyword.BASEGEOGCRS}, cs));
+        RULES.put(WktKeyword.GEOGCRS, RULES.get(WktKeyword.GEODCRS));
+        RULES.put(WktKeyword.PROJCRS, new Rule(1, true, -1, -1, baseGeodetic, conversion, cs));
+        RULES.put(WktKeyword.VERTCRS, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.VDATUM, WktKeyword.ENSEMBLE, WktKeyword.BASEVERTCRS}, cs));
+        RULES.put(WktKeyword.ENGCRS, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.EDATUM, WktKeyword.BASEENGCRS, WktKeyword.BASEPROJCRS, WktKeyword.BASEGEODCRS, WktKeyword.BASEGEOGCRS}, cs));
+        RULES.put(WktKeyword.IMAGECRS, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.IDATUM}, cs));
+        RULES.put(WktKeyword.PARAMETRICCRS, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.PDATUM, WktKeyword.BASEPARAMCRS}, cs));
+        RULES.put(WktKeyword.TIMECRS, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.TDATUM, WktKeyword.BASETIMECRS}, cs));
+        RULES.put(WktKeyword.COMPOUNDCRS, new Rule(1, true, -1, -1));
+        RULES.put(WktKeyword.BOUNDCRS, new Rule(0, false, -1, -1, new WktKeyword[]{WktKeyword.SOURCECRS}, new WktKeyword[]{WktKeyword.TARGETCRS}, new WktKeyword[]{WktKeyword.ABRIDGEDTRANSFORMATION}));
+        final WktKeyword[] crs = EnumSet.range(WktKeyword.GEODCRS, WktKeyword.COMPOUNDCRS).toArray(new WktKeyword[0]);
+        RULES.put(WktKeyword.SOURCECRS, new Rule(0, false, -1, -1, crs));
+        RULES.put(WktKeyword.TARGETCRS, RULES.get(WktKeyword.SOURCECRS));
+        RULES.put(WktKeyword.ABRIDGEDTRANSFORMATION, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.METHOD}));
+        RULES.put(WktKeyword.OPERATIONACCURACY, new Rule(1, false, 0, 0));
+        final WktKeyword[] sourceCrs = {WktKeyword.SOURCECRS};
+        final WktKeyword[] targetCrs = {WktKeyword.TARGETCRS};
+        RULES.put(WktKeyword.COORDINATEOPERATION, new Rule(1, true, -1, -1, sourceCrs, targetCrs, new WktKeyword[]{WktKeyword.METHOD}));
+        RULES.put(WktKeyword.CONCATENATEDOPERATION, new Rule(1, true, -1, -1, sourceCrs, targetCrs, new WktKeyword[]{WktKeyword.STEP}));
+        RULES.put(WktKeyword.STEP, new Rule(0, false, -1, -1, new WktKeyword[]{WktKeyword.COORDINATEOPERATION, WktKeyword.CONVERSION, WktKeyword.DERIVINGCONVERSION}));
+        RULES.put(WktKeyword.INTERPOLATIONCRS, RULES.get(WktKeyword.SOURCECRS));
+        RULES.put(WktKeyword.VERSION, new Rule(1, true, -1, -1));
+        RULES.put(WktKeyword.COORDINATEMETADATA, new Rule(0, false, -1, -1, crs));
+        RULES.put(WktKeyword.EPOCH, new Rule(1, false, 0, 0));
+        RULES.put(WktKeyword.DYNAMIC, new Rule(0, false, -1, -1, new WktKeyword[]{WktKeyword.FRAMEEPOCH}));
+        RULES.put(WktKeyword.FRAMEEPOCH, new Rule(1, false, 0, 0));
+        RULES.put(WktKeyword.BASEGEODCRS, new Rule(1, true, -1, -1, geodeticDatum));
+        RULES.put(WktKeyword.BASEGEOGCRS, RULES.get(WktKeyword.BASEGEODCRS));
+        RULES.put(WktKeyword.BASEPROJCRS, new Rule(1, true, -1, -1, baseGeodetic, conversion));
+        RULES.put(WktKeyword.BASEVERTCRS, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.VDATUM, WktKeyword.ENSEMBLE}));
+        RULES.put(WktKeyword.BASEENGCRS, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.EDATUM}));
+        RULES.put(WktKeyword.BASEPARAMCRS, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.PDATUM}));
+        RULES.put(WktKeyword.BASETIMECRS, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.TDATUM}));
+        RULES.put(WktKeyword.DATUM, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.ELLIPSOID}));
+        for (WktKeyword datum : EnumSet.of(WktKeyword.VDATUM, WktKeyword.EDATUM, WktKeyword.IDATUM, WktKeyword.PDATUM, WktKeyword.TDATUM, WktKeyword.ENSEMBLE)) {
+            RULES.put(datum, new Rule(1, true, -1, -1));
+        }
+        RULES.put(WktKeyword.ELLIPSOID, new Rule(3, true, 1, 2));
+        RULES.put(WktKeyword.PRIMEM, new Rule(2, true, 1, 1));
+        for (WktKeyword unit : EnumSet.of(WktKeyword.UNIT, WktKeyword.ANGLEUNIT, WktKeyword.LENGTHUNIT, WktKeyword.SCALEUNIT, WktKeyword.PARAMETRICUNIT)) {
+            RULES.put(unit, new Rule(2, true, 1, 1));
+        }
+        RULES.put(WktKeyword.TIMEUNIT, new Rule(1, true, 1, 1));
+        RULES.put(WktKeyword.CS, new Rule(2, false, 1, 1));
+        RULES.put(WktKeyword.AXIS, new Rule(2, true, -1, -1));
+        RULES.put(WktKeyword.ORDER, new Rule(1, false, 0, 0));
+        RULES.put(WktKeyword.CONVERSION, new Rule(1, true, -1, -1, new WktKeyword[]{WktKeyword.METHOD}));
+        RULES.put(WktKeyword.DERIVINGCONVERSION, RULES.get(WktKeyword.CONVERSION));
+        RULES.put(WktKeyword.METHOD, new Rule(1, true, -1, -1));
+        RULES.put(WktKeyword.PARAMETER, new Rule(2, true, 1, 1));
+        RULES.put(WktKeyword.ID, new Rule(2, true, -1, -1));
+        RULES.put(WktKeyword.USAGE, new Rule(0, false, -1, -1, new WktKeyword[]{WktKeyword.SCOPE}));
+        RULES.put(WktKeyword.SCOPE, new Rule(1, true, -1, -1));
+        RULES.put(WktKeyword.AREA, new Rule(1, true, -1, -1));
+        RULES.put(WktKeyword.REMARK, new Rule(1, true, -1, -1));
+        RULES.put(WktKeyword.BBOX, new Rule(4, false, 0, 3));
+    }
+
+    private WktValidator() {
+    }
+
+    /**
+     * Validates a WKT description.
+     * @param wkt WKT description
+     * @return the diagnostics, empty when the description is valid
+     */
+    public static List<WktDiagnostic> validate(final String wkt) {
+        final Checker checker = new Checker();
+        WktPushParser.parse(wkt, checker);
+        return checker.diagnostics;
+    }
+
+    /**
+     * Tests if a WKT description has no error. Warnings are ignored.
+     * @param wkt WKT description
+     * @return true when no diagnostic is an error
+     */
+    public static boolean isValid(final String wkt) {
+        for (WktDiagnostic diagnostic : validate(wkt)) {
+            if (diagnostic.getSeverity() == Severity.ERROR) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates a catalog of WKT descriptions in parallel on the common pool.
+     * @param catalog WKT descriptions
+     * @return the diagnostics of each description, in the catalog order
+     */
+    public static List<List<WktDiagnostic>> validateAll(final List<String> catalog) {
+        return validateAll(catalog, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Validates a catalog of WKT descriptions in parallel.
+     * @param catalog WKT descriptions
+     * @param pool pool running the validation
+     * @return the diagnostics of each description, in the catalog order
+     */
+    public static List<List<WktDiagnostic>> validateAll(final List<String> catalog, final ForkJoinPool pool) {
+        return pool.submit(() -> catalog.parallelStream()
+                .map(WktValidator::validate)
+                .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * Tests if a token is a number without parsing it.
+     * @param token attribute
+     * @return true when the token is a decimal number
+     */
+    static boolean isNumber(final String token) {
+        final int length = token.length();
+        int i = 0;
+        if (i < length && (token.charAt(i) == '+' || token.charAt(i) == '-')) {
+            i++;
+        }
+        int digits = 0;
+        while (i < length && Character.isDigit(token.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && token.charAt(i) == '.') {
+            i++;
+            while (i < length && Character.isDigit(token.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (token.charAt(i) == 'e' || token.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (token.charAt(i) == '+' || token.charAt(i) == '-')) {
+                i++;
+            }
+            final int exponent = i;
+            while (i < length && Character.isDigit(token.charAt(i))) {
+                i++;
+            }
+            if (i == exponent) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    /**
+     * Mandatory attributes and children of a node.
+     */
+    private static final class Rule {
+
+        private final int minAttributes;
+        private final boolean named;
+        private final int firstNumber;
+        private final int lastNumber;
+        private final WktKeyword[][] required;
+
+        /**
+         * Creates a rule.
+         * @param minAttributes minimum number of attributes
+         * @param named true when the first attribute is a quoted text
+         * @param firstNumber index of the first numeric attribute or -1
+         * @param lastNumber index of the last numeric attribute or -1
+         * @param required groups of children, one child of each group is
+         * mandatory
+         */
+        private Rule(final int minAttributes, final boolean named, final int firstNumber, final int lastNumber, final WktKeyword[]... required) {
+            this.minAttributes = minAttributes;
+            this.named = named;
+            this.firstNumber = firstNumber;
+            this.lastNumber = lastNumber;
+            this.required = required;
+        }
+    }
+
+    /**
+     * State of an open node.
+     */
+    private static final class Frame {
+
+        private String keyword;
+        private WktKeyword symbol;
+        private int start;
+        private int attributes;
+        private long childrenLow;
+        private long childrenHigh;
+        private int axes;
+        private int dimension;
+        private int components;
+
+        private void reset(final String keyword, final WktKeyword symbol, final int start) {
+            this.keyword = keyword;
+            this.symbol = symbol;
+            this.start = start;
+            this.attributes = 0;
+            this.childrenLow = 0;
+            this.childrenHigh = 0;
+            this.axes = 0;
+            this.dimension = -1;
+            this.components = 0;
+        }
+
+        private void addChild(final WktKeyword child) {
+            final int ordinal = child.ordinal();
+            if (ordinal < Long.SIZE) {
+                childrenLow |= 1L << ordinal;
+            } else {
+                childrenHigh |= 1L << (ordinal - Long.SIZE);
+            }
+        }
+
+        private boolean hasChild(final WktKeyword child) {
+            final int ordinal = child.ordinal();
+            return ordinal < Long.SIZE
+                    ? (childrenLow & 1L << ordinal) != 0
+                    : (childrenHigh & 1L << (ordinal - Long.SIZE)) != 0;
+        }
+    }
+
+    /**
+     * Checks the events of one description.
+     */
+    private static final class Checker implements WktHandler {
+
+        private final List<WktDiagnostic> diagnostics = new ArrayList<>();
+        private final List<Frame> frames = new ArrayList<>();
+        private int depth;
+        private int roots;
+
+        @Override
+        public void startNode(final String keyword, final WktKeyword symbol, final int start) {
+            if (depth == 0) {
+                if (roots++ > 0) {
+                    report(Severity.ERROR, start, "the end of the WKT", keyword);
+                } else if (!ROOTS.contains(symbol)) {
+                    report(Severity.ERROR, start, "a CRS or an operation", keyword);
+                }
+            } else {
+                final Frame parent = frames.get(depth - 1);
+                parent.addChild(symbol);
+                if (symbol == WktKeyword.AXIS) {
+                    parent.axes++;
+                } else if (COMPONENTS.contains(symbol)) {
+                    parent.components++;
+                }
+            }
+            if (depth == frames.size()) {
+                frames.add(new Frame());
+            }
+            frames.get(depth++).reset(keyword, symbol, start);
+            if (symbol == WktKeyword.UNKNOWN) {
+                report(Severity.WARNING, start, "a WKT keyword", keyword);
+            }
+        }
+
+        @Override
+        public void attribute(final String token, final int start, final int stop) {
+            if (token.isEmpty()) {
+                return;
+            }
+            final Frame frame = frames.get(depth - 1);
+            final int index = frame.attributes++;
+            final Rule rule = RULES.get(frame.symbol);
+            if (rule == null) {
+                return;
+            }
+            if (index == 0 && rule.named && token.charAt(0) != '"') {
+                report(Severity.ERROR, start, "a quoted text", token);
+            } else if (index >= rule.firstNumber && index <= rule.lastNumber && !isNumber(token)) {
+                report(Severity.ERROR, start, "a number", token);
+            } else if (frame.symbol == WktKeyword.CS && index == 1) {
+                frame.dimension = (int) Double.parseDouble(token);
+            }
+        }
+
+        @Override
+        public void endNode(final int stop) {
+            final Frame frame = frames.get(depth - 1);
+            final Rule rule = RULES.get(frame.symbol);
+            if (rule != null) {
+                if (frame.attributes < rule.minAttributes) {
+                    report(Severity.ERROR, stop, rule.minAttributes + " attribute(s)", String.valueOf(frame.attributes));
+                }
+                for (WktKeyword[] group : rule.required) {
+                    if (!hasOneOf(frame, group)) {
+                        report(Severity.ERROR, stop, join(group), "']'");
+                    }
+                }
+            }
+            if (frame.symbol == WktKeyword.CS) {
+                if (depth > 1) {
+                    frames.get(depth - 2).dimension = frame.dimension;
+                }
+            } else if (frame.dimension >= 0 && frame.axes != frame.dimension) {
+                report(Severity.ERROR, stop, frame.dimension + " AXIS", String.valueOf(frame.axes));
+            }
+            if (frame.symbol == WktKeyword.COMPOUNDCRS && frame.components < 2) {
+                report(Severity.ERROR, stop, "2 CRS components", String.valueOf(frame.components));
+            }
+            depth--;
+        }
+
+        @Override
+        public void error(final String expected, final String found, final int offset) {
+            report(Severity.ERROR, offset, expected, found);
+        }
+
+        private void report(final Severity severity, final int offset, final String expected, final String found) {
+            final StringBuilder path = new StringBuilder();
+            for (int i = 0; i < depth; i++) {
+                if (i > 0) {
+                    path.append('/');
+                }
+                path.append(frames.get(i).keyword);
+            }
+            diagnostics.add(new WktDiagnostic(severity, offset, path.toString(), expected, found));
+        }
+
+        private static boolean hasOneOf(final Frame frame, final WktKeyword[] group) {
+            for (WktKeyword keyword : group) {
+                if (frame.hasChild(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String join(final WktKeyword[] group) {
+            final StringBuilder text = new StringBuilder();
+            for (int i = 0; i < group.length; i++) {
+                if (i > 0) {
+                    text.append(i == group.length - 1 ? " or " : ", ");
+                }
+                text.append(group[i].name());
+            }
+            return text.toString();
+        }
+    }
+}
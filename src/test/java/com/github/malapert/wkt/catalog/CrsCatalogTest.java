@@ -0,0 +1,156 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.catalog;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.crs.ProjectedCrs;
+import com.github.malapert.wkt.crs.VerticalCrs;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class CrsCatalogTest {
+
+    private static final String NAD83 = "GEODCRS[\"NAD83\",DATUM[\"North American Datum 1983\",ELLIPSOID[\"GRS 1980\",6378137,298.257222101,LENGTHUNIT[\"metre\",1.0]]],CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.017453292519943],ID[\"EPSG\",4269],REMARK[\"1986 realisation\"]]";
+    private static final String UTM_31N = "PROJCRS[\"WGS 84 / UTM zone 31N\",BASEGEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563]],ANGLEUNIT[\"degree\",0.0174532925199433]],CONVERSION[\"UTM zone 31N\",METHOD[\"Transverse Mercator\",ID[\"EPSG\",9807]],PARAMETER[\"Latitude of natural origin\",0,ANGLEUNIT[\"degree\",0.0174532925199433]],PARAMETER[\"Longitude of natural origin\",3,ANGLEUNIT[\"degree\",0.0174532925199433]],PARAMETER[\"Scale factor at natural origin\",0.9996,SCALEUNIT[\"unity\",1.0]],PARAMETER[\"False easting\",500000,LENGTHUNIT[\"metre\",1.0]],PARAMETER[\"False northing\",0,LENGTHUNIT[\"metre\",1.0]]],CS[Cartesian,2],AXIS[\"(E)\",east],AXIS[\"(N)\",north],LENGTHUNIT[\"metre\",1.0],ID[\"EPSG\",32631]]";
+    private static final String NAVD88 = "{\"type\":\"VerticalCRS\",\"name\":\"NAVD88 height\",\"datum\":{\"type\":\"VerticalReferenceFrame\",\"name\":\"North American Vertical Datum 1988\"},\"coordinate_system\":{\"subtype\":\"vertical\",\"axis\":[{\"name\":\"Gravity-related height\",\"abbreviation\":\"H\",\"direction\":\"up\",\"unit\":\"metre\"}]}}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+
+    public CrsCatalogTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        file = folder.getRoot().toPath().resolve("crs.catalog");
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of add and get methods, of class CrsCatalog.
+     */
+    @Test
+    public void testAddAndGet() throws IOException {
+        try (CrsCatalog catalog = CrsCatalog.create(file, 16)) {
+            catalog.add("EPSG", "4269", "NAD83", CrsCatalog.Format.WKT, NAD83);
+            catalog.add("EPSG", "32631", CoordinateReferenceSystemFactory.createFromWkt(UTM_31N));
+            catalog.add("EPSG", "5703", "NAVD88 height", CrsCatalog.Format.PROJJSON, NAVD88);
+            assertEquals(3, catalog.size());
+            assertTrue(catalog.contains("epsg", "4269"));
+            assertFalse(catalog.contains("EPSG", "4326"));
+            assertNull(catalog.get("EPSG", "4326"));
+            assertEquals(NAD83, catalog.getDefinition("EPSG", "4269"));
+            CoordinateReferenceSystem crs = catalog.get("EPSG", "4269");
+            assertEquals(NAD83, crs.toWkt("", "", 0).toString());
+            assertSame(crs, catalog.get("EPSG", "4269"));
+            assertTrue(catalog.get("EPSG", "32631") instanceof ProjectedCrs);
+            assertTrue(catalog.getByName("NAVD88 height") instanceof VerticalCrs);
+            assertNull(catalog.getByName("NAVD88 depth"));
+        }
+    }
+
+    /**
+     * Test of open method, of class CrsCatalog.
+     */
+    @Test
+    public void testReopenAndAppend() throws IOException {
+        try (CrsCatalog catalog = CrsCatalog.create(file, 4)) {
+            catalog.add("EPSG", "4269", "NAD83", CrsCatalog.Format.WKT, NAD83);
+        }
+        final long size = Files.size(file);
+        try (CrsCatalog catalog = CrsCatalog.open(file)) {
+            assertEquals(1, catalog.size());
+            catalog.add("EPSG", "5703", "NAVD88 height", CrsCatalog.Format.PROJJSON, NAVD88);
+        }
+        assertTrue(Files.size(file) > size);
+        try (CrsCatalog catalog = CrsCatalog.open(file)) {
+            assertEquals(2, catalog.size());
+            assertEquals("\"NAD83\"", catalog.get("EPSG", "4269").getCrsName());
+            assertEquals("\"NAVD88 height\"", catalog.get("EPSG", "5703").getCrsName());
+        }
+    }
+
+    /**
+     * Test of add method with a code already in the catalog.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testAddDuplicate() throws IOException {
+        try (CrsCatalog catalog = CrsCatalog.create(file, 4)) {
+            catalog.add("EPSG", "4269", "NAD83", CrsCatalog.Format.WKT, NAD83);
+            catalog.add("EPSG", "4269", "NAD83", CrsCatalog.Format.WKT, NAD83);
+        }
+    }
+
+    /**
+     * Test of add method when the tables are full.
+     */
+    @Test
+    public void testFull() throws IOException {
+        try (CrsCatalog catalog = CrsCatalog.create(file, 2)) {
+            int added = 0;
+            try {
+                for (int code = 0; code < 100; code++) {
+                    catalog.add("TEST", String.valueOf(code), "NAD83", CrsCatalog.Format.WKT, NAD83);
+                    added++;
+                }
+                fail("The catalog should be full");
+            } catch (RuntimeException ex) {
+                assertTrue(added >= 2);
+            }
+            assertEquals(added, catalog.size());
+            assertTrue(catalog.contains("TEST", String.valueOf(added - 1)));
+        }
+    }
+
+    /**
+     * Test of open method with a file that is not a catalog.
+     */
+    @Test(expected = IOException.class)
+    public void testOpenInvalidFile() throws IOException {
+        Files.write(file, "GEODCRS[]".getBytes("UTF-8"));
+        CrsCatalog.open(file).close();
+    }
+}
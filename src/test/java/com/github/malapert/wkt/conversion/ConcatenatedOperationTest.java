@@ -0,0 +1,248 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.conversion;
+
+import com.github.malapert.wkt.grid.GridManager;
+import com.github.malapert.wkt.grid.GridManagerTest;
+import com.github.malapert.wkt.operation.FusedOperation;
+import com.github.malapert.wkt.operation.GeoidHeight;
+import com.github.malapert.wkt.operation.GridShift;
+import com.github.malapert.wkt.operation.TransverseMercator;
+import com.github.malapert.wkt.utils.WktValidator;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class ConcatenatedOperationTest {
+
+    private static final String WGS72 = "GEODCRS[\"WGS 72\",DATUM[\"World Geodetic System 1972\",ELLIPSOID[\"WGS 72\",6378135,298.26,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[Cartesian,3],AXIS[\"(X)\",geocentricX],AXIS[\"(Y)\",geocentricY],AXIS[\"(Z)\",geocentricZ],LENGTHUNIT[\"metre\",1.0]]";
+    private static final String WGS84 = "GEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[Cartesian,3],AXIS[\"(X)\",geocentricX],AXIS[\"(Y)\",geocentricY],AXIS[\"(Z)\",geocentricZ],LENGTHUNIT[\"metre\",1.0]]";
+    private static final String HELMERT = "COORDINATEOPERATION[\"WGS 72 to WGS 84 (1)\",VERSION[\"EPSG-Wld\"],SOURCECRS[" + WGS72 + "],TARGETCRS[" + WGS84 + "],"
+            + "METHOD[\"Position Vector transformation (geocentric domain)\",ID[\"EPSG\",1033]],"
+            + "PARAMETER[\"X-axis translation\",0,LENGTHUNIT[\"metre\",1.0],ID[\"EPSG\",8605]],"
+            + "PARAMETER[\"Y-axis translation\",0,LENGTHUNIT[\"metre\",1.0],ID[\"EPSG\",8606]],"
+            + "PARAMETER[\"Z-axis translation\",4.5,LENGTHUNIT[\"metre\",1.0],ID[\"EPSG\",8607]],"
+            + "PARAMETER[\"X-axis rotation\",0,ANGLEUNIT[\"arc-second\",0.00000484813681109536],ID[\"EPSG\",8608]],"
+            + "PARAMETER[\"Y-axis rotation\",0,ANGLEUNIT[\"arc-second\",0.00000484813681109536],ID[\"EPSG\",8609]],"
+            + "PARAMETER[\"Z-axis rotation\",0.554,ANGLEUNIT[\"arc-second\",0.00000484813681109536],ID[\"EPSG\",8610]],"
+            + "PARAMETER[\"Scale difference\",0.219,SCALEUNIT[\"parts per million\",0.000001],ID[\"EPSG\",8611]],"
+            + "OPERATIONACCURACY[2],USAGE[SCOPE[\"Geodesy\"],AREA[\"World\"]],ID[\"EPSG\",1238]]";
+    private static final String CONCATENATED = "CONCATENATEDOPERATION[\"WGS 72 to WGS 84 in millimetres\",SOURCECRS[" + WGS72 + "],TARGETCRS[" + WGS84 + "],"
+            + "STEP[" + HELMERT + "],"
+            + "STEP[DERIVINGCONVERSION[\"Metre to millimetre\",METHOD[\"Affine parametric transformation\",ID[\"EPSG\",9624]],"
+            + "PARAMETER[\"A0\",0,LENGTHUNIT[\"metre\",1.0],ID[\"EPSG\",8623]],"
+            + "PARAMETER[\"A1\",1000,SCALEUNIT[\"unity\",1.0],ID[\"EPSG\",8624]],"
+            + "PARAMETER[\"A2\",0,SCALEUNIT[\"unity\",1.0],ID[\"EPSG\",8625]],"
+            + "PARAMETER[\"B0\",0,LENGTHUNIT[\"metre\",1.0],ID[\"EPSG\",8639]],"
+            + "PARAMETER[\"B1\",0,SCALEUNIT[\"unity\",1.0],ID[\"EPSG\",8640]],"
+            + "PARAMETER[\"B2\",1000,SCALEUNIT[\"unity\",1.0],ID[\"EPSG\",8641]]]],"
+            + "STEP[DERIVINGCONVERSION[\"Height to depth\",METHOD[\"Height Depth Reversal\",ID[\"EPSG\",1068]]]],"
+            + "ID[\"TEST\",1]]";
+
+    private static final String HEIGHT = "VERTCRS[\"EGM96 height\",VDATUM[\"EGM96 geoid\"],CS[vertical,1],AXIS[\"gravity-related height (H)\",up],LENGTHUNIT[\"metre\",1.0]]";
+    private static final String DEPTH_FT = "VERTCRS[\"EGM96 depth (ft)\",VDATUM[\"EGM96 geoid\"],CS[vertical,1],AXIS[\"depth (D)\",down],LENGTHUNIT[\"foot\",0.3048]]";
+    private static final String VERTICAL = "CONCATENATEDOPERATION[\"EGM96 height to depth in feet\",SOURCECRS[" + HEIGHT + "],TARGETCRS[" + DEPTH_FT + "],"
+            + "STEP[DERIVINGCONVERSION[\"Height to depth\",METHOD[\"Height Depth Reversal\",ID[\"EPSG\",1068]]]],"
+            + "STEP[DERIVINGCONVERSION[\"Metre to foot\",METHOD[\"Change of Vertical Unit\",ID[\"EPSG\",1069]],"
+            + "PARAMETER[\"Unit conversion ratio\",3.28083989501312,SCALEUNIT[\"unity\",1.0],ID[\"EPSG\",1051]]]]]";
+
+    private static final String NTF = "GEODCRS[\"NTF (grad)\",DATUM[\"Nouvelle Triangulation Francaise\",ELLIPSOID[\"Clarke 1880 (IGN)\",6378249.2,293.4660213,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north,ORDER[1]],AXIS[\"longitude\",east,ORDER[2]],ANGLEUNIT[\"grad\",0.015707963267949]]";
+    private static final String RGF93 = "GEODCRS[\"RGF93\",DATUM[\"Reseau Geodesique Francais 1993\",ELLIPSOID[\"GRS 1980\",6378137,298.257222101,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north,ORDER[1]],AXIS[\"longitude\",east,ORDER[2]],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+    private static final String UTM_31N = "PROJCRS[\"RGF93 / UTM zone 31N\",BASEGEODCRS[\"RGF93\",DATUM[\"Reseau Geodesique Francais 1993\",ELLIPSOID[\"GRS 1980\",6378137,298.257222101,LENGTHUNIT[\"metre\",1.0]]],"
+            + "ANGLEUNIT[\"degree\",0.0174532925199433]],CONVERSION[\"UTM zone 31N\",METHOD[\"Transverse Mercator\",ID[\"EPSG\",9807]],"
+            + "PARAMETER[\"Longitude of natural origin\",3,ANGLEUNIT[\"degree\",0.0174532925199433]],PARAMETER[\"Scale factor at natural origin\",0.9996,SCALEUNIT[\"unity\",1.0]],"
+            + "PARAMETER[\"False easting\",500000,LENGTHUNIT[\"metre\",1.0]]],CS[Cartesian,2],AXIS[\"(E)\",east],AXIS[\"(N)\",north],LENGTHUNIT[\"metre\",1.0]]";
+    private static final String PROJECTION = "CONCATENATEDOPERATION[\"NTF (grad) to RGF93 / UTM zone 31N\",SOURCECRS[" + NTF + "],TARGETCRS[" + UTM_31N + "],"
+            + "STEP[DERIVINGCONVERSION[\"Grad to degree\",METHOD[\"Affine parametric transformation\",ID[\"EPSG\",9624]],"
+            + "PARAMETER[\"A0\",0,ID[\"EPSG\",8623]],PARAMETER[\"A1\",0.9,ID[\"EPSG\",8624]],PARAMETER[\"A2\",0,ID[\"EPSG\",8625]],"
+            + "PARAMETER[\"B0\",0,ID[\"EPSG\",8639]],PARAMETER[\"B1\",0,ID[\"EPSG\",8640]],PARAMETER[\"B2\",0.9,ID[\"EPSG\",8641]]]],"
+            + "STEP[DERIVINGCONVERSION[\"Latitude and longitude swap\",METHOD[\"Axis Order Reversal (2D)\",ID[\"EPSG\",9843]]]],"
+            + "STEP[COORDINATEOPERATION[\"NTF to RGF93\",SOURCECRS[" + NTF + "],TARGETCRS[" + RGF93 + "],METHOD[\"NTv2\",ID[\"EPSG\",9615]],"
+            + "PARAMETERFILE[\"Latitude and longitude difference file\",\"test.gsb\"]]],"
+            + "STEP[CONVERSION[\"UTM zone 31N\",METHOD[\"Transverse Mercator\",ID[\"EPSG\",9807]],"
+            + "PARAMETER[\"Longitude of natural origin\",3,ANGLEUNIT[\"degree\",0.0174532925199433]],PARAMETER[\"Scale factor at natural origin\",0.9996,SCALEUNIT[\"unity\",1.0]],"
+            + "PARAMETER[\"False easting\",500000,LENGTHUNIT[\"metre\",1.0]]]]]";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public ConcatenatedOperationTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of the parsing of a COORDINATEOPERATION.
+     */
+    @Test
+    public void testCoordinateOperation() {
+        assertTrue(WktValidator.isValid(HELMERT));
+        CoordinateOperation operation = CoordinateOperationFactory.createFromWkt(HELMERT, CoordinateOperation.class);
+        assertEquals("WGS 72 to WGS 84 (1)", operation.getName());
+        assertEquals("EPSG-Wld", operation.getOperationVersion());
+        assertEquals("\"WGS 72\"", operation.getSourceCrs().getCrsName());
+        assertEquals("\"WGS 84\"", operation.getTargetCrs().getCrsName());
+        assertEquals("2", operation.getOperationAccuracy());
+        assertEquals(7, operation.getParameterValues().size());
+        assertEquals(1, operation.getIdentifiers().size());
+        assertEquals(1, operation.getScopeExtent().getUsageList().size());
+        assertEquals(HELMERT, operation.toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Test of the parsing of a CONCATENATEDOPERATION.
+     */
+    @Test
+    public void testConcatenatedOperation() {
+        assertTrue(WktValidator.isValid(CONCATENATED));
+        ConcatenatedOperation operation = CoordinateOperationFactory.createFromWkt(CONCATENATED, ConcatenatedOperation.class);
+        assertEquals(3, operation.getSteps().size());
+        assertTrue(operation.getSteps().get(0) instanceof CoordinateOperation);
+        assertTrue(operation.getSteps().get(1) instanceof DerivedConversion);
+        assertEquals(CONCATENATED, operation.toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Test of the execution of a CONCATENATEDOPERATION.
+     */
+    @Test
+    public void testExecution() {
+        ConcatenatedOperation operation = CoordinateOperationFactory.createFromWkt(CONCATENATED, ConcatenatedOperation.class);
+        FusedOperation fused = FusedOperation.create(operation);
+        assertEquals(1, fused.getSteps().size());
+        double[] points = {3657660.66, 255768.55, 5201382.11};
+        fused.transform(points, 0, 3, 1);
+        assertEquals(3657660774.067, points[0], 1e-3);
+        assertEquals(255778430.008, points[1], 1e-3);
+        assertEquals(-5201387.749, points[2], 1e-3);
+    }
+
+    /**
+     * Test of the execution of the vertical methods on 1D and 3D points.
+     */
+    @Test
+    public void testVerticalExecution() {
+        ConcatenatedOperation operation = CoordinateOperationFactory.createFromWkt(VERTICAL, ConcatenatedOperation.class);
+        FusedOperation fused = FusedOperation.create(operation);
+        assertEquals(1, fused.getSteps().size());
+        double[] heights = {0, 10, -3.048};
+        fused.transform(heights, 1, 1, 2);
+        assertArrayEquals(new double[]{0, -32.8083989501312, 10}, heights, 1e-9);
+        double[] points = {2.5, 48.5, 10};
+        fused.transform(points, 0, 3, 1);
+        assertArrayEquals(new double[]{2.5, 48.5, -32.8083989501312}, points, 1e-9);
+    }
+
+    /**
+     * Test of the execution of a change of unit, an axis swap, a NTv2 grid
+     * and a Transverse Mercator projection.
+     */
+    @Test
+    public void testProjectionExecution() throws IOException {
+        Files.write(folder.getRoot().toPath().resolve("test.gsb"), GridManagerTest.createNTv2());
+        ConcatenatedOperation operation = CoordinateOperationFactory.createFromWkt(PROJECTION, ConcatenatedOperation.class);
+        try (FusedOperation fused = FusedOperation.create(operation, folder.getRoot().toPath())) {
+            assertEquals(1, GridManager.size());
+            // the change of unit and the swap are fused, as the degrees to radians
+            assertEquals(4, fused.getSteps().size());
+            assertTrue(fused.getSteps().get(1) instanceof GridShift);
+            assertTrue(fused.getSteps().get(3) instanceof TransverseMercator);
+            double[] points = {45.25 / 0.9, 1.5 / 0.9};
+            fused.transform(points, 0, 2, 1);
+            double[] expected = {Math.toRadians(1.5 - 1.0 / 3600), Math.toRadians(45.25 + 1.25 / 3600)};
+            new TransverseMercator(6378137, 298.257222101, 0, Math.toRadians(3), 0.9996, 500000, 0).transform(expected, 0, 2);
+            assertArrayEquals(expected, points, 1e-6);
+        }
+        assertEquals(0, GridManager.size());
+    }
+
+    /**
+     * Test of the execution of a geoid model in the GTX format.
+     */
+    @Test
+    public void testGeoidExecution() throws IOException {
+        Files.write(folder.getRoot().toPath().resolve("test.gtx"), GridManagerTest.createGtx());
+        String wkt = "CONCATENATEDOPERATION[\"RGF93 to NGF-IGN69 height\",SOURCECRS[" + RGF93 + "],TARGETCRS[" + HEIGHT + "],"
+                + "STEP[DERIVINGCONVERSION[\"Latitude and longitude swap\",METHOD[\"Axis Order Reversal (Geographic3D horizontal)\",ID[\"EPSG\",9844]]]],"
+                + "STEP[DERIVINGCONVERSION[\"Geoid model\",METHOD[\"Geographic3D to GravityRelatedHeight (gtx)\",ID[\"EPSG\",9665]],"
+                + "PARAMETERFILE[\"Geoid (height correction) model file\",\"test.gtx\"]]]]";
+        ConcatenatedOperation operation = CoordinateOperationFactory.createFromWkt(wkt, ConcatenatedOperation.class);
+        try (FusedOperation fused = FusedOperation.create(operation, folder.getRoot().toPath())) {
+            assertTrue(fused.getSteps().get(1) instanceof GeoidHeight);
+            double[] points = {46.25, 1.5, 100};
+            fused.transform(points, 0, 3, 1);
+            assertArrayEquals(new double[]{1.5, 46.25, 100 - 16.25}, points, 1e-9);
+        }
+        assertEquals(0, GridManager.size());
+    }
+
+    /**
+     * Test of a grid that does not exist.
+     */
+    @Test
+    public void testMissingGrid() {
+        ConcatenatedOperation operation = CoordinateOperationFactory.createFromWkt(PROJECTION, ConcatenatedOperation.class);
+        try {
+            FusedOperation.create(operation, folder.getRoot().toPath());
+            fail("The grid does not exist");
+        } catch (RuntimeException ex) {
+            assertTrue(ex.getMessage().startsWith("Cannot open the grid"));
+        }
+        assertEquals(0, GridManager.size());
+    }
+
+    /**
+     * Test of a CONCATENATEDOPERATION without step.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testMissingStep() {
+        String wkt = "CONCATENATEDOPERATION[\"empty\",SOURCECRS[" + WGS72 + "],TARGETCRS[" + WGS84 + "]]";
+        assertFalse(WktValidator.isValid(wkt));
+        CoordinateOperationFactory.createFromWkt(wkt);
+    }
+}
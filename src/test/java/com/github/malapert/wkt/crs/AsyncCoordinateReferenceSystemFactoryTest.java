@@ -0,0 +1,205 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.crs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class AsyncCoordinateReferenceSystemFactoryTest {
+
+    private static final String NAD83 = "GEODCRS[\"NAD83\",DATUM[\"North American Datum 1983\",ELLIPSOID[\"GRS 1980\",6378137,298.257222101,LENGTHUNIT[\"metre\",1.0]]],CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.017453292519943],ID[\"EPSG\",4269]]";
+    private static final String NAVD88 = "VERTCRS[\"NAVD88\",VDATUM[\"North American Vertical Datum 1988\"],CS[vertical,1],AXIS[\"gravity-related height (H)\",up],LENGTHUNIT[\"metre\",1.0]]";
+
+    private GatedExecutor executor;
+
+    public AsyncCoordinateReferenceSystemFactoryTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+        executor = new GatedExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.gate.countDown();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test of createFromWkt method, of class AsyncCoordinateReferenceSystemFactory.
+     */
+    @Test
+    public void testCreateFromWkt() throws Exception {
+        try (AsyncCoordinateReferenceSystemFactory factory = new AsyncCoordinateReferenceSystemFactory(8, AsyncCoordinateReferenceSystemFactory.OverflowPolicy.REJECT)) {
+            CompletableFuture<CoordinateReferenceSystem> geodetic = factory.createFromWkt(NAD83, 10, TimeUnit.SECONDS);
+            CompletableFuture<CoordinateReferenceSystem> vertical = factory.createFromWkt(NAVD88);
+            assertEquals(NAD83, geodetic.get().toWkt("", "", 0).toString());
+            assertEquals(NAVD88, vertical.get().toWkt("", "", 0).toString());
+        }
+    }
+
+    /**
+     * Test of the coalescing of identical definitions.
+     */
+    @Test
+    public void testCoalescing() throws Exception {
+        try (AsyncCoordinateReferenceSystemFactory factory = new AsyncCoordinateReferenceSystemFactory(executor, 1, AsyncCoordinateReferenceSystemFactory.OverflowPolicy.REJECT)) {
+            List<CompletableFuture<CoordinateReferenceSystem>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(factory.createFromWkt(NAD83));
+            }
+            assertEquals(1, factory.getInFlightCount());
+            executor.gate.countDown();
+            CoordinateReferenceSystem crs = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (CompletableFuture<CoordinateReferenceSystem> future : futures) {
+                assertSame(crs, future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executor.executed.get());
+            assertEquals(0, factory.getInFlightCount());
+        }
+    }
+
+    /**
+     * Test of the rejection when too many definitions are pending.
+     */
+    @Test
+    public void testReject() throws Exception {
+        try (AsyncCoordinateReferenceSystemFactory factory = new AsyncCoordinateReferenceSystemFactory(executor, 1, AsyncCoordinateReferenceSystemFactory.OverflowPolicy.REJECT)) {
+            CompletableFuture<CoordinateReferenceSystem> first = factory.createFromWkt(NAD83);
+            CompletableFuture<CoordinateReferenceSystem> second = factory.createFromWkt(NAVD88);
+            try {
+                second.get(10, TimeUnit.SECONDS);
+                fail("The second definition should be rejected");
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof RejectedExecutionException);
+            }
+            executor.gate.countDown();
+            assertNotNull(first.get(10, TimeUnit.SECONDS));
+            assertNotNull(factory.createFromWkt(NAVD88).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Test of the queue when too many definitions are pending.
+     */
+    @Test
+    public void testQueue() throws Exception {
+        try (AsyncCoordinateReferenceSystemFactory factory = new AsyncCoordinateReferenceSystemFactory(executor, 1, AsyncCoordinateReferenceSystemFactory.OverflowPolicy.QUEUE)) {
+            CompletableFuture<CoordinateReferenceSystem> first = factory.createFromWkt(NAD83);
+            CompletableFuture<CoordinateReferenceSystem> second = factory.createFromWkt(NAVD88);
+            // the caller is not parked and the second definition waits for a slot
+            assertFalse(second.isDone());
+            assertEquals(1, executor.executed.get());
+            executor.gate.countDown();
+            assertEquals(NAD83, first.get(10, TimeUnit.SECONDS).toWkt("", "", 0).toString());
+            assertEquals(NAVD88, second.get(10, TimeUnit.SECONDS).toWkt("", "", 0).toString());
+            assertEquals(2, executor.executed.get());
+        }
+    }
+
+    /**
+     * Test of the timeout of a call.
+     */
+    @Test
+    public void testTimeout() throws Exception {
+        try (AsyncCoordinateReferenceSystemFactory factory = new AsyncCoordinateReferenceSystemFactory(executor, 4, AsyncCoordinateReferenceSystemFactory.OverflowPolicy.QUEUE)) {
+            CompletableFuture<CoordinateReferenceSystem> impatient = factory.createFromWkt(NAD83, 20, TimeUnit.MILLISECONDS);
+            CompletableFuture<CoordinateReferenceSystem> patient = factory.createFromWkt(NAD83);
+            try {
+                impatient.get(10, TimeUnit.SECONDS);
+                fail("The call should time out");
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof TimeoutException);
+            }
+            executor.gate.countDown();
+            assertNotNull(patient.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Test of an invalid definition.
+     */
+    @Test
+    public void testInvalidDefinition() throws Exception {
+        try (AsyncCoordinateReferenceSystemFactory factory = new AsyncCoordinateReferenceSystemFactory(2, AsyncCoordinateReferenceSystemFactory.OverflowPolicy.QUEUE)) {
+            try {
+                factory.createFromProjJson("{\"type\":\"BoundCRS\"}").get(10, TimeUnit.SECONDS);
+                fail("The definition should not be parsed");
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof RuntimeException);
+            }
+            assertEquals(0, factory.getInFlightCount());
+        }
+    }
+
+    /**
+     * Executor whose tasks wait until the gate is opened.
+     */
+    private static class GatedExecutor extends ThreadPoolExecutor {
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final AtomicInteger executed = new AtomicInteger();
+
+        GatedExecutor() {
+            super(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>());
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            executed.incrementAndGet();
+            super.execute(() -> {
+                try {
+                    gate.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                command.run();
+            });
+        }
+    }
+}
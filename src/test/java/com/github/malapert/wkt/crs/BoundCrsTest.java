@@ -0,0 +1,148 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.crs;
+
+import com.github.malapert.wkt.operation.HelmertTransform;
+import com.github.malapert.wkt.utils.WktValidator;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class BoundCrsTest {
+
+    private static final String ED50 = "GEODCRS[\"ED50\",DATUM[\"European Datum 1950\",ELLIPSOID[\"International 1924\",6378388,297,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+    private static final String WGS84 = "GEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+    private static final String TRANSLATIONS = "BOUNDCRS[SOURCECRS[" + ED50 + "],TARGETCRS[" + WGS84 + "],"
+            + "ABRIDGEDTRANSFORMATION[\"ED50 to WGS 84 (1)\",METHOD[\"Geocentric translations (geog2D domain)\",ID[\"EPSG\",9603]],"
+            + "PARAMETER[\"X-axis translation\",-87,LENGTHUNIT[\"metre\",1.0],ID[\"EPSG\",8605]],"
+            + "PARAMETER[\"Y-axis translation\",-98,LENGTHUNIT[\"metre\",1.0],ID[\"EPSG\",8606]],"
+            + "PARAMETER[\"Z-axis translation\",-121,LENGTHUNIT[\"metre\",1.0],ID[\"EPSG\",8607]],"
+            + "OPERATIONACCURACY[10],ID[\"EPSG\",1133]]]";
+    private static final String SEVEN_PARAMETERS = "BOUNDCRS[SOURCECRS[" + ED50 + "],TARGETCRS[" + WGS84 + "],"
+            + "ABRIDGEDTRANSFORMATION[\"Transformation from ED50 to WGS84\",METHOD[\"Coordinate Frame rotation\"],"
+            + "PARAMETER[\"X-axis translation\",-87,LENGTHUNIT[\"metre\",1.0]],"
+            + "PARAMETER[\"Y-axis translation\",-98,LENGTHUNIT[\"metre\",1.0]],"
+            + "PARAMETER[\"Z-axis translation\",-121,LENGTHUNIT[\"metre\",1.0]],"
+            + "PARAMETER[\"X-axis rotation\",0,ANGLEUNIT[\"arc-second\",4.84813681109536E-06]],"
+            + "PARAMETER[\"Y-axis rotation\",0,ANGLEUNIT[\"arc-second\",4.84813681109536E-06]],"
+            + "PARAMETER[\"Z-axis rotation\",1,ANGLEUNIT[\"arc-second\",4.84813681109536E-06]],"
+            + "PARAMETER[\"Scale difference\",2,SCALEUNIT[\"parts per million\",1E-06]]],"
+            + "USAGE[SCOPE[\"Transformation\"],AREA[\"Europe\"]]]";
+
+    public BoundCrsTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of the parsing of a BOUNDCRS.
+     */
+    @Test
+    public void testCreateFromWkt() {
+        assertTrue(WktValidator.isValid(TRANSLATIONS));
+        CoordinateReferenceSystem crs = CoordinateReferenceSystemFactory.createFromWkt(TRANSLATIONS);
+        assertTrue(crs instanceof BoundCrs);
+        BoundCrs boundCrs = (BoundCrs) crs;
+        assertEquals("\"ED50\"", boundCrs.getCrsName());
+        assertEquals("\"WGS 84\"", boundCrs.getTargetCrs().getCrsName());
+        assertSame(boundCrs.getSourceCrs().getCs(), boundCrs.getCs());
+        assertEquals("ED50 to WGS 84 (1)", boundCrs.getTransformation().getName());
+        assertEquals("10", boundCrs.getTransformation().getOperationAccuracy());
+        assertEquals(3, boundCrs.getTransformation().getParameterValues().size());
+        assertEquals(TRANSLATIONS, boundCrs.toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Test of the Helmert transformation of a BOUNDCRS with three parameters.
+     */
+    @Test
+    public void testGeocentricTranslations() {
+        BoundCrs boundCrs = (BoundCrs) CoordinateReferenceSystemFactory.createFromWkt(TRANSLATIONS);
+        HelmertTransform helmert = boundCrs.getTransformation().getHelmertTransform();
+        assertSame(helmert, boundCrs.getTransformation().getHelmertTransform());
+        double[] points = {4201000, 177000, 4779000, 0, 0, 0};
+        helmert.transform(points, 0, 3, 2);
+        assertArrayEquals(new double[]{4200913, 176902, 4778879, -87, -98, -121}, points, 1e-9);
+    }
+
+    /**
+     * Test of the Helmert transformation of a BOUNDCRS with seven parameters
+     * in non SI units.
+     */
+    @Test
+    public void testSevenParameters() {
+        BoundCrs boundCrs = (BoundCrs) CoordinateReferenceSystemFactory.createFromWkt(SEVEN_PARAMETERS);
+        assertEquals(1, boundCrs.getScopeExtent().getUsageList().size());
+        double[] matrix = boundCrs.getTransformation().getHelmertTransform().getMatrix();
+        double scale = 1 + 2e-6;
+        double rz = Math.toRadians(1.0 / 3600);
+        assertEquals(scale, matrix[0], 1e-15);
+        // coordinate frame convention: the rotation is applied to the axes
+        assertEquals(rz * scale, matrix[1], 1e-15);
+        assertEquals(-rz * scale, matrix[4], 1e-15);
+        assertEquals(-87, matrix[3], 0);
+    }
+
+    /**
+     * Test of a BOUNDCRS without transformation.
+     */
+    @Test
+    public void testMissingTransformation() {
+        String wkt = "BOUNDCRS[SOURCECRS[" + ED50 + "],TARGETCRS[" + WGS84 + "]]";
+        assertFalse(WktValidator.isValid(wkt));
+        try {
+            CoordinateReferenceSystemFactory.createFromWkt(wkt);
+            fail("The transformation is missing");
+        } catch (RuntimeException ex) {
+            assertTrue(ex.getMessage().contains("ABRIDGEDTRANSFORMATION"));
+        }
+    }
+
+    /**
+     * Test of a method that is not a Helmert transformation.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testNotHelmert() {
+        BoundCrs boundCrs = (BoundCrs) CoordinateReferenceSystemFactory.createFromWkt(TRANSLATIONS.replace("Geocentric translations (geog2D domain)\",ID[\"EPSG\",9603]", "Affine\",ID[\"EPSG\",9624]"));
+        boundCrs.getTransformation().getHelmertTransform();
+    }
+}
@@ -0,0 +1,98 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.crs;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class CoordinateLayoutTest {
+
+    private static final String COMPOUND = "COMPOUNDCRS[\"WGS 84 + EGM96 height + GPS time\","
+            + "GEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],CS[ellipsoidal,2],AXIS[\"latitude\",north,ORDER[1]],AXIS[\"longitude\",east,ORDER[2]],ANGLEUNIT[\"degree\",0.0174532925199433]],"
+            + "VERTCRS[\"EGM96 height\",VDATUM[\"EGM96 geoid\"],CS[vertical,1],AXIS[\"gravity-related height (H)\",up],LENGTHUNIT[\"metre\",1.0]],"
+            + "TIMECRS[\"GPS milliseconds\",TDATUM[\"GPS time origin\",TIMEORIGIN[1980-01-06T00:00:00.0Z]],CS[temporal,1],AXIS[\"(T)\",future,TIMEUNIT[\"millisecond (ms)\",0.001]]]]";
+
+    public CoordinateLayoutTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of getLayout method, of class CompoundCrs.
+     */
+    @Test
+    public void testCompoundLayout() {
+        CompoundCrs crs = (CompoundCrs) CoordinateReferenceSystemFactory.createFromWkt(COMPOUND);
+        CoordinateLayout layout = crs.getLayout();
+        assertEquals(4, layout.getDimension());
+        assertEquals(3, layout.getComponentCount());
+        assertEquals(0, layout.getOffset(0));
+        assertEquals(2, layout.getDimension(0));
+        assertEquals(2, layout.getOffset(1));
+        assertEquals(3, layout.getOffset(2));
+        assertEquals(0, layout.componentAt(1));
+        assertEquals(1, layout.componentAt(2));
+        assertEquals(2, layout.componentAt(3));
+        assertTrue(layout.getComponentAt(2) instanceof VerticalCrs);
+        assertTrue(layout.getComponentAt(3) instanceof TemporalCrs);
+    }
+
+    /**
+     * Test of of method, of class CoordinateLayout.
+     */
+    @Test
+    public void testSingleCrs() {
+        CompoundCrs crs = (CompoundCrs) CoordinateReferenceSystemFactory.createFromWkt(COMPOUND);
+        CoordinateLayout layout = CoordinateLayout.of(crs.getComponents().get(1));
+        assertEquals(1, layout.getDimension());
+        assertEquals(1, layout.getComponentCount());
+        assertSame(crs.getComponents().get(1), layout.getComponentAt(0));
+    }
+
+    /**
+     * Test of componentAt method, of class CoordinateLayout.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testOrdinateOutOfTuple() {
+        CompoundCrs crs = (CompoundCrs) CoordinateReferenceSystemFactory.createFromWkt(COMPOUND);
+        crs.getLayout().componentAt(4);
+    }
+}
@@ -0,0 +1,102 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.crs;
+
+import com.github.malapert.wkt.datum.GeodeticDatum;
+import com.github.malapert.wkt.utils.WktValidator;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class CoordinateMetadataTest {
+
+    private static final String DYNAMIC_CRS = "GEODCRS[\"WGS 84 (G1762)\",DYNAMIC[FRAMEEPOCH[2005.0],MODEL[\"NKG_RF17vel\"]],TRF[\"World Geodetic System 1984 (G1762)\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+
+    public CoordinateMetadataTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of the parsing of a dynamic CRS.
+     */
+    @Test
+    public void testDynamicCrs() {
+        GeodeticCrs crs = CoordinateReferenceSystemFactory.createFromWkt(DYNAMIC_CRS, GeodeticCrs.class);
+        assertTrue(crs.isDynamic());
+        GeodeticDatum datum = (GeodeticDatum) crs.getCrsDatum();
+        assertEquals(2005.0, datum.getFrameEpoch(), 0);
+        assertEquals("NKG_RF17vel", datum.getDynamic().getDeformationModel());
+        assertEquals(DYNAMIC_CRS, crs.toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Test of the parsing of the coordinate metadata.
+     */
+    @Test
+    public void testCreateFromWkt() {
+        String wkt = "COORDINATEMETADATA[" + DYNAMIC_CRS + ",EPOCH[2016.47]]";
+        assertTrue(WktValidator.isValid(wkt));
+        CoordinateMetadata metadata = CoordinateMetadata.createFromWkt(wkt);
+        assertEquals(2016.47, metadata.getEpoch(), 0);
+        assertEquals(wkt, metadata.toWkt("", "", 0).toString());
+        CoordinateMetadata alias = CoordinateMetadata.createFromWkt(wkt.replace("EPOCH[2016.47]", "COORDEPOCH[2016.47]"));
+        assertEquals("2016.47", alias.getCoordinateEpoch());
+    }
+
+    /**
+     * Test of a dynamic CRS without coordinate epoch.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testMissingEpoch() {
+        CoordinateMetadata.createFromWkt("COORDINATEMETADATA[" + DYNAMIC_CRS + "]");
+    }
+
+    /**
+     * Test of a static CRS without coordinate epoch.
+     */
+    @Test
+    public void testStaticCrs() {
+        CoordinateMetadata metadata = CoordinateMetadata.createFromWkt("COORDINATEMETADATA[" + DYNAMIC_CRS.replace("DYNAMIC[FRAMEEPOCH[2005.0],MODEL[\"NKG_RF17vel\"]],", "") + "]");
+        assertNull(metadata.getCoordinateEpoch());
+        assertTrue(Double.isNaN(metadata.getEpoch()));
+    }
+}
@@ -0,0 +1,116 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.crs;
+
+import com.github.malapert.wkt.datum.GeodeticDatum;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class DerivedCoordinateReferenceSystemTest {
+
+    private static final String DERIVED = "GEODCRS[\"WMO Atlantic Pole\",BASEGEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]]],"
+            + "DERIVINGCONVERSION[\"Atlantic pole\",METHOD[\"Pole rotation\"],PARAMETER[\"Latitude of rotated pole\",52.0,ANGLEUNIT[\"degree\",0.0174532925199433]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+    private static final String TOPOCENTRIC = "ENGCRS[\"Topocentric on UTM\",BASEPROJCRS[\"WGS 84 / UTM zone 31N\",BASEGEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]]],"
+            + "CONVERSION[\"UTM zone 31N\",METHOD[\"Transverse Mercator\"],PARAMETER[\"False easting\",500000,LENGTHUNIT[\"metre\",1.0]]]],"
+            + "DERIVINGCONVERSION[\"Topocentric\",METHOD[\"Affine\"],PARAMETER[\"A0\",0,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[Cartesian,3],AXIS[\"x\",east],AXIS[\"y\",north],AXIS[\"z\",up],LENGTHUNIT[\"metre\",1.0]]";
+
+    public DerivedCoordinateReferenceSystemTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of getBaseCrs method, of class AbstractDerivatedCoordinateReferenceSystem.
+     */
+    @Test
+    public void testBaseCrsIsResolvedOnce() {
+        DerivedGeodeticCrs crs = (DerivedGeodeticCrs) CoordinateReferenceSystemFactory.createFromWkt(DERIVED);
+        CoordinateReferenceSystem base = crs.getBaseCrs();
+        assertTrue(base instanceof GeodeticCrs);
+        assertSame(base, crs.getBaseCrs());
+        assertSame(crs.getBaseDerivatedCrs().getDatum(), crs.getCrsDatum());
+        assertSame(((GeodeticDatum) crs.getCrsDatum()).getEllipsoid(), ((GeodeticDatum) crs.getCrsDatum()).getEllipsoid());
+    }
+
+    /**
+     * Test of the resolved base CRS after a change of the base CRS.
+     */
+    @Test
+    public void testSetBaseCrs() {
+        DerivedGeodeticCrs crs = (DerivedGeodeticCrs) CoordinateReferenceSystemFactory.createFromWkt(DERIVED);
+        CoordinateReferenceSystem base = crs.getBaseCrs();
+        crs.setBaseDerivatedCrs(crs.getBaseDerivatedCrs());
+        assertNotSame(base, crs.getBaseCrs());
+        assertEquals(base.toWkt("", "", 0).toString(), crs.getBaseCrs().toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Test of getDerivationChain method, of class AbstractDerivatedCoordinateReferenceSystem.
+     */
+    @Test
+    public void testDerivationChain() {
+        DerivedEngineeringCrs crs = (DerivedEngineeringCrs) CoordinateReferenceSystemFactory.createFromWkt(TOPOCENTRIC);
+        List<CoordinateReferenceSystem> chain = crs.getDerivationChain();
+        assertEquals(3, chain.size());
+        assertSame(crs, chain.get(0));
+        assertTrue(chain.get(1) instanceof ProjectedCrs);
+        assertEquals("\"WGS 84 / UTM zone 31N\"", chain.get(1).getCrsName());
+        assertTrue(chain.get(2) instanceof GeodeticCrs);
+        assertEquals("\"WGS 84\"", chain.get(2).getCrsName());
+        assertSame(chain, crs.getDerivationChain());
+        assertSame(chain.get(2).getCrsDatum(), crs.getCrsDatum());
+    }
+
+    /**
+     * Test of a derived parametric CRS, of class DerivedParametricCrs.
+     */
+    @Test
+    public void testDerivedParametricCrs() {
+        final String CRS = "PARAMETRICCRS[\"WMO standard atmosphere (hPa)\",BASEPARAMCRS[\"WMO standard atmosphere\",PDATUM[\"Mean Sea Level\"]],"
+                + "DERIVINGCONVERSION[\"Pressure to hectopascal\",METHOD[\"Unit conversion\"]],CS[parametric,1],AXIS[\"pressure (hPa)\",up],PARAMETRICUNIT[\"hectopascal\",100.0]]";
+        DerivedParametricCrs crs = CoordinateReferenceSystemFactory.createFromWkt(CRS, DerivedParametricCrs.class);
+        assertEquals("Mean Sea Level", crs.getCrsDatum().getDatumName());
+        assertEquals(CRS, crs.toWkt("", "", 0).toString());
+    }
+}
@@ -101,4 +101,18 @@ public class GeodeticCrsTest {
         GeodeticCrs geo = new GeodeticCrs(col.getCollection().get(0));
         assertEquals(CRS, geo.toWkt("", "", 0).toString());
     }     
+
+    /**
+     * Test of createFromWkt method, of class CoordinateReferenceSystemFactory,
+     * with the GEOGCRS keyword and its alias.
+     */
+    @Test
+    public void testCreateFromWktGeographic() {
+        final String CRS = "GEOGCRS[\"S-95\",DATUM[\"Pulkovo 1995\",ELLIPSOID[\"Krassowsky 1940\",6378245,298.3,LENGTHUNIT[\"metre\",1.0]]],CS[ellipsoidal,2],AXIS[\"latitude\",north,ORDER[1]],AXIS[\"longitude\",east,ORDER[2]],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+        CoordinateReferenceSystem geo = CoordinateReferenceSystemFactory.createFromWkt(CRS);
+        assertTrue(geo instanceof GeodeticCrs);
+        assertEquals(CRS, geo.toWkt("", "", 0).toString());
+        final String ALIAS = CRS.replace("GEOGCRS", "GEOGRAPHICCRS");
+        assertEquals(ALIAS, CoordinateReferenceSystemFactory.createFromWkt(ALIAS, GeodeticCrs.class).toWkt("", "", 0).toString());
+    }
 }
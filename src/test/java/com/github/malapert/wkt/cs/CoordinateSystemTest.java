@@ -0,0 +1,112 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.cs;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem.CrsType;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.cs.CoordinateSystem.CsType;
+import com.github.malapert.wkt.utils.WktKeyword;
+import java.util.EnumSet;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class CoordinateSystemTest {
+
+    private static final String WKT = "GEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+
+    public CoordinateSystemTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of isAllowedFor method, of class CsType.
+     */
+    @Test
+    public void testIsAllowedFor() {
+        assertTrue(CsType.ellipsoidal.isAllowedFor(CrsType.GEODETIC_CRS, 2));
+        assertTrue(CsType.ellipsoidal.isAllowedFor(CrsType.DERIVED_GEODETIC_CRS, 3));
+        assertTrue(CsType.Cartesian.isAllowedFor(CrsType.GEODETIC_CRS, 3));
+        assertFalse(CsType.Cartesian.isAllowedFor(CrsType.GEODETIC_CRS, 2));
+        assertFalse(CsType.vertical.isAllowedFor(CrsType.GEODETIC_CRS, 1));
+        assertFalse(CsType.vertical.isAllowedFor(null, 1));
+        assertArrayEquals(new int[]{2, 3}, CsType.affine.getDimensionsFor(CrsType.ENGINEERING_CRS));
+        assertArrayEquals(new int[0], CsType.affine.getDimensionsFor(CrsType.VERTICAL_CRS));
+        assertEquals(EnumSet.of(CsType.Cartesian, CsType.ellipsoidal, CsType.spherical), CsType.getCsTypesFor(CrsType.GEODETIC_CRS));
+        assertTrue(CsType.getCsTypesFor(CrsType.COMPOUND_CRS).isEmpty());
+    }
+
+    /**
+     * Test of valueOf method, of class CrsType.
+     */
+    @Test
+    public void testCrsTypeValueOf() {
+        assertEquals(CrsType.GEODETIC_CRS, CrsType.valueOf(WktKeyword.GEODCRS, false));
+        assertEquals(CrsType.DERIVED_GEODETIC_CRS, CrsType.valueOf(WktKeyword.GEODCRS, true));
+        assertEquals(CrsType.PROJECTED_CRS, CrsType.valueOf(WktKeyword.PROJCRS, false));
+        assertNull(CrsType.valueOf(WktKeyword.DATUM, false));
+    }
+
+    /**
+     * Test of a valid coordinate system.
+     */
+    @Test
+    public void testValid() {
+        assertEquals(2, CoordinateReferenceSystemFactory.createFromWkt(WKT).getCs().getAxisList().size());
+    }
+
+    /**
+     * Test of a coordinate system type that is not allowed in the CRS.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testCsTypeNotAllowed() {
+        CoordinateReferenceSystemFactory.createFromWkt(WKT.replace("CS[ellipsoidal,2]", "CS[Cartesian,2]"));
+    }
+
+    /**
+     * Test of a number of axis different from the dimension.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testAxisCount() {
+        CoordinateReferenceSystemFactory.createFromWkt(WKT.replace("CS[ellipsoidal,2]", "CS[ellipsoidal,3]"));
+    }
+}
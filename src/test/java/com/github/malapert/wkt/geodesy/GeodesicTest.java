@@ -0,0 +1,124 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.geodesy;
+
+import java.util.Random;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class GeodesicTest {
+
+    private static final Geodesic WGS84 = new Geodesic(6378137, 1 / 298.257223563);
+
+    public GeodesicTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of inverse method, of class Geodesic.
+     */
+    @Test
+    public void testInverse() {
+        double[] result = WGS84.inverse(40.6, -73.8, 51.6, -0.5);
+        assertEquals(5551759.400319, result[0], 1e-6);
+        assertEquals(51.198882845580, result[1], 1e-11);
+        assertEquals(107.821776735514, result[2], 1e-11);
+        result = WGS84.inverse(0, 0, 0.5, 179.5);
+        assertEquals(19936288.579, result[0], 1e-3);
+        result = WGS84.inverse(0, 0, 0, 90);
+        assertEquals(10018754.171, result[0], 1e-3);
+        assertEquals(90, result[1], 1e-12);
+        result = WGS84.inverse(-90, 0, 90, 0);
+        assertEquals(20003931.459, result[0], 1e-3);
+    }
+
+    /**
+     * Test of direct method, of class Geodesic.
+     */
+    @Test
+    public void testDirectInverse() {
+        Random random = new Random(2016);
+        for (int i = 0; i < 1000; i++) {
+            double lat1 = random.nextDouble() * 180 - 90;
+            double lon1 = random.nextDouble() * 360 - 180;
+            double lat2 = random.nextDouble() * 180 - 90;
+            double lon2 = random.nextDouble() * 360 - 180;
+            double[] inverse = WGS84.inverse(lat1, lon1, lat2, lon2);
+            double[] direct = WGS84.direct(lat1, lon1, inverse[1], inverse[0]);
+            assertEquals(lat2, direct[0], 1e-9);
+            assertEquals(0, Math.IEEEremainder(lon2 - direct[1], 360), 1e-9);
+            assertEquals(0, Math.IEEEremainder(inverse[2] - direct[2], 360), 1e-8);
+        }
+    }
+
+    /**
+     * Test of distances method, of class Geodesic.
+     */
+    @Test
+    public void testDistances() {
+        double[] segments = {
+            40.6, -73.8, 51.6, -0.5,
+            0, 0, 0, 90,
+            10, 10, 10, 10
+        };
+        double[] distances = new double[4];
+        WGS84.distances(segments, 0, distances, 1, 3);
+        assertEquals(0, distances[0], 0);
+        assertEquals(5551759.400, distances[1], 1e-3);
+        assertEquals(10018754.171, distances[2], 1e-3);
+        assertEquals(0, distances[3], 0);
+        assertEquals(2 * 10018754.171, WGS84.length(new double[]{0, 0, 0, 90, 0, 180}, 0, 3), 1e-3);
+    }
+
+    /**
+     * Test of area method, of class Geodesic.
+     */
+    @Test
+    public void testArea() {
+        assertEquals(510065621724088.5, WGS84.getEllipsoidArea(), 1);
+        assertEquals(24952305678.0, WGS84.area(new double[]{89, 0, 89, 90, 89, 180, 89, 270}, 0, 4), 1);
+        assertEquals(-24952305678.0, WGS84.area(new double[]{-89, 0, -89, 90, -89, 180, -89, 270}, 0, 4), 1);
+        assertEquals(24619419146.0, WGS84.area(new double[]{0, -1, -1, 0, 0, 1, 1, 0}, 0, 4), 1);
+        assertEquals(63758202715511.0, WGS84.area(new double[]{90, 0, 0, 0, 0, 90}, 0, 3), 1);
+        assertEquals(12476152838.5, WGS84.area(new double[]{89, 0.1, 89, 90.1, 89, -179.9}, 0, 3), 1);
+    }
+}
@@ -0,0 +1,252 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.grid;
+
+import com.github.malapert.wkt.parameter.CoordinateOperationParameterFile;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class GridManagerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path ntv2;
+    private Path gtx;
+
+    public GridManagerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        ntv2 = folder.getRoot().toPath().resolve("test.gsb");
+        gtx = folder.getRoot().toPath().resolve("test.gtx");
+        Files.write(ntv2, createNTv2());
+        Files.write(gtx, createGtx());
+    }
+
+    @After
+    public void tearDown() {
+        assertEquals(0, GridManager.size());
+    }
+
+    /**
+     * A parent grid from 0E to 2E and 45N to 47N with a latitude shift of
+     * 1 + row seconds and a longitude shift of 2 * column seconds (westward),
+     * and a child grid from 0E to 1E and 45N to 46N with a latitude shift of
+     * 10 seconds.
+     */
+    public static byte[] createNTv2() {
+        ByteBuffer buffer = ByteBuffer.allocate(11 * 16 + 2 * 11 * 16 + (9 + 4) * 16).order(ByteOrder.LITTLE_ENDIAN);
+        intRecord(buffer, "NUM_OREC", 11);
+        intRecord(buffer, "NUM_SREC", 11);
+        intRecord(buffer, "NUM_FILE", 2);
+        textRecord(buffer, "GS_TYPE", "SECONDS");
+        textRecord(buffer, "VERSION", "NTv2.0");
+        textRecord(buffer, "SYSTEM_F", "TEST_F");
+        textRecord(buffer, "SYSTEM_T", "TEST_T");
+        doubleRecord(buffer, "MAJOR_F", 6378137);
+        doubleRecord(buffer, "MINOR_F", 6356752.314);
+        doubleRecord(buffer, "MAJOR_T", 6378137);
+        doubleRecord(buffer, "MINOR_T", 6356752.314);
+        subGrid(buffer, "PARENT", "NONE", 45 * 3600, 47 * 3600, -2 * 3600, 0, 9);
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 3; column++) {
+                buffer.putFloat(1 + row).putFloat(2 * column).putFloat(0).putFloat(0);
+            }
+        }
+        subGrid(buffer, "CHILD", "PARENT", 45 * 3600, 46 * 3600, -3600, 0, 4);
+        for (int node = 0; node < 4; node++) {
+            buffer.putFloat(10).putFloat(0).putFloat(0).putFloat(0);
+        }
+        return buffer.array();
+    }
+
+    private static void subGrid(ByteBuffer buffer, String name, String parent, double south, double north, double east, double west, int count) {
+        textRecord(buffer, "SUB_NAME", name);
+        textRecord(buffer, "PARENT", parent);
+        textRecord(buffer, "CREATED", "20260101");
+        textRecord(buffer, "UPDATED", "20260101");
+        doubleRecord(buffer, "S_LAT", south);
+        doubleRecord(buffer, "N_LAT", north);
+        doubleRecord(buffer, "E_LONG", east);
+        doubleRecord(buffer, "W_LONG", west);
+        doubleRecord(buffer, "LAT_INC", 3600);
+        doubleRecord(buffer, "LONG_INC", 3600);
+        intRecord(buffer, "GS_COUNT", count);
+    }
+
+    private static void name(ByteBuffer buffer, String name) {
+        buffer.put(String.format("%-8s", name).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void intRecord(ByteBuffer buffer, String name, int value) {
+        name(buffer, name);
+        buffer.putInt(value).putInt(0);
+    }
+
+    private static void doubleRecord(ByteBuffer buffer, String name, double value) {
+        name(buffer, name);
+        buffer.putDouble(value);
+    }
+
+    private static void textRecord(ByteBuffer buffer, String name, String value) {
+        name(buffer, name);
+        name(buffer, value);
+    }
+
+    /**
+     * A grid from 0E to 2E and 45N to 47N with the value row + 10 * column.
+     */
+    public static byte[] createGtx() {
+        ByteBuffer buffer = ByteBuffer.allocate(40 + 9 * 4);
+        buffer.putDouble(45).putDouble(0).putDouble(1).putDouble(1).putInt(3).putInt(3);
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 3; column++) {
+                buffer.putFloat(row + 10 * column);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Test of the bilinear interpolation of a NTv2 grid.
+     */
+    @Test
+    public void testNTv2() {
+        try (NTv2Grid grid = (NTv2Grid) GridManager.acquire(ntv2)) {
+            assertEquals(2, grid.getBandCount());
+            assertEquals(2, grid.getSubGridNames().size());
+            double[] points = {1.5, 45.25, 0.5, 45.5, 5, 45};
+            double[] values = new double[6];
+            grid.interpolate(points, 0, 2, 3, values, 0);
+            assertEquals(1.25 / 3600, values[0], 1e-12);
+            assertEquals(-1.0 / 3600, values[1], 1e-12);
+            assertEquals(10.0 / 3600, values[2], 1e-12);
+            assertTrue(Double.isNaN(values[4]));
+
+            double[] lonLatH = {1.5, 45.25, 100};
+            grid.shift(lonLatH, 0, 3, 1);
+            assertEquals(1.5 - 1.0 / 3600, lonLatH[0], 1e-12);
+            assertEquals(45.25 + 1.25 / 3600, lonLatH[1], 1e-12);
+            assertEquals(100, lonLatH[2], 0);
+        }
+    }
+
+    /**
+     * Test of the bilinear interpolation of a GTX grid.
+     */
+    @Test
+    public void testGtx() {
+        try (GtxGrid grid = (GtxGrid) GridManager.acquire(gtx)) {
+            assertEquals(16.25, grid.interpolate(1.5, 46.25), 1e-9);
+            assertEquals(5, grid.interpolate(-359.5, 45), 1e-9);
+            assertEquals(22, grid.interpolate(2, 47), 1e-9);
+            assertTrue(Double.isNaN(grid.interpolate(1, 44)));
+            double[] values = new double[2];
+            grid.interpolate(new double[]{0, 45, 0, 1, 46, 0}, 0, 3, 2, values, 0);
+            assertArrayEquals(new double[]{0, 11}, values, 1e-9);
+        }
+    }
+
+    /**
+     * Test of the reference counting, of class GridManager.
+     */
+    @Test
+    public void testReferenceCounting() {
+        Grid first = GridManager.acquire(ntv2);
+        Grid second = GridManager.acquire(new CoordinateOperationParameterFile("Latitude and longitude difference file", "test.gsb"), folder.getRoot().toPath());
+        assertSame(first, second);
+        assertEquals(1, GridManager.size());
+        first.close();
+        assertEquals(1, GridManager.size());
+        second.close();
+        assertEquals(0, GridManager.size());
+        try {
+            second.close();
+            fail("The grid is already closed");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Test of a grid shared by several threads.
+     */
+    @Test
+    public void testConcurrentUse() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Double>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(new Callable<Double>() {
+                    @Override
+                    public Double call() {
+                        try (GtxGrid grid = (GtxGrid) GridManager.acquire(gtx)) {
+                            return grid.interpolate(1.5, 46.25);
+                        }
+                    }
+                }));
+            }
+            for (Future<Double> result : results) {
+                assertEquals(16.25, result.get(), 1e-9);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test of an unknown format.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testUnknownFormat() throws IOException {
+        GridManager.acquire(Files.write(folder.getRoot().toPath().resolve("test.tif"), new byte[16]));
+    }
+}
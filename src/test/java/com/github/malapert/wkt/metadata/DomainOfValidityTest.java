@@ -0,0 +1,151 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.metadata;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class DomainOfValidityTest {
+
+    private static final String COMPOUND = "COMPOUNDCRS[\"NZGD2000 / NZTM + NZVD2016 height\","
+            + "PROJCRS[\"NZGD2000 / New Zealand Transverse Mercator 2000\",BASEGEODCRS[\"NZGD2000\",DATUM[\"New Zealand Geodetic Datum 2000\",ELLIPSOID[\"GRS 1980\",6378137,298.257222101]],ANGLEUNIT[\"degree\",0.0174532925199433]],"
+            + "CONVERSION[\"New Zealand Transverse Mercator 2000\",METHOD[\"Transverse Mercator\",ID[\"EPSG\",9807]],PARAMETER[\"Longitude of natural origin\",173,ANGLEUNIT[\"degree\",0.0174532925199433]],PARAMETER[\"False easting\",1600000,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[Cartesian,2],AXIS[\"(E)\",east],AXIS[\"(N)\",north],LENGTHUNIT[\"metre\",1.0]],"
+            + "VERTCRS[\"NZVD2016 height\",VDATUM[\"New Zealand Vertical Datum 2016\"],CS[vertical,1],AXIS[\"gravity-related height (H)\",up],LENGTHUNIT[\"metre\",1.0]],"
+            + "USAGE[SCOPE[\"Engineering survey\"],AREA[\"New Zealand\"],BBOX[-55.95,160.6,-25.88,-171.2]],"
+            + "USAGE[SCOPE[\"Cadastre\"],AREA[\"Chatham Islands\"],BBOX[-44.64,-177.25,-43.3,-175.54]],"
+            + "ID[\"EPSG\",9194]]";
+
+    public DomainOfValidityTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    private static Usage usage(String scope, double s, double w, double n, double e) {
+        List<Extent> extents = new ArrayList<>();
+        extents.add(new ExtentFactory.AreaDescription(scope));
+        extents.add(new ExtentFactory.GeographicBoundingBox(BigDecimal.valueOf(s), BigDecimal.valueOf(w), BigDecimal.valueOf(n), BigDecimal.valueOf(e)));
+        return new Usage(new Scope(scope), extents);
+    }
+
+    /**
+     * Test of the union of several usages, of class DomainOfValidity.
+     */
+    @Test
+    public void testUnion() {
+        DomainOfValidity domain = DomainOfValidity.of(Arrays.asList(
+                usage("France", 41.15, -9.86, 51.56, 10.38),
+                usage("Reunion", -21.42, 55.16, -20.81, 55.91)));
+        assertFalse(domain.isUnbounded());
+        assertEquals(2, domain.getRangeCount());
+        assertTrue(domain.contains(2.35, 48.85));
+        assertTrue(domain.contains(55.45, -21.0));
+        assertFalse(domain.contains(13.4, 52.5));
+        assertFalse(domain.contains(Double.NaN, 48.85));
+    }
+
+    /**
+     * Test of a bounding box crossing the antimeridian, of class DomainOfValidity.
+     */
+    @Test
+    public void testAntimeridian() {
+        DomainOfValidity domain = DomainOfValidity.of(Arrays.asList(usage("Fiji", -25.0, 172.0, -12.0, -176.0)));
+        assertEquals(2, domain.getRangeCount());
+        assertTrue(domain.contains(178.4, -18.1));
+        assertTrue(domain.contains(-179.0, -16.5));
+        assertTrue(domain.contains(181.0, -16.5));
+        assertFalse(domain.contains(0.0, -16.5));
+        assertFalse(domain.contains(-170.0, -16.5));
+    }
+
+    /**
+     * Test of mask and classify methods, of class DomainOfValidity.
+     */
+    @Test
+    public void testMask() {
+        CoordinateReferenceSystem crs = CoordinateReferenceSystemFactory.createFromWkt(COMPOUND);
+        assertEquals(2, crs.getScopeExtent().getUsageList().size());
+        DomainOfValidity domain = DomainOfValidity.of(crs.getScopeExtent());
+        int count = 130;
+        double[] points = new double[1 + count * 3];
+        BitSet expected = new BitSet();
+        for (int i = 0; i < count; i++) {
+            int index = 1 + i * 3;
+            switch (i % 4) {
+                case 0:
+                    points[index] = 174.76;
+                    points[index + 1] = -36.85;
+                    expected.set(i);
+                    break;
+                case 1:
+                    points[index] = -176.56;
+                    points[index + 1] = -43.95;
+                    expected.set(i);
+                    break;
+                case 2:
+                    points[index] = 151.21;
+                    points[index + 1] = -33.87;
+                    break;
+                default:
+                    points[index] = -176.56;
+                    points[index + 1] = -20.0;
+                    break;
+            }
+            points[index + 2] = 100.0;
+        }
+        long[] mask = domain.mask(points, 1, 3, count);
+        assertEquals(3, mask.length);
+        assertEquals(expected, BitSet.valueOf(mask));
+        assertEquals(expected, domain.classify(points, 1, 3, count));
+
+        DomainOfValidity world = DomainOfValidity.of(new ScopeExtent());
+        assertTrue(world.isUnbounded());
+        assertEquals(count, world.classify(points, 1, 3, count).cardinality());
+        assertEquals(-1L, world.mask(points, 1, 3, count)[1]);
+    }
+}
@@ -0,0 +1,117 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.method;
+
+import com.github.malapert.wkt.metadata.Identifier;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class MethodRegistryTest {
+
+    /**
+     * Provider registered in META-INF/services of the tests.
+     */
+    public static class GridProvider implements MethodProvider {
+
+        @Override
+        public List<MethodDescriptor> getMethods() {
+            return Arrays.asList(new MethodDescriptor(9615, "NTv2", "ntv2_grid_shift"));
+        }
+    }
+
+    public MethodRegistryTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+        MethodRegistry.reload();
+    }
+
+    /**
+     * Test of resolve method by name, of class MethodRegistry.
+     */
+    @Test
+    public void testResolveByName() {
+        MethodDescriptor laea = MethodRegistry.resolve(new MapProjectionMethod(MapProjectionMethod.MapMethod.METHOD, "Lambert Azimuthal Equal Area"));
+        assertEquals(9820, laea.getEpsgCode());
+        assertSame(laea, MethodRegistry.resolve("lambert_azimuthal_equal_area"));
+        assertSame(laea, MethodRegistry.resolve("LAMBERT AZIMUTHAL-EQUAL-AREA"));
+        assertEquals("Transverse Mercator", MethodRegistry.resolve("Gauss-Kruger").getName());
+        assertNull(MethodRegistry.resolve("Lambert Azimuthal"));
+    }
+
+    /**
+     * Test of resolve method by EPSG code, of class MethodRegistry.
+     */
+    @Test
+    public void testResolveByCode() {
+        DerivedConversionMethod method = new DerivedConversionMethod("Projection of my own");
+        method.getIdentifierList().add(new Identifier("IGNF", "9807"));
+        assertNull(MethodRegistry.resolve(method));
+        method.getIdentifierList().add(new Identifier("EPSG", "9807"));
+        assertEquals("Transverse Mercator", MethodRegistry.resolve(method).getName());
+        assertSame(MethodRegistry.resolve(9807), MethodRegistry.resolve(method));
+        assertNull(MethodRegistry.resolve(1));
+    }
+
+    /**
+     * Test of the methods of a service provider.
+     */
+    @Test
+    public void testServiceLoader() {
+        assertEquals("NTv2", MethodRegistry.resolve(9615).getName());
+        assertEquals(9615, MethodRegistry.resolve("NTV2 grid shift").getEpsgCode());
+    }
+
+    /**
+     * Test of register method, of class MethodRegistry.
+     */
+    @Test
+    public void testRegister() {
+        MethodDescriptor custom = new MethodDescriptor(MethodDescriptor.NO_CODE, "My projection", "mine");
+        MethodRegistry.register(custom);
+        assertSame(custom, MethodRegistry.resolve("MINE"));
+        assertTrue(MethodRegistry.getMethods().contains(custom));
+        MethodRegistry.reload();
+        assertNull(MethodRegistry.resolve("mine"));
+        assertNotNull(MethodRegistry.resolve("Pole rotation"));
+    }
+}
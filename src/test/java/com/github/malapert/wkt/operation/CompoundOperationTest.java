@@ -0,0 +1,136 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.crs.CompoundCrs;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class CompoundOperationTest {
+
+    private static final String WGS84 = "GEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north,ORDER[1]],AXIS[\"longitude\",east,ORDER[2]],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+    private static final String UTM31 = "PROJCRS[\"WGS 84 / UTM zone 31N\",BASEGEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563]],ANGLEUNIT[\"degree\",0.0174532925199433]],"
+            + "CONVERSION[\"UTM zone 31N\",METHOD[\"Transverse Mercator\",ID[\"EPSG\",9807]],PARAMETER[\"Longitude of natural origin\",3,ANGLEUNIT[\"degree\",0.0174532925199433]],"
+            + "PARAMETER[\"Scale factor at natural origin\",0.9996,SCALEUNIT[\"unity\",1.0]],PARAMETER[\"False easting\",500000,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[Cartesian,2],AXIS[\"(E)\",east],AXIS[\"(N)\",north],LENGTHUNIT[\"metre\",1.0]]";
+    private static final String SOURCE = "COMPOUNDCRS[\"WGS 84 + EGM96 height + GPS time\"," + WGS84 + ","
+            + "VERTCRS[\"EGM96 height (ft)\",VDATUM[\"EGM96 geoid\"],CS[vertical,1],AXIS[\"gravity-related height (H)\",up],LENGTHUNIT[\"foot\",0.3048]],"
+            + "TIMECRS[\"GPS milliseconds\",TDATUM[\"GPS time origin\",TIMEORIGIN[1980-01-06T00:00:00.0Z]],CS[temporal,1],AXIS[\"(T)\",future,TIMEUNIT[\"millisecond (ms)\",0.001]]]]";
+    private static final String TARGET = "COMPOUNDCRS[\"WGS 84 / UTM zone 31N + EGM96 height + Unix time\"," + UTM31 + ","
+            + "VERTCRS[\"EGM96 height\",VDATUM[\"EGM96 geoid\"],CS[vertical,1],AXIS[\"gravity-related height (H)\",up],LENGTHUNIT[\"metre\",1.0]],"
+            + "TIMECRS[\"Unix time\",TDATUM[\"Unix epoch\",TIMEORIGIN[1970-01-01T00:00:00Z]],CS[temporal,1],AXIS[\"(T)\",future,TIMEUNIT[\"second\",1.0]]]]";
+    private static final String OSGB = "PROJCRS[\"OSGB 1936 / British National Grid\",BASEGEODCRS[\"OSGB 1936\",DATUM[\"OSGB 1936\",ELLIPSOID[\"Airy 1830\",6377563.396,299.3249646,LENGTHUNIT[\"metre\",1.0]]],ANGLEUNIT[\"degree\",0.0174532925199433]],"
+            + "CONVERSION[\"British National Grid\",METHOD[\"Transverse Mercator\",ID[\"EPSG\",9807]],"
+            + "PARAMETER[\"Latitude of natural origin\",49,ANGLEUNIT[\"degree\",0.0174532925199433]],PARAMETER[\"Longitude of natural origin\",-2,ANGLEUNIT[\"degree\",0.0174532925199433]],"
+            + "PARAMETER[\"Scale factor at natural origin\",0.9996012717,SCALEUNIT[\"unity\",1.0]],"
+            + "PARAMETER[\"False easting\",400000,LENGTHUNIT[\"metre\",1.0]],PARAMETER[\"False northing\",-100000,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[Cartesian,2],AXIS[\"(E)\",east],AXIS[\"(N)\",north],LENGTHUNIT[\"metre\",1.0]]";
+    private static final String OSGB_GEOG = "GEODCRS[\"OSGB 1936\",DATUM[\"OSGB 1936\",ELLIPSOID[\"Airy 1830\",6377563.396,299.3249646,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north,ORDER[1]],AXIS[\"longitude\",east,ORDER[2]],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+
+    public CompoundOperationTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of create method, of class CrsOperationFactory, with the example
+     * of the EPSG guidance note 7-2.
+     */
+    @Test
+    public void testTransverseMercator() {
+        CoordinateReferenceSystem geographic = CoordinateReferenceSystemFactory.createFromWkt(OSGB_GEOG);
+        CoordinateReferenceSystem projected = CoordinateReferenceSystemFactory.createFromWkt(OSGB);
+        double[] points = {50.5, 0.5};
+        CrsOperationFactory.create(geographic, projected).transform(points, 0, 2, 1);
+        assertEquals(577274.99, points[0], 0.01);
+        assertEquals(69740.50, points[1], 0.01);
+        CrsOperationFactory.create(projected, geographic).transform(points, 0, 2, 1);
+        assertEquals(50.5, points[0], 1e-9);
+        assertEquals(0.5, points[1], 1e-9);
+    }
+
+    /**
+     * Test of transform method, of class CompoundOperation.
+     */
+    @Test
+    public void testTransform() {
+        CompoundCrs source = (CompoundCrs) CoordinateReferenceSystemFactory.createFromWkt(SOURCE);
+        CompoundCrs target = (CompoundCrs) CoordinateReferenceSystemFactory.createFromWkt(TARGET);
+        CompoundOperation operation = CrsOperationFactory.createCompound(source, target);
+        assertEquals(4, operation.getDimension());
+        double[] tuples = {
+            48.8566, 2.3522, 100, 1000,
+            43.6047, 1.4442, -10, 0
+        };
+        double[] horizontal = {48.8566, 2.3522, 43.6047, 1.4442};
+        CrsOperationFactory.create(source.getComponents().get(0), target.getComponents().get(0)).transform(horizontal, 0, 2, 2);
+        operation.transform(tuples, 0, 2);
+        assertEquals(horizontal[0], tuples[0], 1e-9);
+        assertEquals(horizontal[1], tuples[1], 1e-9);
+        assertEquals(30.48, tuples[2], 1e-9);
+        assertEquals(315964801, tuples[3], 1e-6);
+        assertEquals(horizontal[2], tuples[4], 1e-9);
+        assertEquals(horizontal[3], tuples[5], 1e-9);
+        assertEquals(-3.048, tuples[6], 1e-9);
+        assertEquals(315964800, tuples[7], 1e-6);
+        assertTrue(tuples[0] > 400000 && tuples[0] < 500000);
+
+        CrsOperationFactory.createCompound(target, source).transform(tuples, 0, 2);
+        assertEquals(48.8566, tuples[0], 1e-9);
+        assertEquals(2.3522, tuples[1], 1e-9);
+        assertEquals(100, tuples[2], 1e-9);
+        assertEquals(1000, tuples[3], 1e-6);
+        assertEquals(1.4442, tuples[5], 1e-9);
+    }
+
+    /**
+     * Test of createCompound method, of class CrsOperationFactory, with
+     * different datums.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testChangeOfDatum() {
+        CrsOperationFactory.create(CoordinateReferenceSystemFactory.createFromWkt(OSGB_GEOG), CoordinateReferenceSystemFactory.createFromWkt(UTM31));
+    }
+}
@@ -0,0 +1,113 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class FusedOperationTest {
+
+    private static final CoordinateStep SQUARE = new CoordinateStep() {
+        @Override
+        public void transform(final double[] points, final int offset, final int dimension) {
+            points[offset] *= points[offset];
+        }
+    };
+
+    public FusedOperationTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    private static double[] sequential(final List<CoordinateStep> steps, final double[] points, final int dimension) {
+        final double[] result = points.clone();
+        for (CoordinateStep step : steps) {
+            for (int i = 0; i < result.length; i += dimension) {
+                step.transform(result, i, dimension);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Test of create method, of class FusedOperation.
+     */
+    @Test
+    public void testFusion() {
+        List<CoordinateStep> steps = Arrays.asList(
+                AffineStep.scale(0.001, 0.001, 1),
+                AffineStep.swapXY(),
+                new AffineStep(new HelmertTransform(10, -20, 30, 1e-6, 2e-6, -3e-6, 5e-6, true).getMatrix()),
+                SQUARE,
+                AffineStep.translation(1, 2, 3),
+                AffineStep.translation(-1, -2, -3));
+        FusedOperation fused = FusedOperation.create(steps);
+        assertEquals(2, fused.getSteps().size());
+        assertSame(SQUARE, fused.getSteps().get(1));
+        double[] points = {1000, 2000, 3, -4000, 5000, 6, 7000, -8000, 9};
+        double[] expected = sequential(steps, points, 3);
+        fused.transform(points, 0, 3, 3);
+        assertArrayEquals(expected, points, 1e-9);
+    }
+
+    /**
+     * Test of transform method with two ordinates and an offset.
+     */
+    @Test
+    public void testTwoDimensions() {
+        FusedOperation fused = FusedOperation.create(Arrays.asList(AffineStep.swapXY(), AffineStep.scale(2, 3, 1)));
+        double[] points = {-1, -1, 1, 2, 3, 4};
+        fused.transform(points, 2, 2, 2);
+        assertArrayEquals(new double[]{-1, -1, 4, 3, 8, 9}, points, 0);
+    }
+
+    /**
+     * Test of the identity, of class FusedOperation.
+     */
+    @Test
+    public void testIdentity() {
+        FusedOperation fused = FusedOperation.create(Arrays.asList(AffineStep.swapXY(), AffineStep.swapXY()));
+        assertTrue(fused.getSteps().isEmpty());
+        assertTrue(AffineStep.identity().isIdentity());
+    }
+}
@@ -0,0 +1,105 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class HelmertTransformTest {
+
+    private static final double ARC_SECOND = Math.PI / (180 * 3600);
+
+    public HelmertTransformTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of transform method with the position vector example of the
+     * EPSG guidance note 7-2 (WGS 72 to WGS 84).
+     */
+    @Test
+    public void testPositionVector() {
+        HelmertTransform helmert = new HelmertTransform(0, 0, 4.5, 0, 0, 0.554 * ARC_SECOND, 0.219e-6, false);
+        double[] points = {3657660.66, 255768.55, 5201382.11};
+        helmert.transform(points, 0, 3, 1);
+        assertEquals(3657660.78, points[0], 0.01);
+        assertEquals(255778.43, points[1], 0.01);
+        assertEquals(5201387.75, points[2], 0.01);
+    }
+
+    /**
+     * Test of transform method with the coordinate frame convention.
+     */
+    @Test
+    public void testCoordinateFrame() {
+        HelmertTransform helmert = new HelmertTransform(0, 0, 4.5, 0, 0, -0.554 * ARC_SECOND, 0.219e-6, true);
+        double[] points = {0, 0, 0, 3657660.66, 255768.55, 5201382.11, 42};
+        helmert.transform(points, 3, 4, 1);
+        assertArrayEquals(new double[]{0, 0, 0}, new double[]{points[0], points[1], points[2]}, 0);
+        assertEquals(3657660.78, points[3], 0.01);
+        assertEquals(255778.43, points[4], 0.01);
+        assertEquals(5201387.75, points[5], 0.01);
+        assertEquals(42, points[6], 0);
+    }
+
+    /**
+     * Test of inverse method, of class HelmertTransform.
+     */
+    @Test
+    public void testInverse() {
+        HelmertTransform helmert = new HelmertTransform(-87, -98, -121, 0.1 * ARC_SECOND, -0.2 * ARC_SECOND, 0.3 * ARC_SECOND, 1.5e-6, true);
+        double[] points = {4201000, 177000, 4779000, -2000000, 3000000, -5000000};
+        double[] expected = points.clone();
+        helmert.transform(points, 0, 3, 2);
+        helmert.inverse().transform(points, 0, 3, 2);
+        assertArrayEquals(expected, points, 1e-6);
+    }
+
+    /**
+     * Test of getMatrix method, of class HelmertTransform.
+     */
+    @Test
+    public void testGetMatrix() {
+        double[] matrix = new HelmertTransform(1, 2, 3, 0, 0, 0, 0, false).getMatrix();
+        assertArrayEquals(new double[]{1, 0, 0, 1, 0, 1, 0, 2, 0, 0, 1, 3}, matrix, 0);
+    }
+}
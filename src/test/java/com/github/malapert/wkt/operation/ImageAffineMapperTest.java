@@ -0,0 +1,115 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.datum.ImageDatum;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class ImageAffineMapperTest {
+
+    private static final String IMAGE = "IMAGECRS[\"Ortho image\",IDATUM[\"Image origin\",cellCorner],"
+            + "CS[Cartesian,2],AXIS[\"column (I)\",east],AXIS[\"row (J)\",south],LENGTHUNIT[\"metre\",1.0]]";
+    // 30 m pixels, north up, upper left corner at (440720, 3751320)
+    private static final double[] GRID_TO_MODEL = {30, 0, 440720, 0, -30, 3751320};
+
+    private static final double EPSILON = 1e-9;
+
+    public ImageAffineMapperTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of toModel method on a scanline, of class ImageAffineMapper.
+     */
+    @Test
+    public void testScanline() {
+        CoordinateReferenceSystem crs = CoordinateReferenceSystemFactory.createFromWkt(IMAGE);
+        ImageAffineMapper mapper = ImageAffineMapper.create(crs, GRID_TO_MODEL);
+        assertEquals(ImageDatum.PixelInCell.cellCorner, mapper.getPixelInCell());
+        double[] out = new double[2 + 2 * 4];
+        mapper.toModel(10, 0, 4, out, 2);
+        for (int col = 0; col < 4; col++) {
+            assertEquals(440720 + 30 * col + 15, out[2 + 2 * col], EPSILON);
+            assertEquals(3751320 - 30 * 10 - 15, out[3 + 2 * col], EPSILON);
+        }
+
+        ImageAffineMapper centre = new ImageAffineMapper(ImageDatum.PixelInCell.cellCentre, GRID_TO_MODEL);
+        centre.toModel(10, 0, 4, out, 2);
+        assertEquals(440720, out[2], EPSILON);
+        assertEquals(3751020, out[3], EPSILON);
+    }
+
+    /**
+     * Test of toModel and toPixel methods on a tile, of class ImageAffineMapper.
+     */
+    @Test
+    public void testTileRoundTrip() {
+        ImageAffineMapper mapper = new ImageAffineMapper(ImageDatum.PixelInCell.cellCorner, new double[]{0.5, 0.1, 1000, -0.2, -0.5, 2000});
+        int rows = 3, cols = 5;
+        double[] out = new double[2 * rows * cols];
+        mapper.toModel(7, 7 + rows, 20, 20 + cols, out, 0);
+        double[] step = {20, 7, 0};
+        mapper.toAffineStep().transform(step, 0, 3);
+        assertEquals(out[0], step[0], EPSILON);
+        assertEquals(out[1], step[1], EPSILON);
+
+        mapper.toPixel(out, 0, rows * cols, out, 0);
+        int k = 0;
+        for (int row = 7; row < 7 + rows; row++) {
+            for (int col = 20; col < 20 + cols; col++) {
+                assertEquals(col, out[k++], 1e-7);
+                assertEquals(row, out[k++], 1e-7);
+            }
+        }
+    }
+
+    /**
+     * Test of a buffer too small, of class ImageAffineMapper.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testBufferTooSmall() {
+        new ImageAffineMapper(ImageDatum.PixelInCell.cellCentre, GRID_TO_MODEL).toModel(0, 2, 0, 4, new double[15], 0);
+    }
+}
@@ -0,0 +1,192 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class OperationPlannerTest {
+
+    private static final String WGS84 = "GEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]],ID[\"EPSG\",6326]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north,ORDER[1]],AXIS[\"longitude\",east,ORDER[2]],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+    private static final String WGS84_LON_LAT = "GEODCRS[\"WGS 84 (lon-lat)\",DATUM[\"WGS84\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]],ID[\"EPSG\",6326]],"
+            + "CS[ellipsoidal,2],AXIS[\"longitude\",east,ORDER[1]],AXIS[\"latitude\",north,ORDER[2]],ANGLEUNIT[\"grad\",0.015707963267949]]";
+    private static final String SPHERE = "GEODCRS[\"WGS 84 sphere\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"Sphere\",6371000,0,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north,ORDER[1]],AXIS[\"longitude\",east,ORDER[2]],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+
+    public OperationPlannerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+        OperationPlanner.clear();
+    }
+
+    @After
+    public void tearDown() {
+        OperationPlanner.setMaximumSize(OperationPlanner.DEFAULT_MAXIMUM_SIZE);
+        OperationPlanner.clear();
+    }
+
+    private static String utm(final int zone) {
+        return "PROJCRS[\"WGS 84 / UTM zone " + zone + "N\",BASEGEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563]],ANGLEUNIT[\"degree\",0.0174532925199433]],"
+                + "CONVERSION[\"UTM zone " + zone + "N\",METHOD[\"Transverse Mercator\",ID[\"EPSG\",9807]],PARAMETER[\"Longitude of natural origin\"," + (6 * zone - 183) + ",ANGLEUNIT[\"degree\",0.0174532925199433]],"
+                + "PARAMETER[\"Scale factor at natural origin\",0.9996,SCALEUNIT[\"unity\",1.0]],PARAMETER[\"False easting\",500000,LENGTHUNIT[\"metre\",1.0]]],"
+                + "CS[Cartesian,2],AXIS[\"(E)\",east],AXIS[\"(N)\",north],LENGTHUNIT[\"metre\",1.0]]";
+    }
+
+    /**
+     * Test of plan method, of class OperationPlanner.
+     */
+    @Test
+    public void testCachedPlan() {
+        CoordinateReferenceSystem source = CoordinateReferenceSystemFactory.createFromWkt(WGS84);
+        CoordinateReferenceSystem target = CoordinateReferenceSystemFactory.createFromWkt(utm(31));
+        CompoundOperation plan = OperationPlanner.plan(source, target);
+        assertSame(plan, OperationPlanner.plan(source, target));
+        assertSame(OperationPlanner.plan(WGS84, utm(31)), OperationPlanner.plan(WGS84, utm(31)));
+        // the definitions are written as the CRSs write themselves
+        assertSame(plan, OperationPlanner.plan(WGS84, utm(31)));
+        assertEquals(1, OperationPlanner.size());
+        OperationPlanner.clear();
+        assertEquals(0, OperationPlanner.size());
+    }
+
+    /**
+     * Test of plan method, of class OperationPlanner, with CRSs parsed twice
+     * from the same definitions.
+     */
+    @Test
+    public void testSameDefinitionParsedTwice() {
+        CompoundOperation plan = OperationPlanner.plan(
+                CoordinateReferenceSystemFactory.createFromWkt(WGS84),
+                CoordinateReferenceSystemFactory.createFromWkt(utm(31)));
+        assertSame(plan, OperationPlanner.plan(
+                CoordinateReferenceSystemFactory.createFromWkt(WGS84),
+                CoordinateReferenceSystemFactory.createFromWkt(utm(31))));
+        assertEquals(1, OperationPlanner.size());
+    }
+
+    /**
+     * Test of setMaximumSize method, of class OperationPlanner.
+     */
+    @Test
+    public void testMaximumSize() {
+        OperationPlanner.setMaximumSize(2);
+        CompoundOperation plan31 = OperationPlanner.plan(WGS84, utm(31));
+        OperationPlanner.plan(WGS84, utm(32));
+        OperationPlanner.plan(WGS84, utm(31));
+        OperationPlanner.plan(WGS84, utm(33));
+        assertEquals(2, OperationPlanner.size());
+        assertSame(plan31, OperationPlanner.plan(WGS84, utm(31)));
+        OperationPlanner.setMaximumSize(1);
+        assertEquals(1, OperationPlanner.size());
+        OperationPlanner.setMaximumSize(0);
+        assertEquals(0, OperationPlanner.size());
+        OperationPlanner.plan(WGS84, utm(31));
+        assertEquals(0, OperationPlanner.size());
+    }
+
+    /**
+     * Test of plan method, of class OperationPlanner, through the base CRSs
+     * of two projected CRSs.
+     */
+    @Test
+    public void testBetweenProjectedCrs() {
+        double[] utm31 = {48.8566, 2.3522};
+        double[] utm32 = {48.8566, 2.3522};
+        OperationPlanner.plan(WGS84, utm(31)).transform(utm31, 0, 1);
+        OperationPlanner.plan(WGS84, utm(32)).transform(utm32, 0, 1);
+        OperationPlanner.plan(utm(31), utm(32)).transform(utm31, 0, 1);
+        assertEquals(utm32[0], utm31[0], 1e-6);
+        assertEquals(utm32[1], utm31[1], 1e-6);
+    }
+
+    /**
+     * Test of plan method, of class OperationPlanner, with a change of axis
+     * order and unit between datums having the same EPSG code.
+     */
+    @Test
+    public void testAxisAndUnit() {
+        double[] points = {45, 90};
+        OperationPlanner.plan(WGS84, WGS84_LON_LAT).transform(points, 0, 1);
+        assertEquals(100, points[0], 1e-9);
+        assertEquals(50, points[1], 1e-9);
+        assertTrue(CrsOperationFactory.isSameDatum(
+                CoordinateReferenceSystemFactory.createFromWkt(WGS84).getCrsDatum(),
+                CoordinateReferenceSystemFactory.createFromWkt(WGS84_LON_LAT).getCrsDatum()));
+    }
+
+    /**
+     * Test of plan method, of class OperationPlanner, with datums having the
+     * same name and different ellipsoids.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testDifferentEllipsoid() {
+        OperationPlanner.plan(SPHERE, WGS84);
+    }
+
+    /**
+     * Test of plan method, of class OperationPlanner, from several threads.
+     */
+    @Test
+    public void testConcurrentPlans() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<CompoundOperation>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(new Callable<CompoundOperation>() {
+                    @Override
+                    public CompoundOperation call() {
+                        return OperationPlanner.plan(WGS84, utm(31));
+                    }
+                }));
+            }
+            for (Future<CompoundOperation> result : results) {
+                assertSame(results.get(0).get(), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
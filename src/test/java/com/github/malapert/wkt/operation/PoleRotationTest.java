@@ -0,0 +1,128 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.conversion.Conversion;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.crs.DerivedGeodeticCrs;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class PoleRotationTest {
+
+    private static final String ROTATED = "GEODCRS[\"Atlantic pole\",BASEGEODCRS[\"WGS 84\",DATUM[\"WGS 84\",ELLIPSOID[\"WGS 84\",6378137,298.2572236,LENGTHUNIT[\"metre\",1.0]]]],"
+            + "DERIVINGCONVERSION[\"Atlantic pole\",METHOD[\"Pole rotation\",ID[\"Authority\",1234]],"
+            + "PARAMETER[\"Latitude of rotated pole\",52.0,ANGLEUNIT[\"degree\",0.0174532925199433]],"
+            + "PARAMETER[\"Longitude of rotated pole\",-30.0,ANGLEUNIT[\"degree\",0.0174532925199433]],"
+            + "PARAMETER[\"Axis rotation\",-25.0,ANGLEUNIT[\"degree\",0.0174532925199433]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north,ORDER[1]],AXIS[\"longitude\",east,ORDER[2]],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+    private static final String WGS84 = "GEODCRS[\"WGS 84\",DATUM[\"WGS 84\",ELLIPSOID[\"WGS 84\",6378137,298.2572236,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north,ORDER[1]],AXIS[\"longitude\",east,ORDER[2]],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+
+    public PoleRotationTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    private static PoleRotation rotation() {
+        Conversion conversion = ((DerivedGeodeticCrs) CoordinateReferenceSystemFactory.createFromWkt(ROTATED)).getConversionFromBaseCrs();
+        return PoleRotation.create(conversion);
+    }
+
+    /**
+     * Test of transform method, of class PoleRotation.
+     */
+    @Test
+    public void testPoles() {
+        double[] points = {
+            Math.toRadians(-30), Math.toRadians(52),
+            0, Math.PI / 2
+        };
+        rotation().transform(points, 0, 2, 2);
+        assertEquals(90, Math.toDegrees(points[1]), 1e-9);
+        assertEquals(155, Math.toDegrees(points[2]), 1e-9);
+        assertEquals(52, Math.toDegrees(points[3]), 1e-9);
+    }
+
+    /**
+     * Test of inverse method, of class PoleRotation.
+     */
+    @Test
+    public void testInverse() {
+        PoleRotation rotation = rotation();
+        double[] points = new double[300];
+        for (int i = 0; i < 100; i++) {
+            points[3 * i] = Math.toRadians(-179 + 3.5 * i);
+            points[3 * i + 1] = Math.toRadians(-89 + 1.7 * i);
+            points[3 * i + 2] = i;
+        }
+        double[] expected = points.clone();
+        rotation.transform(points, 0, 3, 100);
+        rotation.inverse().transform(points, 0, 3, 100);
+        assertArrayEquals(expected, points, 1e-12);
+        double[] matrix = rotation.getMatrix();
+        double[] transposed = rotation.inverse().getMatrix();
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertEquals(matrix[3 * i + j], transposed[3 * j + i], 0);
+            }
+        }
+    }
+
+    /**
+     * Test of the pole rotation in an operation between a derived geodetic
+     * CRS and its base CRS.
+     */
+    @Test
+    public void testDerivedGeodeticCrs() {
+        CoordinateReferenceSystem rotated = CoordinateReferenceSystemFactory.createFromWkt(ROTATED);
+        CoordinateReferenceSystem base = CoordinateReferenceSystemFactory.createFromWkt(WGS84);
+        double[] points = {90, 0, 10, 20};
+        CrsOperationFactory.create(rotated, base).transform(points, 0, 2, 2);
+        assertEquals(52, points[0], 1e-9);
+        assertEquals(-30, points[1], 1e-9);
+        CrsOperationFactory.create(base, rotated).transform(points, 0, 2, 2);
+        assertEquals(90, points[0], 1e-9);
+        assertEquals(10, points[2], 1e-9);
+        assertEquals(20, points[3], 1e-9);
+    }
+}
@@ -0,0 +1,129 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.operation;
+
+import com.github.malapert.wkt.conversion.CoordinateOperation;
+import com.github.malapert.wkt.conversion.CoordinateOperationFactory;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class TimeDependentHelmertTransformTest {
+
+    private static final double MAS = Math.PI / (180 * 3600 * 1000);
+    private static final String GEOCENTRIC = "CS[Cartesian,3],AXIS[\"(X)\",geocentricX],AXIS[\"(Y)\",geocentricY],AXIS[\"(Z)\",geocentricZ],LENGTHUNIT[\"metre\",1.0]";
+    private static final String OPERATION = "COORDINATEOPERATION[\"ITRF2014 to ITRF2008\","
+            + "SOURCECRS[GEODCRS[\"ITRF2014\",DYNAMIC[FRAMEEPOCH[2010]],DATUM[\"International Terrestrial Reference Frame 2014\",ELLIPSOID[\"GRS 1980\",6378137,298.257222101,LENGTHUNIT[\"metre\",1.0]]]," + GEOCENTRIC + "]],"
+            + "TARGETCRS[GEODCRS[\"ITRF2008\",DYNAMIC[FRAMEEPOCH[2005]],DATUM[\"International Terrestrial Reference Frame 2008\",ELLIPSOID[\"GRS 1980\",6378137,298.257222101,LENGTHUNIT[\"metre\",1.0]]]," + GEOCENTRIC + "]],"
+            + "METHOD[\"Time-dependent Coordinate Frame rotation (geocentric)\",ID[\"EPSG\",1056]],"
+            + "PARAMETER[\"X-axis translation\",1.6,LENGTHUNIT[\"millimetre\",0.001],ID[\"EPSG\",8605]],"
+            + "PARAMETER[\"Y-axis translation\",1.9,LENGTHUNIT[\"millimetre\",0.001],ID[\"EPSG\",8606]],"
+            + "PARAMETER[\"Z-axis translation\",2.4,LENGTHUNIT[\"millimetre\",0.001],ID[\"EPSG\",8607]],"
+            + "PARAMETER[\"X-axis rotation\",0,ANGLEUNIT[\"milliarc-second\",4.84813681109536E-09],ID[\"EPSG\",8608]],"
+            + "PARAMETER[\"Y-axis rotation\",0,ANGLEUNIT[\"milliarc-second\",4.84813681109536E-09],ID[\"EPSG\",8609]],"
+            + "PARAMETER[\"Z-axis rotation\",0,ANGLEUNIT[\"milliarc-second\",4.84813681109536E-09],ID[\"EPSG\",8610]],"
+            + "PARAMETER[\"Scale difference\",-0.02,SCALEUNIT[\"parts per billion\",1E-09],ID[\"EPSG\",8611]],"
+            + "PARAMETER[\"Rate of change of X-axis translation\",0,LENGTHUNIT[\"millimetres per year\",3.16887651727315E-11],ID[\"EPSG\",1040]],"
+            + "PARAMETER[\"Rate of change of Y-axis translation\",0,LENGTHUNIT[\"millimetres per year\",3.16887651727315E-11],ID[\"EPSG\",1041]],"
+            + "PARAMETER[\"Rate of change of Z-axis translation\",-0.1,LENGTHUNIT[\"millimetres per year\",3.16887651727315E-11],ID[\"EPSG\",1042]],"
+            + "PARAMETER[\"Rate of change of X-axis rotation\",0,ANGLEUNIT[\"milliarc-seconds per year\",1.53631468932076E-16],ID[\"EPSG\",1043]],"
+            + "PARAMETER[\"Rate of change of Y-axis rotation\",0,ANGLEUNIT[\"milliarc-seconds per year\",1.53631468932076E-16],ID[\"EPSG\",1044]],"
+            + "PARAMETER[\"Rate of change of Z-axis rotation\",0,ANGLEUNIT[\"milliarc-seconds per year\",1.53631468932076E-16],ID[\"EPSG\",1045]],"
+            + "PARAMETER[\"Rate of change of Scale difference\",0.03,SCALEUNIT[\"parts per billion per year\",3.16887651727315E-17],ID[\"EPSG\",1046]],"
+            + "PARAMETER[\"Parameter reference epoch\",2010,TIMEUNIT[\"year\",31556925.445],ID[\"EPSG\",1047]]]";
+
+    public TimeDependentHelmertTransformTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of create method, of class TimeDependentHelmertTransform.
+     */
+    @Test
+    public void testCreate() {
+        CoordinateOperation operation = CoordinateOperationFactory.createFromWkt(OPERATION, CoordinateOperation.class);
+        TimeDependentHelmertTransform helmert = TimeDependentHelmertTransform.create(operation);
+        assertEquals(2010, helmert.getReferenceEpoch(), 0);
+        double[] matrix = helmert.at(2020).getMatrix();
+        assertEquals(1 + (-0.02 + 0.03 * 10) * 1e-9, matrix[0], 1e-15);
+        assertEquals(0.0016, matrix[3], 1e-12);
+        assertEquals(0.0019, matrix[7], 1e-12);
+        assertEquals(0.0024 - 0.0001 * 10, matrix[11], 1e-12);
+    }
+
+    /**
+     * Test of transform method with an epoch for each point.
+     */
+    @Test
+    public void testTransformEpochs() {
+        TimeDependentHelmertTransform helmert = new TimeDependentHelmertTransform(
+                new double[]{0.01, -0.02, 0.03, 0.1 * MAS, -0.2 * MAS, 0.3 * MAS, 1e-9},
+                new double[]{0.001, 0.002, -0.003, 0.01 * MAS, 0.02 * MAS, -0.03 * MAS, 0.1e-9},
+                2010, true);
+        double[] points = {4027893.6, 307045.9, 4919475.2, 0, -4460995.1, 2682557.2, -3674443.5, 0, 1112161.9, -4842855.3, 3985496.7, 0};
+        double[] epochs = {-1, 2015.5, 2015.5, 2024.25};
+        double[] expected = points.clone();
+        helmert.at(2015.5).transform(expected, 0, 4, 2);
+        helmert.at(2024.25).transform(expected, 8, 4, 1);
+        helmert.transform(points, 0, 4, epochs, 1, 3);
+        assertArrayEquals(expected, points, 1e-9);
+    }
+
+    /**
+     * Test of the conventions of the rotations.
+     */
+    @Test
+    public void testConventions() {
+        double[] parameters = {1, 2, 3, 1 * MAS, 2 * MAS, 3 * MAS, 2e-9};
+        double[] rates = {0.1, 0.2, 0.3, 0.1 * MAS, 0.2 * MAS, 0.3 * MAS, 0.2e-9};
+        double[] opposite = parameters.clone();
+        double[] oppositeRates = rates.clone();
+        for (int i = 3; i < 6; i++) {
+            opposite[i] = -opposite[i];
+            oppositeRates[i] = -oppositeRates[i];
+        }
+        double[] first = {4027893.6, 307045.9, 4919475.2};
+        double[] second = first.clone();
+        new TimeDependentHelmertTransform(parameters, rates, 2000, false).transform(first, 0, 3, 1, 2020);
+        new TimeDependentHelmertTransform(opposite, oppositeRates, 2000, true).transform(second, 0, 3, new double[]{2020}, 0, 1);
+        assertArrayEquals(first, second, 1e-9);
+    }
+}
@@ -0,0 +1,128 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.parameter;
+
+import com.github.malapert.wkt.conversion.Conversion;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.crs.ProjectedCrs;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class ParameterValuesTest {
+
+    private static final String UTM_31N = "PROJCRS[\"WGS 84 / UTM zone 31N\",BASEGEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]]],"
+            + "CONVERSION[\"UTM zone 31N\",METHOD[\"Transverse Mercator\",ID[\"EPSG\",9807]],"
+            + "PARAMETER[\"Latitude of natural origin\",0,ANGLEUNIT[\"degree\",0.0174532925199433],ID[\"EPSG\",8801]],"
+            + "PARAMETER[\"Longitude of natural origin\",3,ANGLEUNIT[\"degree\",0.0174532925199433],ID[\"EPSG\",8802]],"
+            + "PARAMETER[\"Scale factor at natural origin\",0.9996,SCALEUNIT[\"unity\",1.0],ID[\"EPSG\",8805]],"
+            + "PARAMETER[\"False easting\",500,LENGTHUNIT[\"kilometre\",1000.0],ID[\"EPSG\",8806]],"
+            + "PARAMETER[\"False northing\",0]],"
+            + "CS[Cartesian,2],AXIS[\"(E)\",east],AXIS[\"(N)\",north],LENGTHUNIT[\"metre\",1.0]]";
+
+    public ParameterValuesTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    private static Conversion conversion() {
+        return ((ProjectedCrs) CoordinateReferenceSystemFactory.createFromWkt(UTM_31N)).getConversionFromBaseCrs();
+    }
+
+    /**
+     * Test of get method, of class ParameterValues.
+     */
+    @Test
+    public void testGetByName() {
+        ParameterValues values = conversion().getParameterValues();
+        assertEquals(5, values.size());
+        assertEquals(Math.toRadians(3), values.get("Longitude of natural origin"), 1e-12);
+        assertEquals(Math.toRadians(3), values.get("longitude_of_natural_origin"), 1e-12);
+        assertEquals(500000, values.get("FALSE EASTING"), 1e-6);
+        assertEquals(0.9996, values.get("Scale factor at natural origin"), 1e-12);
+        assertEquals(0, values.get("False northing"), 0);
+        assertEquals(-1, values.get("Azimuth", -1), 0);
+        assertFalse(values.contains("Azimuth"));
+    }
+
+    /**
+     * Test of getByCode method, of class ParameterValues.
+     */
+    @Test
+    public void testGetByCode() {
+        ParameterValues values = conversion().getParameterValues();
+        assertEquals(Math.toRadians(3), values.getByCode(8802), 1e-12);
+        assertEquals(0.9996, values.getByCode(8805), 1e-12);
+        assertEquals(-1, values.indexOf(8807));
+        assertEquals(Double.NaN, values.getByCode(8807, Double.NaN), 0);
+        assertEquals("False easting", values.parameterAt(values.indexOf(8806)).getParameterName());
+    }
+
+    /**
+     * Test of the values built once per conversion.
+     */
+    @Test
+    public void testBuiltOnce() {
+        Conversion conversion = conversion();
+        ParameterValues values = conversion.getParameterValues();
+        assertSame(values, conversion.getParameterValues());
+        conversion.getParameters().add(new MapProjectionParameter("Azimuth", "90"));
+        ParameterValues updated = conversion.getParameterValues();
+        assertNotSame(values, updated);
+        assertEquals(90, updated.get("Azimuth"), 0);
+    }
+
+    /**
+     * Test of an unknown parameter.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testUnknown() {
+        conversion().getParameterValues().get("Azimuth");
+    }
+
+    /**
+     * Test of normalize method, of class ParameterValues.
+     */
+    @Test
+    public void testNormalize() {
+        assertEquals("latitudeofnaturalorigin", ParameterValues.normalize("Latitude of natural origin"));
+        assertEquals("latitudeofnaturalorigin", ParameterValues.normalize("latitude_of_natural_origin"));
+    }
+}
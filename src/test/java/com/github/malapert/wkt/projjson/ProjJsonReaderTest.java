@@ -0,0 +1,187 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.projjson;
+
+import com.github.malapert.wkt.crs.CompoundCrs;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.crs.GeodeticCrs;
+import com.github.malapert.wkt.crs.ProjectedCrs;
+import com.github.malapert.wkt.datum.GeodeticDatum;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class ProjJsonReaderTest {
+
+    private static final String UTM_31N = "{\"$schema\":\"https://proj.org/schemas/v0.7/projjson.schema.json\",\"type\":\"ProjectedCRS\",\"name\":\"WGS 84 / UTM zone 31N\","
+            + "\"base_crs\":{\"name\":\"WGS 84\",\"datum\":{\"type\":\"GeodeticReferenceFrame\",\"name\":\"World Geodetic System 1984\",\"ellipsoid\":{\"name\":\"WGS 84\",\"semi_major_axis\":6378137,\"inverse_flattening\":298.257223563}},"
+            + "\"coordinate_system\":{\"subtype\":\"ellipsoidal\",\"axis\":[{\"name\":\"Geodetic latitude\",\"abbreviation\":\"Lat\",\"direction\":\"north\",\"unit\":\"degree\"},{\"name\":\"Geodetic longitude\",\"abbreviation\":\"Lon\",\"direction\":\"east\",\"unit\":\"degree\"}]}},"
+            + "\"conversion\":{\"name\":\"UTM zone 31N\",\"method\":{\"name\":\"Transverse Mercator\",\"id\":{\"authority\":\"EPSG\",\"code\":9807}},\"parameters\":["
+            + "{\"name\":\"Latitude of natural origin\",\"value\":0,\"unit\":\"degree\",\"id\":{\"authority\":\"EPSG\",\"code\":8801}},"
+            + "{\"name\":\"Longitude of natural origin\",\"value\":3,\"unit\":\"degree\"},"
+            + "{\"name\":\"Scale factor at natural origin\",\"value\":0.9996,\"unit\":\"unity\"},"
+            + "{\"name\":\"False easting\",\"value\":500000,\"unit\":\"metre\"},"
+            + "{\"name\":\"False northing\",\"value\":0,\"unit\":\"metre\"}]},"
+            + "\"coordinate_system\":{\"subtype\":\"Cartesian\",\"axis\":[{\"name\":\"Easting\",\"abbreviation\":\"E\",\"direction\":\"east\",\"unit\":\"metre\"},{\"name\":\"Northing\",\"abbreviation\":\"N\",\"direction\":\"north\",\"unit\":\"metre\"}]},"
+            + "\"scope\":\"Engineering survey, topographic mapping.\",\"area\":\"Between 0°E and 6°E\",\"bbox\":{\"south_latitude\":0,\"west_longitude\":0,\"north_latitude\":84,\"east_longitude\":6},"
+            + "\"id\":{\"authority\":\"EPSG\",\"code\":32631}}";
+
+    public ProjJsonReaderTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of read method, of class ProjJsonReader.
+     */
+    @Test
+    public void testReadProjectedCrs() {
+        CoordinateReferenceSystem crs = new ProjJsonReader(UTM_31N).read();
+        assertTrue(crs instanceof ProjectedCrs);
+        assertEquals("PROJCRS[\"WGS 84 / UTM zone 31N\",BASEGEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563]],ANGLEUNIT[\"degree\",0.0174532925199433]],"
+                + "CONVERSION[\"UTM zone 31N\",METHOD[\"Transverse Mercator\",ID[\"EPSG\",9807]],PARAMETER[\"Latitude of natural origin\",0,ANGLEUNIT[\"degree\",0.0174532925199433],ID[\"EPSG\",8801]],"
+                + "PARAMETER[\"Longitude of natural origin\",3,ANGLEUNIT[\"degree\",0.0174532925199433]],PARAMETER[\"Scale factor at natural origin\",0.9996,SCALEUNIT[\"unity\",1]],"
+                + "PARAMETER[\"False easting\",500000,LENGTHUNIT[\"metre\",1]],PARAMETER[\"False northing\",0,LENGTHUNIT[\"metre\",1]]],"
+                + "CS[Cartesian,2],AXIS[\"Easting (E)\",east],AXIS[\"Northing (N)\",north],LENGTHUNIT[\"metre\",1],"
+                + "USAGE[SCOPE[\"Engineering survey, topographic mapping.\"],AREA[\"Between 0°E and 6°E\"],BBOX[0,0,84,6]],ID[\"EPSG\",32631]]",
+                crs.toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Test of toProjJson method, of class ProjJsonWriter.
+     */
+    @Test
+    public void testWriteProjectedCrs() {
+        CoordinateReferenceSystem crs = CoordinateReferenceSystemFactory.createFromProjJson(UTM_31N);
+        String json = ProjJsonWriter.toProjJson(crs);
+        assertEquals(UTM_31N.replace("\"base_crs\":{", "\"base_crs\":{\"type\":\"GeographicCRS\","), json);
+        assertEquals(json, ProjJsonWriter.toProjJson(CoordinateReferenceSystemFactory.createFromProjJson(json)));
+        String prettyJson = ProjJsonWriter.toProjJson(crs, "\n", "  ");
+        assertTrue(prettyJson.startsWith("{\n  \"$schema\": "));
+        assertEquals(crs.toWkt("", "", 0).toString(), CoordinateReferenceSystemFactory.createFromProjJson(prettyJson).toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Test of the conversion of a WKT to PROJJSON and back.
+     */
+    @Test
+    public void testWktRoundTrip() {
+        final String CRS = "GEODCRS[\"JGD2000\",DATUM[\"Japanese Geodetic Datum 2000\",ELLIPSOID[\"GRS 1980\",6378137,298.257222101]],CS[Cartesian,3],AXIS[\"(X)\",geocentricX],AXIS[\"(Y)\",geocentricY],AXIS[\"(Z)\",geocentricZ],LENGTHUNIT[\"metre\",1],USAGE[SCOPE[\"Geodesy, topographic mapping and cadastre\"],AREA[\"Japan\"],BBOX[17.09,122.38,46.05,157.64],TIMEEXTENT[2002-04-01,2011-10-21]],ID[\"EPSG\",4946,URI[\"urn:ogc:def:crs:EPSG::4946\"]],REMARK[\"注：JGD2000ジオセントリックは現在JGD2011に代わりました。\"]]";
+        CoordinateReferenceSystem crs = CoordinateReferenceSystemFactory.createFromWkt(CRS);
+        String json = ProjJsonWriter.toProjJson(crs);
+        assertTrue(json.contains("\"type\":\"GeodeticCRS\""));
+        assertTrue(json.contains("\"temporal_extent\":{\"start\":\"2002-04-01\",\"end\":\"2011-10-21\"}"));
+        assertEquals(CRS, CoordinateReferenceSystemFactory.createFromProjJson(json).toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Test of read method with a compound CRS.
+     */
+    @Test
+    public void testReadCompoundCrs() {
+        final String json = "{\"type\":\"CompoundCRS\",\"name\":\"NAD83 + NAVD88\",\"components\":["
+                + "{\"type\":\"GeographicCRS\",\"name\":\"NAD83\",\"datum\":{\"type\":\"GeodeticReferenceFrame\",\"name\":\"North American Datum 1983\","
+                + "\"ellipsoid\":{\"name\":\"GRS 1980\",\"semi_major_axis\":{\"value\":6378.137,\"unit\":{\"type\":\"LinearUnit\",\"name\":\"kilometre\",\"conversion_factor\":1000}},\"semi_minor_axis\":6356.752314140356},"
+                + "\"prime_meridian\":{\"name\":\"Greenwich\",\"longitude\":0}},"
+                + "\"coordinate_system\":{\"subtype\":\"ellipsoidal\",\"axis\":[{\"name\":\"Geodetic latitude\",\"abbreviation\":\"Lat\",\"direction\":\"north\",\"unit\":\"degree\"},{\"name\":\"Geodetic longitude\",\"abbreviation\":\"Lon\",\"direction\":\"east\",\"unit\":\"degree\"}]}},"
+                + "{\"type\":\"VerticalCRS\",\"name\":\"NAVD88\",\"datum\":{\"type\":\"VerticalReferenceFrame\",\"name\":\"North American Vertical Datum 1988\"},"
+                + "\"coordinate_system\":{\"subtype\":\"vertical\",\"axis\":[{\"name\":\"Gravity-related height\",\"abbreviation\":\"H\",\"direction\":\"up\",\"unit\":{\"type\":\"LinearUnit\",\"name\":\"US survey foot\",\"conversion_factor\":0.304800609601219}}]}}],"
+                + "\"usages\":[{\"scope\":\"Geodesy.\",\"area\":\"USA\"},{\"scope\":\"Engineering survey.\",\"area\":\"USA - CONUS\"}]}";
+        CoordinateReferenceSystem crs = CoordinateReferenceSystemFactory.createFromProjJson(json);
+        assertTrue(crs instanceof CompoundCrs);
+        CompoundCrs compound = (CompoundCrs) crs;
+        assertEquals(2, compound.getComponents().size());
+        assertEquals(2, compound.getScopeExtent().getUsageList().size());
+        GeodeticCrs geographic = (GeodeticCrs) compound.getComponents().get(0);
+        GeodeticDatum datum = (GeodeticDatum) geographic.getCrsDatum();
+        assertEquals(298.257222101, datum.getEllipsoid().getInverFlatteningValue().doubleValue(), 1e-6);
+        assertEquals("kilometre", datum.getEllipsoid().getLengthUnit().getUnitName());
+        assertEquals("VERTCRS[\"NAVD88\",VDATUM[\"North American Vertical Datum 1988\"],CS[vertical,1],AXIS[\"Gravity-related height (H)\",up],LENGTHUNIT[\"US survey foot\",0.304800609601219]]",
+                compound.getComponents().get(1).toWkt("", "", 0).toString());
+        String written = ProjJsonWriter.toProjJson(crs);
+        assertTrue(written.contains("\"usages\":[{\"scope\":\"Geodesy.\",\"area\":\"USA\"},{\"scope\":\"Engineering survey.\",\"area\":\"USA - CONUS\"}]"));
+        assertEquals(written, ProjJsonWriter.toProjJson(CoordinateReferenceSystemFactory.createFromProjJson(written)));
+    }
+
+    /**
+     * Test of read method with an unsupported CRS type.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testReadUnsupportedType() {
+        new ProjJsonReader("{\"type\":\"BoundCRS\",\"source_crs\":{},\"target_crs\":{}}").read();
+    }
+
+    /**
+     * Test of read method with a projected CRS without conversion.
+     */
+    @Test
+    public void testReadMissingConversion() {
+        String json = UTM_31N.replaceFirst("\"conversion\":\\{.*?\\]\\},", "");
+        try {
+            new ProjJsonReader(json).read();
+            fail("The conversion is missing");
+        } catch (RuntimeException ex) {
+            assertTrue(ex.getMessage().startsWith("Missing conversion for CRS WGS 84 / UTM zone 31N"));
+        }
+    }
+
+    /**
+     * Test of read method with a CRS without coordinate system.
+     */
+    @Test
+    public void testReadMissingCoordinateSystem() {
+        String json = "{\"type\":\"VerticalCRS\",\"name\":\"NAVD88 height\",\"datum\":{\"type\":\"VerticalReferenceFrame\",\"name\":\"North American Vertical Datum 1988\"}}";
+        try {
+            new ProjJsonReader(json).read();
+            fail("The coordinate system is missing");
+        } catch (RuntimeException ex) {
+            assertTrue(ex.getMessage().startsWith("Missing coordinate system for CRS NAVD88 height"));
+        }
+    }
+
+    /**
+     * Test of read method with a malformed document.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testReadMalformedDocument() {
+        new ProjJsonReader("{\"type\":\"VerticalCRS\",\"name\":\"NAVD88\"").read();
+    }
+}
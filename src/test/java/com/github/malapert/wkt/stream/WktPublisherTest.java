@@ -0,0 +1,236 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.stream;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class WktPublisherTest {
+
+    private static final String NAD83 = "GEODCRS[\"NAD83 [1986]\",DATUM[\"North American Datum 1983\",ELLIPSOID[\"GRS 1980\",6378137,298.257222101,LENGTHUNIT[\"metre\",1.0]]],CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.017453292519943],ID[\"EPSG\",4269]]";
+    private static final String NAVD88 = "VERTCRS[\"NAVD88\",VDATUM[\"North American Vertical Datum 1988\"],CS[vertical,1],AXIS[\"gravity-related height (H)\",up],LENGTHUNIT[\"metre\",1.0]]";
+
+    public WktPublisherTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of next method, of class WktSplitter.
+     */
+    @Test
+    public void testSplitter() throws IOException {
+        String feed = "\n" + NAD83 + ",\n  " + NAVD88 + ";" + NAD83 + "\n";
+        // a channel returning one byte at a time splits multi-byte characters and chunks
+        WktSplitter splitter = new WktSplitter(new OneByteChannel(feed.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, 1000);
+        assertEquals(NAD83, splitter.next());
+        assertEquals(NAVD88, splitter.next());
+        assertEquals(NAD83, splitter.next());
+        assertNull(splitter.next());
+    }
+
+    /**
+     * Test of next method with a truncated stream.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testSplitterTruncated() throws IOException {
+        WktSplitter splitter = new WktSplitter(Channels.newChannel(new ByteArrayInputStream((NAVD88 + NAD83.substring(0, 40)).getBytes(StandardCharsets.UTF_8))), StandardCharsets.UTF_8, 1000);
+        assertEquals(NAVD88, splitter.next());
+        splitter.next();
+    }
+
+    /**
+     * Test of next method with a definition longer than the maximum length.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testSplitterTooLong() throws IOException {
+        new WktSplitter(Channels.newChannel(new ByteArrayInputStream(NAD83.getBytes(StandardCharsets.UTF_8))), StandardCharsets.UTF_8, 100).next();
+    }
+
+    /**
+     * Test of subscribe method, of class WktPublisher.
+     */
+    @Test
+    public void testSubscribe() throws InterruptedException {
+        StringBuilder feed = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            feed.append(i % 2 == 0 ? NAD83 : NAVD88).append('\n');
+        }
+        WktPublisher publisher = new WktPublisher(new ByteArrayInputStream(feed.toString().getBytes(StandardCharsets.UTF_8)));
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+        publisher.subscribe(subscriber);
+        assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+        assertNull(subscriber.error);
+        assertTrue(subscriber.completed);
+        assertEquals(50, subscriber.items.size());
+        assertEquals(NAVD88, subscriber.items.get(49).toWkt("", "", 0).toString());
+
+        RecordingSubscriber second = new RecordingSubscriber(1);
+        publisher.subscribe(second);
+        assertTrue(second.terminated.await(10, TimeUnit.SECONDS));
+        assertTrue(second.error instanceof IllegalStateException);
+    }
+
+    /**
+     * Test of the demand of the subscriber.
+     */
+    @Test
+    public void testDemandAndCancel() throws InterruptedException {
+        String feed = NAD83 + NAVD88 + NAD83 + NAVD88;
+        WktPublisher publisher = new WktPublisher(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)));
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(2);
+        assertTrue(subscriber.received.await(10, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(2, subscriber.items.size());
+        assertFalse(subscriber.completed);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+        Thread.sleep(50);
+        assertEquals(2, subscriber.items.size());
+        assertFalse(subscriber.completed);
+    }
+
+    /**
+     * Test of an invalid definition in the stream.
+     */
+    @Test
+    public void testInvalidDefinition() throws InterruptedException {
+        String feed = NAVD88 + "FOO[\"bar\"]" + NAVD88;
+        WktPublisher publisher = new WktPublisher(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)));
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+        assertEquals(1, subscriber.items.size());
+        assertNotNull(subscriber.error);
+    }
+
+    /**
+     * Subscriber recording the received signals.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<CoordinateReferenceSystem> {
+
+        private final long batch;
+        private final List<CoordinateReferenceSystem> items = new ArrayList<>();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private final CountDownLatch received = new CountDownLatch(2);
+        private Flow.Subscription subscription;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        RecordingSubscriber(final long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (batch > 0) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onNext(final CoordinateReferenceSystem item) {
+            items.add(item);
+            received.countDown();
+            if (batch == 1) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+    }
+
+    /**
+     * Channel returning one byte per read.
+     */
+    private static class OneByteChannel implements ReadableByteChannel {
+
+        private final byte[] content;
+        private int position;
+
+        OneByteChannel(final byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) {
+            if (position == content.length) {
+                return -1;
+            }
+            dst.put(content[position++]);
+            return 1;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
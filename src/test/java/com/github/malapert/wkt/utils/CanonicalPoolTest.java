@@ -0,0 +1,187 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.crs.GeodeticCrs;
+import com.github.malapert.wkt.datum.GeodeticDatum;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class CanonicalPoolTest {
+
+    private static final String WGS84 = "GEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433],ID[\"EPSG\",4326]]";
+    private static final String WGS84_3D = "GEODCRS[\"WGS 84 (3D)\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,3],AXIS[\"latitude\",north,ANGLEUNIT[\"degree\",0.0174532925199433]],AXIS[\"longitude\",east,ANGLEUNIT[\"degree\",0.0174532925199433]],"
+            + "AXIS[\"ellipsoidal height\",up,LENGTHUNIT[\"metre\",1.0]],ID[\"EPSG\",4979]]";
+    private static final String GRS80 = "GEODCRS[\"ETRS89\",DATUM[\"European Terrestrial Reference System 1989\",ELLIPSOID[\"GRS 1980\",6378137,298.257222101,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+    private static final String NTF = "GEODCRS[\"NTF\",DATUM[\"Nouvelle Triangulation Francaise\",ELLIPSOID[\"Clarke 1880 (IGN)\",6378249.2,293.4660213,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433]]";
+    private static final String NTF_PARIS = "GEODCRS[\"NTF (Paris)\",DATUM[\"Nouvelle Triangulation Francaise\",ELLIPSOID[\"Clarke 1880 (IGN)\",6378249.2,293.4660213,LENGTHUNIT[\"metre\",1.0]]],"
+            + "PRIMEM[\"Paris\",2.5969213,ANGLEUNIT[\"grad\",0.015707963267949]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"grad\",0.015707963267949]]";
+
+    public CanonicalPoolTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+        CanonicalPool.disable();
+    }
+
+    /**
+     * Test of sharing the leaf components of two definitions.
+     */
+    @Test
+    public void testSharedComponents() {
+        CanonicalPool.enable();
+        GeodeticCrs crs2d = (GeodeticCrs) CoordinateReferenceSystemFactory.createFromWkt(WGS84);
+        GeodeticCrs crs3d = (GeodeticCrs) CoordinateReferenceSystemFactory.createFromWkt(WGS84_3D);
+        GeodeticCrs etrs = (GeodeticCrs) CoordinateReferenceSystemFactory.createFromWkt(GRS80);
+
+        GeodeticDatum datum2d = (GeodeticDatum) crs2d.getCrsDatum();
+        GeodeticDatum datum3d = (GeodeticDatum) crs3d.getCrsDatum();
+        assertSame(datum2d, datum3d);
+        assertSame(datum2d.getEllipsoid(), datum3d.getEllipsoid());
+        assertSame(crs3d.getCs().getAxisList().get(0).getAxisUnit(), crs3d.getCs().getAxisList().get(1).getAxisUnit());
+        assertSame(datum2d.getEllipsoid().getLengthUnit(), crs3d.getCs().getAxisList().get(2).getAxisUnit());
+        assertNotSame(datum2d, etrs.getCrsDatum());
+        assertSame(datum2d.getEllipsoid().getLengthUnit(), ((GeodeticDatum) etrs.getCrsDatum()).getEllipsoid().getLengthUnit());
+        assertTrue(CanonicalPool.isSame(datum2d, datum3d));
+        assertFalse(CanonicalPool.isSame(datum2d, etrs.getCrsDatum()));
+    }
+
+    /**
+     * Test of parsing with the pool enabled.
+     */
+    @Test
+    public void testRoundTrip() {
+        String expected = CoordinateReferenceSystemFactory.createFromWkt(WGS84).toWkt("", "", 0).toString();
+        CanonicalPool.enable();
+        CoordinateReferenceSystemFactory.createFromWkt(WGS84_3D);
+        CoordinateReferenceSystem crs = CoordinateReferenceSystemFactory.createFromWkt(WGS84);
+        assertEquals(expected, crs.toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Test of disable method, of class CanonicalPool.
+     */
+    @Test
+    public void testDisable() {
+        CanonicalPool.enable();
+        CoordinateReferenceSystemFactory.createFromWkt(WGS84);
+        assertTrue(CanonicalPool.size() > 0);
+        CanonicalPool.disable();
+        assertFalse(CanonicalPool.isEnabled());
+        assertEquals(0, CanonicalPool.size());
+        GeodeticCrs first = (GeodeticCrs) CoordinateReferenceSystemFactory.createFromWkt(WGS84);
+        GeodeticCrs second = (GeodeticCrs) CoordinateReferenceSystemFactory.createFromWkt(WGS84);
+        assertNotSame(first.getCrsDatum(), second.getCrsDatum());
+        assertTrue(CanonicalPool.isSame(first.getCrsDatum(), second.getCrsDatum()));
+    }
+
+    /**
+     * Test of datums differing by their prime meridian only.
+     */
+    @Test
+    public void testPrimeMeridian() {
+        CanonicalPool.enable();
+        GeodeticDatum greenwich = (GeodeticDatum) CoordinateReferenceSystemFactory.createFromWkt(NTF).getCrsDatum();
+        GeodeticDatum paris = (GeodeticDatum) CoordinateReferenceSystemFactory.createFromWkt(NTF_PARIS).getCrsDatum();
+        assertNotSame(greenwich, paris);
+        assertNull(greenwich.getPrimeMeridian());
+        assertEquals("Paris", paris.getPrimeMeridian().getMeridianName());
+        assertSame(greenwich.getEllipsoid(), paris.getEllipsoid());
+    }
+
+    /**
+     * Test of the read-only canonical instances.
+     */
+    @Test
+    public void testFrozen() {
+        GeodeticDatum unshared = (GeodeticDatum) CoordinateReferenceSystemFactory.createFromWkt(WGS84).getCrsDatum();
+        assertFalse(unshared.isFrozen());
+        unshared.setDatumName("WGS 84 copy");
+
+        CanonicalPool.enable();
+        GeodeticDatum datum = (GeodeticDatum) CoordinateReferenceSystemFactory.createFromWkt(WGS84).getCrsDatum();
+        assertTrue(datum.isFrozen());
+        assertTrue(datum.getEllipsoid().isFrozen());
+        assertTrue(datum.getEllipsoid().getLengthUnit().isFrozen());
+        try {
+            datum.setDynamic(null);
+            fail("a canonical datum must not be modified");
+        } catch (RuntimeException ex) {
+            assertEquals("World Geodetic System 1984", datum.getDatumName());
+        }
+        try {
+            datum.getEllipsoid().setLengthUnit(null);
+            fail("a canonical ellipsoid must not be modified");
+        } catch (RuntimeException ex) {
+            assertNotNull(datum.getEllipsoid().getLengthUnit());
+        }
+        try {
+            datum.getIdentifierList().clear();
+            fail("the identifiers of a canonical datum must not be modified");
+        } catch (UnsupportedOperationException ex) {
+            assertTrue(datum.getIdentifierList().isEmpty());
+        }
+    }
+
+    /**
+     * Test of the maximum size of the pool.
+     */
+    @Test
+    public void testMaximumSize() {
+        CanonicalPool.enable(2);
+        assertEquals(2, CanonicalPool.getMaximumSize());
+        CoordinateReferenceSystemFactory.createFromWkt(WGS84);
+        CoordinateReferenceSystemFactory.createFromWkt(GRS80);
+        assertEquals(2, CanonicalPool.size());
+        GeodeticDatum first = (GeodeticDatum) CoordinateReferenceSystemFactory.createFromWkt(GRS80).getCrsDatum();
+        GeodeticDatum second = (GeodeticDatum) CoordinateReferenceSystemFactory.createFromWkt(GRS80).getCrsDatum();
+        assertNotSame(first, second);
+        assertFalse(first.isFrozen());
+        CanonicalPool.enable();
+        assertEquals(CanonicalPool.DEFAULT_MAXIMUM_SIZE, CanonicalPool.getMaximumSize());
+    }
+}
@@ -0,0 +1,145 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import com.github.malapert.wkt.crs.CompoundCrs;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class ParallelParsingTest {
+
+    private static final String COMPOUND = "COMPOUNDCRS[\"WGS 84 / UTM zone 31N + EGM96 height\","
+            + "PROJCRS[\"WGS 84 / UTM zone 31N\",BASEGEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563]],ANGLEUNIT[\"degree\",0.0174532925199433]],"
+            + "CONVERSION[\"UTM zone 31N\",METHOD[\"Transverse Mercator\",ID[\"EPSG\",9807]],PARAMETER[\"Longitude of natural origin\",3,ANGLEUNIT[\"degree\",0.0174532925199433]],PARAMETER[\"False easting\",500000,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[Cartesian,2],AXIS[\"(E)\",east],AXIS[\"(N)\",north],LENGTHUNIT[\"metre\",1.0],USAGE[SCOPE[\"Engineering survey\"],AREA[\"Europe\"]],USAGE[SCOPE[\"Mapping\"],BBOX[0,0,84,6]],ID[\"EPSG\",32631],ID[\"IGNF\",\"UTM31\"]],"
+            + "VERTCRS[\"EGM96 height\",VDATUM[\"EGM96 geoid\"],CS[vertical,1],AXIS[\"gravity-related height (H)\",up],LENGTHUNIT[\"metre\",1.0],ID[\"EPSG\",5773]]]";
+    private static final String DERIVED = "GEODCRS[\"WMO Atlantic Pole\",BASEGEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]]],"
+            + "DERIVINGCONVERSION[\"Atlantic pole\",METHOD[\"Pole rotation\"],PARAMETER[\"Latitude of rotated pole\",52.0,ANGLEUNIT[\"degree\",0.0174532925199433]],PARAMETER[\"Longitude of rotated pole\",-30.0,ANGLEUNIT[\"degree\",0.0174532925199433]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433],ID[\"WMO\",1],ID[\"WMO\",2]]";
+
+    private ForkJoinPool pool;
+
+    public ParallelParsingTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        ParallelParsing.disable();
+        pool.shutdown();
+    }
+
+    /**
+     * Test of enable method, of class ParallelParsing.
+     */
+    @Test
+    public void testParallelEqualsSequential() {
+        String sequentialCompound = CoordinateReferenceSystemFactory.createFromWkt(COMPOUND).toWkt("", "", 0).toString();
+        String sequentialDerived = CoordinateReferenceSystemFactory.createFromWkt(DERIVED).toWkt("", "", 0).toString();
+        assertEquals(DERIVED, sequentialDerived);
+
+        ParallelParsing.enable(pool, 0);
+        assertTrue(ParallelParsing.isEnabled());
+        CoordinateReferenceSystem compound = CoordinateReferenceSystemFactory.createFromWkt(COMPOUND);
+        assertEquals(2, ((CompoundCrs) compound).getComponents().size());
+        assertEquals(sequentialCompound, compound.toWkt("", "", 0).toString());
+        assertEquals(sequentialDerived, CoordinateReferenceSystemFactory.createFromWkt(DERIVED).toWkt("", "", 0).toString());
+    }
+
+    /**
+     * Test of forNode method, of class ParallelParsing.
+     */
+    @Test
+    public void testThreshold() {
+        WktElt small = new WktElt("COMPOUNDCRS", 1, WktElt.WktType.NODE);
+        small.setStop(100);
+        assertFalse(ParallelParsing.forNode(small).isParallel());
+        ParallelParsing.enable(pool, 1000);
+        assertFalse(ParallelParsing.forNode(small).isParallel());
+        small.setStop(1001);
+        assertTrue(ParallelParsing.forNode(small).isParallel());
+        ParallelParsing.disable();
+        assertFalse(ParallelParsing.forNode(small).isParallel());
+    }
+
+    /**
+     * Test of concurrent parsing of several documents.
+     */
+    @Test
+    public void testConcurrentDocuments() throws Exception {
+        final String expectedCompound = CoordinateReferenceSystemFactory.createFromWkt(COMPOUND).toWkt("", "", 0).toString();
+        ParallelParsing.enable(pool, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                final String wkt = i % 2 == 0 ? COMPOUND : DERIVED;
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return CoordinateReferenceSystemFactory.createFromWkt(wkt).toWkt("", "", 0).toString();
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i % 2 == 0 ? expectedCompound : DERIVED, results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test of an error raised on a worker thread.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testErrorInSubtree() {
+        ParallelParsing.enable(pool, 0);
+        CoordinateReferenceSystemFactory.createFromWkt(COMPOUND.replace("ELLIPSOID[\"WGS 84\",6378137,298.257223563]", "ELLIPSOID[\"WGS 84\"]"));
+    }
+}
@@ -0,0 +1,186 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class WktCursorTest {
+
+    private static final String WKT = "GEODCRS[\"WGS 84 \"\"bis\"\"\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433],"
+            + "USAGE[SCOPE[\"Horizontal component of 3D system.\"],AREA[\"World, [ID[\\\"x\\\",1]]\"],BBOX[-90,-180,90,180]],"
+            + "REMARK[\"ID[\"\"IGNF\"\",1]\"],ID[\"EPSG\",4326]]";
+
+    public WktCursorTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of next method, of class WktCursor.
+     */
+    @Test
+    public void testNext() {
+        WktCursor cursor = new WktCursor("ID[\"EPSG\", 4326 ,URI[\"urn:ogc:def:crs:EPSG::4326\"]]");
+        assertEquals(WktCursor.Event.START_NODE, cursor.next());
+        assertEquals("ID", cursor.keyword());
+        assertEquals(1, cursor.depth());
+        assertEquals(WktCursor.Event.ATTRIBUTE, cursor.next());
+        assertTrue(cursor.isText());
+        assertEquals("EPSG", cursor.textValue());
+        assertEquals(WktCursor.Event.ATTRIBUTE, cursor.next());
+        assertEquals("4326", cursor.rawValue());
+        assertEquals(4326, cursor.numberValue(), 0);
+        assertEquals(WktCursor.Event.START_NODE, cursor.next());
+        assertTrue(cursor.isKeyword("uri"));
+        assertEquals(2, cursor.depth());
+        assertEquals(WktCursor.Event.ATTRIBUTE, cursor.next());
+        assertEquals("urn:ogc:def:crs:EPSG::4326", cursor.textValue());
+        assertEquals(WktCursor.Event.END_NODE, cursor.next());
+        assertEquals(2, cursor.depth());
+        assertEquals(WktCursor.Event.END_NODE, cursor.next());
+        assertEquals(1, cursor.depth());
+        assertEquals(WktCursor.Event.END_DOCUMENT, cursor.next());
+        assertEquals(0, cursor.depth());
+        assertFalse(cursor.hasNext());
+    }
+
+    /**
+     * Test of skipChildren method, of class WktCursor.
+     */
+    @Test
+    public void testSkipChildren() {
+        List<String> ids = new ArrayList<>();
+        WktCursor cursor = new WktCursor(WKT);
+        boolean inId = false;
+        while (cursor.next() != WktCursor.Event.END_DOCUMENT) {
+            if (cursor.getEvent() == WktCursor.Event.START_NODE) {
+                inId = cursor.isKeyword("ID");
+                if (cursor.isKeyword("USAGE") || cursor.isKeyword("REMARK") || cursor.isKeyword("DATUM")) {
+                    int depth = cursor.depth();
+                    cursor.skipChildren();
+                    assertEquals(WktCursor.Event.END_NODE, cursor.next());
+                    assertEquals(depth, cursor.depth());
+                }
+            } else if (cursor.getEvent() == WktCursor.Event.ATTRIBUTE && inId) {
+                ids.add(cursor.textValue());
+            }
+        }
+        assertEquals(2, ids.size());
+        assertEquals("EPSG", ids.get(0));
+        assertEquals(4326, Integer.parseInt(ids.get(1)));
+    }
+
+    /**
+     * Test of the events compared to the push parser.
+     */
+    @Test
+    public void testSameEventsAsPushParser() {
+        final List<String> expected = new ArrayList<>();
+        WktPushParser.parse(WKT, new WktHandler() {
+            @Override
+            public void startNode(String keyword, int start) {
+                expected.add("start " + keyword);
+            }
+
+            @Override
+            public void attribute(String token, int start, int stop) {
+                expected.add("attribute " + token);
+            }
+
+            @Override
+            public void endNode(int stop) {
+                expected.add("end");
+            }
+        });
+        List<String> events = new ArrayList<>();
+        WktCursor cursor = new WktCursor(WKT);
+        while (cursor.next() != WktCursor.Event.END_DOCUMENT) {
+            switch (cursor.getEvent()) {
+                case START_NODE:
+                    events.add("start " + cursor.keyword());
+                    break;
+                case ATTRIBUTE:
+                    events.add("attribute " + cursor.rawValue());
+                    break;
+                default:
+                    events.add("end");
+            }
+        }
+        assertEquals(expected, events);
+    }
+
+    /**
+     * Test of numberValue method, of class WktCursor, on a text.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testNumberValueOnText() {
+        WktCursor cursor = new WktCursor("ID[\"EPSG\",4326]");
+        cursor.next();
+        cursor.next();
+        cursor.numberValue();
+    }
+
+    /**
+     * Test of skipChildren method, of class WktCursor, on an attribute.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testSkipChildrenOnAttribute() {
+        WktCursor cursor = new WktCursor("ID[\"EPSG\",4326]");
+        cursor.next();
+        cursor.next();
+        cursor.skipChildren();
+    }
+
+    /**
+     * Test of an unclosed node.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testUnclosed() {
+        WktCursor cursor = new WktCursor("ID[\"EPSG\",4326");
+        while (cursor.hasNext()) {
+            cursor.next();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory.ParserWkt;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class WktEltCollectionTest {
+
+    private static final String WKT = "GEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433],ID[\"EPSG\",4326]]";
+
+    public WktEltCollectionTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of the parent and sibling links.
+     */
+    @Test
+    public void testLinks() {
+        WktEltCollection collection = new ParserWkt(WKT).createsWktIndex();
+        assertEquals(WktEltCollection.NO_PARENT, collection.getParent(0));
+        int datum = collection.getNextSibling(collection.getFirstChild(0));
+        assertEquals("DATUM", collection.get(datum).getKeyword());
+        int ellipsoid = collection.getNextSibling(collection.getFirstChild(datum));
+        assertEquals("ELLIPSOID", collection.get(ellipsoid).getKeyword());
+        assertEquals(datum, collection.getParent(ellipsoid));
+        assertEquals("DATUM", collection.get(ellipsoid).getNode());
+        int cs = collection.getNextSibling(datum);
+        assertEquals("CS", collection.get(cs).getKeyword());
+        assertEquals(cs, collection.getSubtreeEnd(datum));
+        assertEquals(collection.size(), collection.getSubtreeEnd(0));
+        assertEquals(collection.keywordIdOf("\"WGS 84\""), collection.getKeywordId(1));
+        assertEquals(collection.getKeywordId(1), collection.getKeywordId(ellipsoid + 1));
+    }
+
+    /**
+     * Test of getAttributesFor method, of class WktEltCollection.
+     */
+    @Test
+    public void testGetAttributesFor() {
+        WktEltCollection collection = new ParserWkt(WKT).createsWktIndex();
+        WktElt root = collection.get(0);
+        List<WktElt> attributes = collection.getAttributesFor(root, "ELLIPSOID");
+        assertEquals(3, attributes.size());
+        assertEquals("6378137", attributes.get(1).getKeyword());
+        assertEquals(6, collection.getNodesFor(root, "GEODCRS").size());
+        assertTrue(collection.getAttributesFor(root, "UNKNOWN").isEmpty());
+        Iterator<WktElt> iter = collection.iterator(collection.getNodesFor(root, "DATUM").get(0));
+        assertEquals("ELLIPSOID", iter.next().getKeyword());
+    }
+
+    /**
+     * Test of wktEltStartingAt method, of class WktEltCollection.
+     */
+    @Test
+    public void testWktEltStartingAt() {
+        WktEltCollection collection = new ParserWkt(WKT).createsWktIndex();
+        int start = WKT.indexOf("CS[") + 3;
+        WktElt cs = collection.wktEltStartingAt(start);
+        assertEquals("CS", cs.getKeyword());
+        assertEquals(WktElt.WktType.NODE, cs.getWktType());
+        assertNull(collection.wktEltStartingAt(start + 1));
+        cs.setStop(cs.getStop() + 1);
+        assertEquals(WKT.indexOf("],AXIS") + 1, collection.wktEltStartingAt(start).getStop());
+    }
+
+    /**
+     * Test of reset method, of class WktEltCollection.
+     */
+    @Test
+    public void testReset() {
+        WktEltCollection collection = new ParserWkt(WKT).createsWktIndex();
+        int size = collection.size();
+        new ParserWkt("ID[\"EPSG\",4326]").createsWktIndex(collection);
+        assertEquals(3, collection.size());
+        assertEquals("ID", collection.get(0).getKeyword());
+        assertEquals(-1, collection.keywordIdOf("DATUM"));
+        new ParserWkt(WKT).createsWktIndex(collection);
+        assertEquals(size, collection.size());
+    }
+
+    /**
+     * Test of index method, of class WktEltCollection.
+     */
+    @Test
+    public void testIndex() {
+        WktEltCollection collection = new WktEltCollection();
+        WktElt id = new WktElt("ID", 3, WktElt.WktType.NODE);
+        id.setStop(14);
+        WktElt authority = new WktElt("\"EPSG\"", 3, WktElt.WktType.ATTRIBUTE);
+        authority.setStop(9);
+        WktElt code = new WktElt("4326", 10, WktElt.WktType.ATTRIBUTE);
+        code.setStop(14);
+        collection.addWktElt(id);
+        collection.addWktElt(authority);
+        collection.addWktElt(code);
+        assertNull(collection.get(2).getNode());
+        collection.index();
+        assertEquals("root", collection.get(0).getNode());
+        assertEquals("ID", collection.get(2).getNode());
+        assertEquals(2, collection.getAttributesFor(id, "ID").size());
+    }
+
+    /**
+     * Test of setNode method on a view.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSetNodeOnView() {
+        new ParserWkt(WKT).createsWktIndex().get(1).setNode("CS");
+    }
+}
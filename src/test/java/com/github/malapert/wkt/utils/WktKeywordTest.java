@@ -0,0 +1,114 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystem;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory.ParserWkt;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class WktKeywordTest {
+
+    public WktKeywordTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of of method, of class WktKeyword.
+     */
+    @Test
+    public void testOf() {
+        assertEquals(WktKeyword.GEODCRS, WktKeyword.of("GEODCRS"));
+        assertEquals(WktKeyword.GEODCRS, WktKeyword.of("GeodeticCrs"));
+        assertEquals(WktKeyword.DATUM, WktKeyword.of("trf"));
+        assertEquals(WktKeyword.ELLIPSOID, WktKeyword.of("SPHEROID"));
+        assertEquals(WktKeyword.METHOD, WktKeyword.of("PROJECTION"));
+        assertEquals(WktKeyword.UNKNOWN, WktKeyword.of("GEODCRSX"));
+        assertEquals(WktKeyword.UNKNOWN, WktKeyword.of(""));
+        assertEquals(WktKeyword.UNKNOWN, WktKeyword.of("UNKNOWN"));
+        assertEquals(WktKeyword.ANGLEUNIT, WktKeyword.of("xxANGLEUNIT[", 2, 11));
+    }
+
+    /**
+     * Test of the spellings of the table.
+     */
+    @Test
+    public void testAllSpellings() {
+        for (WktKeyword keyword : WktKeyword.values()) {
+            if (keyword == WktKeyword.UNKNOWN) {
+                continue;
+            }
+            assertEquals(keyword, WktKeyword.of(keyword.name().toLowerCase()));
+            for (String alias : keyword.getAliases()) {
+                assertEquals(keyword, WktKeyword.of(alias));
+            }
+            assertEquals(keyword, WktKeyword.valueOf(keyword.ordinal()));
+        }
+    }
+
+    /**
+     * Test of getSymbol method, of class WktElt.
+     */
+    @Test
+    public void testGetSymbol() {
+        WktEltCollection collection = new ParserWkt("Id[\"EPSG\",4326,uri[\"urn:ogc:def:crs:EPSG::4326\"],FOO[1]]").createsWktIndex();
+        assertEquals(WktKeyword.ID, collection.get(0).getSymbol());
+        assertEquals("ID", collection.get(0).getKeyword());
+        assertEquals(WktKeyword.UNKNOWN, collection.get(1).getSymbol());
+        assertEquals(WktKeyword.URI, collection.get(3).getSymbol());
+        assertEquals(WktKeyword.UNKNOWN, collection.get(5).getSymbol());
+        assertEquals("FOO", collection.get(5).getKeyword());
+        assertEquals(WktKeyword.BBOX, new WktElt("BBOX", 0, WktElt.WktType.NODE).getSymbol());
+    }
+
+    /**
+     * Test of the dispatch on aliases written in lower case.
+     */
+    @Test
+    public void testDispatchOnAliases() {
+        CoordinateReferenceSystem crs = CoordinateReferenceSystemFactory.createFromWkt("geodeticcrs[\"WGS 84\",trf[\"World Geodetic System 1984\",spheroid[\"WGS 84\",6378137,298.257223563]],"
+                + "cs[ellipsoidal,2],axis[\"latitude\",north],axis[\"longitude\",east],angleunit[\"degree\",0.0174532925199433],id[\"EPSG\",4326]]");
+        assertEquals("World Geodetic System 1984", crs.getCrsDatum().getDatumName());
+        assertEquals(2, crs.getCs().getAxisList().size());
+    }
+}
@@ -0,0 +1,205 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import com.github.malapert.wkt.crs.CoordinateReferenceSystemFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class WktPushParserTest {
+
+    private static final String WKT = "GEODCRS[\"WGS 84 \"\"Réseau\"\", [bis]\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433],ID[\"EPSG\",4326]]";
+
+    /**
+     * Records the events as text.
+     */
+    private static class Recorder implements WktHandler {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void startNode(String keyword, int start) {
+            events.add("start " + keyword + " " + start);
+        }
+
+        @Override
+        public void attribute(String token, int start, int stop) {
+            events.add("attribute " + token + " " + start + " " + stop);
+        }
+
+        @Override
+        public void endNode(int stop) {
+            events.add("end " + stop);
+        }
+
+        @Override
+        public void endDocument() {
+            events.add("endDocument");
+        }
+    }
+
+    public WktPushParserTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of parse method, of class WktPushParser.
+     */
+    @Test
+    public void testParse() {
+        Recorder recorder = new Recorder();
+        WktPushParser.parse("ID[\"EPSG\",4326,URI[\"urn:ogc:def:crs:EPSG::4326\"]]", recorder);
+        List<String> expected = new ArrayList<>();
+        expected.add("start ID 3");
+        expected.add("attribute \"EPSG\" 3 9");
+        expected.add("attribute 4326 10 14");
+        expected.add("start URI 19");
+        expected.add("attribute \"urn:ogc:def:crs:EPSG::4326\" 19 47");
+        expected.add("end 47");
+        expected.add("end 48");
+        expected.add("endDocument");
+        assertEquals(expected, recorder.events);
+    }
+
+    /**
+     * Test of feed method, of class WktPushParser, with one char per chunk.
+     */
+    @Test
+    public void testFeedChars() {
+        Recorder whole = new Recorder();
+        WktPushParser.parse(WKT, whole);
+
+        Recorder chunked = new Recorder();
+        WktPushParser parser = new WktPushParser(chunked);
+        char[] chars = WKT.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            parser.feed(chars, i, 1);
+            if (i == 7) {
+                assertEquals(1, parser.getDepth());
+            }
+        }
+        parser.end();
+        assertEquals(whole.events, chunked.events);
+        assertEquals("attribute \"WGS 84 \"\"Réseau\"\", [bis]\" 8 34", chunked.events.get(1));
+    }
+
+    /**
+     * Test of feed method, of class WktPushParser, with a multi-byte char
+     * split between two chunks.
+     */
+    @Test
+    public void testFeedBytes() {
+        Recorder whole = new Recorder();
+        WktPushParser.parse(WKT, whole);
+
+        byte[] bytes = WKT.getBytes(StandardCharsets.UTF_8);
+        int split = WKT.indexOf('é') + 1;
+        Recorder chunked = new Recorder();
+        WktPushParser parser = new WktPushParser(chunked);
+        parser.feed(ByteBuffer.wrap(bytes, 0, split), StandardCharsets.UTF_8);
+        parser.feed(ByteBuffer.wrap(bytes, split, bytes.length - split), StandardCharsets.UTF_8);
+        parser.end();
+        assertEquals(whole.events, chunked.events);
+    }
+
+    /**
+     * Test of a handler keeping only the identifiers.
+     */
+    @Test
+    public void testIdentifierHandler() {
+        final List<String> codes = new ArrayList<>();
+        WktPushParser.parse(WKT, new WktHandler() {
+            private boolean inId;
+
+            @Override
+            public void startNode(String keyword, int start) {
+                inId = "ID".equals(keyword);
+            }
+
+            @Override
+            public void attribute(String token, int start, int stop) {
+                if (inId) {
+                    codes.add(token);
+                }
+            }
+        });
+        assertEquals(2, codes.size());
+        assertEquals("4326", codes.get(1));
+    }
+
+    /**
+     * Test of the index built by the parser of the factory.
+     */
+    @Test
+    public void testCreatesWktIndex() {
+        WktEltCollection collection = new CoordinateReferenceSystemFactory.ParserWkt(WKT).createsWktIndex();
+        WktElt root = collection.getCollection().get(0);
+        assertEquals("GEODCRS", root.getKeyword());
+        assertEquals("root", root.getNode());
+        assertEquals(WKT.length() - 1, root.getStop());
+        WktElt lengthUnit = collection.getNodesFor(root, "ELLIPSOID").get(0);
+        assertEquals("LENGTHUNIT", lengthUnit.getKeyword());
+        assertEquals("ELLIPSOID", lengthUnit.getNode());
+        assertEquals(WKT.indexOf("]]]"), lengthUnit.getStop());
+    }
+
+    /**
+     * Test of an unmatched right delimiter.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testUnmatched() {
+        WktPushParser.parse("ID[\"EPSG\",4326]]", new Recorder());
+    }
+
+    /**
+     * Test of an unclosed node.
+     */
+    @Test(expected = RuntimeException.class)
+    public void testUnclosed() {
+        WktPushParser.parse("ID[\"EPSG\",4326", new Recorder());
+    }
+}
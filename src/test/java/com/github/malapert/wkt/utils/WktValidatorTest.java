@@ -0,0 +1,168 @@
+/* 
+ * Copyright (C) 2016-2019 Jean-Christophe Malapert
+ *
+ * JWkt is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * JWkt is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA 
+*/
+package com.github.malapert.wkt.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author malapert
+ */
+public class WktValidatorTest {
+
+    private static final String WKT = "GEODCRS[\"WGS 84\",DATUM[\"World Geodetic System 1984\",ELLIPSOID[\"WGS 84\",6378137,298.257223563,LENGTHUNIT[\"metre\",1.0]]],"
+            + "CS[ellipsoidal,2],AXIS[\"latitude\",north],AXIS[\"longitude\",east],ANGLEUNIT[\"degree\",0.0174532925199433],ID[\"EPSG\",4326]]";
+
+    public WktValidatorTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of validate method, of class WktValidator.
+     */
+    @Test
+    public void testValid() {
+        assertTrue(WktValidator.validate(WKT).isEmpty());
+        assertTrue(WktValidator.isValid(WKT));
+    }
+
+    /**
+     * Test of a missing attribute.
+     */
+    @Test
+    public void testMissingAttribute() {
+        String wkt = WKT.replace("6378137,298.257223563,", "6378137,");
+        List<WktDiagnostic> diagnostics = WktValidator.validate(wkt);
+        assertEquals(1, diagnostics.size());
+        WktDiagnostic diagnostic = diagnostics.get(0);
+        assertEquals(WktDiagnostic.Severity.ERROR, diagnostic.getSeverity());
+        assertEquals("GEODCRS/DATUM/ELLIPSOID", diagnostic.getPath());
+        assertEquals("3 attribute(s)", diagnostic.getExpected());
+        assertEquals("2", diagnostic.getFound());
+        assertEquals(wkt.indexOf("1.0]]") + 4, diagnostic.getOffset());
+        assertFalse(WktValidator.isValid(wkt));
+    }
+
+    /**
+     * Test of an expected and a found element.
+     */
+    @Test
+    public void testExpectedFound() {
+        String wkt = WKT.replace("CS[ellipsoidal,2]", "CS[ellipsoidal,3]").replace("ELLIPSOID[\"WGS 84\"", "ELLIPSOID[WGS84");
+        List<WktDiagnostic> diagnostics = WktValidator.validate(wkt);
+        assertEquals(2, diagnostics.size());
+        assertEquals("a quoted text", diagnostics.get(0).getExpected());
+        assertEquals("WGS84", diagnostics.get(0).getFound());
+        assertEquals(wkt.indexOf("WGS84"), diagnostics.get(0).getOffset());
+        assertEquals("3 AXIS", diagnostics.get(1).getExpected());
+        assertEquals("2", diagnostics.get(1).getFound());
+        assertEquals("GEODCRS", diagnostics.get(1).getPath());
+        assertEquals(wkt.length() - 1, diagnostics.get(1).getOffset());
+    }
+
+    /**
+     * Test of a missing child and of an unknown keyword.
+     */
+    @Test
+    public void testMissingChild() {
+        String wkt = WKT.replace("DATUM[", "DATUMS[");
+        List<WktDiagnostic> diagnostics = WktValidator.validate(wkt);
+        assertEquals(2, diagnostics.size());
+        assertEquals(WktDiagnostic.Severity.WARNING, diagnostics.get(0).getSeverity());
+        assertEquals("GEODCRS/DATUMS", diagnostics.get(0).getPath());
+        assertEquals("DATUMS", diagnostics.get(0).getFound());
+        assertEquals("DATUM, ENSEMBLE, BASEGEODCRS or BASEGEOGCRS", diagnostics.get(1).getExpected());
+    }
+
+    /**
+     * Test of a description that is not well formed.
+     */
+    @Test
+    public void testNotWellFormed() {
+        List<WktDiagnostic> diagnostics = WktValidator.validate(WKT + "]");
+        assertEquals(1, diagnostics.size());
+        assertEquals("']'", diagnostics.get(0).getFound());
+        assertEquals(WKT.length(), diagnostics.get(0).getOffset());
+
+        String unclosed = WKT.substring(0, WKT.indexOf(",CS["));
+        diagnostics = WktValidator.validate(unclosed);
+        assertEquals(1, diagnostics.size());
+        assertEquals("GEODCRS", diagnostics.get(0).getPath());
+        assertEquals("']'", diagnostics.get(0).getExpected());
+        assertEquals(unclosed.length(), diagnostics.get(0).getOffset());
+    }
+
+    /**
+     * Test of validateAll method, of class WktValidator.
+     */
+    @Test
+    public void testValidateAll() {
+        List<String> catalog = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            catalog.add(i % 10 == 0 ? WKT.replace("ID[\"EPSG\",4326]", "ID[\"EPSG\"]") : WKT);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<List<WktDiagnostic>> diagnostics = WktValidator.validateAll(catalog, pool);
+            assertEquals(catalog.size(), diagnostics.size());
+            for (int i = 0; i < diagnostics.size(); i++) {
+                assertEquals(i % 10 == 0 ? 1 : 0, diagnostics.get(i).size());
+            }
+            assertEquals("GEODCRS/ID", diagnostics.get(0).get(0).getPath());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test of isNumber method, of class WktValidator.
+     */
+    @Test
+    public void testIsNumber() {
+        assertTrue(WktValidator.isNumber("298.257223563"));
+        assertTrue(WktValidator.isNumber("-1.5E-3"));
+        assertTrue(WktValidator.isNumber(".5"));
+        assertFalse(WktValidator.isNumber("1e"));
+        assertFalse(WktValidator.isNumber("\"1\""));
+        assertFalse(WktValidator.isNumber("-"));
+    }
+}